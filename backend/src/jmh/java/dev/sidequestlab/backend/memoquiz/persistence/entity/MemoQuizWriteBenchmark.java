@@ -0,0 +1,166 @@
+package dev.sidequestlab.backend.memoquiz.persistence.entity;
+
+import dev.sidequestlab.backend.memoquiz.api.enums.CardStatus;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import javax.sql.DataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+// Persists a session start's worth of rows through Hibernate, with and without JDBC batching.
+// Each invocation rolls back, so every run writes into the same seeded database.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MemoQuizWriteBenchmark {
+
+    private static final String SEED_CARDS = """
+        insert into card (front, back, answer_key, answer_hash, status, created_at, updated_at)
+        select 'Question ' || g, 'Answer ' || g, 'answer ' || g, g, 'ACTIVE', now(), now()
+        from generate_series(1, ?) as g
+        """;
+
+    // 1 disables batching, as before; 50 matches application.yml and the sequence allocation size.
+    @Param({"1", "50"})
+    int batchSize;
+
+    @Param({"10000"})
+    int itemCount;
+
+    private EmbeddedPostgres postgres;
+    private SingleConnectionDataSource dataSource;
+    private LocalContainerEntityManagerFactoryBean factoryBean;
+    private EntityManagerFactory entityManagerFactory;
+    private List<Long> cardIds;
+    private final AtomicLong statements = new AtomicLong();
+
+    // Reported next to the timings: statements and JDBC batches sent by the last invocation.
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class RoundTrips {
+        public long roundTrips;
+    }
+
+    @Setup
+    public void setUp() throws IOException, SQLException {
+        postgres = EmbeddedPostgres.builder().start();
+        Flyway.configure().dataSource(postgres.getPostgresDatabase()).locations("classpath:db/migration").load().migrate();
+
+        DataSource database = postgres.getDatabase("postgres", "postgres", Map.of("reWriteBatchedInserts", "true"));
+        dataSource = new SingleConnectionDataSource(database.getConnection(), true);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update(SEED_CARDS, itemCount);
+        cardIds = jdbcTemplate.queryForList("select id from card order by id", Long.class);
+
+        factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(ProxyDataSourceBuilder.create(dataSource)
+            .afterQuery((execInfo, queryInfoList) -> statements.incrementAndGet())
+            .build());
+        factoryBean.setPackagesToScan(MemoQuizSessionItemEntity.class.getPackageName());
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.setJpaPropertyMap(Map.of(
+            "hibernate.hbm2ddl.auto", "validate",
+            "hibernate.jdbc.batch_size", batchSize,
+            "hibernate.order_inserts", true,
+            "hibernate.order_updates", true
+        ));
+        factoryBean.afterPropertiesSet();
+        entityManagerFactory = factoryBean.getObject();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        factoryBean.destroy();
+        dataSource.destroy();
+        postgres.close();
+    }
+
+    @Setup(Level.Invocation)
+    public void resetStatements() {
+        statements.set(0);
+    }
+
+    @Benchmark
+    public void startSession(RoundTrips roundTrips) {
+        inRolledBackTransaction(entityManager -> {
+            MemoQuizSessionEntity session = new MemoQuizSessionEntity();
+            session.setDayIndex(1);
+            session.setItemCount(itemCount);
+            entityManager.persist(session);
+            for (int i = 0; i < itemCount; i++) {
+                MemoQuizSessionItemEntity item = new MemoQuizSessionItemEntity();
+                item.setSessionId(session.getId());
+                item.setCardId(cardIds.get(i));
+                item.setBox(1);
+                item.setOrdinal(i);
+                entityManager.persist(item);
+            }
+        });
+        roundTrips.roundTrips = statements.get();
+    }
+
+    @Benchmark
+    public void bulkCreateCards(RoundTrips roundTrips) {
+        inRolledBackTransaction(entityManager -> {
+            Instant now = Instant.now();
+            for (int i = 0; i < itemCount / 10; i++) {
+                CardEntity card = new CardEntity();
+                card.setFront("Front " + i);
+                card.setBack("Back " + i);
+                card.setAnswerKey("back " + i);
+                card.setAnswerHash(i);
+                card.setStatus(CardStatus.INACTIVE);
+                card.setCreatedAt(now);
+                card.setUpdatedAt(now);
+                CardProgressEntity progress = new CardProgressEntity();
+                progress.setBox(1);
+                progress.setUpdatedAt(now);
+                card.setProgress(progress);
+                entityManager.persist(card);
+            }
+        });
+        roundTrips.roundTrips = statements.get();
+    }
+
+    private void inRolledBackTransaction(Consumer<EntityManager> work) {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            entityManager.getTransaction().begin();
+            work.accept(entityManager);
+            entityManager.flush();
+            entityManager.getTransaction().rollback();
+        } finally {
+            entityManager.close();
+        }
+    }
+}
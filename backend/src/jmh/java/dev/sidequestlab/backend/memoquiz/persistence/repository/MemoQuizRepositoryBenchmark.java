@@ -0,0 +1,176 @@
+package dev.sidequestlab.backend.memoquiz.persistence.repository;
+
+import dev.sidequestlab.backend.memoquiz.api.enums.CardSearchMode;
+import dev.sidequestlab.backend.memoquiz.api.enums.CardStatus;
+import dev.sidequestlab.backend.memoquiz.persistence.projection.AnswerGradeProjection;
+import dev.sidequestlab.backend.memoquiz.persistence.projection.DashboardSnapshotProjection;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// Runs the JDBC repositories against an embedded PostgreSQL seeded with a synthetic deck.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MemoQuizRepositoryBenchmark {
+
+    private static final String SEED_CARDS = """
+        insert into card (front, back, answer_key, answer_hash, status, created_at, updated_at)
+        select
+            'Question ' || g || ' ' || md5(g::text),
+            'Answer ' || g || ' ' || md5((g * 7)::text),
+            'answer ' || g || ' ' || md5((g * 7)::text),
+            g,
+            case when g % 10 = 0 then 'INACTIVE' else 'ACTIVE' end,
+            now() - g * interval '1 second',
+            now()
+        from generate_series(1, ?) as g
+        """;
+
+    private static final String SEED_PROGRESS = """
+        insert into card_progress (card_id, box, updated_at)
+        select id, 1 + id % 7, now()
+        from card
+        """;
+
+    private static final String SEED_MEMBERSHIPS = """
+        insert into memoquiz_quiz_card (quiz_id, card_id, enabled, box)
+        select q.id, c.id, c.id % 20 <> 0, 1 + c.id % 7
+        from card c
+        cross join memoquiz_quiz q
+        where q.code = 'default'
+        """;
+
+    private static final List<Integer> SESSION_BOXES = List.of(1, 2, 4);
+
+    @Param({"1000", "100000", "1000000"})
+    int deckSize;
+
+    private EmbeddedPostgres postgres;
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private Long quizId;
+    private Long sessionId;
+    private Long answeredCardId;
+    private String answerKey;
+    private long answerHash;
+    private MemoQuizDashboardQueryRepository dashboardRepository;
+    private CardSearchRepository searchRepository;
+    private MemoQuizSessionDeckRepository sessionDeckRepository;
+    private MemoQuizAnswerGradingRepository answerGradingRepository;
+
+    @Setup
+    public void setUp() throws IOException, SQLException {
+        postgres = EmbeddedPostgres.builder().start();
+        DataSource postgresDatabase = postgres.getPostgresDatabase();
+        Flyway.configure().dataSource(postgresDatabase).locations("classpath:db/migration").load().migrate();
+
+        // One reused connection, as a pool would provide, so timings exclude connection setup.
+        dataSource = new SingleConnectionDataSource(postgresDatabase.getConnection(), true);
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update(SEED_CARDS, deckSize);
+        jdbcTemplate.update(SEED_PROGRESS);
+        jdbcTemplate.update(SEED_MEMBERSHIPS);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transactionTemplate.executeWithoutResult(status -> new MemoQuizQuizBoxStatsRepository(jdbcTemplate).rebuild());
+
+        quizId = jdbcTemplate.queryForObject("select id from memoquiz_quiz where code = 'default'", Long.class);
+        dashboardRepository = new MemoQuizDashboardQueryRepository(jdbcTemplate);
+        searchRepository = new CardSearchRepository(jdbcTemplate);
+        sessionDeckRepository = new MemoQuizSessionDeckRepository(jdbcTemplate);
+        answerGradingRepository = new MemoQuizAnswerGradingRepository(jdbcTemplate);
+
+        // A session drawn the way the application draws one, for the answer benchmark to grade its first card.
+        sessionId = newSession();
+        sessionDeckRepository.insertEligibleItems(sessionId, quizId, SESSION_BOXES, CardStatus.ACTIVE);
+        answeredCardId = jdbcTemplate.queryForObject(
+            "select card_id from memoquiz_session_item where session_id = ? order by ordinal limit 1",
+            Long.class,
+            sessionId
+        );
+        answerKey = jdbcTemplate.queryForObject("select answer_key from card where id = ?", String.class, answeredCardId);
+        answerHash = jdbcTemplate.queryForObject("select answer_hash from card where id = ?", Long.class, answeredCardId);
+        jdbcTemplate.execute("vacuum analyze");
+    }
+
+    private Long newSession() {
+        return jdbcTemplate.queryForObject(
+            "insert into memoquiz_session (day_index, shuffle_seed, item_count) values (1, null, 0) returning id",
+            Long.class
+        );
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        dataSource.destroy();
+        postgres.close();
+    }
+
+    @Benchmark
+    public Optional<DashboardSnapshotProjection> dashboardSnapshot() {
+        return dashboardRepository.findSnapshot("default");
+    }
+
+    // The writing benchmarks roll back, so every invocation sees the seeded state.
+    @Benchmark
+    public Integer sessionDeckCreation() {
+        return transactionTemplate.execute(status -> {
+            status.setRollbackOnly();
+            return sessionDeckRepository.insertEligibleItems(newSession(), quizId, SESSION_BOXES, CardStatus.ACTIVE);
+        });
+    }
+
+    @Benchmark
+    public Optional<AnswerGradeProjection> gradeAnswer() {
+        return transactionTemplate.execute(status -> {
+            status.setRollbackOnly();
+            return answerGradingRepository.grade(sessionId, answeredCardId, quizId, answerKey, answerHash, null, Instant.now());
+        });
+    }
+
+    @Benchmark
+    public List<Long> prefixSearch() {
+        return searchRepository.findMatchingIds(
+            CardSearchMode.PREFIX,
+            "answer:* & 12:*",
+            CardStatus.ACTIVE,
+            null,
+            Sort.by(Sort.Direction.DESC, "createdAt"),
+            0,
+            20
+        );
+    }
+
+    @Benchmark
+    public List<Long> rankedSearch() {
+        return searchRepository.findMatchingIds(CardSearchMode.RANKED, "question 4242", null, null, Sort.unsorted(), 0, 20);
+    }
+}
@@ -0,0 +1,101 @@
+package dev.sidequestlab.backend.memoquiz.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.sidequestlab.backend.memoquiz.api.dto.SessionCardDto;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+// Pure-Java pieces of the session and dashboard paths; no Spring context or database.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MemoQuizCoreBenchmark {
+
+    @Param({"1000", "100000"})
+    int deckSize;
+
+    private ScheduleProvider scheduleProvider;
+    private List<SessionCardDto> memberships;
+    private int dayIndex;
+    private long seed;
+    private final AnswerMatcher exactMatcher = new AnswerMatcher(0);
+    private final AnswerMatcher tolerantMatcher = new AnswerMatcher(2);
+    private final String expectedKey = AnswerMatcher.answerKey("L'Étranger d'Albert Camus");
+    private final long expectedHash = AnswerMatcher.answerHash(expectedKey);
+
+    @Setup
+    public void setUp() {
+        scheduleProvider = new ScheduleProvider(new ObjectMapper());
+        scheduleProvider.loadSchedule();
+
+        memberships = new ArrayList<>(deckSize);
+        for (int i = 1; i <= deckSize; i++) {
+            memberships.add(new SessionCardDto((long) i, "Question " + i, "  Answer " + i + "  ", 1 + i % 7));
+        }
+    }
+
+    @Benchmark
+    public List<Integer> boxesForDay() {
+        dayIndex = dayIndex % scheduleProvider.scheduleLength() + 1;
+        return scheduleProvider.boxesForDay(dayIndex);
+    }
+
+    @Benchmark
+    public int boxMaskForDay() {
+        dayIndex = dayIndex % scheduleProvider.scheduleLength() + 1;
+        return scheduleProvider.boxMaskForDay(dayIndex);
+    }
+
+    @Benchmark
+    public String normalizeAnswer() {
+        return AnswerMatcher.answerKey("  Le Petit Prince ");
+    }
+
+    @Benchmark
+    public String normalizeAccentedAnswer() {
+        return AnswerMatcher.answerKey("  L'Étranger   d'Albert Camus ");
+    }
+
+    @Benchmark
+    public boolean matchWrongAnswer() {
+        return exactMatcher.matches(AnswerMatcher.answerKey("La Peste"), expectedKey, expectedHash);
+    }
+
+    @Benchmark
+    public boolean matchAnswerWithTypos() {
+        return tolerantMatcher.matches(AnswerMatcher.answerKey("L'Etrangr d'Albert Camu"), expectedKey, expectedHash);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void permuteSession(Blackhole blackhole) {
+        SessionPermutation permutation = SessionPermutation.of(deckSize, seed++);
+        for (int position = 0; position < deckSize; position++) {
+            blackhole.consume(memberships.get(permutation.rankAt(position)));
+        }
+    }
+
+    @Benchmark
+    public void permuteSessionWindow(Blackhole blackhole) {
+        SessionPermutation permutation = SessionPermutation.of(deckSize, seed++);
+        for (int position = 0; position < 50; position++) {
+            blackhole.consume(permutation.rankAt(position));
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package db.migration;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Locale;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+// Backfilled in Java rather than SQL: the key must match the application's normalization exactly, and
+// PostgreSQL's lower() depends on the database collation. The normalization is copied as it stood when this
+// migration was written, so later changes to AnswerMatcher cannot alter what it does.
+public class V17__card_answer_key extends BaseJavaMigration {
+
+    private static final int BATCH_SIZE = 500;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("alter table card add column answer_key text");
+        }
+
+        try (PreparedStatement select = connection.prepareStatement("select id, back from card");
+             PreparedStatement update = connection.prepareStatement("update card set answer_key = ? where id = ?")) {
+            select.setFetchSize(BATCH_SIZE);
+            try (ResultSet cards = select.executeQuery()) {
+                int pending = 0;
+                while (cards.next()) {
+                    update.setString(1, answerKey(cards.getString("back")));
+                    update.setLong(2, cards.getLong("id"));
+                    update.addBatch();
+                    if (++pending == BATCH_SIZE) {
+                        update.executeBatch();
+                        pending = 0;
+                    }
+                }
+                if (pending > 0) {
+                    update.executeBatch();
+                }
+            }
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("alter table card alter column answer_key set not null");
+        }
+    }
+
+    private static String answerKey(String value) {
+        if (value == null) {
+            return "";
+        }
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,88 @@
+package db.migration;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.text.Normalizer;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+// Answer keys now fold accents and whitespace runs, so every stored key is recomputed along with its hash.
+// The key and hash functions are copies of AnswerMatcher's as of this migration; a later change to them
+// needs its own migration rather than an edit here.
+public class V18__card_answer_hash extends BaseJavaMigration {
+
+    private static final int BATCH_SIZE = 500;
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("alter table card add column answer_hash bigint");
+        }
+
+        try (PreparedStatement select = connection.prepareStatement("select id, back from card");
+             PreparedStatement update = connection.prepareStatement(
+                 "update card set answer_key = ?, answer_hash = ? where id = ?")) {
+            select.setFetchSize(BATCH_SIZE);
+            try (ResultSet cards = select.executeQuery()) {
+                int pending = 0;
+                while (cards.next()) {
+                    String answerKey = answerKey(cards.getString("back"));
+                    update.setString(1, answerKey);
+                    update.setLong(2, answerHash(answerKey));
+                    update.setLong(3, cards.getLong("id"));
+                    update.addBatch();
+                    if (++pending == BATCH_SIZE) {
+                        update.executeBatch();
+                        pending = 0;
+                    }
+                }
+                if (pending > 0) {
+                    update.executeBatch();
+                }
+            }
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("alter table card alter column answer_hash set not null");
+        }
+    }
+
+    private static String answerKey(String value) {
+        if (value == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFKD);
+        StringBuilder key = new StringBuilder(decomposed.length());
+        boolean pendingSpace = false;
+        int index = 0;
+        while (index < decomposed.length()) {
+            int codePoint = decomposed.codePointAt(index);
+            index += Character.charCount(codePoint);
+            if (Character.isWhitespace(codePoint) || Character.isSpaceChar(codePoint)) {
+                pendingSpace = !key.isEmpty();
+            } else if (Character.getType(codePoint) != Character.NON_SPACING_MARK) {
+                if (pendingSpace) {
+                    key.append(' ');
+                    pendingSpace = false;
+                }
+                key.appendCodePoint(Character.toLowerCase(codePoint));
+            }
+        }
+        return key.toString();
+    }
+
+    private static long answerHash(String key) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            hash = (hash ^ (c & 0xff)) * FNV_PRIME;
+            hash = (hash ^ (c >>> 8)) * FNV_PRIME;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,34 @@
+package dev.sidequestlab.backend.config;
+
+import dev.sidequestlab.backend.memoquiz.api.controller.RevisionETagInterceptor;
+import dev.sidequestlab.backend.memoquiz.service.MemoQuizRevisionTracker;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@Profile("!test")
+public class ConditionalRequestConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<MemoQuizRevisionTracker> revisionTracker;
+    private final boolean etagEnabled;
+
+    public ConditionalRequestConfig(
+        ObjectProvider<MemoQuizRevisionTracker> revisionTracker,
+        @Value("${app.memoquiz.etag.enabled:true}") boolean etagEnabled
+    ) {
+        this.revisionTracker = revisionTracker;
+        this.etagEnabled = etagEnabled;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        MemoQuizRevisionTracker tracker = revisionTracker.getIfAvailable();
+        if (etagEnabled && tracker != null) {
+            registry.addInterceptor(new RevisionETagInterceptor(tracker)).addPathPatterns("/api/memoquiz/**");
+        }
+    }
+}
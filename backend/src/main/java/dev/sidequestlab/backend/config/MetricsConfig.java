@@ -0,0 +1,52 @@
+package dev.sidequestlab.backend.config;
+
+import dev.sidequestlab.backend.shared.metrics.EndpointMetricsInterceptor;
+import dev.sidequestlab.backend.shared.metrics.SqlStatementTracker;
+import dev.sidequestlab.backend.shared.metrics.SqlStatementTrackingDataSourcePostProcessor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@Profile("!test")
+public class MetricsConfig implements WebMvcConfigurer {
+
+    private static final String MEMOQUIZ_CONTROLLER_PACKAGE = "dev.sidequestlab.backend.memoquiz.api.controller";
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final ObjectProvider<SqlStatementTracker> tracker;
+
+    public MetricsConfig(ObjectProvider<MeterRegistry> meterRegistry, ObjectProvider<SqlStatementTracker> tracker) {
+        this.meterRegistry = meterRegistry;
+        this.tracker = tracker;
+    }
+
+    @Bean
+    public SqlStatementTracker sqlStatementTracker() {
+        return new SqlStatementTracker();
+    }
+
+    // Static so the post-processor is registered before the DataSource bean is created.
+    @Bean
+    public static SqlStatementTrackingDataSourcePostProcessor sqlStatementTrackingDataSourcePostProcessor(
+        ObjectProvider<SqlStatementTracker> tracker
+    ) {
+        return new SqlStatementTrackingDataSourcePostProcessor(tracker);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        MeterRegistry registryBean = meterRegistry.getIfAvailable();
+        if (registryBean != null) {
+            registry.addInterceptor(new EndpointMetricsInterceptor(
+                registryBean,
+                tracker.getObject(),
+                MEMOQUIZ_CONTROLLER_PACKAGE
+            ));
+        }
+    }
+}
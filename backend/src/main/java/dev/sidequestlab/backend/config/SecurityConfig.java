@@ -91,6 +91,8 @@ public class SecurityConfig {
                         .requestMatchers(request -> CorsUtils.isPreFlightRequest(request)).permitAll()
                         .requestMatchers("/api/auth/login", "/api/auth/logout", "/api/auth/me", "/api/auth/csrf").permitAll()
                         .requestMatchers("/api/health").permitAll()
+                        .requestMatchers("/actuator/health", "/actuator/health/**", "/actuator/info").permitAll()
+                        .requestMatchers("/actuator/**").authenticated()
                         .requestMatchers("/api/**").authenticated()
                         .anyRequest().permitAll()
                 )
@@ -142,8 +144,10 @@ public class SecurityConfig {
             "Origin",
             "X-Requested-With",
             "X-XSRF-TOKEN",
-            "Authorization"
+            "Authorization",
+            "If-None-Match"
         ));
+        config.setExposedHeaders(List.of("X-Next-Cursor", "ETag"));
         config.setAllowCredentials(true);
         config.setMaxAge(3600L);
 
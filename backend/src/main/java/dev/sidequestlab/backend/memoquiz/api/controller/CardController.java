@@ -3,18 +3,31 @@ package dev.sidequestlab.backend.memoquiz.api.controller;
 import dev.sidequestlab.backend.memoquiz.api.dto.BulkCreateCardsRequest;
 import dev.sidequestlab.backend.memoquiz.api.dto.BulkCreateCardsResponse;
 import dev.sidequestlab.backend.memoquiz.api.dto.CardDto;
+import dev.sidequestlab.backend.memoquiz.api.dto.CardImportResponse;
+import dev.sidequestlab.backend.memoquiz.api.dto.CardSliceDto;
 import dev.sidequestlab.backend.memoquiz.api.dto.CreateCardRequest;
 import dev.sidequestlab.backend.memoquiz.api.dto.UpdateCardRequest;
+import dev.sidequestlab.backend.memoquiz.api.enums.CardFileFormat;
+import dev.sidequestlab.backend.memoquiz.api.enums.CardSearchMode;
 import dev.sidequestlab.backend.memoquiz.api.enums.CardStatus;
+import dev.sidequestlab.backend.memoquiz.service.CardExportService;
+import dev.sidequestlab.backend.memoquiz.service.CardImportService;
 import dev.sidequestlab.backend.memoquiz.service.CardService;
 import org.springframework.context.annotation.Profile;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.validation.annotation.Validated;
+import org.springframework.web.server.ResponseStatusException;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -23,22 +36,53 @@ import java.util.List;
 @Profile("!test")
 public class CardController {
 
+    static final String NDJSON_MEDIA_TYPE = "application/x-ndjson";
+    static final String CSV_MEDIA_TYPE = "text/csv";
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final CardService cardService;
+    private final CardImportService cardImportService;
+    private final CardExportService cardExportService;
 
-    public CardController(CardService cardService) {
+    public CardController(
+            CardService cardService,
+            CardImportService cardImportService,
+            CardExportService cardExportService
+    ) {
         this.cardService = cardService;
+        this.cardImportService = cardImportService;
+        this.cardExportService = cardExportService;
     }
 
     @GetMapping("/cards")
+    @RevisionETag
     public ResponseEntity<List<CardDto>> listCards(
             @RequestParam(required = false) String q,
+            @RequestParam(defaultValue = "CONTAINS") CardSearchMode searchMode,
             @RequestParam(required = false) CardStatus status,
             @RequestParam(required = false) @Min(1) Integer box,
             @RequestParam(defaultValue = "0") @Min(0) int page,
             @RequestParam(defaultValue = "20") @Min(1) int size,
-            @RequestParam(required = false) String sort
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String after
     ) {
-        return ResponseEntity.ok(cardService.listCards(q, status, box, page, size, sort));
+        if (after == null) {
+            if (searchMode == CardSearchMode.CONTAINS) {
+                return ResponseEntity.ok(cardService.listCards(q, status, box, page, size, sort));
+            }
+            return ResponseEntity.ok(cardService.searchCards(q, searchMode, status, box, page, size, sort));
+        }
+        if (searchMode != CardSearchMode.CONTAINS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor pagination only supports contains search");
+        }
+
+        // Cursor mode: an empty "after" starts from the first row and the next cursor travels in a header.
+        CardSliceDto slice = cardService.listCardsAfter(q, status, box, size, sort, after);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (slice.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, slice.nextCursor());
+        }
+        return response.body(slice.items());
     }
 
     @PostMapping("/cards")
@@ -51,6 +95,32 @@ public class CardController {
         return ResponseEntity.ok(cardService.bulkCreateCards(req));
     }
 
+    @PostMapping(value = "/cards/import", consumes = NDJSON_MEDIA_TYPE)
+    public ResponseEntity<CardImportResponse> importNdjsonCards(InputStream body) {
+        return ResponseEntity.ok(cardImportService.importCards(body, CardFileFormat.NDJSON));
+    }
+
+    @PostMapping(value = "/cards/import", consumes = CSV_MEDIA_TYPE)
+    public ResponseEntity<CardImportResponse> importCsvCards(InputStream body) {
+        return ResponseEntity.ok(cardImportService.importCards(body, CardFileFormat.CSV));
+    }
+
+    @GetMapping("/cards/export")
+    public void exportCards(
+            @RequestParam(defaultValue = "ndjson") String format,
+            HttpServletResponse response
+    ) throws IOException {
+        CardFileFormat fileFormat = parseFileFormat(format);
+        String extension = fileFormat == CardFileFormat.CSV ? "csv" : "ndjson";
+        response.setContentType(fileFormat == CardFileFormat.CSV ? CSV_MEDIA_TYPE : NDJSON_MEDIA_TYPE);
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(
+                HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename("cards." + extension).build().toString()
+        );
+        cardExportService.exportCards(response.getOutputStream(), fileFormat);
+    }
+
     @PutMapping("/cards/{id}")
     public ResponseEntity<CardDto> updateCard(@PathVariable @Min(1) Long id, @Valid @RequestBody UpdateCardRequest req) {
         return ResponseEntity.ok(cardService.updateCard(id, req));
@@ -60,4 +130,12 @@ public class CardController {
     public ResponseEntity<CardDto> activateCard(@PathVariable @Min(1) Long id) {
         return ResponseEntity.ok(cardService.activateCard(id));
     }
+
+    private static CardFileFormat parseFileFormat(String format) {
+        return switch (format.trim().toLowerCase()) {
+            case "ndjson" -> CardFileFormat.NDJSON;
+            case "csv" -> CardFileFormat.CSV;
+            default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported export format");
+        };
+    }
 }
@@ -1,12 +1,17 @@
 package dev.sidequestlab.backend.memoquiz.api.controller;
 
 
+import dev.sidequestlab.backend.memoquiz.api.dto.ReviewHistoryDayDto;
 import dev.sidequestlab.backend.memoquiz.api.dto.TodayDashboardDto;
 import dev.sidequestlab.backend.memoquiz.service.DashboardService;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import java.util.List;
 import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.validation.annotation.Validated;
 
@@ -23,7 +28,15 @@ public class DashboardController {
     }
 
     @GetMapping("/dashboard/today")
+    @RevisionETag(daily = true)
     public ResponseEntity<TodayDashboardDto> today() {
         return ResponseEntity.ok(dashboardService.today());
     }
+
+    @GetMapping("/dashboard/history")
+    public ResponseEntity<List<ReviewHistoryDayDto>> history(
+        @RequestParam(defaultValue = "30") @Min(1) @Max(731) int days
+    ) {
+        return ResponseEntity.ok(dashboardService.history(days));
+    }
 }
@@ -1,11 +1,25 @@
 package dev.sidequestlab.backend.memoquiz.api.controller;
 
+import dev.sidequestlab.backend.memoquiz.api.dto.QuizCardPageDto;
 import dev.sidequestlab.backend.memoquiz.api.dto.QuizDto;
 import dev.sidequestlab.backend.memoquiz.api.dto.QuizOverviewDto;
 import dev.sidequestlab.backend.memoquiz.api.dto.SessionCardDto;
+import dev.sidequestlab.backend.memoquiz.service.QuizCardListingService;
 import dev.sidequestlab.backend.memoquiz.service.QuizService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import java.io.IOException;
 import java.util.List;
 import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -13,6 +27,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -21,25 +36,72 @@ import org.springframework.web.bind.annotation.RestController;
 @Profile("!test")
 public class QuizController {
 
+    static final String NDJSON_MEDIA_TYPE = "application/x-ndjson";
+
     private final QuizService quizService;
+    private final QuizCardListingService quizCardListingService;
 
-    public QuizController(QuizService quizService) {
+    public QuizController(QuizService quizService, QuizCardListingService quizCardListingService) {
         this.quizService = quizService;
+        this.quizCardListingService = quizCardListingService;
     }
 
     @GetMapping("/quiz")
+    @RevisionETag
     public ResponseEntity<List<QuizDto>> listQuizzes() {
         return ResponseEntity.ok(quizService.listQuizzes());
     }
 
     @GetMapping("/quiz/overview")
+    @RevisionETag
     public ResponseEntity<QuizOverviewDto> overview() {
         return ResponseEntity.ok(quizService.overview());
     }
 
-    @GetMapping("/quizzes/default/cards")
-    public ResponseEntity<List<SessionCardDto>> listDefaultQuizCards() {
-        return ResponseEntity.ok(quizService.listDefaultQuizCards());
+    @Operation(summary = "List the cards enabled in the default quiz")
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Enabled cards of the default quiz",
+            content = @Content(
+                mediaType = MediaType.APPLICATION_JSON_VALUE,
+                array = @ArraySchema(schema = @Schema(implementation = SessionCardDto.class))
+            )
+        ),
+        @ApiResponse(responseCode = "304", description = "Cards unchanged since the ETag sent in If-None-Match")
+    })
+    @GetMapping(value = "/quizzes/default/cards", produces = MediaType.APPLICATION_JSON_VALUE)
+    @RevisionETag
+    public ResponseEntity<byte[]> listDefaultQuizCards() {
+        // The payload is served pre-serialized; the ETag and 304 handling come from @RevisionETag.
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(quizService.defaultQuizCardsPayload());
+    }
+
+    @Operation(summary = "Page through the default quiz cards by card id, optionally selecting fields")
+    @GetMapping("/quizzes/default/cards/page")
+    @RevisionETag
+    public ResponseEntity<QuizCardPageDto> pageDefaultQuizCards(
+        @RequestParam(required = false) @Min(0) Long after,
+        @RequestParam(defaultValue = "100") @Min(1) @Max(1000) int limit,
+        @Parameter(description = "Comma-separated subset of id,front,back,box; the id is always included")
+        @RequestParam(required = false) String fields
+    ) {
+        return ResponseEntity.ok(quizCardListingService.defaultQuizCardsPage(after, limit, fields));
+    }
+
+    @Operation(summary = "Stream the default quiz cards as NDJSON, optionally selecting fields")
+    @GetMapping(value = "/quizzes/default/cards/stream", produces = NDJSON_MEDIA_TYPE)
+    @RevisionETag
+    public void streamDefaultQuizCards(
+        @Parameter(description = "Comma-separated subset of id,front,back,box; the id is always included")
+        @RequestParam(required = false) String fields,
+        HttpServletResponse response
+    ) throws IOException {
+        response.setContentType(NDJSON_MEDIA_TYPE);
+        response.setCharacterEncoding("UTF-8");
+        quizCardListingService.streamDefaultQuizCards(response.getOutputStream(), fields);
     }
 
     @PostMapping("/quizzes/default/cards/{cardId}")
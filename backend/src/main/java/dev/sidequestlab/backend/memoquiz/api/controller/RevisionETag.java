@@ -0,0 +1,18 @@
+package dev.sidequestlab.backend.memoquiz.api.controller;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a GET endpoint whose body only changes with the memoquiz revision, so conditional
+ * requests are answered with 304 before the handler runs.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RevisionETag {
+
+    // Set when the body also depends on the current day, like the dashboard.
+    boolean daily() default false;
+}
@@ -0,0 +1,41 @@
+package dev.sidequestlab.backend.memoquiz.api.controller;
+
+import dev.sidequestlab.backend.memoquiz.service.MemoQuizRevisionTracker;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.time.LocalDate;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+// The revision lives in this instance's memory and only counts writes made through it, like the quiz cards payload
+// cache and the review log journal. This assumes a single backend instance: behind a load balancer, another
+// instance would keep answering 304 for data it did not change. Run more than one instance only with
+// app.memoquiz.etag.enabled set to false, or after moving the revision into the database.
+public class RevisionETagInterceptor implements HandlerInterceptor {
+
+    private final MemoQuizRevisionTracker revisionTracker;
+
+    public RevisionETagInterceptor(MemoQuizRevisionTracker revisionTracker) {
+        this.revisionTracker = revisionTracker;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!HttpMethod.GET.matches(request.getMethod()) || !(handler instanceof HandlerMethod method)) {
+            return true;
+        }
+        RevisionETag annotation = method.getMethodAnnotation(RevisionETag.class);
+        if (annotation == null) {
+            return true;
+        }
+
+        String etag = annotation.daily() ? revisionTracker.etag(LocalDate.now()) : revisionTracker.etag();
+        // Setting Cache-Control here also keeps Spring Security from adding no-store, which would disable revalidation.
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+        return !new ServletWebRequest(request, response).checkNotModified(etag);
+    }
+}
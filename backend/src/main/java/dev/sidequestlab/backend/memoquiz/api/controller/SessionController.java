@@ -2,16 +2,26 @@ package dev.sidequestlab.backend.memoquiz.api.controller;
 
 import dev.sidequestlab.backend.memoquiz.api.dto.AnswerRequest;
 import dev.sidequestlab.backend.memoquiz.api.dto.AnswerResponse;
+import dev.sidequestlab.backend.memoquiz.api.dto.BatchAnswerRequest;
+import dev.sidequestlab.backend.memoquiz.api.dto.BatchAnswerResponse;
 import dev.sidequestlab.backend.memoquiz.api.dto.CompleteSessionRequest;
 import dev.sidequestlab.backend.memoquiz.api.dto.CompleteSessionResponse;
+import dev.sidequestlab.backend.memoquiz.api.dto.LazySessionDto;
+import dev.sidequestlab.backend.memoquiz.api.dto.SessionCardDto;
 import dev.sidequestlab.backend.memoquiz.api.dto.SessionDto;
+import dev.sidequestlab.backend.memoquiz.service.SessionResumeService;
 import dev.sidequestlab.backend.memoquiz.service.SessionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import java.io.IOException;
+import java.util.List;
 import org.springframework.context.annotation.Profile;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -24,10 +34,14 @@ import org.springframework.web.bind.annotation.*;
 @Profile("!test")
 public class SessionController {
 
+    static final String NDJSON_MEDIA_TYPE = "application/x-ndjson";
+
     private final SessionService sessionService;
+    private final SessionResumeService sessionResumeService;
 
-    public SessionController(SessionService sessionService) {
+    public SessionController(SessionService sessionService, SessionResumeService sessionResumeService) {
         this.sessionService = sessionService;
+        this.sessionResumeService = sessionResumeService;
     }
 
     @Operation(summary = "Get today's memoquiz session")
@@ -46,11 +60,40 @@ public class SessionController {
         return ResponseEntity.ok(sessionService.getTodaySession());
     }
 
+    @Operation(summary = "Start today's memoquiz session without returning its cards")
+    @GetMapping(value = "/session/today/lazy", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<LazySessionDto> todaySessionLazy() {
+        return ResponseEntity.ok(sessionService.startTodaySessionLazily());
+    }
+
+    @Operation(summary = "Fetch a window of a session's cards in session order")
+    @GetMapping(value = "/session/{id}/cards", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<SessionCardDto>> sessionCards(
+        @PathVariable @Min(1) Long id,
+        @RequestParam(defaultValue = "0") @Min(0) int from,
+        @RequestParam(defaultValue = "50") @Min(1) @Max(500) int limit
+    ) {
+        return ResponseEntity.ok(sessionService.sessionCards(id, from, limit));
+    }
+
+    @Operation(summary = "Stream the session's unanswered cards as NDJSON in session order")
+    @GetMapping(value = "/session/{id}/remaining", produces = NDJSON_MEDIA_TYPE)
+    public void remainingSessionCards(@PathVariable @Min(1) Long id, HttpServletResponse response) throws IOException {
+        response.setContentType(NDJSON_MEDIA_TYPE);
+        response.setCharacterEncoding("UTF-8");
+        sessionResumeService.streamRemainingCards(id, response.getOutputStream());
+    }
+
     @PostMapping("/session/answer")
     public ResponseEntity<AnswerResponse> answer(@Valid @RequestBody AnswerRequest req) {
         return ResponseEntity.ok(sessionService.answer(req));
     }
 
+    @PostMapping("/session/answers")
+    public ResponseEntity<BatchAnswerResponse> answerBatch(@Valid @RequestBody BatchAnswerRequest req) {
+        return ResponseEntity.ok(sessionService.answerBatch(req));
+    }
+
     @PostMapping("/session/complete")
     public ResponseEntity<CompleteSessionResponse> completeSession(@Valid @RequestBody CompleteSessionRequest req) {
         return ResponseEntity.ok(sessionService.completeSession(req));
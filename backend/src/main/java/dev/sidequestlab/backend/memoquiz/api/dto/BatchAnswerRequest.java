@@ -0,0 +1,15 @@
+package dev.sidequestlab.backend.memoquiz.api.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+public record BatchAnswerRequest(
+	@NotNull
+	Long sessionId,
+
+	@NotEmpty
+	@Size(max = 100)
+	List<@Valid @NotNull BatchAnswerItem> answers) {}
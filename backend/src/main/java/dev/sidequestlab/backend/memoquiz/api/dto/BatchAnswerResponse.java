@@ -0,0 +1,5 @@
+package dev.sidequestlab.backend.memoquiz.api.dto;
+
+import java.util.List;
+
+public record BatchAnswerResponse(Long sessionId, List<BatchAnswerResult> results) {}
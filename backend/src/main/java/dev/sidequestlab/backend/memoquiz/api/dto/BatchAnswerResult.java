@@ -0,0 +1,5 @@
+package dev.sidequestlab.backend.memoquiz.api.dto;
+
+import java.time.Instant;
+
+public record BatchAnswerResult(Long cardId, boolean correct, Instant nextReview) {}
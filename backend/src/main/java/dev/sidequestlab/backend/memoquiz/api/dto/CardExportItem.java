@@ -0,0 +1,16 @@
+package dev.sidequestlab.backend.memoquiz.api.dto;
+
+import dev.sidequestlab.backend.memoquiz.api.enums.CardStatus;
+import java.time.Instant;
+import java.util.List;
+
+public record CardExportItem(
+    Long id,
+    String front,
+    String back,
+    CardStatus status,
+    int box,
+    Instant createdAt,
+    Instant updatedAt,
+    List<CardExportMembership> memberships
+) {}
@@ -0,0 +1,3 @@
+package dev.sidequestlab.backend.memoquiz.api.dto;
+
+public record CardExportMembership(String quiz, boolean enabled, int box) {}
@@ -0,0 +1,3 @@
+package dev.sidequestlab.backend.memoquiz.api.dto;
+
+public record CardImportChunkResult(int chunk, long firstRow, long lastRow, int importedCount) {}
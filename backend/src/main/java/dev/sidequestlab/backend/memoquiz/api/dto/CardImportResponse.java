@@ -0,0 +1,12 @@
+package dev.sidequestlab.backend.memoquiz.api.dto;
+
+import java.util.List;
+
+public record CardImportResponse(
+    long detectedCount,
+    long importedCount,
+    long rejectedCount,
+    List<CardImportChunkResult> chunks,
+    List<CardImportRowError> errors,
+    boolean errorsTruncated
+) {}
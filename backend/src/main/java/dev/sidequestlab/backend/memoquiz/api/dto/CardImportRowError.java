@@ -0,0 +1,3 @@
+package dev.sidequestlab.backend.memoquiz.api.dto;
+
+public record CardImportRowError(long row, String message) {}
@@ -0,0 +1,5 @@
+package dev.sidequestlab.backend.memoquiz.api.dto;
+
+import java.util.List;
+
+public record CardSliceDto(List<CardDto> items, String nextCursor) {}
@@ -0,0 +1,13 @@
+package dev.sidequestlab.backend.memoquiz.api.dto;
+
+import jakarta.validation.constraints.NotNull;
+import java.time.Instant;
+
+public record LazySessionDto(
+	@NotNull
+	Long id,
+
+	@NotNull
+	Instant startedAt,
+
+	int cardCount) {}
@@ -0,0 +1,7 @@
+package dev.sidequestlab.backend.memoquiz.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// Fields that were not requested stay null and are left out of the JSON.
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record QuizCardItemDto(Long cardId, String front, String back, Integer box) {}
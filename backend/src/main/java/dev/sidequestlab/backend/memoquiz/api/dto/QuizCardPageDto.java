@@ -0,0 +1,5 @@
+package dev.sidequestlab.backend.memoquiz.api.dto;
+
+import java.util.List;
+
+public record QuizCardPageDto(List<QuizCardItemDto> items, Long nextAfter) {}
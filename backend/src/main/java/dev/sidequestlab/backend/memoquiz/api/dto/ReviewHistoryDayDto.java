@@ -0,0 +1,9 @@
+package dev.sidequestlab.backend.memoquiz.api.dto;
+
+import java.time.LocalDate;
+
+public record ReviewHistoryDayDto(
+    LocalDate date,
+    int reviewedCards,
+    int goodAnswers
+) {}
@@ -13,7 +13,8 @@ public record TodayDashboardDto(
     int dueToday,
     int totalCards,
     LastSessionSummary lastSessionSummary,
-    List<BoxesOverviewItem> boxesOverview
+    List<BoxesOverviewItem> boxesOverview,
+    List<Integer> dueForecast
 ) {
 
     public record LastSessionSummary(
@@ -22,12 +23,14 @@ public record TodayDashboardDto(
         double successRate,
         Instant startedAt,
         Integer durationSeconds,
-        int dayIndex
+        int dayIndex,
+        Long sessionId
     ) {}
 
     public record BoxesOverviewItem(
         int boxNumber,
         int cardCount,
-        boolean isToday
+        boolean isToday,
+        Integer nextDueInDays
     ) {}
 }
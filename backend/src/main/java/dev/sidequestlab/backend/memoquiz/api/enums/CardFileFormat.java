@@ -0,0 +1,6 @@
+package dev.sidequestlab.backend.memoquiz.api.enums;
+
+public enum CardFileFormat {
+    NDJSON,
+    CSV
+}
@@ -0,0 +1,7 @@
+package dev.sidequestlab.backend.memoquiz.api.enums;
+
+public enum CardSearchMode {
+    CONTAINS,
+    PREFIX,
+    RANKED
+}
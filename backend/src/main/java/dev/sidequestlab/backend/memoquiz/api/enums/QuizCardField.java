@@ -0,0 +1,8 @@
+package dev.sidequestlab.backend.memoquiz.api.enums;
+
+public enum QuizCardField {
+    ID,
+    FRONT,
+    BACK,
+    BOX
+}
@@ -9,7 +9,8 @@ import java.time.Instant;
 public class CardEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "card_id_seq")
+    @SequenceGenerator(name = "card_id_seq", sequenceName = "card_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(length = 2000, nullable = false)
@@ -18,6 +19,13 @@ public class CardEntity {
     @Column(length = 10000, nullable = false)
     private String back;
 
+    // Unbounded because normalization can make a key longer than the back it comes from.
+    @Column(name = "answer_key", nullable = false, columnDefinition = "text")
+    private String answerKey;
+
+    @Column(name = "answer_hash", nullable = false)
+    private long answerHash;
+
     @Enumerated(EnumType.STRING)
     @Column(length = 16, nullable = false)
     private CardStatus status;
@@ -71,6 +79,22 @@ public class CardEntity {
         this.back = back;
     }
 
+    public String getAnswerKey() {
+        return answerKey;
+    }
+
+    public void setAnswerKey(String answerKey) {
+        this.answerKey = answerKey;
+    }
+
+    public long getAnswerHash() {
+        return answerHash;
+    }
+
+    public void setAnswerHash(long answerHash) {
+        this.answerHash = answerHash;
+    }
+
     public CardStatus getStatus() {
         return status;
     }
@@ -2,13 +2,15 @@ package dev.sidequestlab.backend.memoquiz.persistence.entity;
 
 import jakarta.persistence.*;
 import java.time.Instant;
+import java.util.UUID;
 
 @Entity
 @Table(name = "memoquiz_review_log")
 public class MemoQuizReviewLogEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "memoquiz_review_log_id_seq")
+    @SequenceGenerator(name = "memoquiz_review_log_id_seq", sequenceName = "memoquiz_review_log_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "session_id", nullable = false)
@@ -32,6 +34,13 @@ public class MemoQuizReviewLogEntity {
     @Column(name = "next_box", nullable = false)
     private int nextBox;
 
+    // Answer transaction that recorded the log and the log's position in it; unique together.
+    @Column(name = "batch_id")
+    private UUID batchId;
+
+    @Column(name = "batch_ordinal")
+    private Integer batchOrdinal;
+
     @PrePersist
     void prePersist() {
         if (answeredAt == null) {
@@ -102,4 +111,20 @@ public class MemoQuizReviewLogEntity {
     public void setNextBox(int nextBox) {
         this.nextBox = nextBox;
     }
+
+    public UUID getBatchId() {
+        return batchId;
+    }
+
+    public void setBatchId(UUID batchId) {
+        this.batchId = batchId;
+    }
+
+    public Integer getBatchOrdinal() {
+        return batchOrdinal;
+    }
+
+    public void setBatchOrdinal(Integer batchOrdinal) {
+        this.batchOrdinal = batchOrdinal;
+    }
 }
@@ -8,7 +8,8 @@ import java.time.Instant;
 public class MemoQuizSessionEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "memoquiz_session_id_seq")
+    @SequenceGenerator(name = "memoquiz_session_id_seq", sequenceName = "memoquiz_session_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "started_at", nullable = false)
@@ -23,6 +24,12 @@ public class MemoQuizSessionEntity {
     @Column(name = "day_index", nullable = false)
     private int dayIndex;
 
+    @Column(name = "shuffle_seed")
+    private Long shuffleSeed;
+
+    @Column(name = "item_count")
+    private Integer itemCount;
+
     @PrePersist
     void prePersist() {
         if (startedAt == null) {
@@ -69,4 +76,20 @@ public class MemoQuizSessionEntity {
     public void setDayIndex(int dayIndex) {
         this.dayIndex = dayIndex;
     }
+
+    public Long getShuffleSeed() {
+        return shuffleSeed;
+    }
+
+    public void setShuffleSeed(Long shuffleSeed) {
+        this.shuffleSeed = shuffleSeed;
+    }
+
+    public Integer getItemCount() {
+        return itemCount;
+    }
+
+    public void setItemCount(Integer itemCount) {
+        this.itemCount = itemCount;
+    }
 }
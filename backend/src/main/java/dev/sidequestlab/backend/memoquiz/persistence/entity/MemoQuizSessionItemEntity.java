@@ -1,11 +1,13 @@
 package dev.sidequestlab.backend.memoquiz.persistence.entity;
 
 import jakarta.persistence.*;
+import java.time.Instant;
+import org.springframework.data.domain.Persistable;
 
 @Entity
 @Table(name = "memoquiz_session_item")
 @IdClass(MemoQuizSessionItemId.class)
-public class MemoQuizSessionItemEntity {
+public class MemoQuizSessionItemEntity implements Persistable<MemoQuizSessionItemId> {
 
     @Id
     @Column(name = "session_id", nullable = false)
@@ -18,6 +20,34 @@ public class MemoQuizSessionItemEntity {
     @Column(nullable = false)
     private int box;
 
+    // Position of the card in the session's shuffled order.
+    @Column(nullable = false)
+    private int ordinal;
+
+    // Set when the card is answered in this session; remaining cards are the items without it.
+    @Column(name = "answered_at")
+    private Instant answeredAt;
+
+    // The key is always assigned, so without this saveAll would merge (select, then insert) every item.
+    @Transient
+    private boolean persisted;
+
+    @Override
+    public MemoQuizSessionItemId getId() {
+        return new MemoQuizSessionItemId(sessionId, cardId);
+    }
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostPersist
+    @PostLoad
+    void markPersisted() {
+        persisted = true;
+    }
+
     public Long getSessionId() {
         return sessionId;
     }
@@ -41,4 +71,20 @@ public class MemoQuizSessionItemEntity {
     public void setBox(int box) {
         this.box = box;
     }
+
+    public int getOrdinal() {
+        return ordinal;
+    }
+
+    public void setOrdinal(int ordinal) {
+        this.ordinal = ordinal;
+    }
+
+    public Instant getAnsweredAt() {
+        return answeredAt;
+    }
+
+    public void setAnsweredAt(Instant answeredAt) {
+        this.answeredAt = answeredAt;
+    }
 }
@@ -0,0 +1,4 @@
+package dev.sidequestlab.backend.memoquiz.persistence.projection;
+
+public record AnswerGradeProjection(boolean correct, int previousBox, int nextBox) {
+}
@@ -0,0 +1,6 @@
+package dev.sidequestlab.backend.memoquiz.persistence.projection;
+
+import dev.sidequestlab.backend.memoquiz.api.enums.CardStatus;
+
+public record CardAnswerProjection(Long cardId, String answerKey, long answerHash, CardStatus status) {
+}
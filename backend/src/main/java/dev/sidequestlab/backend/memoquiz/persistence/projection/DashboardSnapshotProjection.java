@@ -0,0 +1,21 @@
+package dev.sidequestlab.backend.memoquiz.persistence.projection;
+
+import java.time.Instant;
+import java.util.List;
+
+public record DashboardSnapshotProjection(
+    List<BoxOverviewProjection> boxes,
+    long totalCards,
+    LastSession lastSession
+) {
+
+    public record LastSession(
+        Long id,
+        Instant startedAt,
+        Integer durationSeconds,
+        int dayIndex,
+        long reviewedCount,
+        long correctCount,
+        long itemCount
+    ) {}
+}
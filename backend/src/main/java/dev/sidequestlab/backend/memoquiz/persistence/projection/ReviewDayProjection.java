@@ -0,0 +1,6 @@
+package dev.sidequestlab.backend.memoquiz.persistence.projection;
+
+import java.time.LocalDate;
+
+public record ReviewDayProjection(LocalDate answeredOn, long reviewedCount, long correctCount) {
+}
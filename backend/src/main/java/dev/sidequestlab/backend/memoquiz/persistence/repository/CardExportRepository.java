@@ -0,0 +1,104 @@
+package dev.sidequestlab.backend.memoquiz.persistence.repository;
+
+import dev.sidequestlab.backend.memoquiz.api.dto.CardExportItem;
+import dev.sidequestlab.backend.memoquiz.api.dto.CardExportMembership;
+import dev.sidequestlab.backend.memoquiz.api.enums.CardStatus;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@Profile("!test")
+public class CardExportRepository {
+
+    private static final String EXPORT_QUERY = """
+        select
+            c.id,
+            c.front,
+            c.back,
+            c.status,
+            c.created_at,
+            c.updated_at,
+            coalesce(p.box, 1) as box,
+            q.code as quiz_code,
+            qc.enabled as quiz_enabled,
+            qc.box as quiz_box
+        from card c
+        left join card_progress p on p.card_id = c.id
+        left join memoquiz_quiz_card qc on qc.card_id = c.id
+        left join memoquiz_quiz q on q.id = qc.quiz_id
+        order by c.id asc, q.code asc
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CardExportRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Must run inside a transaction: outside one the PostgreSQL driver ignores the fetch size and buffers everything.
+    public void streamCards(int fetchSize, Consumer<CardExportItem> consumer) {
+        CardRowAccumulator accumulator = new CardRowAccumulator(consumer);
+        jdbcTemplate.query(
+            connection -> {
+                PreparedStatement ps = connection.prepareStatement(
+                    EXPORT_QUERY,
+                    ResultSet.TYPE_FORWARD_ONLY,
+                    ResultSet.CONCUR_READ_ONLY
+                );
+                ps.setFetchSize(fetchSize);
+                return ps;
+            },
+            (RowCallbackHandler) accumulator::accept
+        );
+        accumulator.finish();
+    }
+
+    // Membership rows arrive consecutively per card, so only the current card is held in memory.
+    private static final class CardRowAccumulator {
+        private final Consumer<CardExportItem> consumer;
+        private CardExportItem current;
+        private List<CardExportMembership> memberships = new ArrayList<>();
+
+        private CardRowAccumulator(Consumer<CardExportItem> consumer) {
+            this.consumer = consumer;
+        }
+
+        private void accept(ResultSet rs) throws SQLException {
+            long id = rs.getLong("id");
+            if (current == null || current.id() != id) {
+                finish();
+                memberships = new ArrayList<>();
+                current = new CardExportItem(
+                    id,
+                    rs.getString("front"),
+                    rs.getString("back"),
+                    CardStatus.valueOf(rs.getString("status")),
+                    rs.getInt("box"),
+                    rs.getObject("created_at", OffsetDateTime.class).toInstant(),
+                    rs.getObject("updated_at", OffsetDateTime.class).toInstant(),
+                    memberships
+                );
+            }
+            String quizCode = rs.getString("quiz_code");
+            if (quizCode != null) {
+                memberships.add(new CardExportMembership(quizCode, rs.getBoolean("quiz_enabled"), rs.getInt("quiz_box")));
+            }
+        }
+
+        private void finish() {
+            if (current != null) {
+                consumer.accept(current);
+                current = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package dev.sidequestlab.backend.memoquiz.persistence.repository;
+
+import dev.sidequestlab.backend.memoquiz.api.enums.CardStatus;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@Profile("!test")
+public class CardImportRepository {
+
+    public record NewCard(String front, String back, String answerKey, long answerHash) {
+    }
+
+    private static final String ALLOCATE_IDS = """
+        select nextval(pg_get_serial_sequence('card', 'id'))
+        from generate_series(1, ?)
+        """;
+
+    private static final String INSERT_CARD = """
+        insert into card (id, front, back, answer_key, answer_hash, status, created_at, updated_at)
+        values (?, ?, ?, ?, ?, ?, ?, ?)
+        """;
+
+    private static final String INSERT_PROGRESS = """
+        insert into card_progress (card_id, box, updated_at)
+        values (?, ?, ?)
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CardImportRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public int insertCards(List<NewCard> cards, Instant now) {
+        if (cards.isEmpty()) {
+            return 0;
+        }
+        List<Long> ids = jdbcTemplate.queryForList(ALLOCATE_IDS, Long.class, cards.size());
+        Timestamp timestamp = Timestamp.from(now);
+
+        List<Object[]> cardArgs = new ArrayList<>(cards.size());
+        List<Object[]> progressArgs = new ArrayList<>(cards.size());
+        for (int i = 0; i < cards.size(); i++) {
+            NewCard card = cards.get(i);
+            Long id = ids.get(i);
+            cardArgs.add(new Object[] {id, card.front(), card.back(), card.answerKey(), card.answerHash(), CardStatus.INACTIVE.name(), timestamp, timestamp});
+            progressArgs.add(new Object[] {id, 1, timestamp});
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_CARD, cardArgs);
+        jdbcTemplate.batchUpdate(INSERT_PROGRESS, progressArgs);
+        return cards.size();
+    }
+}
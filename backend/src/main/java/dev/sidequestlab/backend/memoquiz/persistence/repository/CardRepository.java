@@ -1,8 +1,38 @@
 package dev.sidequestlab.backend.memoquiz.persistence.repository;
 
 import dev.sidequestlab.backend.memoquiz.persistence.entity.CardEntity;
+import dev.sidequestlab.backend.memoquiz.persistence.projection.CardAnswerProjection;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface CardRepository extends JpaRepository<CardEntity, Long>, JpaSpecificationExecutor<CardEntity> {
+
+    // progress is the inverse side of a one-to-one and cannot be proxied, so it is always joined
+    // up front instead of costing one extra select per loaded card.
+    @Override
+    @EntityGraph(attributePaths = "progress")
+    Optional<CardEntity> findById(Long id);
+
+    @Override
+    @EntityGraph(attributePaths = "progress")
+    Page<CardEntity> findAll(Specification<CardEntity> spec, Pageable pageable);
+
+    @EntityGraph(attributePaths = "progress")
+    List<CardEntity> findWithProgressByIdIn(Collection<Long> ids);
+
+    @Query("""
+        select new dev.sidequestlab.backend.memoquiz.persistence.projection.CardAnswerProjection(c.id, c.answerKey, c.answerHash, c.status)
+        from CardEntity c
+        where c.id in :ids
+        """)
+    List<CardAnswerProjection> findAnswersByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,77 @@
+package dev.sidequestlab.backend.memoquiz.persistence.repository;
+
+import dev.sidequestlab.backend.memoquiz.api.enums.CardSearchMode;
+import dev.sidequestlab.backend.memoquiz.api.enums.CardStatus;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@Profile("!test")
+public class CardSearchRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CardSearchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // PREFIX expects a to_tsquery expression built from sanitized terms; RANKED accepts raw user text.
+    public List<Long> findMatchingIds(
+        CardSearchMode mode,
+        String terms,
+        CardStatus status,
+        Integer box,
+        Sort sort,
+        long offset,
+        int limit
+    ) {
+        List<Object> params = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("select c.id\nfrom card c\n");
+        sql.append(mode == CardSearchMode.RANKED
+            ? "cross join websearch_to_tsquery('simple', ?) as query\n"
+            : "cross join to_tsquery('simple', ?) as query\n");
+        params.add(terms);
+        if (box != null) {
+            sql.append("join card_progress p on p.card_id = c.id\n");
+        }
+        sql.append("where c.search_vector @@ query\n");
+        if (status != null) {
+            sql.append("and c.status = ?\n");
+            params.add(status.name());
+        }
+        if (box != null) {
+            sql.append("and p.box = ?\n");
+            params.add(box);
+        }
+        sql.append("order by ").append(mode == CardSearchMode.RANKED
+            ? "ts_rank_cd(c.search_vector, query) desc, c.id asc"
+            : orderBy(sort));
+        sql.append("\nlimit ? offset ?");
+        params.add(limit);
+        params.add(offset);
+
+        return jdbcTemplate.queryForList(sql.toString(), Long.class, params.toArray());
+    }
+
+    private static String orderBy(Sort sort) {
+        List<String> columns = new ArrayList<>();
+        boolean hasId = false;
+        for (Sort.Order order : sort) {
+            String column = switch (order.getProperty()) {
+                case "createdAt" -> "c.created_at";
+                case "id" -> "c.id";
+                default -> throw new IllegalArgumentException("Unsupported sort property: " + order.getProperty());
+            };
+            hasId |= "c.id".equals(column);
+            columns.add(column + (order.isAscending() ? " asc" : " desc"));
+        }
+        if (!hasId) {
+            columns.add("c.id asc");
+        }
+        return String.join(", ", columns);
+    }
+}
@@ -0,0 +1,28 @@
+package dev.sidequestlab.backend.memoquiz.persistence.repository;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@Profile("!test")
+public class MemoQuizAdvisoryLockRepository {
+
+    // First key of pg_advisory_xact_lock(int, int); the second key is the quiz id.
+    private static final int SESSION_CREATION_NAMESPACE = 0x4D51_0001;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public MemoQuizAdvisoryLockRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void lockSessionCreation(Long quizId) {
+        jdbcTemplate.query(
+            "select pg_advisory_xact_lock(?, ?)",
+            rs -> null,
+            SESSION_CREATION_NAMESPACE,
+            Math.toIntExact(quizId)
+        );
+    }
+}
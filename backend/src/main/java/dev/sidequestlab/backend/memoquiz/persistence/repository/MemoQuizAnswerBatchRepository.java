@@ -0,0 +1,164 @@
+package dev.sidequestlab.backend.memoquiz.persistence.repository;
+
+import dev.sidequestlab.backend.memoquiz.persistence.entity.MemoQuizReviewLogEntity;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@Profile("!test")
+public class MemoQuizAnswerBatchRepository {
+
+    // One statement per chunk, whose row count leaves out the logs already written under the same batch key,
+    // so replaying a batch never duplicates it.
+    private static final String INSERT_REVIEW_LOGS = """
+        insert into memoquiz_review_log (
+            session_id, card_id, answered_at, answer_text, correct, previous_box, next_box, batch_id, batch_ordinal
+        )
+        select *
+        from unnest(
+            ?::bigint[], ?::bigint[], ?::timestamptz[], ?::text[], ?::boolean[], ?::integer[], ?::integer[],
+            ?::uuid[], ?::integer[]
+        )
+        on conflict (batch_id, batch_ordinal, answered_at) do nothing
+        """;
+
+    private static final String MARK_ANSWERED = """
+        update memoquiz_session_item si
+        set answered_at = ?
+        where si.session_id = ?
+          and si.card_id = any(?)
+        """;
+
+    // Rows are locked in card_id order, so two batches sharing cards queue up instead of deadlocking.
+    private static final String LOCK_ENABLED_BOXES = """
+        select qc.card_id, qc.box
+        from memoquiz_quiz_card qc
+        where qc.quiz_id = ?
+          and qc.card_id = any(?)
+          and qc.enabled = true
+        order by qc.card_id
+        for update
+        """;
+
+    private static final String UPDATE_BOXES = """
+        update memoquiz_quiz_card qc
+        set box = v.box,
+            updated_at = ?
+        from unnest(?::bigint[], ?::integer[]) as v(card_id, box)
+        where qc.quiz_id = ?
+          and qc.card_id = v.card_id
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public MemoQuizAnswerBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Returns the number of logs inserted.
+    public int insertReviewLogs(List<MemoQuizReviewLogEntity> logs) {
+        if (logs.isEmpty()) {
+            return 0;
+        }
+        int size = logs.size();
+        Long[] sessionIds = new Long[size];
+        Long[] cardIds = new Long[size];
+        Timestamp[] answeredAts = new Timestamp[size];
+        String[] answerTexts = new String[size];
+        Boolean[] corrects = new Boolean[size];
+        Integer[] previousBoxes = new Integer[size];
+        Integer[] nextBoxes = new Integer[size];
+        UUID[] batchIds = new UUID[size];
+        Integer[] batchOrdinals = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            MemoQuizReviewLogEntity log = logs.get(i);
+            sessionIds[i] = log.getSessionId();
+            cardIds[i] = log.getCardId();
+            answeredAts[i] = Timestamp.from(log.getAnsweredAt());
+            answerTexts[i] = log.getAnswerText();
+            corrects[i] = log.isCorrect();
+            previousBoxes[i] = log.getPreviousBox();
+            nextBoxes[i] = log.getNextBox();
+            batchIds[i] = log.getBatchId();
+            batchOrdinals[i] = log.getBatchOrdinal();
+        }
+        return jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(INSERT_REVIEW_LOGS);
+            ps.setArray(1, connection.createArrayOf("bigint", sessionIds));
+            ps.setArray(2, connection.createArrayOf("bigint", cardIds));
+            ps.setArray(3, connection.createArrayOf("timestamptz", answeredAts));
+            ps.setArray(4, connection.createArrayOf("text", answerTexts));
+            ps.setArray(5, connection.createArrayOf("boolean", corrects));
+            ps.setArray(6, connection.createArrayOf("integer", previousBoxes));
+            ps.setArray(7, connection.createArrayOf("integer", nextBoxes));
+            ps.setArray(8, connection.createArrayOf("uuid", batchIds));
+            ps.setArray(9, connection.createArrayOf("integer", batchOrdinals));
+            return ps;
+        });
+    }
+
+    // Number of session items marked, which is less than cardIds.size() when some card is not in the session.
+    public int markAnswered(Long sessionId, Collection<Long> cardIds, Instant answeredAt) {
+        if (cardIds.isEmpty()) {
+            return 0;
+        }
+        return jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(MARK_ANSWERED);
+            ps.setTimestamp(1, Timestamp.from(answeredAt));
+            ps.setLong(2, sessionId);
+            ps.setArray(3, connection.createArrayOf("bigint", cardIds.toArray()));
+            return ps;
+        });
+    }
+
+    // Boxes by card id of the enabled memberships among cardIds, locked until the transaction ends.
+    public Map<Long, Integer> lockEnabledBoxes(Long quizId, Collection<Long> cardIds) {
+        Map<Long, Integer> boxesByCardId = new HashMap<>();
+        if (cardIds.isEmpty()) {
+            return boxesByCardId;
+        }
+        jdbcTemplate.query(
+            connection -> {
+                PreparedStatement ps = connection.prepareStatement(LOCK_ENABLED_BOXES);
+                ps.setLong(1, quizId);
+                ps.setArray(2, connection.createArrayOf("bigint", cardIds.toArray()));
+                return ps;
+            },
+            rs -> {
+                boxesByCardId.put(rs.getLong("card_id"), rs.getInt("box"));
+            }
+        );
+        return boxesByCardId;
+    }
+
+    public int updateBoxes(Long quizId, Map<Long, Integer> boxesByCardId, Instant updatedAt) {
+        if (boxesByCardId.isEmpty()) {
+            return 0;
+        }
+        Long[] cardIds = new Long[boxesByCardId.size()];
+        Integer[] boxes = new Integer[boxesByCardId.size()];
+        int index = 0;
+        for (Map.Entry<Long, Integer> entry : boxesByCardId.entrySet()) {
+            cardIds[index] = entry.getKey();
+            boxes[index] = entry.getValue();
+            index++;
+        }
+        return jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(UPDATE_BOXES);
+            ps.setTimestamp(1, Timestamp.from(updatedAt));
+            ps.setArray(2, connection.createArrayOf("bigint", cardIds));
+            ps.setArray(3, connection.createArrayOf("integer", boxes));
+            ps.setLong(4, quizId);
+            return ps;
+        });
+    }
+}
@@ -0,0 +1,98 @@
+package dev.sidequestlab.backend.memoquiz.persistence.repository;
+
+import dev.sidequestlab.backend.memoquiz.persistence.projection.AnswerGradeProjection;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Optional;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@Profile("!test")
+public class MemoQuizAnswerGradingRepository {
+
+    // Grades one answer, applies its Leitner move and marks the session item answered in a single
+    // round trip; the review log is written behind by the caller. The membership row is
+    // locked before its box is read, so concurrent answers for the same card serialize instead of
+    // overwriting each other, and box stats only move for active cards whose box changed.
+    // The hash comparison rejects most wrong answers without comparing the keys, and a verdict
+    // passed in by the caller (typo-tolerant matching) replaces the comparison entirely.
+    // 7 is the highest box allowed by memoquiz_quiz_card's box check.
+    private static final String GRADE = """
+        with graded as (
+            select qc.quiz_id,
+                   qc.card_id,
+                   qc.box as previous_box,
+                   coalesce(?::boolean, c.answer_hash = ? and c.answer_key = ?) as correct,
+                   c.status = 'ACTIVE' as active
+            from memoquiz_session_item si
+            join card c on c.id = si.card_id
+            join memoquiz_quiz_card qc on qc.quiz_id = ? and qc.card_id = si.card_id
+            where si.session_id = ?
+              and si.card_id = ?
+              and qc.enabled = true
+            for update of qc
+        ),
+        moved as (
+            update memoquiz_quiz_card qc
+            set box = case when g.correct then least(qc.box + 1, 7) else 1 end,
+                updated_at = ?
+            from graded g
+            where qc.quiz_id = g.quiz_id
+              and qc.card_id = g.card_id
+            returning qc.quiz_id, qc.card_id, g.correct, g.active, g.previous_box, qc.box as next_box
+        ),
+        answered as (
+            update memoquiz_session_item si
+            set answered_at = ?
+            from moved m
+            where si.session_id = ?
+              and si.card_id = m.card_id
+        ),
+        box_stats as (
+            insert into memoquiz_quiz_box_stats (quiz_id, box, card_count)
+            select m.quiz_id, d.box, d.delta
+            from moved m
+            cross join lateral (values (m.previous_box, -1), (m.next_box, 1)) as d(box, delta)
+            where m.active
+              and m.previous_box <> m.next_box
+            on conflict (quiz_id, box)
+            do update set card_count = memoquiz_quiz_box_stats.card_count + excluded.card_count
+        )
+        select correct, previous_box, next_box
+        from moved
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public MemoQuizAnswerGradingRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Empty when the card is not an item of the session or has no enabled membership in the quiz.
+    // A null verdict grades by comparing the answer key and hash with the card's.
+    public Optional<AnswerGradeProjection> grade(
+        Long sessionId,
+        Long cardId,
+        Long quizId,
+        String answerKey,
+        long answerHash,
+        Boolean verdict,
+        Instant answeredAt
+    ) {
+        return jdbcTemplate.query(
+            GRADE,
+            (rs, rowNum) -> new AnswerGradeProjection(rs.getBoolean("correct"), rs.getInt("previous_box"), rs.getInt("next_box")),
+            verdict,
+            answerHash,
+            answerKey,
+            quizId,
+            sessionId,
+            cardId,
+            Timestamp.from(answeredAt),
+            Timestamp.from(answeredAt),
+            sessionId
+        ).stream().findFirst();
+    }
+}
@@ -0,0 +1,157 @@
+package dev.sidequestlab.backend.memoquiz.persistence.repository;
+
+import dev.sidequestlab.backend.memoquiz.persistence.projection.BoxOverviewProjection;
+import dev.sidequestlab.backend.memoquiz.persistence.projection.DashboardSnapshotProjection;
+import dev.sidequestlab.backend.memoquiz.persistence.projection.ReviewDayProjection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@Profile("!test")
+public class MemoQuizDashboardQueryRepository {
+
+    private static final int MAX_BOX = 7;
+
+    private static final String SNAPSHOT_QUERY = """
+        with quiz as (
+            select q.id
+            from memoquiz_quiz q
+            where q.code = ?
+        ),
+        boxes as (
+            select
+                coalesce(sum(bs.card_count) filter (where bs.box = 1), 0) as box_1,
+                coalesce(sum(bs.card_count) filter (where bs.box = 2), 0) as box_2,
+                coalesce(sum(bs.card_count) filter (where bs.box = 3), 0) as box_3,
+                coalesce(sum(bs.card_count) filter (where bs.box = 4), 0) as box_4,
+                coalesce(sum(bs.card_count) filter (where bs.box = 5), 0) as box_5,
+                coalesce(sum(bs.card_count) filter (where bs.box = 6), 0) as box_6,
+                coalesce(sum(bs.card_count) filter (where bs.box = 7), 0) as box_7,
+                coalesce(sum(bs.card_count), 0) as total_cards
+            from memoquiz_quiz_box_stats bs
+            where bs.quiz_id = (select id from quiz)
+        ),
+        last_session as (
+            select s.id, s.started_at, s.duration_seconds, s.day_index
+            from memoquiz_session s
+            order by s.started_at desc, s.id desc
+            limit 1
+        )
+        select
+            (select id from quiz) as quiz_id,
+            b.box_1, b.box_2, b.box_3, b.box_4, b.box_5, b.box_6, b.box_7,
+            b.total_cards,
+            ls.id as last_session_id,
+            ls.started_at as last_started_at,
+            ls.duration_seconds as last_duration_seconds,
+            ls.day_index as last_day_index,
+            coalesce(rl.reviewed_count, 0) as reviewed_count,
+            coalesce(rl.correct_count, 0) as correct_count,
+            coalesce(si.item_count, 0) as item_count
+        from boxes b
+        left join last_session ls on true
+        left join lateral (
+            select count(*) as reviewed_count, count(*) filter (where l.correct) as correct_count
+            from memoquiz_review_log l
+            where l.session_id = ls.id
+              -- Answers follow their session's start, so only the partitions from that month on are read.
+              and l.answered_at >= ls.started_at
+        ) rl on true
+        left join lateral (
+            select count(*) as item_count
+            from memoquiz_session_item i
+            where i.session_id = ls.id
+        ) si on true
+        """;
+
+    // Days past the retention window only survive in the rollups, recent ones only in the live partitions. The
+    // maintenance job rolls up and removes a month in one transaction, so no answer is counted twice; a day can
+    // still come from both sides when late logs of an expired month were rolled up from the default partition.
+    private static final String REVIEW_HISTORY_QUERY = """
+        select h.answered_on, sum(h.reviewed_count) as reviewed_count, sum(h.correct_count) as correct_count
+        from (
+            select d.answered_on, d.reviewed_count, d.correct_count
+            from memoquiz_review_log_daily d
+            where d.answered_on >= ? and d.answered_on < ?
+            union all
+            select (l.answered_at at time zone 'UTC')::date, count(*), count(*) filter (where l.correct)
+            from memoquiz_review_log l
+            -- Bounding answered_at prunes the months outside the range.
+            where l.answered_at >= ? and l.answered_at < ?
+            group by 1
+        ) h
+        group by h.answered_on
+        order by h.answered_on
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public MemoQuizDashboardQueryRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public Optional<DashboardSnapshotProjection> findSnapshot(String quizCode) {
+        List<DashboardSnapshotProjection> rows = jdbcTemplate.query(
+            SNAPSHOT_QUERY,
+            (rs, rowNum) -> mapSnapshot(rs),
+            quizCode
+        );
+        return rows.stream().filter(row -> row != null).findFirst();
+    }
+
+    // Answer counts per UTC day from (inclusive) to (exclusive); days without answers are left out.
+    public List<ReviewDayProjection> findReviewHistory(LocalDate from, LocalDate to) {
+        return jdbcTemplate.query(
+            REVIEW_HISTORY_QUERY,
+            (rs, rowNum) -> new ReviewDayProjection(
+                rs.getObject("answered_on", LocalDate.class),
+                rs.getLong("reviewed_count"),
+                rs.getLong("correct_count")
+            ),
+            from,
+            to,
+            Timestamp.from(from.atStartOfDay(ZoneOffset.UTC).toInstant()),
+            Timestamp.from(to.atStartOfDay(ZoneOffset.UTC).toInstant())
+        );
+    }
+
+    private DashboardSnapshotProjection mapSnapshot(ResultSet rs) throws SQLException {
+        if (rs.getObject("quiz_id") == null) {
+            return null;
+        }
+
+        List<BoxOverviewProjection> boxes = new ArrayList<>(MAX_BOX);
+        for (int box = 1; box <= MAX_BOX; box++) {
+            long count = rs.getLong("box_" + box);
+            if (count > 0) {
+                boxes.add(new BoxOverviewProjection(box, count));
+            }
+        }
+
+        DashboardSnapshotProjection.LastSession lastSession = null;
+        long lastSessionId = rs.getLong("last_session_id");
+        if (!rs.wasNull()) {
+            lastSession = new DashboardSnapshotProjection.LastSession(
+                lastSessionId,
+                rs.getObject("last_started_at", OffsetDateTime.class).toInstant(),
+                rs.getObject("last_duration_seconds", Integer.class),
+                rs.getInt("last_day_index"),
+                rs.getLong("reviewed_count"),
+                rs.getLong("correct_count"),
+                rs.getLong("item_count")
+            );
+        }
+
+        return new DashboardSnapshotProjection(List.copyOf(boxes), rs.getLong("total_cards"), lastSession);
+    }
+}
@@ -0,0 +1,74 @@
+package dev.sidequestlab.backend.memoquiz.persistence.repository;
+
+import dev.sidequestlab.backend.memoquiz.api.enums.CardStatus;
+import java.util.List;
+import java.util.Map;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@Profile("!test")
+public class MemoQuizQuizBoxStatsRepository {
+
+    private static final String UPSERT_DELTA = """
+        insert into memoquiz_quiz_box_stats (quiz_id, box, card_count)
+        values (?, ?, ?)
+        on conflict (quiz_id, box)
+        do update set card_count = memoquiz_quiz_box_stats.card_count + excluded.card_count
+        """;
+
+    private static final String ADJUST_ENABLED_MEMBERSHIPS = """
+        insert into memoquiz_quiz_box_stats (quiz_id, box, card_count)
+        select qc.quiz_id, qc.box, ?
+        from memoquiz_quiz_card qc
+        where qc.card_id = ?
+          and qc.enabled = true
+        on conflict (quiz_id, box)
+        do update set card_count = memoquiz_quiz_box_stats.card_count + excluded.card_count
+        """;
+
+    private static final String REBUILD = """
+        with actual as (
+            select qc.quiz_id, qc.box, count(*) as card_count
+            from memoquiz_quiz_card qc
+            join card c on c.id = qc.card_id
+            where qc.enabled = true
+              and c.status = ?
+            group by qc.quiz_id, qc.box
+        )
+        insert into memoquiz_quiz_box_stats (quiz_id, box, card_count)
+        select coalesce(a.quiz_id, s.quiz_id), coalesce(a.box, s.box), coalesce(a.card_count, 0)
+        from actual a
+        full join memoquiz_quiz_box_stats s on s.quiz_id = a.quiz_id and s.box = a.box
+        where coalesce(a.card_count, 0) <> coalesce(s.card_count, 0)
+        on conflict (quiz_id, box)
+        do update set card_count = excluded.card_count
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public MemoQuizQuizBoxStatsRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void applyDeltas(Long quizId, Map<Integer, Long> deltasByBox) {
+        List<Object[]> args = deltasByBox.entrySet().stream()
+            .filter(entry -> entry.getValue() != 0)
+            .map(entry -> new Object[] {quizId, entry.getKey(), entry.getValue()})
+            .toList();
+        if (args.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPSERT_DELTA, args);
+    }
+
+    public void adjustEnabledMemberships(Long cardId, long delta) {
+        jdbcTemplate.update(ADJUST_ENABLED_MEMBERSHIPS, delta, cardId);
+    }
+
+    public int rebuild() {
+        jdbcTemplate.execute("lock table memoquiz_quiz_box_stats in share row exclusive mode");
+        return jdbcTemplate.update(REBUILD, CardStatus.ACTIVE.name());
+    }
+}
@@ -1,13 +1,9 @@
 package dev.sidequestlab.backend.memoquiz.persistence.repository;
 
 import dev.sidequestlab.backend.memoquiz.api.dto.SessionCardDto;
-import dev.sidequestlab.backend.memoquiz.api.enums.CardStatus;
 import dev.sidequestlab.backend.memoquiz.persistence.entity.MemoQuizQuizCardEntity;
 import dev.sidequestlab.backend.memoquiz.persistence.entity.MemoQuizQuizCardId;
-import dev.sidequestlab.backend.memoquiz.persistence.projection.BoxOverviewProjection;
-import dev.sidequestlab.backend.memoquiz.persistence.projection.SessionCardProjection;
 
-import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -36,68 +32,4 @@ public interface MemoQuizQuizCardRepository extends JpaRepository<MemoQuizQuizCa
         order by c.id asc
         """)
     List<SessionCardDto> findEnabledSessionCardsByQuizId(@Param("quizId") Long quizId);
-
-    @Query("""
-                select new dev.sidequestlab.backend.memoquiz.persistence.projection.SessionCardProjection(
-                    qc.cardId, c.front, c.back, qc.box
-                )
-                from MemoQuizQuizCardEntity qc
-                join qc.card c
-                where qc.quizId = :quizId
-                    and qc.enabled = true
-                    and qc.box in :boxes
-                    and c.status = :status
-                order by qc.cardId asc
-                """)
-    List<SessionCardProjection> findEnabledForSession(
-        @Param("quizId") Long quizId,
-        @Param("boxes") Collection<Integer> boxes,
-        @Param("status") CardStatus status
-    );
-
-    @Query("""
-        select count(qc.cardId)
-        from MemoQuizQuizCardEntity qc
-        join qc.card c
-        where qc.quizId = :quizId
-          and qc.enabled = true
-          and qc.box in :boxes
-          and c.status = :status
-        """)
-    long countEligibleForSession(
-        @Param("quizId") Long quizId,
-        @Param("boxes") Collection<Integer> boxes,
-        @Param("status") CardStatus status
-    );
-
-    @Query("""
-        select count(qc.cardId)
-        from MemoQuizQuizCardEntity qc
-        join qc.card c
-        where qc.quizId = :quizId
-          and qc.enabled = true
-          and c.status = :status
-        """)
-    long countEnabledByQuizIdAndCardStatus(
-        @Param("quizId") Long quizId,
-        @Param("status") CardStatus status
-    );
-
-    @Query("""
-        select new dev.sidequestlab.backend.memoquiz.persistence.projection.BoxOverviewProjection(
-            qc.box,
-            count(qc.cardId)
-        )
-        from MemoQuizQuizCardEntity qc
-        join qc.card c
-        where qc.quizId = :quizId
-          and qc.enabled = true
-          and c.status = :status
-        group by qc.box
-        order by qc.box asc
-        """)
-    List<BoxOverviewProjection> findEnabledActiveBoxOverview(
-        @Param("quizId") Long quizId,
-        @Param("status") CardStatus status
-    );
 }
@@ -0,0 +1,122 @@
+package dev.sidequestlab.backend.memoquiz.persistence.repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+// Monthly partitions of memoquiz_review_log are named memoquiz_review_log_yyyy_MM and cover that UTC month.
+// The DDL statements take locks on the parent table, so every method must run inside a transaction,
+// which also makes a roll-up and the removal of its partition commit together.
+@Repository
+@Profile("!test")
+public class MemoQuizReviewLogPartitionRepository {
+
+    private static final String PARENT_TABLE = "memoquiz_review_log";
+    private static final String DEFAULT_PARTITION = "memoquiz_review_log_default";
+    private static final Pattern PARTITION_NAME = Pattern.compile("memoquiz_review_log_(\\d{4})_(\\d{2})");
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private static final String FIND_PARTITIONS = """
+        select c.relname
+        from pg_inherits i
+        join pg_class c on c.oid = i.inhrelid
+        where i.inhparent = 'memoquiz_review_log'::regclass
+        """;
+
+    private static final String ADD_TO_DAILY = """
+        on conflict (answered_on, card_id) do update
+        set reviewed_count = memoquiz_review_log_daily.reviewed_count + excluded.reviewed_count,
+            correct_count = memoquiz_review_log_daily.correct_count + excluded.correct_count
+        """;
+
+    private static final String ROLL_UP = """
+        insert into memoquiz_review_log_daily (answered_on, card_id, reviewed_count, correct_count)
+        select (l.answered_at at time zone 'UTC')::date, l.card_id, count(*), count(*) filter (where l.correct)
+        from %s l
+        group by 1, 2
+        """ + ADD_TO_DAILY;
+
+    // Logs answered in a month that was already removed arrive in the default partition.
+    private static final String ROLL_UP_DEFAULT_BEFORE = """
+        with expired as (
+            delete from memoquiz_review_log_default
+            where answered_at < ?
+            returning answered_at, card_id, correct
+        )
+        insert into memoquiz_review_log_daily (answered_on, card_id, reviewed_count, correct_count)
+        select (e.answered_at at time zone 'UTC')::date, e.card_id, count(*), count(*) filter (where e.correct)
+        from expired e
+        group by 1, 2
+        """ + ADD_TO_DAILY;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public MemoQuizReviewLogPartitionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public List<YearMonth> findPartitionMonths() {
+        return jdbcTemplate.queryForList(FIND_PARTITIONS, String.class).stream()
+            .map(PARTITION_NAME::matcher)
+            .filter(Matcher::matches)
+            .map(name -> YearMonth.of(Integer.parseInt(name.group(1)), Integer.parseInt(name.group(2))))
+            .sorted()
+            .toList();
+    }
+
+    // Built detached and attached afterwards, because attaching fails while the default partition still
+    // holds rows of the month; those rows are moved over first.
+    public void createPartition(YearMonth month) {
+        String partition = partitionName(month);
+        limitLockWait();
+        jdbcTemplate.execute("create table " + partition + " (like " + PARENT_TABLE + " including defaults)");
+        jdbcTemplate.update(
+            "with moved as (delete from " + DEFAULT_PARTITION + " where answered_at >= ? and answered_at < ? returning *) "
+                + "insert into " + partition + " select * from moved",
+            Timestamp.from(start(month)),
+            Timestamp.from(start(month.plusMonths(1)))
+        );
+        jdbcTemplate.execute("alter table " + PARENT_TABLE + " attach partition " + partition
+            + " for values from ('" + start(month) + "') to ('" + start(month.plusMonths(1)) + "')");
+    }
+
+    public int rollUpPartition(YearMonth month) {
+        return jdbcTemplate.update(ROLL_UP.formatted(partitionName(month)));
+    }
+
+    public int rollUpDefaultBefore(YearMonth month) {
+        return jdbcTemplate.update(ROLL_UP_DEFAULT_BEFORE, Timestamp.from(start(month)));
+    }
+
+    // A detached partition keeps its rows as a plain table for archiving outside the application.
+    public void detachPartition(YearMonth month) {
+        limitLockWait();
+        jdbcTemplate.execute("alter table " + PARENT_TABLE + " detach partition " + partitionName(month));
+    }
+
+    public void dropPartition(YearMonth month) {
+        limitLockWait();
+        jdbcTemplate.execute("drop table " + partitionName(month));
+    }
+
+    // Inserts queue up behind a waiting DDL lock; giving up lets the next maintenance run retry instead.
+    private void limitLockWait() {
+        jdbcTemplate.execute("set local lock_timeout = '5s'");
+    }
+
+    private static String partitionName(YearMonth month) {
+        return PARENT_TABLE + "_" + month.format(PARTITION_SUFFIX);
+    }
+
+    private static Instant start(YearMonth month) {
+        return month.atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+}
@@ -1,11 +1,14 @@
 package dev.sidequestlab.backend.memoquiz.persistence.repository;
 
 import dev.sidequestlab.backend.memoquiz.persistence.entity.MemoQuizReviewLogEntity;
+import java.time.Instant;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+// Review logs are partitioned by answered_at; bounding it by the session's start keeps these counts on the
+// partitions that can hold the session's answers.
 public interface MemoQuizReviewLogRepository extends JpaRepository<MemoQuizReviewLogEntity, Long> {
 
-    long countBySessionId(Long sessionId);
+    long countBySessionIdAndAnsweredAtGreaterThanEqual(Long sessionId, Instant startedAt);
 
-    long countBySessionIdAndCorrectTrue(Long sessionId);
+    long countBySessionIdAndCorrectTrueAndAnsweredAtGreaterThanEqual(Long sessionId, Instant startedAt);
 }
@@ -0,0 +1,181 @@
+package dev.sidequestlab.backend.memoquiz.persistence.repository;
+
+import dev.sidequestlab.backend.memoquiz.api.dto.SessionCardDto;
+import dev.sidequestlab.backend.memoquiz.api.enums.CardStatus;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@Profile("!test")
+public class MemoQuizSessionDeckRepository {
+
+    // Each item's ordinal is its card's rank by id among the session's eligible memberships.
+    private static final String INSERT_ELIGIBLE_ITEMS = """
+        insert into memoquiz_session_item (session_id, card_id, box, ordinal)
+        select ?, qc.card_id, qc.box, row_number() over (order by qc.card_id) - 1
+        from memoquiz_quiz_card qc
+        join card c on c.id = qc.card_id
+        where qc.quiz_id = ?
+          and qc.enabled = true
+          and qc.box = any(?::integer[])
+          and c.status = ?
+        """;
+
+    private static final String INSERT_ELIGIBLE_ITEMS_RETURNING_CARDS = """
+        with inserted as (
+        """ + INSERT_ELIGIBLE_ITEMS + """
+            returning card_id, box, ordinal
+        )
+        select i.card_id, c.front, c.back, i.box
+        from inserted i
+        join card c on c.id = i.card_id
+        order by i.ordinal asc
+        """;
+
+    private static final String FIND_WINDOW = """
+        select si.card_id, c.front, c.back, si.box
+        from memoquiz_session_item si
+        join card c on c.id = si.card_id
+        where si.session_id = ?
+          and si.ordinal >= ?
+        order by si.ordinal asc
+        limit ?
+        """;
+
+    private static final String FIND_BY_ORDINALS = """
+        select si.ordinal, si.card_id, c.front, c.back, si.box
+        from memoquiz_session_item si
+        join card c on c.id = si.card_id
+        where si.session_id = ?
+          and si.ordinal = any(?::integer[])
+        """;
+
+    private static final String UNANSWERED = """
+          and si.answered_at is null
+        """;
+
+    private static final String STREAM_REMAINING = """
+        select si.card_id, c.front, c.back, si.box
+        from memoquiz_session_item si
+        join card c on c.id = si.card_id
+        where si.session_id = ?
+        """ + UNANSWERED + """
+        order by si.ordinal asc
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public MemoQuizSessionDeckRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // The deck is built inside the database; only the number of items comes back.
+    public int insertEligibleItems(Long sessionId, Long quizId, Collection<Integer> boxes, CardStatus status) {
+        return jdbcTemplate.update(connection -> eligibleItemsStatement(
+            connection, INSERT_ELIGIBLE_ITEMS, sessionId, quizId, boxes, status
+        ));
+    }
+
+    // Same insert, returning the created cards in ordinal order for responses that carry the whole deck.
+    public List<SessionCardDto> insertEligibleItemsReturningCards(
+        Long sessionId,
+        Long quizId,
+        Collection<Integer> boxes,
+        CardStatus status
+    ) {
+        return jdbcTemplate.query(
+            connection -> eligibleItemsStatement(
+                connection, INSERT_ELIGIBLE_ITEMS_RETURNING_CARDS, sessionId, quizId, boxes, status
+            ),
+            (rs, rowNum) -> toCard(rs)
+        );
+    }
+
+    public List<SessionCardDto> findWindow(Long sessionId, int fromOrdinal, int limit) {
+        return jdbcTemplate.query(
+            FIND_WINDOW,
+            (rs, rowNum) -> toCard(rs),
+            sessionId,
+            fromOrdinal,
+            limit
+        );
+    }
+
+    // Point lookups on the (session_id, ordinal) index for windows of a seeded session.
+    public Map<Integer, SessionCardDto> findByOrdinals(Long sessionId, int[] ordinals) {
+        return findByOrdinals(FIND_BY_ORDINALS, sessionId, ordinals);
+    }
+
+    public Map<Integer, SessionCardDto> findRemainingByOrdinals(Long sessionId, int[] ordinals) {
+        return findByOrdinals(FIND_BY_ORDINALS + UNANSWERED, sessionId, ordinals);
+    }
+
+    // Must run inside a transaction: outside one the PostgreSQL driver ignores the fetch size and buffers everything.
+    public void streamRemaining(Long sessionId, int fetchSize, Consumer<SessionCardDto> consumer) {
+        jdbcTemplate.query(
+            connection -> {
+                PreparedStatement ps = connection.prepareStatement(
+                    STREAM_REMAINING,
+                    ResultSet.TYPE_FORWARD_ONLY,
+                    ResultSet.CONCUR_READ_ONLY
+                );
+                ps.setFetchSize(fetchSize);
+                ps.setLong(1, sessionId);
+                return ps;
+            },
+            (RowCallbackHandler) rs -> consumer.accept(toCard(rs))
+        );
+    }
+
+    private static PreparedStatement eligibleItemsStatement(
+        Connection connection,
+        String sql,
+        Long sessionId,
+        Long quizId,
+        Collection<Integer> boxes,
+        CardStatus status
+    ) throws SQLException {
+        PreparedStatement ps = connection.prepareStatement(sql);
+        ps.setLong(1, sessionId);
+        ps.setLong(2, quizId);
+        ps.setArray(3, connection.createArrayOf("integer", boxes.toArray()));
+        ps.setString(4, status.name());
+        return ps;
+    }
+
+    private Map<Integer, SessionCardDto> findByOrdinals(String sql, Long sessionId, int[] ordinals) {
+        Integer[] boxed = Arrays.stream(ordinals).boxed().toArray(Integer[]::new);
+        Map<Integer, SessionCardDto> cards = new HashMap<>();
+        jdbcTemplate.query(
+            connection -> {
+                PreparedStatement ps = connection.prepareStatement(sql);
+                ps.setLong(1, sessionId);
+                ps.setArray(2, connection.createArrayOf("integer", boxed));
+                return ps;
+            },
+            (RowCallbackHandler) rs -> cards.put(rs.getInt("ordinal"), toCard(rs))
+        );
+        return cards;
+    }
+
+    private static SessionCardDto toCard(ResultSet rs) throws SQLException {
+        return new SessionCardDto(
+            rs.getLong("card_id"),
+            rs.getString("front"),
+            rs.getString("back"),
+            rs.getInt("box")
+        );
+    }
+}
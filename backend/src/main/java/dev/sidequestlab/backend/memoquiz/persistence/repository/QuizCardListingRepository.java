@@ -0,0 +1,89 @@
+package dev.sidequestlab.backend.memoquiz.persistence.repository;
+
+import dev.sidequestlab.backend.memoquiz.api.dto.QuizCardItemDto;
+import dev.sidequestlab.backend.memoquiz.api.enums.QuizCardField;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@Profile("!test")
+public class QuizCardListingRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public QuizCardListingRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Keyset on the (quiz_id, card_id) primary key, so later pages cost the same as the first.
+    public List<QuizCardItemDto> findPage(Long quizId, Set<QuizCardField> fields, long afterCardId, int limit) {
+        return jdbcTemplate.query(
+            query(fields) + "\nlimit ?",
+            (rs, rowNum) -> toItem(rs, fields),
+            quizId,
+            afterCardId,
+            limit
+        );
+    }
+
+    // Must run inside a transaction: outside one the PostgreSQL driver ignores the fetch size and buffers everything.
+    public void stream(Long quizId, Set<QuizCardField> fields, int fetchSize, Consumer<QuizCardItemDto> consumer) {
+        jdbcTemplate.query(
+            connection -> {
+                PreparedStatement ps = connection.prepareStatement(
+                    query(fields),
+                    ResultSet.TYPE_FORWARD_ONLY,
+                    ResultSet.CONCUR_READ_ONLY
+                );
+                ps.setFetchSize(fetchSize);
+                ps.setLong(1, quizId);
+                ps.setLong(2, 0L);
+                return ps;
+            },
+            (RowCallbackHandler) rs -> consumer.accept(toItem(rs, fields))
+        );
+    }
+
+    // Only the requested text columns are selected, and card is not joined at all when neither is.
+    static String query(Set<QuizCardField> fields) {
+        boolean joinCard = fields.contains(QuizCardField.FRONT) || fields.contains(QuizCardField.BACK);
+        StringBuilder sql = new StringBuilder("select qc.card_id");
+        if (fields.contains(QuizCardField.FRONT)) {
+            sql.append(", c.front");
+        }
+        if (fields.contains(QuizCardField.BACK)) {
+            sql.append(", c.back");
+        }
+        if (fields.contains(QuizCardField.BOX)) {
+            sql.append(", qc.box");
+        }
+        sql.append("\nfrom memoquiz_quiz_card qc");
+        if (joinCard) {
+            sql.append("\njoin card c on c.id = qc.card_id");
+        }
+        sql.append("""
+
+            where qc.quiz_id = ?
+              and qc.enabled = true
+              and qc.card_id > ?
+            order by qc.card_id asc""");
+        return sql.toString();
+    }
+
+    private static QuizCardItemDto toItem(ResultSet rs, Set<QuizCardField> fields) throws SQLException {
+        return new QuizCardItemDto(
+            rs.getLong("card_id"),
+            fields.contains(QuizCardField.FRONT) ? rs.getString("front") : null,
+            fields.contains(QuizCardField.BACK) ? rs.getString("back") : null,
+            fields.contains(QuizCardField.BOX) ? rs.getInt("box") : null
+        );
+    }
+}
@@ -0,0 +1,124 @@
+package dev.sidequestlab.backend.memoquiz.service;
+
+import java.text.Normalizer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// Answers are graded by comparing keys, so the key stored on a card and the key of a submitted
+// answer must come from answerKey. Changing it or answerHash requires recomputing the stored
+// card.answer_key and card.answer_hash in a new migration with its own copy of the functions.
+@Component
+public class AnswerMatcher {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    // Short answers get fewer typos: one edit per this many characters of the expected key.
+    static final int CHARS_PER_EDIT = 4;
+
+    private final int maxEditDistance;
+
+    public AnswerMatcher(@Value("${app.memoquiz.answer.max-edit-distance:0}") int maxEditDistance) {
+        if (maxEditDistance < 0) {
+            throw new IllegalArgumentException("maxEditDistance must not be negative");
+        }
+        this.maxEditDistance = maxEditDistance;
+    }
+
+    // Compatibility-decomposed, accents removed, lower-cased and with whitespace runs collapsed to
+    // one space, so "  Ｅcole  NORMALE " and "école normale" share a key.
+    public static String answerKey(String value) {
+        if (value == null) {
+            return "";
+        }
+        String decomposed = isAscii(value) ? value : Normalizer.normalize(value, Normalizer.Form.NFKD);
+        StringBuilder key = new StringBuilder(decomposed.length());
+        boolean pendingSpace = false;
+        int index = 0;
+        while (index < decomposed.length()) {
+            int codePoint = decomposed.codePointAt(index);
+            index += Character.charCount(codePoint);
+            if (Character.isWhitespace(codePoint) || Character.isSpaceChar(codePoint)) {
+                pendingSpace = !key.isEmpty();
+            } else if (Character.getType(codePoint) != Character.NON_SPACING_MARK) {
+                if (pendingSpace) {
+                    key.append(' ');
+                    pendingSpace = false;
+                }
+                key.appendCodePoint(Character.toLowerCase(codePoint));
+            }
+        }
+        return key.toString();
+    }
+
+    // 64-bit FNV-1a over the key's UTF-16 code units, low byte first.
+    public static long answerHash(String key) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            hash = (hash ^ (c & 0xff)) * FNV_PRIME;
+            hash = (hash ^ (c >>> 8)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    // Edit distances are computed here rather than in SQL, so tolerant grading has to read the card's key first.
+    public boolean isTolerant() {
+        return maxEditDistance > 0;
+    }
+
+    public boolean matches(String answerKey, String expectedKey, long expectedHash) {
+        if (answerHash(answerKey) == expectedHash && answerKey.equals(expectedKey)) {
+            return true;
+        }
+        int allowedEdits = Math.min(maxEditDistance, expectedKey.length() / CHARS_PER_EDIT);
+        return allowedEdits > 0 && withinEditDistance(answerKey, expectedKey, allowedEdits);
+    }
+
+    // Levenshtein distance restricted to a diagonal band of width 2 * maxDistance + 1; stops as
+    // soon as a whole row exceeds the bound.
+    static boolean withinEditDistance(String source, String target, int maxDistance) {
+        int sourceLength = source.length();
+        int targetLength = target.length();
+        if (Math.abs(sourceLength - targetLength) > maxDistance) {
+            return false;
+        }
+        int outOfBand = maxDistance + 1;
+        int[] previous = new int[targetLength + 1];
+        int[] current = new int[targetLength + 1];
+        for (int j = 0; j <= targetLength; j++) {
+            previous[j] = Math.min(j, outOfBand);
+        }
+        for (int i = 1; i <= sourceLength; i++) {
+            int from = Math.max(1, i - maxDistance);
+            int to = Math.min(targetLength, i + maxDistance);
+            current[from - 1] = from == 1 ? Math.min(i, outOfBand) : outOfBand;
+            int rowMinimum = current[from - 1];
+            char sourceChar = source.charAt(i - 1);
+            for (int j = from; j <= to; j++) {
+                int substitution = previous[j - 1] + (sourceChar == target.charAt(j - 1) ? 0 : 1);
+                int distance = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+                current[j] = Math.min(distance, outOfBand);
+                rowMinimum = Math.min(rowMinimum, current[j]);
+            }
+            if (to < targetLength) {
+                current[to + 1] = outOfBand;
+            }
+            if (rowMinimum > maxDistance) {
+                return false;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[targetLength] <= maxDistance;
+    }
+
+    private static boolean isAscii(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,109 @@
+package dev.sidequestlab.backend.memoquiz.service;
+
+import dev.sidequestlab.backend.memoquiz.persistence.entity.CardEntity;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+final class CardCursor {
+
+    enum Order {
+        ID_ASC("id,asc", false, Sort.Direction.ASC),
+        ID_DESC("id,desc", false, Sort.Direction.DESC),
+        CREATED_AT_ASC("createdAt,asc", true, Sort.Direction.ASC),
+        CREATED_AT_DESC("createdAt,desc", true, Sort.Direction.DESC);
+
+        private final String token;
+        private final boolean byCreatedAt;
+        private final Sort.Direction direction;
+
+        Order(String token, boolean byCreatedAt, Sort.Direction direction) {
+            this.token = token;
+            this.byCreatedAt = byCreatedAt;
+            this.direction = direction;
+        }
+
+        static Order parse(String sort) {
+            if (sort == null || sort.isBlank()) {
+                return ID_ASC;
+            }
+            String trimmed = sort.trim();
+            for (Order order : values()) {
+                if (order.token.equals(trimmed)) {
+                    return order;
+                }
+            }
+            return ID_ASC;
+        }
+
+        Sort sort() {
+            Sort byId = Sort.by(direction, "id");
+            return byCreatedAt ? Sort.by(direction, "createdAt").and(byId) : byId;
+        }
+    }
+
+    private static final String SEPARATOR = "|";
+
+    private final Order order;
+    private final Instant createdAt;
+    private final long id;
+
+    private CardCursor(Order order, Instant createdAt, long id) {
+        this.order = order;
+        this.createdAt = createdAt;
+        this.id = id;
+    }
+
+    static CardCursor after(Order order, CardEntity last) {
+        return new CardCursor(order, order.byCreatedAt ? last.getCreatedAt() : null, last.getId());
+    }
+
+    static CardCursor decode(String token, Order order) {
+        String payload;
+        try {
+            payload = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+
+        String[] parts = payload.split("\\|", -1);
+        if (parts.length != 3 || !parts[0].equals(order.token)) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        try {
+            Instant createdAt = order.byCreatedAt ? Instant.parse(parts[1]) : null;
+            return new CardCursor(order, createdAt, Long.parseLong(parts[2]));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    String encode() {
+        String payload = order.token + SEPARATOR + (createdAt == null ? "" : createdAt.toString()) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+    }
+
+    Specification<CardEntity> toSpecification() {
+        boolean ascending = order.direction.isAscending();
+        return (root, query, cb) -> {
+            var idPath = root.<Long>get("id");
+            var idAfter = ascending ? cb.greaterThan(idPath, id) : cb.lessThan(idPath, id);
+            if (!order.byCreatedAt) {
+                return idAfter;
+            }
+            var createdAtPath = root.<Instant>get("createdAt");
+            var createdAtFrom = ascending
+                ? cb.greaterThanOrEqualTo(createdAtPath, createdAt)
+                : cb.lessThanOrEqualTo(createdAtPath, createdAt);
+            var createdAtAfter = ascending
+                ? cb.greaterThan(createdAtPath, createdAt)
+                : cb.lessThan(createdAtPath, createdAt);
+            // The redundant range bound is what lets the planner seek the created_at index instead of
+            // filtering every row through the OR.
+            return cb.and(createdAtFrom, cb.or(createdAtAfter, cb.and(cb.equal(createdAtPath, createdAt), idAfter)));
+        };
+    }
+}
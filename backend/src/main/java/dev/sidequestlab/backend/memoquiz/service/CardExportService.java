@@ -0,0 +1,104 @@
+package dev.sidequestlab.backend.memoquiz.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.sidequestlab.backend.memoquiz.api.dto.CardExportItem;
+import dev.sidequestlab.backend.memoquiz.api.dto.CardExportMembership;
+import dev.sidequestlab.backend.memoquiz.api.enums.CardFileFormat;
+import dev.sidequestlab.backend.memoquiz.persistence.repository.CardExportRepository;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@Profile("!test")
+public class CardExportService {
+
+    static final String CSV_HEADER = "id,front,back,status,box,created_at,updated_at,quizzes";
+
+    private final CardExportRepository exportRepository;
+    private final ObjectMapper objectMapper;
+    private final int fetchSize;
+
+    public CardExportService(
+        CardExportRepository exportRepository,
+        ObjectMapper objectMapper,
+        @Value("${app.memoquiz.export.fetch-size:500}") int fetchSize
+    ) {
+        if (fetchSize < 1) {
+            throw new IllegalArgumentException("fetchSize must be positive");
+        }
+        this.exportRepository = exportRepository;
+        this.objectMapper = objectMapper;
+        this.fetchSize = fetchSize;
+    }
+
+    @Transactional(readOnly = true)
+    public void exportCards(OutputStream out, CardFileFormat format) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == CardFileFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write("\r\n");
+        }
+        try {
+            exportRepository.streamCards(fetchSize, item -> {
+                try {
+                    if (format == CardFileFormat.NDJSON) {
+                        writer.write(objectMapper.writeValueAsString(item));
+                        writer.write('\n');
+                    } else {
+                        writeCsvRow(writer, item);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    private static void writeCsvRow(Writer writer, CardExportItem item) throws IOException {
+        writer.write(String.valueOf(item.id()));
+        writer.write(',');
+        writer.write(csvField(item.front()));
+        writer.write(',');
+        writer.write(csvField(item.back()));
+        writer.write(',');
+        writer.write(item.status().name());
+        writer.write(',');
+        writer.write(String.valueOf(item.box()));
+        writer.write(',');
+        writer.write(item.createdAt().toString());
+        writer.write(',');
+        writer.write(item.updatedAt().toString());
+        writer.write(',');
+        writer.write(csvField(item.memberships().stream()
+            .map(CardExportService::formatMembership)
+            .collect(Collectors.joining(";"))));
+        writer.write("\r\n");
+    }
+
+    private static String formatMembership(CardExportMembership membership) {
+        return membership.quiz() + ":" + membership.box() + (membership.enabled() ? "" : ":disabled");
+    }
+
+    static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
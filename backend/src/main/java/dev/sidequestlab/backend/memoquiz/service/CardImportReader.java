@@ -0,0 +1,192 @@
+package dev.sidequestlab.backend.memoquiz.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.sidequestlab.backend.memoquiz.api.enums.CardFileFormat;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+final class CardImportReader implements Closeable {
+
+    // One character above the largest accepted card text, so oversized values still fail validation.
+    static final int MAX_FIELD_LENGTH = 10_001;
+    static final int MAX_LINE_LENGTH = 64 * 1024;
+
+    record Row(long rowNumber, String front, String back, String error) {
+
+        static Row valid(long rowNumber, String front, String back) {
+            return new Row(rowNumber, front, back, null);
+        }
+
+        static Row invalid(long rowNumber, String error) {
+            return new Row(rowNumber, null, null, error);
+        }
+    }
+
+    private final Reader reader;
+    private final CardFileFormat format;
+    private final ObjectMapper objectMapper;
+    private long rowNumber;
+    private boolean headerChecked;
+    private boolean endOfInput;
+
+    private CardImportReader(Reader reader, CardFileFormat format, ObjectMapper objectMapper) {
+        this.reader = reader;
+        this.format = format;
+        this.objectMapper = objectMapper;
+    }
+
+    static CardImportReader open(InputStream body, CardFileFormat format, ObjectMapper objectMapper) {
+        Reader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        return new CardImportReader(reader, format, objectMapper);
+    }
+
+    Row next() throws IOException {
+        return format == CardFileFormat.NDJSON ? nextNdjson() : nextCsv();
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private Row nextNdjson() throws IOException {
+        while (!endOfInput) {
+            StringBuilder line = new StringBuilder();
+            boolean overflow = readLine(line);
+            rowNumber++;
+            if (overflow) {
+                return Row.invalid(rowNumber, "Line exceeds " + MAX_LINE_LENGTH + " characters");
+            }
+            if (line.toString().isBlank()) {
+                continue;
+            }
+            return parseJsonRow(line.toString());
+        }
+        return null;
+    }
+
+    private Row parseJsonRow(String line) {
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(line);
+        } catch (JsonProcessingException e) {
+            return Row.invalid(rowNumber, "Invalid JSON");
+        }
+        if (node == null || !node.isObject()) {
+            return Row.invalid(rowNumber, "Expected a JSON object");
+        }
+        return Row.valid(rowNumber, textOrNull(node.get("front")), textOrNull(node.get("back")));
+    }
+
+    private static String textOrNull(JsonNode node) {
+        return node != null && node.isTextual() ? node.textValue() : null;
+    }
+
+    private boolean readLine(StringBuilder line) throws IOException {
+        boolean overflow = false;
+        int c;
+        while ((c = reader.read()) != -1) {
+            if (c == '\n') {
+                return overflow;
+            }
+            if (line.length() < MAX_LINE_LENGTH) {
+                line.append((char) c);
+            } else {
+                overflow = true;
+            }
+        }
+        endOfInput = true;
+        return overflow;
+    }
+
+    private Row nextCsv() throws IOException {
+        while (!endOfInput) {
+            List<String> fields = new ArrayList<>(2);
+            boolean terminated = readCsvRecord(fields);
+            rowNumber++;
+            if (!terminated) {
+                return Row.invalid(rowNumber, "Unterminated quoted field");
+            }
+            if (fields.size() == 1 && fields.getFirst().isBlank()) {
+                continue;
+            }
+            if (!headerChecked) {
+                headerChecked = true;
+                if (isHeader(fields)) {
+                    continue;
+                }
+            }
+            if (fields.size() != 2) {
+                return Row.invalid(rowNumber, "Expected 2 columns but found " + fields.size());
+            }
+            return Row.valid(rowNumber, fields.get(0), fields.get(1));
+        }
+        return null;
+    }
+
+    private boolean readCsvRecord(List<String> fields) throws IOException {
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int c;
+        while ((c = reader.read()) != -1) {
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    int following = reader.read();
+                    if (following == '"') {
+                        append(field, '"');
+                    } else {
+                        quoted = false;
+                        if (following != -1) {
+                            reader.reset();
+                        }
+                    }
+                } else {
+                    append(field, (char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                fields.add(stripCarriageReturn(field));
+                return true;
+            } else {
+                append(field, (char) c);
+            }
+        }
+        endOfInput = true;
+        fields.add(stripCarriageReturn(field));
+        return !quoted;
+    }
+
+    private static void append(StringBuilder field, char c) {
+        if (field.length() < MAX_FIELD_LENGTH) {
+            field.append(c);
+        }
+    }
+
+    private static String stripCarriageReturn(StringBuilder field) {
+        int length = field.length();
+        if (length > 0 && field.charAt(length - 1) == '\r') {
+            return field.substring(0, length - 1);
+        }
+        return field.toString();
+    }
+
+    private static boolean isHeader(List<String> fields) {
+        return fields.size() == 2
+            && "front".equalsIgnoreCase(fields.get(0).trim())
+            && "back".equalsIgnoreCase(fields.get(1).trim());
+    }
+}
@@ -0,0 +1,139 @@
+package dev.sidequestlab.backend.memoquiz.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.sidequestlab.backend.memoquiz.api.dto.CardImportChunkResult;
+import dev.sidequestlab.backend.memoquiz.api.dto.CardImportResponse;
+import dev.sidequestlab.backend.memoquiz.api.dto.CardImportRowError;
+import dev.sidequestlab.backend.memoquiz.api.enums.CardFileFormat;
+import dev.sidequestlab.backend.memoquiz.persistence.repository.CardImportRepository;
+import dev.sidequestlab.backend.memoquiz.persistence.repository.CardImportRepository.NewCard;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.web.server.ResponseStatusException;
+
+@Service
+@Profile("!test")
+public class CardImportService {
+
+    static final int MAX_REPORTED_ERRORS = 100;
+
+    private final CardImportRepository importRepository;
+    private final TransactionOperations transactionOperations;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+
+    public CardImportService(
+        CardImportRepository importRepository,
+        TransactionOperations transactionOperations,
+        ObjectMapper objectMapper,
+        ApplicationEventPublisher eventPublisher,
+        @Value("${app.memoquiz.import.chunk-size:1000}") int chunkSize
+    ) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be positive");
+        }
+        this.importRepository = importRepository;
+        this.transactionOperations = transactionOperations;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+    }
+
+    public CardImportResponse importCards(InputStream body, CardFileFormat format) {
+        ImportProgress progress = new ImportProgress(Instant.now());
+        try (CardImportReader reader = CardImportReader.open(body, format, objectMapper)) {
+            CardImportReader.Row row;
+            while ((row = reader.next()) != null) {
+                progress.detectedCount++;
+                String error = row.error() != null ? row.error() : CardService.invalidCardReason(row.front(), row.back());
+                if (error != null) {
+                    progress.reject(row.rowNumber(), error);
+                    continue;
+                }
+                String answerKey = AnswerMatcher.answerKey(row.back());
+                progress.add(row.rowNumber(), new NewCard(row.front(), row.back(), answerKey, AnswerMatcher.answerHash(answerKey)));
+                if (progress.pending.size() == chunkSize) {
+                    flush(progress);
+                }
+            }
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unable to read import body");
+        }
+        flush(progress);
+
+        return new CardImportResponse(
+            progress.detectedCount,
+            progress.importedCount,
+            progress.rejectedCount,
+            List.copyOf(progress.chunks),
+            List.copyOf(progress.errors),
+            progress.errorsTruncated
+        );
+    }
+
+    // Each chunk commits on its own so memory and lock duration stay bounded regardless of file size.
+    private void flush(ImportProgress progress) {
+        if (progress.pending.isEmpty()) {
+            return;
+        }
+        List<NewCard> cards = progress.pending;
+        Integer inserted = transactionOperations.execute(status -> {
+            int count = importRepository.insertCards(cards, progress.startedAt);
+            eventPublisher.publishEvent(new MemoQuizDataChangedEvent());
+            return count;
+        });
+        int importedCount = inserted == null ? 0 : inserted;
+        progress.importedCount += importedCount;
+        progress.chunks.add(new CardImportChunkResult(
+            progress.chunks.size() + 1,
+            progress.chunkFirstRow,
+            progress.chunkLastRow,
+            importedCount
+        ));
+        progress.pending = new ArrayList<>(chunkSize);
+    }
+
+    private final class ImportProgress {
+        private final Instant startedAt;
+        private final List<CardImportChunkResult> chunks = new ArrayList<>();
+        private final List<CardImportRowError> errors = new ArrayList<>();
+        private List<NewCard> pending = new ArrayList<>(chunkSize);
+        private long chunkFirstRow;
+        private long chunkLastRow;
+        private long detectedCount;
+        private long importedCount;
+        private long rejectedCount;
+        private boolean errorsTruncated;
+
+        private ImportProgress(Instant startedAt) {
+            this.startedAt = startedAt;
+        }
+
+        private void add(long rowNumber, NewCard card) {
+            if (pending.isEmpty()) {
+                chunkFirstRow = rowNumber;
+            }
+            chunkLastRow = rowNumber;
+            pending.add(card);
+        }
+
+        private void reject(long rowNumber, String message) {
+            rejectedCount++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new CardImportRowError(rowNumber, message));
+            } else {
+                errorsTruncated = true;
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package dev.sidequestlab.backend.memoquiz.service;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+final class CardSearchTerms {
+
+    static final int MAX_TERMS = 8;
+
+    private static final Pattern SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private CardSearchTerms() {
+    }
+
+    // Only letters and digits survive, so user input can never inject tsquery operators.
+    static String prefixQuery(String q) {
+        if (q == null) {
+            return null;
+        }
+        String query = Arrays.stream(SEPARATOR.split(q.toLowerCase(Locale.ROOT)))
+            .filter(term -> !term.isEmpty())
+            .limit(MAX_TERMS)
+            .map(term -> term + ":*")
+            .collect(Collectors.joining(" & "));
+        return query.isEmpty() ? null : query;
+    }
+}
@@ -4,15 +4,24 @@ import dev.sidequestlab.backend.memoquiz.api.dto.BulkCreateCardItem;
 import dev.sidequestlab.backend.memoquiz.api.dto.BulkCreateCardsRequest;
 import dev.sidequestlab.backend.memoquiz.api.dto.BulkCreateCardsResponse;
 import dev.sidequestlab.backend.memoquiz.api.dto.CardDto;
+import dev.sidequestlab.backend.memoquiz.api.dto.CardSliceDto;
 import dev.sidequestlab.backend.memoquiz.api.dto.CreateCardRequest;
 import dev.sidequestlab.backend.memoquiz.api.dto.UpdateCardRequest;
+import dev.sidequestlab.backend.memoquiz.api.enums.CardSearchMode;
 import dev.sidequestlab.backend.memoquiz.api.enums.CardStatus;
 import dev.sidequestlab.backend.memoquiz.persistence.entity.CardEntity;
 import dev.sidequestlab.backend.memoquiz.persistence.entity.CardProgressEntity;
 import dev.sidequestlab.backend.memoquiz.persistence.repository.CardRepository;
+import dev.sidequestlab.backend.memoquiz.persistence.repository.CardSearchRepository;
+import dev.sidequestlab.backend.memoquiz.persistence.repository.MemoQuizQuizBoxStatsRepository;
 import jakarta.persistence.criteria.JoinType;
 import java.time.Instant;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Profile;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -27,13 +36,96 @@ import org.springframework.web.server.ResponseStatusException;
 @Profile("!test")
 public class CardService {
 
+    private static final String INVALID_FRONT = "Invalid card front";
+    private static final String INVALID_BACK = "Invalid card back";
+    // Same ceiling as the other list endpoints; it also keeps the extra look-ahead row from overflowing.
+    private static final int MAX_SLICE_SIZE = 1000;
+
     private final CardRepository cardRepository;
+    private final MemoQuizQuizBoxStatsRepository boxStatsRepository;
+    private final CardSearchRepository cardSearchRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public CardService(CardRepository cardRepository) {
+    public CardService(
+        CardRepository cardRepository,
+        MemoQuizQuizBoxStatsRepository boxStatsRepository,
+        CardSearchRepository cardSearchRepository,
+        ApplicationEventPublisher eventPublisher
+    ) {
         this.cardRepository = cardRepository;
+        this.boxStatsRepository = boxStatsRepository;
+        this.cardSearchRepository = cardSearchRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     public List<CardDto> listCards(String q, CardStatus status, Integer box, int page, int size, String sort) {
+        Pageable pageable = PageRequest.of(page, size, parseSort(sort));
+        return cardRepository.findAll(filterSpecification(q, status, box), pageable).map(this::toDto).toList();
+    }
+
+    public List<CardDto> searchCards(
+        String q,
+        CardSearchMode mode,
+        CardStatus status,
+        Integer box,
+        int page,
+        int size,
+        String sort
+    ) {
+        if (mode == null || mode == CardSearchMode.CONTAINS || q == null || q.isBlank()) {
+            return listCards(q, status, box, page, size, sort);
+        }
+        String terms = mode == CardSearchMode.PREFIX ? CardSearchTerms.prefixQuery(q) : q.trim();
+        if (terms == null) {
+            return List.of();
+        }
+
+        List<Long> ids = cardSearchRepository.findMatchingIds(
+            mode,
+            terms,
+            status,
+            box,
+            parseSort(sort),
+            (long) page * size,
+            size
+        );
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, CardEntity> cardsById = cardRepository.findWithProgressByIdIn(ids).stream()
+            .collect(Collectors.toMap(CardEntity::getId, Function.identity()));
+        return ids.stream()
+            .map(cardsById::get)
+            .filter(Objects::nonNull)
+            .map(this::toDto)
+            .toList();
+    }
+
+    public CardSliceDto listCardsAfter(String q, CardStatus status, Integer box, int requestedSize, String sort, String after) {
+        int size = Math.clamp(requestedSize, 1, MAX_SLICE_SIZE);
+        CardCursor.Order order = CardCursor.Order.parse(sort);
+        Specification<CardEntity> spec = filterSpecification(q, status, box);
+        if (after != null && !after.isBlank()) {
+            try {
+                spec = spec.and(CardCursor.decode(after.trim(), order).toSpecification());
+            } catch (IllegalArgumentException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+            }
+        }
+
+        // One extra row tells whether another page exists without running a count query.
+        List<CardEntity> rows = cardRepository.findBy(spec, query -> query
+            .project("progress")
+            .sortBy(order.sort())
+            .limit(size + 1)
+            .all());
+        boolean hasMore = rows.size() > size;
+        List<CardEntity> pageRows = hasMore ? rows.subList(0, size) : rows;
+        String nextCursor = hasMore ? CardCursor.after(order, pageRows.getLast()).encode() : null;
+        return new CardSliceDto(pageRows.stream().map(this::toDto).toList(), nextCursor);
+    }
+
+    private Specification<CardEntity> filterSpecification(String q, CardStatus status, Integer box) {
         Specification<CardEntity> spec = (root, query, cb) -> cb.conjunction();
 
         if (q != null && !q.isBlank()) {
@@ -55,8 +147,7 @@ public class CardService {
             ));
         }
 
-        Pageable pageable = PageRequest.of(page, size, parseSort(sort));
-        return cardRepository.findAll(spec, pageable).map(this::toDto).toList();
+        return spec;
     }
 
     @Transactional
@@ -66,6 +157,7 @@ public class CardService {
 
         CardEntity entity = newCardEntity(req.front(), req.back(), box, now);
         CardEntity saved = cardRepository.save(entity);
+        eventPublisher.publishEvent(new MemoQuizDataChangedEvent());
         return toDto(saved);
     }
 
@@ -79,17 +171,22 @@ public class CardService {
             .toList();
 
         List<CardEntity> saved = cardRepository.saveAll(entities);
+        eventPublisher.publishEvent(new MemoQuizDataChangedEvent());
         return new BulkCreateCardsResponse(req.cards().size(), saved.size());
     }
 
+    @Transactional
     public CardDto updateCard(Long id, UpdateCardRequest req) {
         CardEntity entity = getCardOrThrow(id);
+        CardStatus previousStatus = entity.getStatus();
+        boolean textChanged = (req.front() != null && !req.front().equals(entity.getFront()))
+            || (req.back() != null && !req.back().equals(entity.getBack()));
 
         if (req.front() != null) {
             entity.setFront(req.front());
         }
         if (req.back() != null) {
-            entity.setBack(req.back());
+            setBack(entity, req.back());
         }
         if (req.status() != null) {
             entity.setStatus(req.status());
@@ -107,17 +204,34 @@ public class CardService {
         entity.setUpdatedAt(Instant.now());
 
         CardEntity saved = cardRepository.save(entity);
+        updateBoxStats(saved.getId(), previousStatus, saved.getStatus());
+        if (textChanged) {
+            eventPublisher.publishEvent(QuizCardsChangedEvent.forCard(saved.getId()));
+        }
+        eventPublisher.publishEvent(new MemoQuizDataChangedEvent());
         return toDto(saved);
     }
 
+    @Transactional
     public CardDto activateCard(Long id) {
         CardEntity entity = getCardOrThrow(id);
+        CardStatus previousStatus = entity.getStatus();
         entity.setStatus(CardStatus.ACTIVE);
         entity.setUpdatedAt(Instant.now());
         CardEntity saved = cardRepository.save(entity);
+        updateBoxStats(saved.getId(), previousStatus, saved.getStatus());
+        eventPublisher.publishEvent(new MemoQuizDataChangedEvent());
         return toDto(saved);
     }
 
+    private void updateBoxStats(Long cardId, CardStatus previousStatus, CardStatus status) {
+        boolean wasActive = previousStatus == CardStatus.ACTIVE;
+        boolean isActive = status == CardStatus.ACTIVE;
+        if (wasActive != isActive) {
+            boxStatsRepository.adjustEnabledMemberships(cardId, isActive ? 1 : -1);
+        }
+    }
+
     private CardEntity getCardOrThrow(Long id) {
         return cardRepository.findById(id)
             .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Card not found"));
@@ -126,7 +240,7 @@ public class CardService {
     private CardEntity newCardEntity(String front, String back, int box, Instant now) {
         CardEntity entity = new CardEntity();
         entity.setFront(front);
-        entity.setBack(back);
+        setBack(entity, back);
         entity.setStatus(CardStatus.INACTIVE);
         entity.setCreatedAt(now);
         entity.setUpdatedAt(now);
@@ -139,6 +253,14 @@ public class CardService {
         return entity;
     }
 
+    // The answer key and hash are derived once here so grading never has to read or normalize the back.
+    private static void setBack(CardEntity entity, String back) {
+        String answerKey = AnswerMatcher.answerKey(back);
+        entity.setBack(back);
+        entity.setAnswerKey(answerKey);
+        entity.setAnswerHash(AnswerMatcher.answerHash(answerKey));
+    }
+
     private void validateBulkCreateRequest(BulkCreateCardsRequest req) {
         if (req == null || req.cards() == null || req.cards().isEmpty()) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At least one card is required");
@@ -148,15 +270,23 @@ public class CardService {
         }
 
         for (BulkCreateCardItem item : req.cards()) {
-            if (item == null || item.front() == null || item.front().isBlank() || item.front().length() > 2000) {
-                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid card front");
-            }
-            if (item.back() == null || item.back().isBlank() || item.back().length() > 10000) {
-                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid card back");
+            String error = item == null ? INVALID_FRONT : invalidCardReason(item.front(), item.back());
+            if (error != null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, error);
             }
         }
     }
 
+    static String invalidCardReason(String front, String back) {
+        if (front == null || front.isBlank() || front.length() > 2000) {
+            return INVALID_FRONT;
+        }
+        if (back == null || back.isBlank() || back.length() > 10000) {
+            return INVALID_BACK;
+        }
+        return null;
+    }
+
     private Sort parseSort(String sort) {
         if (sort == null || sort.isBlank()) {
             return Sort.by(Sort.Direction.ASC, "id");
@@ -0,0 +1,136 @@
+package dev.sidequestlab.backend.memoquiz.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+// Immutable, pre-indexed form of the study schedule: each day is stored as a bitmask over boxes 1..7
+// (bit box - 1) next to its configured box list, and the next day each box is due again is precomputed for
+// every (day, box) pair, so lookups are array reads and never allocate.
+public final class CompiledSchedule {
+
+    public static final int MAX_BOX = 7;
+
+    private final int length;
+    private final int[] dayMasks;
+    private final List<List<Integer>> dayBoxes;
+    private final int[] nextDueDays;
+    private final int[] daysUntilDue;
+
+    private CompiledSchedule(int length, int[] dayMasks, List<List<Integer>> dayBoxes) {
+        this.length = length;
+        this.dayMasks = dayMasks;
+        this.dayBoxes = dayBoxes;
+        this.nextDueDays = new int[length * MAX_BOX];
+        this.daysUntilDue = new int[length * MAX_BOX];
+        // Boxes that never appear in the schedule keep 0 in both tables.
+        for (int day = 1; day <= length; day++) {
+            for (int box = 1; box <= MAX_BOX; box++) {
+                for (int distance = 1; distance <= length; distance++) {
+                    int candidate = Math.floorMod(day - 1 + distance, length) + 1;
+                    if (containsBox(dayMasks[candidate - 1], box)) {
+                        nextDueDays[slot(day, box)] = candidate;
+                        daysUntilDue[slot(day, box)] = distance;
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    // Days must be numbered 1..n: with n entries, a key outside that range leaves some day without boxes.
+    static CompiledSchedule compile(Map<Integer, List<Integer>> schedule) {
+        int length = schedule.size();
+        for (int day = 1; day <= length; day++) {
+            if (schedule.get(day) == null) {
+                throw new IllegalStateException("No boxes configured for day " + day);
+            }
+        }
+        int[] masks = new int[length];
+        List<List<Integer>> boxes = new ArrayList<>(Collections.nCopies(length, List.of()));
+        for (Map.Entry<Integer, List<Integer>> entry : schedule.entrySet()) {
+            int day = entry.getKey();
+            int mask = 0;
+            for (Integer box : entry.getValue()) {
+                if (box == null || box < 1 || box > MAX_BOX) {
+                    throw new IllegalStateException("Invalid box " + box + " configured for day " + day);
+                }
+                mask |= bit(box);
+            }
+            masks[day - 1] = mask;
+            boxes.set(day - 1, List.copyOf(entry.getValue()));
+        }
+        return new CompiledSchedule(length, masks, List.copyOf(boxes));
+    }
+
+    public static boolean containsBox(int mask, int box) {
+        return box >= 1 && box <= MAX_BOX && (mask & bit(box)) != 0;
+    }
+
+    public int length() {
+        return length;
+    }
+
+    public int maskForDay(int dayIndex) {
+        return dayMasks[checkDay(dayIndex) - 1];
+    }
+
+    public List<Integer> boxesForDay(int dayIndex) {
+        return dayBoxes.get(checkDay(dayIndex) - 1);
+    }
+
+    public boolean isDue(int dayIndex, int box) {
+        return containsBox(maskForDay(dayIndex), box);
+    }
+
+    // Next day strictly after dayIndex on which box is due, wrapping around the schedule; 0 if never.
+    public int nextDueDay(int dayIndex, int box) {
+        return nextDueDays[slot(checkDay(dayIndex), checkBox(box))];
+    }
+
+    // Number of days from dayIndex to nextDueDay(dayIndex, box); 0 if never.
+    public int daysUntilDue(int dayIndex, int box) {
+        return daysUntilDue[slot(checkDay(dayIndex), checkBox(box))];
+    }
+
+    public int nextDayIndex(int dayIndex) {
+        return Math.floorMod(checkDay(dayIndex), length) + 1;
+    }
+
+    // Day masks for the given number of days starting at startDayIndex, wrapping around the schedule.
+    public int[] forecast(int startDayIndex, int days) {
+        if (days < 0) {
+            throw new IllegalArgumentException("days must not be negative");
+        }
+        int[] masks = new int[days];
+        int day = checkDay(startDayIndex);
+        for (int i = 0; i < days; i++) {
+            masks[i] = dayMasks[day - 1];
+            day = day == length ? 1 : day + 1;
+        }
+        return masks;
+    }
+
+    private int checkDay(int dayIndex) {
+        if (dayIndex < 1 || dayIndex > length) {
+            throw new IllegalArgumentException("dayIndex must be between 1 and " + length);
+        }
+        return dayIndex;
+    }
+
+    private static int checkBox(int box) {
+        if (box < 1 || box > MAX_BOX) {
+            throw new IllegalArgumentException("box must be between 1 and " + MAX_BOX);
+        }
+        return box;
+    }
+
+    private static int slot(int dayIndex, int box) {
+        return (dayIndex - 1) * MAX_BOX + (box - 1);
+    }
+
+    private static int bit(int box) {
+        return 1 << (box - 1);
+    }
+}
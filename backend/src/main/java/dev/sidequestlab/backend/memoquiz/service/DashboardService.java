@@ -1,47 +1,41 @@
 package dev.sidequestlab.backend.memoquiz.service;
 
+import dev.sidequestlab.backend.memoquiz.api.dto.ReviewHistoryDayDto;
 import dev.sidequestlab.backend.memoquiz.api.dto.TodayDashboardDto;
-import dev.sidequestlab.backend.memoquiz.api.enums.CardStatus;
-import dev.sidequestlab.backend.memoquiz.persistence.entity.MemoQuizSessionEntity;
 import dev.sidequestlab.backend.memoquiz.persistence.projection.BoxOverviewProjection;
-import dev.sidequestlab.backend.memoquiz.persistence.repository.MemoQuizQuizCardRepository;
-import dev.sidequestlab.backend.memoquiz.persistence.repository.MemoQuizReviewLogRepository;
-import dev.sidequestlab.backend.memoquiz.persistence.repository.MemoQuizSessionItemRepository;
-import dev.sidequestlab.backend.memoquiz.persistence.repository.MemoQuizSessionRepository;
+import dev.sidequestlab.backend.memoquiz.persistence.projection.DashboardSnapshotProjection;
+import dev.sidequestlab.backend.memoquiz.persistence.projection.ReviewDayProjection;
+import dev.sidequestlab.backend.memoquiz.persistence.repository.MemoQuizDashboardQueryRepository;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Optional;
-import java.util.Set;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 
 @Service
 @Profile("!test")
 public class DashboardService {
 
-    private final MemoQuizSessionRepository sessionRepository;
-    private final MemoQuizSessionItemRepository sessionItemRepository;
-    private final MemoQuizReviewLogRepository reviewLogRepository;
-    private final MemoQuizQuizCardRepository quizCardRepository;
+    static final int FORECAST_DAYS = 7;
+
+    private final MemoQuizDashboardQueryRepository dashboardQueryRepository;
     private final ScheduleProvider scheduleProvider;
-    private final QuizService quizService;
 
     public DashboardService(
-        MemoQuizSessionRepository sessionRepository,
-        MemoQuizSessionItemRepository sessionItemRepository,
-        MemoQuizReviewLogRepository reviewLogRepository,
-        MemoQuizQuizCardRepository quizCardRepository,
-        ScheduleProvider scheduleProvider,
-        QuizService quizService
+        MemoQuizDashboardQueryRepository dashboardQueryRepository,
+        ScheduleProvider scheduleProvider
     ) {
-        this.sessionRepository = sessionRepository;
-        this.sessionItemRepository = sessionItemRepository;
-        this.reviewLogRepository = reviewLogRepository;
-        this.quizCardRepository = quizCardRepository;
+        this.dashboardQueryRepository = dashboardQueryRepository;
         this.scheduleProvider = scheduleProvider;
-        this.quizService = quizService;
     }
 
     public TodayDashboardDto today() {
@@ -49,43 +43,39 @@ public class DashboardService {
         Instant startOfDay = todayDate.atStartOfDay(ZoneId.systemDefault()).toInstant();
         Instant startOfNextDay = todayDate.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant();
 
-        Optional<MemoQuizSessionEntity> todaySession = sessionRepository
-            .findTopByStartedAtGreaterThanEqualAndStartedAtLessThanOrderByStartedAtDescIdDesc(startOfDay, startOfNextDay);
-
-        int dayIndex;
-        int scheduleLength;
-        boolean canStartSession;
-        if (todaySession.isPresent()) {
-            dayIndex = todaySession.get().getDayIndex();
-            scheduleLength = scheduleProvider.scheduleLength();
-            canStartSession = false;
-        } else {
-            Integer lastDayIndex = sessionRepository.findTopByOrderByStartedAtDescIdDesc()
-                .map(MemoQuizSessionEntity::getDayIndex)
-                .orElse(null);
-            scheduleLength = scheduleProvider.scheduleLength();
-            dayIndex = SessionService.nextDayIndex(lastDayIndex, scheduleLength);
-            canStartSession = true;
-        }
-
-        List<Integer> boxesToday = scheduleProvider.boxesForDay(dayIndex);
-        int tomorrowDayIndex = SessionService.nextDayIndex(dayIndex, scheduleLength);
-        List<Integer> boxesTomorrow = scheduleProvider.boxesForDay(tomorrowDayIndex);
-        Set<Integer> boxesTodaySet = Set.copyOf(boxesToday);
+        DashboardSnapshotProjection snapshot = dashboardQueryRepository
+            .findSnapshot(QuizService.DEFAULT_QUIZ_CODE)
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Default quiz not found"));
+        DashboardSnapshotProjection.LastSession lastSession = snapshot.lastSession();
 
-        Long quizId = quizService.getDefaultQuizId();
-        long dueCount = quizCardRepository.countEligibleForSession(quizId, boxesToday, CardStatus.ACTIVE);
-        int dueToday = Math.toIntExact(dueCount);
-        int totalCards = Math.toIntExact(quizCardRepository.countEnabledByQuizIdAndCardStatus(quizId, CardStatus.ACTIVE));
+        boolean startedToday = lastSession != null
+            && !lastSession.startedAt().isBefore(startOfDay)
+            && lastSession.startedAt().isBefore(startOfNextDay);
+        CompiledSchedule schedule = scheduleProvider.compiledSchedule();
+        int dayIndex = startedToday
+            ? lastSession.dayIndex()
+            : SessionService.nextDayIndex(lastSession == null ? null : lastSession.dayIndex(), schedule.length());
+        boolean canStartSession = !startedToday;
 
-        TodayDashboardDto.LastSessionSummary lastSessionSummary = sessionRepository.findTopByOrderByStartedAtDescIdDesc()
-            .map(this::toLastSessionSummary)
-            .orElse(null);
+        List<Integer> boxesToday = scheduleProvider.boxesForDay(dayIndex);
+        List<Integer> boxesTomorrow = scheduleProvider.boxesForDay(schedule.nextDayIndex(dayIndex));
+        int boxesTodayMask = scheduleProvider.boxMaskForDay(dayIndex);
+
+        // Cards due on each of the next FORECAST_DAYS days if no card changed box in between; day 0 is today.
+        int[] forecastMasks = schedule.forecast(dayIndex, FORECAST_DAYS);
+        long[] dueCounts = new long[FORECAST_DAYS];
+        for (BoxOverviewProjection box : snapshot.boxes()) {
+            for (int day = 0; day < FORECAST_DAYS; day++) {
+                if (CompiledSchedule.containsBox(forecastMasks[day], box.boxNumber())) {
+                    dueCounts[day] += box.cardCount();
+                }
+            }
+        }
+        List<Integer> dueForecast = Arrays.stream(dueCounts).mapToObj(Math::toIntExact).toList();
 
-        List<TodayDashboardDto.BoxesOverviewItem> boxesOverview = quizCardRepository
-            .findEnabledActiveBoxOverview(quizId, CardStatus.ACTIVE)
+        List<TodayDashboardDto.BoxesOverviewItem> boxesOverview = snapshot.boxes()
             .stream()
-            .map(box -> toBoxOverviewItem(box, boxesTodaySet))
+            .map(box -> toBoxOverviewItem(box, schedule, dayIndex, boxesTodayMask))
             .toList();
 
         return new TodayDashboardDto(
@@ -94,18 +84,38 @@ public class DashboardService {
             canStartSession,
             boxesToday,
             boxesTomorrow,
-            dueToday,
-            totalCards,
-            lastSessionSummary,
-            boxesOverview
+            dueForecast.get(0),
+            Math.toIntExact(snapshot.totalCards()),
+            lastSession == null ? null : toLastSessionSummary(lastSession),
+            boxesOverview,
+            dueForecast
         );
     }
 
-    private TodayDashboardDto.LastSessionSummary toLastSessionSummary(MemoQuizSessionEntity session) {
-        long reviewedCardsCount = reviewLogRepository.countBySessionId(session.getId());
-        long goodAnswersCount = reviewLogRepository.countBySessionIdAndCorrectTrue(session.getId());
+    // One entry per UTC day, the last being today, so days without answers read as zero. Review logs are
+    // rolled up by UTC day, which is why this history does not follow the server's zone like today() does.
+    public List<ReviewHistoryDayDto> history(int days) {
+        LocalDate to = LocalDate.now(ZoneOffset.UTC).plusDays(1);
+        LocalDate from = to.minusDays(days);
+        Map<LocalDate, ReviewDayProjection> reviewed = dashboardQueryRepository.findReviewHistory(from, to)
+            .stream()
+            .collect(Collectors.toMap(ReviewDayProjection::answeredOn, Function.identity()));
+
+        List<ReviewHistoryDayDto> history = new ArrayList<>(days);
+        for (LocalDate date = from; date.isBefore(to); date = date.plusDays(1)) {
+            ReviewDayProjection day = reviewed.get(date);
+            history.add(day == null
+                ? new ReviewHistoryDayDto(date, 0, 0)
+                : new ReviewHistoryDayDto(date, Math.toIntExact(day.reviewedCount()), Math.toIntExact(day.correctCount())));
+        }
+        return history;
+    }
+
+    private TodayDashboardDto.LastSessionSummary toLastSessionSummary(DashboardSnapshotProjection.LastSession session) {
+        long reviewedCardsCount = session.reviewedCount();
+        long goodAnswersCount = session.correctCount();
         if (reviewedCardsCount == 0) {
-            reviewedCardsCount = sessionItemRepository.countBySessionId(session.getId());
+            reviewedCardsCount = session.itemCount();
             goodAnswersCount = 0;
         }
 
@@ -117,17 +127,26 @@ public class DashboardService {
             reviewedCards,
             goodAnswers,
             successRate,
-            session.getStartedAt(),
-            session.getDurationSeconds(),
-            session.getDayIndex()
+            session.startedAt(),
+            session.durationSeconds(),
+            session.dayIndex(),
+            session.id()
         );
     }
 
-    private TodayDashboardDto.BoxesOverviewItem toBoxOverviewItem(BoxOverviewProjection box, Set<Integer> boxesToday) {
+    private TodayDashboardDto.BoxesOverviewItem toBoxOverviewItem(
+        BoxOverviewProjection box,
+        CompiledSchedule schedule,
+        int dayIndex,
+        int boxesTodayMask
+    ) {
+        boolean isToday = CompiledSchedule.containsBox(boxesTodayMask, box.boxNumber());
+        int daysUntilDue = isToday ? 0 : schedule.daysUntilDue(dayIndex, box.boxNumber());
         return new TodayDashboardDto.BoxesOverviewItem(
             box.boxNumber(),
             Math.toIntExact(box.cardCount()),
-            boxesToday.contains(box.boxNumber())
+            isToday,
+            isToday || daysUntilDue > 0 ? daysUntilDue : null
         );
     }
 }
@@ -0,0 +1,5 @@
+package dev.sidequestlab.backend.memoquiz.service;
+
+// Published by every memoquiz write so read endpoints can revalidate against a new revision.
+public record MemoQuizDataChangedEvent() {
+}
@@ -0,0 +1,36 @@
+package dev.sidequestlab.backend.memoquiz.service;
+
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+// One revision for all MemoQuiz data on this instance; see RevisionETagInterceptor for the single-instance assumption.
+@Component
+@Profile("!test")
+public class MemoQuizRevisionTracker {
+
+    // Distinguishes instances so a restart, which resets the counter, never revalidates a stale ETag.
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong revision = new AtomicLong();
+
+    public long revision() {
+        return revision.get();
+    }
+
+    public String etag() {
+        return "\"" + epoch + "-" + revision.get() + "\"";
+    }
+
+    // For responses that also change when the calendar day rolls over without any write.
+    public String etag(LocalDate day) {
+        return "\"" + epoch + "-" + revision.get() + "-" + day + "\"";
+    }
+
+    // Bumped after commit: a reader seeing the old revision may get fresher data, never the reverse.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDataChanged(MemoQuizDataChangedEvent event) {
+        revision.incrementAndGet();
+    }
+}
@@ -0,0 +1,39 @@
+package dev.sidequestlab.backend.memoquiz.service;
+
+import dev.sidequestlab.backend.memoquiz.persistence.repository.MemoQuizQuizBoxStatsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+@Component
+@Profile("!test")
+public class QuizBoxStatsReconciler {
+
+    private static final Logger log = LoggerFactory.getLogger(QuizBoxStatsReconciler.class);
+
+    private final MemoQuizQuizBoxStatsRepository boxStatsRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public QuizBoxStatsReconciler(
+        MemoQuizQuizBoxStatsRepository boxStatsRepository,
+        ApplicationEventPublisher eventPublisher
+    ) {
+        this.boxStatsRepository = boxStatsRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Scheduled(cron = "${app.memoquiz.box-stats.reconcile-cron:0 15 3 * * *}")
+    @Transactional
+    public int reconcile() {
+        int repaired = boxStatsRepository.rebuild();
+        if (repaired > 0) {
+            log.warn("Repaired {} drifted memoquiz box counters", repaired);
+            eventPublisher.publishEvent(new MemoQuizDataChangedEvent());
+        }
+        return repaired;
+    }
+}
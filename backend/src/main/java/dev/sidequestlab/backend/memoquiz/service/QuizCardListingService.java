@@ -0,0 +1,103 @@
+package dev.sidequestlab.backend.memoquiz.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.sidequestlab.backend.memoquiz.api.dto.QuizCardItemDto;
+import dev.sidequestlab.backend.memoquiz.api.dto.QuizCardPageDto;
+import dev.sidequestlab.backend.memoquiz.api.enums.QuizCardField;
+import dev.sidequestlab.backend.memoquiz.persistence.repository.QuizCardListingRepository;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+@Service
+@Profile("!test")
+public class QuizCardListingService {
+
+    private final QuizService quizService;
+    private final QuizCardListingRepository listingRepository;
+    private final ObjectMapper objectMapper;
+    private final int fetchSize;
+
+    public QuizCardListingService(
+        QuizService quizService,
+        QuizCardListingRepository listingRepository,
+        ObjectMapper objectMapper,
+        @Value("${app.memoquiz.quiz-cards.fetch-size:500}") int fetchSize
+    ) {
+        if (fetchSize < 1) {
+            throw new IllegalArgumentException("fetchSize must be positive");
+        }
+        this.quizService = quizService;
+        this.listingRepository = listingRepository;
+        this.objectMapper = objectMapper;
+        this.fetchSize = fetchSize;
+    }
+
+    public QuizCardPageDto defaultQuizCardsPage(Long after, int limit, String fields) {
+        Set<QuizCardField> selected = parseFields(fields);
+        Long quizId = quizService.getDefaultQuizId();
+
+        // One extra row tells whether another page exists without a count query.
+        List<QuizCardItemDto> rows = listingRepository.findPage(quizId, selected, after == null ? 0L : after, limit + 1);
+        if (rows.size() <= limit) {
+            return new QuizCardPageDto(rows, null);
+        }
+        List<QuizCardItemDto> items = rows.subList(0, limit);
+        return new QuizCardPageDto(List.copyOf(items), items.getLast().cardId());
+    }
+
+    @Transactional(readOnly = true)
+    public void streamDefaultQuizCards(OutputStream out, String fields) throws IOException {
+        Set<QuizCardField> selected = parseFields(fields);
+        Long quizId = quizService.getDefaultQuizId();
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        try {
+            listingRepository.stream(quizId, selected, fetchSize, item -> {
+                try {
+                    writer.write(objectMapper.writeValueAsString(item));
+                    writer.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    // The card id is always returned since it doubles as the keyset cursor.
+    static Set<QuizCardField> parseFields(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return EnumSet.allOf(QuizCardField.class);
+        }
+        Set<QuizCardField> selected = EnumSet.of(QuizCardField.ID);
+        for (String token : fields.split(",")) {
+            String name = token.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            try {
+                selected.add(QuizCardField.valueOf(name.toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported field: " + name);
+            }
+        }
+        return selected;
+    }
+}
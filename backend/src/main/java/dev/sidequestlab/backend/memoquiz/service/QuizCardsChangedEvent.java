@@ -0,0 +1,13 @@
+package dev.sidequestlab.backend.memoquiz.service;
+
+// Exactly one of quizId or cardId is set: a membership change targets a quiz, a card edit targets every quiz holding it.
+public record QuizCardsChangedEvent(Long quizId, Long cardId) {
+
+    public static QuizCardsChangedEvent forQuiz(Long quizId) {
+        return new QuizCardsChangedEvent(quizId, null);
+    }
+
+    public static QuizCardsChangedEvent forCard(Long cardId) {
+        return new QuizCardsChangedEvent(null, cardId);
+    }
+}
@@ -0,0 +1,125 @@
+package dev.sidequestlab.backend.memoquiz.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.sidequestlab.backend.memoquiz.api.dto.SessionCardDto;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+@Profile("!test")
+public class QuizCardsPayloadCache {
+
+    private record Entry(byte[] body, long[] sortedCardIds) {
+    }
+
+    private final ObjectMapper objectMapper;
+    private final long maxBytes;
+    private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+    // Bumped on every invalidation so a load that raced with a committed change is not stored.
+    private long generation;
+
+    public QuizCardsPayloadCache(
+        ObjectMapper objectMapper,
+        @Value("${app.memoquiz.quiz-cards-cache.max-bytes:33554432}") long maxBytes
+    ) {
+        if (maxBytes < 1) {
+            throw new IllegalArgumentException("maxBytes must be positive");
+        }
+        this.objectMapper = objectMapper;
+        this.maxBytes = maxBytes;
+    }
+
+    public byte[] get(Long quizId, Supplier<List<SessionCardDto>> loader) {
+        long observedGeneration;
+        synchronized (entries) {
+            Entry cached = entries.get(quizId);
+            if (cached != null) {
+                return cached.body();
+            }
+            observedGeneration = generation;
+        }
+
+        List<SessionCardDto> cards = loader.get();
+        byte[] body = serialize(cards);
+        long[] cardIds = cards.stream().mapToLong(SessionCardDto::cardId).sorted().toArray();
+
+        synchronized (entries) {
+            if (generation == observedGeneration && body.length <= maxBytes) {
+                store(quizId, new Entry(body, cardIds));
+            }
+        }
+        return body;
+    }
+
+    // Runs after commit so readers cannot repopulate the cache from data that is about to change.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onQuizCardsChanged(QuizCardsChangedEvent event) {
+        if (event.quizId() != null) {
+            invalidate(event.quizId());
+        } else if (event.cardId() != null) {
+            invalidateCard(event.cardId());
+        }
+    }
+
+    public void invalidate(Long quizId) {
+        synchronized (entries) {
+            generation++;
+            Entry removed = entries.remove(quizId);
+            if (removed != null) {
+                totalBytes -= removed.body().length;
+            }
+        }
+    }
+
+    public void invalidateCard(Long cardId) {
+        synchronized (entries) {
+            generation++;
+            Iterator<Entry> iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                Entry entry = iterator.next();
+                if (Arrays.binarySearch(entry.sortedCardIds(), cardId) >= 0) {
+                    totalBytes -= entry.body().length;
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private void store(Long quizId, Entry entry) {
+        Entry previous = entries.put(quizId, entry);
+        if (previous != null) {
+            totalBytes -= previous.body().length;
+        }
+        totalBytes += entry.body().length;
+
+        Iterator<Map.Entry<Long, Entry>> eldest = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            totalBytes -= eldest.next().getValue().body().length;
+            eldest.remove();
+        }
+    }
+
+    private byte[] serialize(List<SessionCardDto> cards) {
+        try {
+            return objectMapper.writeValueAsBytes(cards);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize quiz cards", e);
+        }
+    }
+}
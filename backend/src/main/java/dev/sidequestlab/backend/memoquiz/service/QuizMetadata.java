@@ -0,0 +1,10 @@
+package dev.sidequestlab.backend.memoquiz.service;
+
+import dev.sidequestlab.backend.memoquiz.persistence.entity.MemoQuizQuizEntity;
+
+public record QuizMetadata(Long id, String code, String title) {
+
+    public static QuizMetadata from(MemoQuizQuizEntity quiz) {
+        return new QuizMetadata(quiz.getId(), quiz.getCode(), quiz.getTitle());
+    }
+}
@@ -0,0 +1,58 @@
+package dev.sidequestlab.backend.memoquiz.service;
+
+import dev.sidequestlab.backend.memoquiz.persistence.repository.MemoQuizQuizRepository;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+// Quizzes are only created by migrations and never updated, so cached entries cannot go stale.
+@Component
+@Profile("!test")
+public class QuizMetadataCache {
+
+    private final MemoQuizQuizRepository quizRepository;
+    private final Map<String, QuizMetadata> entries;
+
+    public QuizMetadataCache(
+        MemoQuizQuizRepository quizRepository,
+        @Value("${app.memoquiz.quiz-cache.max-size:64}") int maxSize
+    ) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+        this.quizRepository = quizRepository;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, QuizMetadata> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    public Optional<QuizMetadata> find(String code) {
+        synchronized (entries) {
+            QuizMetadata cached = entries.get(code);
+            if (cached != null) {
+                return Optional.of(cached);
+            }
+        }
+
+        // Misses are not cached so a quiz added by a later migration becomes visible without a restart.
+        Optional<QuizMetadata> loaded = quizRepository.findByCode(code).map(QuizMetadata::from);
+        loaded.ifPresent(metadata -> {
+            synchronized (entries) {
+                entries.putIfAbsent(code, metadata);
+            }
+        });
+        return loaded;
+    }
+
+    int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+}
@@ -2,19 +2,23 @@ package dev.sidequestlab.backend.memoquiz.service;
 
 import dev.sidequestlab.backend.memoquiz.api.dto.QuizDto;
 import dev.sidequestlab.backend.memoquiz.api.dto.QuizOverviewDto;
-import dev.sidequestlab.backend.memoquiz.api.dto.SessionCardDto;
 import dev.sidequestlab.backend.memoquiz.api.enums.CardStatus;
 import dev.sidequestlab.backend.memoquiz.persistence.entity.CardEntity;
 import dev.sidequestlab.backend.memoquiz.persistence.entity.MemoQuizQuizCardEntity;
 import dev.sidequestlab.backend.memoquiz.persistence.entity.MemoQuizQuizEntity;
 import dev.sidequestlab.backend.memoquiz.persistence.repository.CardRepository;
+import dev.sidequestlab.backend.memoquiz.persistence.repository.MemoQuizAdvisoryLockRepository;
+import dev.sidequestlab.backend.memoquiz.persistence.repository.MemoQuizQuizBoxStatsRepository;
 import dev.sidequestlab.backend.memoquiz.persistence.repository.MemoQuizQuizCardRepository;
 import dev.sidequestlab.backend.memoquiz.persistence.repository.MemoQuizQuizRepository;
 import java.util.List;
+import java.util.Map;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Profile;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
@@ -22,29 +26,46 @@ import org.springframework.web.server.ResponseStatusException;
 @Profile("!test")
 public class QuizService {
 
-    private static final String DEFAULT_QUIZ_CODE = "default";
+    static final String DEFAULT_QUIZ_CODE = "default";
 
     private final MemoQuizQuizRepository quizRepository;
     private final MemoQuizQuizCardRepository quizCardRepository;
     private final CardRepository cardRepository;
+    private final MemoQuizQuizBoxStatsRepository boxStatsRepository;
+    private final QuizMetadataCache quizMetadataCache;
+    private final MemoQuizAdvisoryLockRepository advisoryLockRepository;
+    private final QuizCardsPayloadCache quizCardsPayloadCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     public QuizService(
         MemoQuizQuizRepository quizRepository,
         MemoQuizQuizCardRepository quizCardRepository,
-        CardRepository cardRepository
+        CardRepository cardRepository,
+        MemoQuizQuizBoxStatsRepository boxStatsRepository,
+        QuizMetadataCache quizMetadataCache,
+        MemoQuizAdvisoryLockRepository advisoryLockRepository,
+        QuizCardsPayloadCache quizCardsPayloadCache,
+        ApplicationEventPublisher eventPublisher
     ) {
         this.quizRepository = quizRepository;
         this.quizCardRepository = quizCardRepository;
         this.cardRepository = cardRepository;
+        this.boxStatsRepository = boxStatsRepository;
+        this.quizMetadataCache = quizMetadataCache;
+        this.advisoryLockRepository = advisoryLockRepository;
+        this.quizCardsPayloadCache = quizCardsPayloadCache;
+        this.eventPublisher = eventPublisher;
     }
 
     public Long getDefaultQuizId() {
-        return getDefaultQuiz().getId();
+        return getDefaultQuiz().id();
     }
 
-    @Transactional
-    public Long getDefaultQuizIdForUpdate() {
-        return getDefaultQuizForUpdate().getId();
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Long lockDefaultQuizForSessionCreation() {
+        Long quizId = getDefaultQuizId();
+        advisoryLockRepository.lockSessionCreation(quizId);
+        return quizId;
     }
 
     public List<QuizDto> listQuizzes() {
@@ -64,61 +85,87 @@ public class QuizService {
         return new QuizOverviewDto(totalQuizzes, totalCards);
     }
 
-    public List<SessionCardDto> listDefaultQuizCards() {
+    public byte[] defaultQuizCardsPayload() {
         Long quizId = getDefaultQuizId();
-        return quizCardRepository.findEnabledSessionCardsByQuizId(quizId);
+        return quizCardsPayloadCache.get(quizId, () -> quizCardRepository.findEnabledSessionCardsByQuizId(quizId));
     }
 
     @Transactional
     public void addCardToDefaultQuiz(Long cardId) {
-        MemoQuizQuizEntity quiz = getDefaultQuiz();
+        QuizMetadata quiz = getDefaultQuiz();
         CardEntity card = cardRepository.findById(cardId)
             .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Card not found"));
 
-        MemoQuizQuizCardEntity membership = quizCardRepository.findByQuizIdAndCardId(quiz.getId(), cardId)
+        MemoQuizQuizCardEntity membership = quizCardRepository.findByQuizIdAndCardId(quiz.id(), cardId)
             .orElse(null);
+        boolean wasEnabled = membership != null && membership.isEnabled();
 
+        // Activation makes the card's other enabled memberships count, so adjust them before this one changes.
+        boolean activating = card.getStatus() == CardStatus.INACTIVE;
+        if (activating) {
+            boxStatsRepository.adjustEnabledMemberships(card.getId(), 1);
+        }
+
+        int box;
         if (membership == null) {
             MemoQuizQuizCardEntity created = new MemoQuizQuizCardEntity();
-            created.setQuizId(quiz.getId());
+            created.setQuizId(quiz.id());
             created.setCardId(card.getId());
             created.setEnabled(true);
             created.setBox(1);
             quizCardRepository.save(created);
+            box = created.getBox();
         } else {
             if (!membership.isEnabled()) {
                 membership.setEnabled(true);
             }
             quizCardRepository.save(membership);
+            box = membership.getBox();
         }
 
-        if (card.getStatus() == CardStatus.INACTIVE) {
+        if (activating) {
             card.setStatus(CardStatus.ACTIVE);
             cardRepository.save(card);
         } else if (card.getStatus() == CardStatus.ARCHIVED) {
             // Archived cards stay archived when re-added to the default quiz.
         }
+
+        if (!wasEnabled && card.getStatus() == CardStatus.ACTIVE) {
+            boxStatsRepository.applyDeltas(quiz.id(), Map.of(box, 1L));
+        }
+        if (!wasEnabled) {
+            eventPublisher.publishEvent(QuizCardsChangedEvent.forQuiz(quiz.id()));
+        }
+        if (!wasEnabled || activating) {
+            eventPublisher.publishEvent(new MemoQuizDataChangedEvent());
+        }
     }
 
     @Transactional
     public void removeCardFromDefaultQuiz(Long cardId) {
-        MemoQuizQuizEntity quiz = getDefaultQuiz();
-        MemoQuizQuizCardEntity membership = quizCardRepository.findByQuizIdAndCardId(quiz.getId(), cardId)
+        QuizMetadata quiz = getDefaultQuiz();
+        MemoQuizQuizCardEntity membership = quizCardRepository.findByQuizIdAndCardId(quiz.id(), cardId)
             .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Quiz membership not found"));
 
         if (membership.isEnabled()) {
             membership.setEnabled(false);
             quizCardRepository.save(membership);
+            if (isActive(cardId)) {
+                boxStatsRepository.applyDeltas(quiz.id(), Map.of(membership.getBox(), -1L));
+            }
+            eventPublisher.publishEvent(QuizCardsChangedEvent.forQuiz(quiz.id()));
+            eventPublisher.publishEvent(new MemoQuizDataChangedEvent());
         }
     }
 
-    private MemoQuizQuizEntity getDefaultQuiz() {
-        return quizRepository.findByCode(DEFAULT_QUIZ_CODE)
-            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Default quiz not found"));
+    private boolean isActive(Long cardId) {
+        return cardRepository.findById(cardId)
+            .map(card -> card.getStatus() == CardStatus.ACTIVE)
+            .orElse(false);
     }
 
-    private MemoQuizQuizEntity getDefaultQuizForUpdate() {
-        return quizRepository.findByCodeForUpdate(DEFAULT_QUIZ_CODE)
+    private QuizMetadata getDefaultQuiz() {
+        return quizMetadataCache.find(DEFAULT_QUIZ_CODE)
             .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Default quiz not found"));
     }
 }
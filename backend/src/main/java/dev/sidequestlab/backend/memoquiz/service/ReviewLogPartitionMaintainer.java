@@ -0,0 +1,109 @@
+package dev.sidequestlab.backend.memoquiz.service;
+
+import dev.sidequestlab.backend.memoquiz.persistence.repository.MemoQuizReviewLogPartitionRepository;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+// Keeps monthly review log partitions created ahead of time and, once a month falls out of the
+// retention window, rolls it up into memoquiz_review_log_daily and drops (or only detaches) it.
+@Component
+@Profile("!test")
+public class ReviewLogPartitionMaintainer {
+
+    private static final Logger log = LoggerFactory.getLogger(ReviewLogPartitionMaintainer.class);
+
+    private final MemoQuizReviewLogPartitionRepository partitionRepository;
+    private final TransactionOperations transactionOperations;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int monthsAhead;
+    private final int retentionMonths;
+    private final boolean dropExpired;
+
+    public ReviewLogPartitionMaintainer(
+        MemoQuizReviewLogPartitionRepository partitionRepository,
+        TransactionOperations transactionOperations,
+        ApplicationEventPublisher eventPublisher,
+        @Value("${app.memoquiz.review-log.months-ahead:3}") int monthsAhead,
+        @Value("${app.memoquiz.review-log.retention-months:12}") int retentionMonths,
+        @Value("${app.memoquiz.review-log.drop-expired:true}") boolean dropExpired
+    ) {
+        if (monthsAhead < 1) {
+            throw new IllegalArgumentException("monthsAhead must be at least 1");
+        }
+        if (retentionMonths < 1) {
+            throw new IllegalArgumentException("retentionMonths must be at least 1");
+        }
+        this.partitionRepository = partitionRepository;
+        this.transactionOperations = transactionOperations;
+        this.eventPublisher = eventPublisher;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+        this.dropExpired = dropExpired;
+    }
+
+    @Scheduled(cron = "${app.memoquiz.review-log.maintenance-cron:0 45 3 * * *}")
+    public void maintain() {
+        maintain(YearMonth.now(ZoneOffset.UTC));
+    }
+
+    // Every partition gets its own transaction, so one whose lock times out is retried by the next run
+    // without holding back the others.
+    void maintain(YearMonth currentMonth) {
+        List<YearMonth> existing = partitionRepository.findPartitionMonths();
+        for (int ahead = 0; ahead <= monthsAhead; ahead++) {
+            YearMonth month = currentMonth.plusMonths(ahead);
+            if (!existing.contains(month)) {
+                inTransaction("create review log partition " + month, () -> {
+                    partitionRepository.createPartition(month);
+                    return true;
+                });
+            }
+        }
+
+        // The current month plus retentionMonths full months before it are kept.
+        YearMonth oldestKept = currentMonth.minusMonths(retentionMonths);
+        boolean removed = false;
+        for (YearMonth month : existing) {
+            if (month.isBefore(oldestKept)) {
+                removed |= inTransaction("roll up review log partition " + month, () -> {
+                    partitionRepository.rollUpPartition(month);
+                    if (dropExpired) {
+                        partitionRepository.dropPartition(month);
+                    } else {
+                        partitionRepository.detachPartition(month);
+                    }
+                    return true;
+                });
+            }
+        }
+        removed |= inTransaction(
+            "roll up expired default review logs",
+            () -> partitionRepository.rollUpDefaultBefore(oldestKept) > 0
+        );
+
+        if (removed) {
+            log.info("Rolled up review logs older than {}", oldestKept);
+            eventPublisher.publishEvent(new MemoQuizDataChangedEvent());
+        }
+    }
+
+    // Returns what the work returned, or false when it failed.
+    private boolean inTransaction(String action, BooleanSupplier work) {
+        try {
+            return Boolean.TRUE.equals(transactionOperations.execute(status -> work.getAsBoolean()));
+        } catch (RuntimeException e) {
+            log.warn("Unable to {}; the next maintenance run retries", action, e);
+            return false;
+        }
+    }
+}
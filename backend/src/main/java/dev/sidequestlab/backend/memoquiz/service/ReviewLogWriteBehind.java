@@ -0,0 +1,552 @@
+package dev.sidequestlab.backend.memoquiz.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.sidequestlab.backend.memoquiz.persistence.entity.MemoQuizReviewLogEntity;
+import dev.sidequestlab.backend.memoquiz.persistence.repository.MemoQuizAnswerBatchRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.context.WebServerGracefulShutdownLifecycle;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Takes review log inserts off the answer path. An answer's logs are appended to a local journal
+// segment and forced to disk before its transaction commits, then queued once it did; a flusher
+// thread batches the queue into memoquiz_review_log and deletes the segments it covered. When the
+// queue is full, a flush fails or the process restarts, the journal segments are replayed instead.
+// Every log carries the batch id of its answer transaction and its position there, and inserts skip
+// keys already written, so replaying logs that were written already is harmless. A crash while an
+// answer commits can still replay its logs even if it rolled back.
+@Component
+@Profile("!test")
+public class ReviewLogWriteBehind implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(ReviewLogWriteBehind.class);
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".ndjson";
+
+    // The on-disk format, kept apart from the entity so segments survive entity changes.
+    record JournalEntry(
+        UUID batchId,
+        int batchOrdinal,
+        Long sessionId,
+        Long cardId,
+        Instant answeredAt,
+        String answerText,
+        boolean correct,
+        int previousBox,
+        int nextBox
+    ) {
+
+        static JournalEntry of(MemoQuizReviewLogEntity entity) {
+            return new JournalEntry(
+                entity.getBatchId(),
+                entity.getBatchOrdinal(),
+                entity.getSessionId(),
+                entity.getCardId(),
+                entity.getAnsweredAt(),
+                entity.getAnswerText(),
+                entity.isCorrect(),
+                entity.getPreviousBox(),
+                entity.getNextBox()
+            );
+        }
+
+        MemoQuizReviewLogEntity toEntity() {
+            MemoQuizReviewLogEntity entity = new MemoQuizReviewLogEntity();
+            entity.setSessionId(sessionId);
+            entity.setCardId(cardId);
+            entity.setAnsweredAt(answeredAt);
+            entity.setAnswerText(answerText);
+            entity.setCorrect(correct);
+            entity.setPreviousBox(previousBox);
+            entity.setNextBox(nextBox);
+            entity.setBatchId(batchId);
+            entity.setBatchOrdinal(batchOrdinal);
+            return entity;
+        }
+    }
+
+    // Appended once a journaled batch rolled back, possibly to a later segment than its logs.
+    record RollbackMarker(UUID rolledBack) {
+    }
+
+    private record InFlightBatch(long segmentNumber, List<MemoQuizReviewLogEntity> logs) {
+    }
+
+    private final MemoQuizAnswerBatchRepository answerBatchRepository;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Path journalDirectory;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private final BlockingQueue<MemoQuizReviewLogEntity> queue;
+    private final Counter queuedCounter;
+    private final Counter spilledCounter;
+    private final Counter flushedCounter;
+    private final Counter flushFailureCounter;
+    private final Timer flushTimer;
+
+    // Appends, rotation and draining happen under this lock. Segments on disk are numbered
+    // consecutively from oldestSegmentNumber to the open segmentNumber, and are deleted oldest first,
+    // never while they hold a batch whose transaction is still open.
+    private final Object journalLock = new Object();
+    private final Map<UUID, InFlightBatch> inFlight = new HashMap<>();
+    private long oldestSegmentNumber;
+    private long segmentNumber;
+    private FileChannel segment;
+    private boolean replayNeeded;
+
+    private volatile boolean running;
+    private Thread flusher;
+
+    public ReviewLogWriteBehind(
+        MemoQuizAnswerBatchRepository answerBatchRepository,
+        ObjectMapper objectMapper,
+        ApplicationEventPublisher eventPublisher,
+        MeterRegistry meterRegistry,
+        @Value("${app.memoquiz.review-log.spill-dir}") Path journalDirectory,
+        @Value("${app.memoquiz.review-log.queue-capacity:10000}") int queueCapacity,
+        @Value("${app.memoquiz.review-log.batch-size:500}") int batchSize,
+        @Value("${app.memoquiz.review-log.flush-interval:1s}") Duration flushInterval
+    ) {
+        // A relative directory would follow the working directory, which is easily a throwaway one.
+        if (!journalDirectory.isAbsolute()) {
+            throw new IllegalArgumentException("spill-dir must be an absolute path: " + journalDirectory);
+        }
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be positive");
+        }
+        if (queueCapacity < batchSize) {
+            throw new IllegalArgumentException("queueCapacity must be at least batchSize");
+        }
+        if (flushInterval.isNegative() || flushInterval.isZero()) {
+            throw new IllegalArgumentException("flushInterval must be positive");
+        }
+        this.answerBatchRepository = answerBatchRepository;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.journalDirectory = journalDirectory;
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+
+        Gauge.builder("memoquiz.review.log.queue.depth", queue, BlockingQueue::size).register(meterRegistry);
+        this.queuedCounter = meterRegistry.counter("memoquiz.review.log.queued");
+        this.spilledCounter = meterRegistry.counter("memoquiz.review.log.spilled");
+        this.flushedCounter = meterRegistry.counter("memoquiz.review.log.flushed");
+        this.flushFailureCounter = meterRegistry.counter("memoquiz.review.log.flush.failures");
+        this.flushTimer = meterRegistry.timer("memoquiz.review.log.flush.duration");
+    }
+
+    // Before commit, so a journal that cannot be written fails the answer instead of losing its logs.
+    // Without a transaction the logs are final and queued right away.
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onReviewLogsRecorded(ReviewLogsRecordedEvent event) {
+        if (event.logs().isEmpty()) {
+            return;
+        }
+        UUID batchId = UUID.randomUUID();
+        List<MemoQuizReviewLogEntity> logs = List.copyOf(event.logs());
+        for (int i = 0; i < logs.size(); i++) {
+            logs.get(i).setBatchId(batchId);
+            logs.get(i).setBatchOrdinal(i);
+        }
+        boolean inTransaction = TransactionSynchronizationManager.isSynchronizationActive();
+        synchronized (journalLock) {
+            try {
+                if (segment == null) {
+                    openSegment();
+                }
+                append(segment, entryLines(logs));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to journal review logs in " + journalDirectory, e);
+            }
+            if (!inTransaction) {
+                enqueue(logs);
+                return;
+            }
+            inFlight.put(batchId, new InFlightBatch(segmentNumber, logs));
+        }
+        // A commit that failed is reported as an unknown outcome; PostgreSQL rolled it back.
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                complete(batchId, status == STATUS_COMMITTED);
+            }
+        });
+    }
+
+    // The rollback marker goes to the open segment, which is deleted no earlier than the batch's own.
+    void complete(UUID batchId, boolean committed) {
+        synchronized (journalLock) {
+            InFlightBatch batch = inFlight.remove(batchId);
+            if (batch == null) {
+                return;
+            }
+            if (committed) {
+                enqueue(batch.logs());
+                return;
+            }
+            try {
+                if (segment == null) {
+                    throw new IOException("journal is closed");
+                }
+                append(segment, List.of(objectMapper.writeValueAsString(new RollbackMarker(batchId))));
+            } catch (IOException e) {
+                log.warn("Unable to mark rolled back review logs in {}; a replay may write them", journalDirectory, e);
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        open();
+        running = true;
+        flusher = Thread.ofPlatform().name("review-log-flusher").daemon().start(this::runFlusher);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        synchronized (journalLock) {
+            journalLock.notifyAll();
+        }
+        if (flusher != null) {
+            try {
+                flusher.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        boolean flushed = flush();
+        synchronized (journalLock) {
+            closeSegment();
+            // A fully flushed journal leaves nothing for the next start to replay.
+            if (flushed && queue.isEmpty() && !replayNeeded && inFlight.isEmpty()) {
+                deleteSegmentsBefore(segmentNumber + 1);
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Started before and stopped after the web server, so no answer arrives once the last flush ran.
+    @Override
+    public int getPhase() {
+        return WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE - 2048;
+    }
+
+    // Segments left by a previous run are replayed by the first flush.
+    void open() {
+        synchronized (journalLock) {
+            try {
+                Files.createDirectories(journalDirectory);
+                List<Long> leftovers = segmentNumbers();
+                if (!leftovers.isEmpty()) {
+                    replayNeeded = true;
+                    oldestSegmentNumber = leftovers.getFirst();
+                    segmentNumber = leftovers.getLast();
+                    log.info("Replaying {} review log journal segments from {}", leftovers.size(), journalDirectory);
+                }
+                openSegment();
+                if (leftovers.isEmpty()) {
+                    oldestSegmentNumber = segmentNumber;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to open review log journal in " + journalDirectory, e);
+            }
+        }
+    }
+
+    // Returns false when the logs could not be written; their segments are kept for the next flush.
+    boolean flush() {
+        List<MemoQuizReviewLogEntity> drained = new ArrayList<>();
+        long firstSealed;
+        long lastSealed;
+        long deleteBefore;
+        Set<UUID> pending;
+        boolean replay;
+        synchronized (journalLock) {
+            if (queue.isEmpty() && !replayNeeded) {
+                // Segments kept for batches that were still open when they were flushed can go once those closed.
+                deleteSegmentsBefore(retainedFrom());
+                return true;
+            }
+            try {
+                rotateSegment();
+            } catch (IOException e) {
+                log.warn("Unable to rotate review log journal in {}", journalDirectory, e);
+                flushFailureCounter.increment();
+                return false;
+            }
+            queue.drainTo(drained);
+            replay = replayNeeded;
+            replayNeeded = false;
+            firstSealed = oldestSegmentNumber;
+            lastSealed = segmentNumber - 1;
+            pending = Set.copyOf(inFlight.keySet());
+            deleteBefore = retainedFrom();
+        }
+
+        long startedAt = System.nanoTime();
+        int written = 0;
+        try {
+            // A replay covers the drained logs too, since their segments are still on disk.
+            written = replay ? replay(firstSealed, lastSealed, pending) : insert(drained);
+            synchronized (journalLock) {
+                deleteSegmentsBefore(deleteBefore);
+            }
+            return true;
+        } catch (IOException | RuntimeException e) {
+            synchronized (journalLock) {
+                replayNeeded = true;
+            }
+            flushFailureCounter.increment();
+            log.warn("Review log flush failed; keeping the unwritten journal segments for retry", e);
+            return false;
+        } finally {
+            flushedCounter.increment(written);
+            if (written > 0) {
+                eventPublisher.publishEvent(new MemoQuizDataChangedEvent());
+            }
+            flushTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // Flushes every interval, or as soon as a batch is full. After a failure it waits the whole
+    // interval so an unavailable database is not retried on every answer.
+    private void runFlusher() {
+        boolean healthy = true;
+        while (running) {
+            long deadline = System.nanoTime() + flushInterval.toNanos();
+            synchronized (journalLock) {
+                while (running && (!healthy || queue.size() < batchSize)) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        break;
+                    }
+                    try {
+                        TimeUnit.NANOSECONDS.timedWait(journalLock, remaining);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            }
+            if (running) {
+                healthy = flush();
+            }
+        }
+    }
+
+    private void enqueue(List<MemoQuizReviewLogEntity> logs) {
+        for (MemoQuizReviewLogEntity entity : logs) {
+            if (queue.offer(entity)) {
+                queuedCounter.increment();
+            } else {
+                spilledCounter.increment();
+                replayNeeded = true;
+            }
+        }
+        if (queue.size() >= batchSize) {
+            journalLock.notifyAll();
+        }
+    }
+
+    // Each chunk is a single statement, so a failure part way only leaves logs a retry skips.
+    private int insert(List<MemoQuizReviewLogEntity> logs) {
+        int written = 0;
+        for (int from = 0; from < logs.size(); from += batchSize) {
+            written += answerBatchRepository.insertReviewLogs(logs.subList(from, Math.min(logs.size(), from + batchSize)));
+        }
+        return written;
+    }
+
+    // Streams the sealed segments in batchSize chunks, leaving out rolled back batches and the pending ones,
+    // whose logs are queued or marked once their transaction ends. Rollback markers are read first because
+    // one can follow its logs by several segments.
+    private int replay(long firstSegment, long lastSegment, Set<UUID> pending) throws IOException {
+        Set<UUID> skipped = new HashSet<>(pending);
+        for (long number = firstSegment; number <= lastSegment; number++) {
+            forEachLine(segmentPath(number), line -> {
+                if (line.has("rolledBack")) {
+                    skipped.add(objectMapper.treeToValue(line, RollbackMarker.class).rolledBack());
+                }
+            });
+        }
+
+        List<MemoQuizReviewLogEntity> chunk = new ArrayList<>(batchSize);
+        int[] written = {0};
+        for (long number = firstSegment; number <= lastSegment; number++) {
+            forEachLine(segmentPath(number), line -> {
+                if (line.has("rolledBack")) {
+                    return;
+                }
+                JournalEntry entry = objectMapper.treeToValue(line, JournalEntry.class);
+                if (skipped.contains(entry.batchId())) {
+                    return;
+                }
+                chunk.add(entry.toEntity());
+                if (chunk.size() == batchSize) {
+                    written[0] += answerBatchRepository.insertReviewLogs(chunk);
+                    chunk.clear();
+                }
+            });
+        }
+        written[0] += answerBatchRepository.insertReviewLogs(chunk);
+        return written[0];
+    }
+
+    private interface JournalLineHandler {
+        void accept(JsonNode line) throws IOException;
+    }
+
+    // A segment already deleted holds nothing left to replay.
+    private void forEachLine(Path path, JournalLineHandler handler) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String text;
+            while ((text = reader.readLine()) != null) {
+                if (text.isBlank()) {
+                    continue;
+                }
+                JsonNode line;
+                try {
+                    line = objectMapper.readTree(text);
+                } catch (JsonProcessingException e) {
+                    // Only a line torn by a crash mid-append can be unreadable.
+                    log.warn("Skipping unreadable review log journal line in {}", path);
+                    continue;
+                }
+                handler.accept(line);
+            }
+        }
+    }
+
+    private List<String> entryLines(List<MemoQuizReviewLogEntity> logs) throws JsonProcessingException {
+        List<String> lines = new ArrayList<>(logs.size());
+        for (MemoQuizReviewLogEntity entity : logs) {
+            lines.add(objectMapper.writeValueAsString(JournalEntry.of(entity)));
+        }
+        return lines;
+    }
+
+    // Forced to the device rather than left in the page cache, so a power loss keeps it too.
+    private static void append(FileChannel channel, List<String> lines) throws IOException {
+        StringBuilder text = new StringBuilder();
+        for (String line : lines) {
+            text.append(line).append('\n');
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(text.toString().getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        channel.force(false);
+    }
+
+    // The sealed segment stays on disk until a flush has written its logs.
+    private void rotateSegment() throws IOException {
+        FileChannel sealed = segment;
+        openSegment();
+        close(sealed);
+    }
+
+    // The open segment, or an older one holding a batch whose transaction is still open.
+    private long retainedFrom() {
+        long from = segmentNumber;
+        for (InFlightBatch batch : inFlight.values()) {
+            from = Math.min(from, batch.segmentNumber());
+        }
+        return from;
+    }
+
+    // Oldest first, so the segments left on disk stay consecutive even when a deletion fails.
+    private void deleteSegmentsBefore(long number) {
+        while (oldestSegmentNumber < number) {
+            try {
+                Files.deleteIfExists(segmentPath(oldestSegmentNumber));
+            } catch (IOException e) {
+                log.warn("Unable to delete review log journal segment in {}", journalDirectory, e);
+                return;
+            }
+            oldestSegmentNumber++;
+        }
+    }
+
+    private List<Long> segmentNumbers() throws IOException {
+        try (Stream<Path> files = Files.list(journalDirectory)) {
+            return files
+                .map(path -> path.getFileName().toString())
+                .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                .map(name -> Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())))
+                .sorted()
+                .toList();
+        }
+    }
+
+    // The number only moves once the file exists, so a failed rotation leaves the open segment in place.
+    private void openSegment() throws IOException {
+        segment = FileChannel.open(segmentPath(segmentNumber + 1), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        segmentNumber++;
+    }
+
+    private Path segmentPath(long number) {
+        return journalDirectory.resolve(SEGMENT_PREFIX + number + SEGMENT_SUFFIX);
+    }
+
+    private void closeSegment() {
+        close(segment);
+        segment = null;
+    }
+
+    private void close(FileChannel channel) {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.warn("Unable to close review log journal segment in {}", journalDirectory, e);
+        }
+    }
+}
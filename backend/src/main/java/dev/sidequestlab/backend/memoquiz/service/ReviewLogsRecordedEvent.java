@@ -0,0 +1,9 @@
+package dev.sidequestlab.backend.memoquiz.service;
+
+import dev.sidequestlab.backend.memoquiz.persistence.entity.MemoQuizReviewLogEntity;
+import java.util.List;
+
+// Review logs of an answer, journaled by ReviewLogWriteBehind before the answer commits and written to
+// the database later.
+public record ReviewLogsRecordedEvent(List<MemoQuizReviewLogEntity> logs) {
+}
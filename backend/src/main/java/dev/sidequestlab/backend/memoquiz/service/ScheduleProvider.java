@@ -5,7 +5,6 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.annotation.PostConstruct;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import org.springframework.core.io.ClassPathResource;
@@ -17,8 +16,7 @@ public class ScheduleProvider {
     private static final String RESOURCE_PATH = "memoquiz/study-schedule-64.json";
 
     private final ObjectMapper objectMapper;
-    private Map<Integer, List<Integer>> schedule;
-    private int scheduleLength;
+    private CompiledSchedule schedule;
 
     public ScheduleProvider(ObjectMapper objectMapper) {
         this.objectMapper = objectMapper;
@@ -32,31 +30,36 @@ public class ScheduleProvider {
                 inputStream,
                 new TypeReference<Map<Integer, List<Integer>>>() {}
             );
-            schedule = loaded == null ? Collections.emptyMap() : loaded;
-            scheduleLength = schedule.size();
+            schedule = loaded == null || loaded.isEmpty() ? null : CompiledSchedule.compile(loaded);
         } catch (IOException ex) {
             throw new IllegalStateException("Failed to load memoquiz schedule", ex);
         }
     }
 
     public List<Integer> boxesForDay(int dayIndex) {
-        if (schedule == null || schedule.isEmpty()) {
-            throw new IllegalStateException("Memoquiz schedule not loaded");
-        }
-        if (dayIndex < 1 || dayIndex > scheduleLength) {
-            throw new IllegalArgumentException("dayIndex must be between 1 and " + scheduleLength);
+        List<Integer> boxes = compiledSchedule().boxesForDay(dayIndex);
+        if (boxes.isEmpty()) {
+            throw new IllegalStateException("No boxes configured for day " + dayIndex);
         }
-        List<Integer> boxes = schedule.get(dayIndex);
-        if (boxes == null || boxes.isEmpty()) {
+        return boxes;
+    }
+
+    public int boxMaskForDay(int dayIndex) {
+        int mask = compiledSchedule().maskForDay(dayIndex);
+        if (mask == 0) {
             throw new IllegalStateException("No boxes configured for day " + dayIndex);
         }
-        return List.copyOf(boxes);
+        return mask;
     }
 
     public int scheduleLength() {
-        if (schedule == null || schedule.isEmpty()) {
+        return compiledSchedule().length();
+    }
+
+    public CompiledSchedule compiledSchedule() {
+        if (schedule == null) {
             throw new IllegalStateException("Memoquiz schedule not loaded");
         }
-        return scheduleLength;
+        return schedule;
     }
 }
@@ -0,0 +1,72 @@
+package dev.sidequestlab.backend.memoquiz.service;
+
+// Seeded bijection on [0, size) built from a balanced Feistel network with cycle walking,
+// so any position of a shuffled session maps to a card rank without materializing the order.
+final class SessionPermutation {
+
+    private static final int ROUNDS = 4;
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    // Keeps the Feistel domain within a non-negative int.
+    static final int MAX_SIZE = 1 << 30;
+
+    private final int size;
+    private final Long seed;
+    private final int halfBits;
+    private final int halfMask;
+
+    private SessionPermutation(int size, Long seed) {
+        if (size < 0 || size > MAX_SIZE) {
+            throw new IllegalArgumentException("size must be between 0 and " + MAX_SIZE);
+        }
+        this.size = size;
+        this.seed = seed;
+        int bits = 1;
+        while ((1L << (2 * bits)) < size) {
+            bits++;
+        }
+        this.halfBits = bits;
+        this.halfMask = (1 << bits) - 1;
+    }
+
+    // A null seed keeps sessions created before seeding in their stored order.
+    static SessionPermutation of(int size, Long seed) {
+        return new SessionPermutation(size, seed);
+    }
+
+    int size() {
+        return size;
+    }
+
+    int rankAt(int position) {
+        if (position < 0 || position >= size) {
+            throw new IndexOutOfBoundsException(position);
+        }
+        if (seed == null) {
+            return position;
+        }
+        // The network permutes a power-of-four domain under 4 * size, so walking out of range takes few steps.
+        int value = position;
+        do {
+            value = encrypt(value);
+        } while (value >= size);
+        return value;
+    }
+
+    private int encrypt(int value) {
+        int left = value >>> halfBits;
+        int right = value & halfMask;
+        for (int round = 0; round < ROUNDS; round++) {
+            int next = left ^ (roundFunction(right, round) & halfMask);
+            left = right;
+            right = next;
+        }
+        return (left << halfBits) | right;
+    }
+
+    private int roundFunction(int half, int round) {
+        long z = seed + GOLDEN_GAMMA * (round + 1) + half;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return (int) (z ^ (z >>> 31));
+    }
+}
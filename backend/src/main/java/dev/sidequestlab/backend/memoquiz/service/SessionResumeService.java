@@ -0,0 +1,93 @@
+package dev.sidequestlab.backend.memoquiz.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.sidequestlab.backend.memoquiz.api.dto.SessionCardDto;
+import dev.sidequestlab.backend.memoquiz.persistence.entity.MemoQuizSessionEntity;
+import dev.sidequestlab.backend.memoquiz.persistence.repository.MemoQuizSessionDeckRepository;
+import dev.sidequestlab.backend.memoquiz.persistence.repository.MemoQuizSessionRepository;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.function.Consumer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+@Service
+@Profile("!test")
+public class SessionResumeService {
+
+    private final MemoQuizSessionRepository sessionRepository;
+    private final MemoQuizSessionDeckRepository sessionDeckRepository;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+
+    public SessionResumeService(
+        MemoQuizSessionRepository sessionRepository,
+        MemoQuizSessionDeckRepository sessionDeckRepository,
+        ObjectMapper objectMapper,
+        @Value("${app.memoquiz.session-resume.chunk-size:500}") int chunkSize
+    ) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be positive");
+        }
+        this.sessionRepository = sessionRepository;
+        this.sessionDeckRepository = sessionDeckRepository;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+    }
+
+    // Looked up before any byte is written so an unknown session still gets a proper 404.
+    @Transactional(readOnly = true)
+    public void streamRemainingCards(Long sessionId, OutputStream out) throws IOException {
+        MemoQuizSessionEntity session = sessionRepository.findById(sessionId)
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Session not found"));
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        try {
+            forEachRemainingCard(session, card -> {
+                try {
+                    writer.write(objectMapper.writeValueAsString(card));
+                    writer.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    // Unseeded sessions store their order directly; seeded ones are walked position by position in
+    // chunks so cards come out in session order without loading the whole session.
+    void forEachRemainingCard(MemoQuizSessionEntity session, Consumer<SessionCardDto> consumer) {
+        if (session.getShuffleSeed() == null) {
+            sessionDeckRepository.streamRemaining(session.getId(), chunkSize, consumer);
+            return;
+        }
+
+        SessionPermutation permutation = SessionService.permutationOf(session);
+        for (int from = 0; from < permutation.size(); from += chunkSize) {
+            int[] ranks = new int[Math.min(chunkSize, permutation.size() - from)];
+            for (int i = 0; i < ranks.length; i++) {
+                ranks[i] = permutation.rankAt(from + i);
+            }
+            Map<Integer, SessionCardDto> remaining = sessionDeckRepository.findRemainingByOrdinals(session.getId(), ranks);
+            for (int rank : ranks) {
+                SessionCardDto card = remaining.get(rank);
+                if (card != null) {
+                    consumer.accept(card);
+                }
+            }
+        }
+    }
+}
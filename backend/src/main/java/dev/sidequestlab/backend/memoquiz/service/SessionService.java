@@ -2,20 +2,25 @@ package dev.sidequestlab.backend.memoquiz.service;
 
 import dev.sidequestlab.backend.memoquiz.api.dto.AnswerRequest;
 import dev.sidequestlab.backend.memoquiz.api.dto.AnswerResponse;
+import dev.sidequestlab.backend.memoquiz.api.dto.BatchAnswerItem;
+import dev.sidequestlab.backend.memoquiz.api.dto.BatchAnswerRequest;
+import dev.sidequestlab.backend.memoquiz.api.dto.BatchAnswerResponse;
+import dev.sidequestlab.backend.memoquiz.api.dto.BatchAnswerResult;
 import dev.sidequestlab.backend.memoquiz.api.dto.CompleteSessionRequest;
 import dev.sidequestlab.backend.memoquiz.api.dto.CompleteSessionResponse;
+import dev.sidequestlab.backend.memoquiz.api.dto.LazySessionDto;
 import dev.sidequestlab.backend.memoquiz.api.dto.SessionCardDto;
 import dev.sidequestlab.backend.memoquiz.api.dto.SessionDto;
 import dev.sidequestlab.backend.memoquiz.api.enums.CardStatus;
-import dev.sidequestlab.backend.memoquiz.persistence.entity.CardEntity;
-import dev.sidequestlab.backend.memoquiz.persistence.entity.MemoQuizQuizCardEntity;
-import dev.sidequestlab.backend.memoquiz.persistence.projection.SessionCardProjection;
+import dev.sidequestlab.backend.memoquiz.persistence.projection.AnswerGradeProjection;
+import dev.sidequestlab.backend.memoquiz.persistence.projection.CardAnswerProjection;
 import dev.sidequestlab.backend.memoquiz.persistence.entity.MemoQuizReviewLogEntity;
 import dev.sidequestlab.backend.memoquiz.persistence.entity.MemoQuizSessionEntity;
-import dev.sidequestlab.backend.memoquiz.persistence.entity.MemoQuizSessionItemEntity;
 import dev.sidequestlab.backend.memoquiz.persistence.repository.CardRepository;
-import dev.sidequestlab.backend.memoquiz.persistence.repository.MemoQuizQuizCardRepository;
-import dev.sidequestlab.backend.memoquiz.persistence.repository.MemoQuizReviewLogRepository;
+import dev.sidequestlab.backend.memoquiz.persistence.repository.MemoQuizAnswerBatchRepository;
+import dev.sidequestlab.backend.memoquiz.persistence.repository.MemoQuizAnswerGradingRepository;
+import dev.sidequestlab.backend.memoquiz.persistence.repository.MemoQuizQuizBoxStatsRepository;
+import dev.sidequestlab.backend.memoquiz.persistence.repository.MemoQuizSessionDeckRepository;
 import dev.sidequestlab.backend.memoquiz.persistence.repository.MemoQuizSessionItemRepository;
 import dev.sidequestlab.backend.memoquiz.persistence.repository.MemoQuizSessionRepository;
 import java.time.Duration;
@@ -24,8 +29,14 @@ import java.time.LocalDate;
 import java.time.ZoneId;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
@@ -39,35 +50,124 @@ public class SessionService {
     static final String SESSION_ALREADY_DONE_TODAY = "Session deja effectuee aujourd'hui.";
     private static final int MAX_BOX = 7;
 
+    private record SessionPlan(Long quizId, int dayIndex, List<Integer> boxes) {
+    }
+
     private final CardRepository cardRepository;
     private final MemoQuizSessionRepository sessionRepository;
     private final MemoQuizSessionItemRepository sessionItemRepository;
-    private final MemoQuizReviewLogRepository reviewLogRepository;
     private final ScheduleProvider scheduleProvider;
-    private final MemoQuizQuizCardRepository quizCardRepository;
     private final QuizService quizService;
+    private final MemoQuizAnswerBatchRepository answerBatchRepository;
+    private final MemoQuizQuizBoxStatsRepository boxStatsRepository;
+    private final MemoQuizSessionDeckRepository sessionDeckRepository;
+    private final MemoQuizAnswerGradingRepository answerGradingRepository;
+    private final AnswerMatcher answerMatcher;
+    private final ApplicationEventPublisher eventPublisher;
 
     public SessionService(
         CardRepository cardRepository,
         MemoQuizSessionRepository sessionRepository,
         MemoQuizSessionItemRepository sessionItemRepository,
-        MemoQuizReviewLogRepository reviewLogRepository,
         ScheduleProvider scheduleProvider,
-        MemoQuizQuizCardRepository quizCardRepository,
-        QuizService quizService
+        QuizService quizService,
+        MemoQuizAnswerBatchRepository answerBatchRepository,
+        MemoQuizQuizBoxStatsRepository boxStatsRepository,
+        MemoQuizSessionDeckRepository sessionDeckRepository,
+        MemoQuizAnswerGradingRepository answerGradingRepository,
+        AnswerMatcher answerMatcher,
+        ApplicationEventPublisher eventPublisher
     ) {
         this.cardRepository = cardRepository;
         this.sessionRepository = sessionRepository;
         this.sessionItemRepository = sessionItemRepository;
-        this.reviewLogRepository = reviewLogRepository;
         this.scheduleProvider = scheduleProvider;
-        this.quizCardRepository = quizCardRepository;
         this.quizService = quizService;
+        this.answerBatchRepository = answerBatchRepository;
+        this.boxStatsRepository = boxStatsRepository;
+        this.sessionDeckRepository = sessionDeckRepository;
+        this.answerGradingRepository = answerGradingRepository;
+        this.answerMatcher = answerMatcher;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
     public SessionDto getTodaySession() {
-        Long quizId = quizService.getDefaultQuizIdForUpdate();
+        SessionPlan plan = planTodaySession();
+
+        MemoQuizSessionEntity savedSession = startSession(plan.dayIndex());
+
+        // If there are no boxes scheduled today, return the empty session
+        if (plan.boxes() == null || plan.boxes().isEmpty()) {
+            eventPublisher.publishEvent(new MemoQuizDataChangedEvent());
+            return new SessionDto(savedSession.getId(), savedSession.getStartedAt(), List.of());
+        }
+
+        // Returned in ordinal order, so each card's index is its rank.
+        List<SessionCardDto> cards = sessionDeckRepository.insertEligibleItemsReturningCards(
+            savedSession.getId(),
+            plan.quizId(),
+            plan.boxes(),
+            CardStatus.ACTIVE
+        );
+        savedSession.setItemCount(cards.size());
+        eventPublisher.publishEvent(new MemoQuizDataChangedEvent());
+
+        SessionPermutation permutation = permutationOf(savedSession);
+        List<SessionCardDto> cardDtos = new ArrayList<>(cards.size());
+        for (int position = 0; position < cards.size(); position++) {
+            cardDtos.add(cards.get(permutation.rankAt(position)));
+        }
+
+        return new SessionDto(savedSession.getId(), savedSession.getStartedAt(), cardDtos);
+    }
+
+    // Persists only card ids and the shuffle seed; clients then page through the order with sessionCards.
+    @Transactional
+    public LazySessionDto startTodaySessionLazily() {
+        SessionPlan plan = planTodaySession();
+
+        MemoQuizSessionEntity savedSession = startSession(plan.dayIndex());
+        int cardCount = plan.boxes() == null || plan.boxes().isEmpty()
+            ? 0
+            : sessionDeckRepository.insertEligibleItems(savedSession.getId(), plan.quizId(), plan.boxes(), CardStatus.ACTIVE);
+        savedSession.setItemCount(cardCount);
+        eventPublisher.publishEvent(new MemoQuizDataChangedEvent());
+
+        return new LazySessionDto(savedSession.getId(), savedSession.getStartedAt(), cardCount);
+    }
+
+    @Transactional(readOnly = true)
+    public List<SessionCardDto> sessionCards(Long sessionId, int from, int limit) {
+        MemoQuizSessionEntity session = sessionRepository.findById(sessionId)
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Session not found"));
+        if (session.getShuffleSeed() == null) {
+            return sessionDeckRepository.findWindow(sessionId, from, limit);
+        }
+
+        SessionPermutation permutation = permutationOf(session);
+        int to = (int) Math.min((long) from + limit, permutation.size());
+        if (from >= to) {
+            return List.of();
+        }
+        int[] ranks = new int[to - from];
+        for (int position = from; position < to; position++) {
+            ranks[position - from] = permutation.rankAt(position);
+        }
+        Map<Integer, SessionCardDto> cardsByRank = sessionDeckRepository.findByOrdinals(sessionId, ranks);
+        List<SessionCardDto> window = new ArrayList<>(ranks.length);
+        for (int rank : ranks) {
+            SessionCardDto card = cardsByRank.get(rank);
+            // Items vanish only when their card is deleted, which simply shortens the window.
+            if (card != null) {
+                window.add(card);
+            }
+        }
+        return window;
+    }
+
+    private SessionPlan planTodaySession() {
+        Long quizId = quizService.lockDefaultQuizForSessionCreation();
 
         LocalDate today = LocalDate.now();
         Instant startOfDay = today.atStartOfDay(ZoneId.systemDefault()).toInstant();
@@ -84,97 +184,136 @@ public class SessionService {
             scheduleProvider.scheduleLength()
         );
 
-        List<Integer> boxesToday = scheduleProvider.boxesForDay(dayIndex);
-
-        // If there are no boxes scheduled today, create an empty session and return
-        if (boxesToday == null || boxesToday.isEmpty()) {
-            Instant now = now();
-            MemoQuizSessionEntity session = new MemoQuizSessionEntity();
-            session.setStartedAt(now);
-            session.setDayIndex(dayIndex);
-            MemoQuizSessionEntity savedSession = sessionRepository.save(session);
-            return new SessionDto(savedSession.getId(), savedSession.getStartedAt(), List.of());
-        }
-
-        List<SessionCardProjection> memberships = new ArrayList<>(quizCardRepository.findEnabledForSession(
-            quizId,
-            boxesToday,
-            CardStatus.ACTIVE
-        ));
-        shuffleMemberships(memberships);
+        return new SessionPlan(quizId, dayIndex, scheduleProvider.boxesForDay(dayIndex));
+    }
 
-        Instant now = now();
+    // Flushed right away because the items are inserted with plain SQL that references the session row.
+    // The item count is only known after that insert and is written back when the transaction commits.
+    private MemoQuizSessionEntity startSession(int dayIndex) {
         MemoQuizSessionEntity session = new MemoQuizSessionEntity();
-        session.setStartedAt(now);
+        session.setStartedAt(now());
         session.setDayIndex(dayIndex);
-        MemoQuizSessionEntity savedSession = sessionRepository.save(session);
-
-        List<MemoQuizSessionItemEntity> items = new ArrayList<>();
-        for (SessionCardProjection membership : memberships) {
-            int box = membership.box();
-            MemoQuizSessionItemEntity item = new MemoQuizSessionItemEntity();
-            item.setSessionId(savedSession.getId());
-            item.setCardId(membership.cardId());
-            item.setBox(box);
-            items.add(item);
-        }
-        if (!items.isEmpty()) {
-            sessionItemRepository.saveAll(items);
-        }
-
-        List<SessionCardDto> cardDtos = memberships.stream()
-            .map(membership -> new SessionCardDto(
-                membership.cardId(),
-                membership.front(),
-                membership.back(),
-                membership.box()
-            ))
-            .toList();
+        session.setShuffleSeed(newShuffleSeed());
+        session.setItemCount(0);
+        return sessionRepository.saveAndFlush(session);
+    }
 
-        return new SessionDto(savedSession.getId(), savedSession.getStartedAt(), cardDtos);
+    long newShuffleSeed() {
+        return ThreadLocalRandom.current().nextLong();
     }
 
-    void shuffleMemberships(List<SessionCardProjection> memberships) {
-        Collections.shuffle(memberships);
+    static SessionPermutation permutationOf(MemoQuizSessionEntity session) {
+        int size = session.getItemCount() == null ? 0 : session.getItemCount();
+        return SessionPermutation.of(size, session.getShuffleSeed());
     }
 
     @Transactional
     public AnswerResponse answer(AnswerRequest req) {
+        Long quizId = quizService.getDefaultQuizId();
+        Instant now = now();
+        String answerKey = AnswerMatcher.answerKey(req.answer());
+        Boolean verdict = null;
+        // Typo tolerance needs the card's key in Java, which costs one extra round trip.
+        if (answerMatcher.isTolerant()) {
+            verdict = cardRepository.findAnswersByIdIn(List.of(req.cardId())).stream()
+                .anyMatch(card -> answerMatcher.matches(answerKey, card.answerKey(), card.answerHash()));
+        }
+        AnswerGradeProjection grade = answerGradingRepository.grade(
+            req.sessionId(),
+            req.cardId(),
+            quizId,
+            answerKey,
+            AnswerMatcher.answerHash(answerKey),
+            verdict,
+            now
+        ).orElseThrow(() -> answerNotGradable(req, quizId));
+
+        if (grade.previousBox() != grade.nextBox()) {
+            eventPublisher.publishEvent(QuizCardsChangedEvent.forQuiz(quizId));
+        }
+        eventPublisher.publishEvent(new ReviewLogsRecordedEvent(List.of(
+            newReviewLog(req.sessionId(), req.cardId(), req.answer(), grade.correct(), grade.previousBox(), grade.nextBox(), now)
+        )));
+        eventPublisher.publishEvent(new MemoQuizDataChangedEvent());
+
+        return new AnswerResponse(grade.correct(), now.plus(1, ChronoUnit.DAYS));
+    }
+
+    // Only reached when grading matched nothing, so the lookups cost nothing on the answer path.
+    private ResponseStatusException answerNotGradable(AnswerRequest req, Long quizId) {
+        String reason;
+        if (!sessionRepository.existsById(req.sessionId())) {
+            reason = "Session not found";
+        } else if (sessionItemRepository.findBySessionIdAndCardId(req.sessionId(), req.cardId()).isEmpty()) {
+            reason = "Session item not found";
+        } else if (!cardRepository.existsById(req.cardId())) {
+            reason = "Card not found";
+        } else {
+            reason = "Quiz membership not found";
+        }
+        return new ResponseStatusException(HttpStatus.NOT_FOUND, reason);
+    }
+
+    @Transactional
+    public BatchAnswerResponse answerBatch(BatchAnswerRequest req) {
         MemoQuizSessionEntity session = sessionRepository.findById(req.sessionId())
             .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Session not found"));
 
-        sessionItemRepository.findBySessionIdAndCardId(req.sessionId(), req.cardId())
-            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Session item not found"));
+        Set<Long> cardIds = req.answers().stream()
+            .map(BatchAnswerItem::cardId)
+            .collect(Collectors.toCollection(LinkedHashSet::new));
 
-        CardEntity card = cardRepository.findById(req.cardId())
-            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Card not found"));
+        Instant now = now();
+        // Marking the items answered doubles as the check that every card belongs to the session.
+        if (answerBatchRepository.markAnswered(session.getId(), cardIds, now) != cardIds.size()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Session item not found");
+        }
+
+        Map<Long, CardAnswerProjection> cardsById = cardRepository.findAnswersByIdIn(cardIds).stream()
+            .collect(Collectors.toMap(CardAnswerProjection::cardId, card -> card));
+        if (cardsById.size() != cardIds.size()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Card not found");
+        }
 
         Long quizId = quizService.getDefaultQuizId();
-        MemoQuizQuizCardEntity membership = quizCardRepository.findByQuizIdAndCardId(quizId, req.cardId())
-            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Quiz membership not found"));
-        if (!membership.isEnabled()) {
+        // The memberships stay locked until commit, so the absolute boxes written back and the stats deltas
+        // below cannot be based on a box another answer has moved in the meantime.
+        Map<Long, Integer> boxesByCardId = new HashMap<>(answerBatchRepository.lockEnabledBoxes(quizId, cardIds));
+        if (boxesByCardId.size() != cardIds.size()) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Quiz membership not found");
         }
+        Map<Long, Integer> initialBoxesByCardId = Map.copyOf(boxesByCardId);
+
+        Instant nextReview = now.plus(1, ChronoUnit.DAYS);
+        List<MemoQuizReviewLogEntity> logs = new ArrayList<>(req.answers().size());
+        List<BatchAnswerResult> results = new ArrayList<>(req.answers().size());
+        for (BatchAnswerItem answer : req.answers()) {
+            int previousBox = boxesByCardId.get(answer.cardId());
+            CardAnswerProjection card = cardsById.get(answer.cardId());
+            boolean correct = answerMatcher.matches(AnswerMatcher.answerKey(answer.answer()), card.answerKey(), card.answerHash());
+            int nextBox = nextBox(previousBox, correct);
+            boxesByCardId.put(answer.cardId(), nextBox);
+
+            logs.add(newReviewLog(session.getId(), answer.cardId(), answer.answer(), correct, previousBox, nextBox, now));
+            results.add(new BatchAnswerResult(answer.cardId(), correct, nextReview));
+        }
 
-        int previousBox = membership.getBox();
-        boolean correct = normalize(req.answer()).equals(normalize(card.getBack()));
-        int nextBox = correct ? Math.min(previousBox + 1, MAX_BOX) : 1;
-
-        Instant now = now();
-        membership.setBox(nextBox);
-        quizCardRepository.save(membership);
+        Map<Integer, Long> boxDeltas = new HashMap<>();
+        for (Map.Entry<Long, Integer> entry : boxesByCardId.entrySet()) {
+            if (cardsById.get(entry.getKey()).status() == CardStatus.ACTIVE) {
+                recordBoxMove(boxDeltas, initialBoxesByCardId.get(entry.getKey()), entry.getValue());
+            }
+        }
 
-        MemoQuizReviewLogEntity log = new MemoQuizReviewLogEntity();
-        log.setSessionId(session.getId());
-        log.setCardId(card.getId());
-        log.setAnsweredAt(now);
-        log.setAnswerText(req.answer());
-        log.setCorrect(correct);
-        log.setPreviousBox(previousBox);
-        log.setNextBox(nextBox);
-        reviewLogRepository.save(log);
+        answerBatchRepository.updateBoxes(quizId, boxesByCardId, now);
+        boxStatsRepository.applyDeltas(quizId, boxDeltas);
+        if (!boxesByCardId.equals(initialBoxesByCardId)) {
+            eventPublisher.publishEvent(QuizCardsChangedEvent.forQuiz(quizId));
+        }
+        eventPublisher.publishEvent(new ReviewLogsRecordedEvent(logs));
+        eventPublisher.publishEvent(new MemoQuizDataChangedEvent());
 
-        return new AnswerResponse(correct, now.plus(1, ChronoUnit.DAYS));
+        return new BatchAnswerResponse(session.getId(), results);
     }
 
     @Transactional
@@ -190,6 +329,7 @@ public class SessionService {
         long durationSeconds = Duration.between(session.getStartedAt(), endedAt).getSeconds();
         session.setEndedAt(endedAt);
         session.setDurationSeconds(Math.toIntExact(Math.max(0L, durationSeconds)));
+        eventPublisher.publishEvent(new MemoQuizDataChangedEvent());
 
         return toCompleteSessionResponse(sessionRepository.save(session));
     }
@@ -208,6 +348,38 @@ public class SessionService {
         return Instant.now();
     }
 
+    private static int nextBox(int previousBox, boolean correct) {
+        return correct ? Math.min(previousBox + 1, MAX_BOX) : 1;
+    }
+
+    private static void recordBoxMove(Map<Integer, Long> boxDeltas, int previousBox, int nextBox) {
+        if (previousBox == nextBox) {
+            return;
+        }
+        boxDeltas.merge(previousBox, -1L, Long::sum);
+        boxDeltas.merge(nextBox, 1L, Long::sum);
+    }
+
+    private static MemoQuizReviewLogEntity newReviewLog(
+        Long sessionId,
+        Long cardId,
+        String answerText,
+        boolean correct,
+        int previousBox,
+        int nextBox,
+        Instant answeredAt
+    ) {
+        MemoQuizReviewLogEntity log = new MemoQuizReviewLogEntity();
+        log.setSessionId(sessionId);
+        log.setCardId(cardId);
+        log.setAnsweredAt(answeredAt);
+        log.setAnswerText(answerText);
+        log.setCorrect(correct);
+        log.setPreviousBox(previousBox);
+        log.setNextBox(nextBox);
+        return log;
+    }
+
     private CompleteSessionResponse toCompleteSessionResponse(MemoQuizSessionEntity session) {
         return new CompleteSessionResponse(
             session.getId(),
@@ -215,11 +387,4 @@ public class SessionService {
             session.getDurationSeconds()
         );
     }
-
-    private String normalize(String value) {
-        if (value == null) {
-            return "";
-        }
-        return value.trim().toLowerCase();
-    }
 }
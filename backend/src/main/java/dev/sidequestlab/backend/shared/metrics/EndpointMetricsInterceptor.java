@@ -0,0 +1,74 @@
+package dev.sidequestlab.backend.shared.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.concurrent.TimeUnit;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+public class EndpointMetricsInterceptor implements HandlerInterceptor {
+
+    static final String DURATION_METRIC = "memoquiz.endpoint.duration";
+    static final String SQL_STATEMENTS_METRIC = "memoquiz.endpoint.sql.statements";
+    static final String SQL_DURATION_METRIC = "memoquiz.endpoint.sql.duration";
+
+    private static final String STARTED_AT_ATTRIBUTE = EndpointMetricsInterceptor.class.getName() + ".startedAt";
+
+    private final MeterRegistry meterRegistry;
+    private final SqlStatementTracker tracker;
+    private final String controllerPackage;
+
+    public EndpointMetricsInterceptor(MeterRegistry meterRegistry, SqlStatementTracker tracker, String controllerPackage) {
+        this.meterRegistry = meterRegistry;
+        this.tracker = tracker;
+        this.controllerPackage = controllerPackage;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (isTracked(handler)) {
+            request.setAttribute(STARTED_AT_ATTRIBUTE, System.nanoTime());
+            tracker.begin();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (!(request.getAttribute(STARTED_AT_ATTRIBUTE) instanceof Long startedAt)) {
+            return;
+        }
+        long elapsed = System.nanoTime() - startedAt;
+        SqlStatementTracker.Sample sample = tracker.end();
+
+        HandlerMethod method = (HandlerMethod) handler;
+        Tags tags = Tags.of(
+            "endpoint", method.getBeanType().getSimpleName() + "." + method.getMethod().getName(),
+            "status", Integer.toString(response.getStatus())
+        );
+        Timer.builder(DURATION_METRIC)
+            .tags(tags)
+            .publishPercentileHistogram()
+            .register(meterRegistry)
+            .record(elapsed, TimeUnit.NANOSECONDS);
+        DistributionSummary.builder(SQL_STATEMENTS_METRIC)
+            .tags(tags)
+            .publishPercentileHistogram()
+            .register(meterRegistry)
+            .record(sample.statements());
+        Timer.builder(SQL_DURATION_METRIC)
+            .tags(tags)
+            .publishPercentileHistogram()
+            .register(meterRegistry)
+            .record(sample.nanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private boolean isTracked(Object handler) {
+        return handler instanceof HandlerMethod method
+            && method.getBeanType().getPackageName().startsWith(controllerPackage);
+    }
+}
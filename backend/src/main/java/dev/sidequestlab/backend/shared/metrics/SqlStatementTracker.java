@@ -0,0 +1,49 @@
+package dev.sidequestlab.backend.shared.metrics;
+
+import java.util.List;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+// Accumulates JDBC statement counts and time for the request running on the current thread.
+public class SqlStatementTracker implements QueryExecutionListener {
+
+    public record Sample(long statements, long nanos) {
+    }
+
+    private final ThreadLocal<Accumulator> current = new ThreadLocal<>();
+
+    public void begin() {
+        current.set(new Accumulator());
+    }
+
+    public Sample end() {
+        Accumulator accumulator = current.get();
+        current.remove();
+        return accumulator == null ? new Sample(0, 0) : new Sample(accumulator.statements, accumulator.nanos);
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Accumulator accumulator = current.get();
+        if (accumulator != null) {
+            accumulator.startedAt = System.nanoTime();
+        }
+    }
+
+    // A batch counts as one statement: it is a single round trip to the database.
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Accumulator accumulator = current.get();
+        if (accumulator != null) {
+            accumulator.statements++;
+            accumulator.nanos += System.nanoTime() - accumulator.startedAt;
+        }
+    }
+
+    private static final class Accumulator {
+        private long statements;
+        private long nanos;
+        private long startedAt;
+    }
+}
@@ -0,0 +1,27 @@
+package dev.sidequestlab.backend.shared.metrics;
+
+import javax.sql.DataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+public class SqlStatementTrackingDataSourcePostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<SqlStatementTracker> tracker;
+
+    public SqlStatementTrackingDataSourcePostProcessor(ObjectProvider<SqlStatementTracker> tracker) {
+        this.tracker = tracker;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+            return ProxyDataSourceBuilder.create(dataSource)
+                .name(beanName)
+                .listener(tracker.getObject())
+                .build();
+        }
+        return bean;
+    }
+}
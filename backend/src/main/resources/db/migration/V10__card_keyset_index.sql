@@ -0,0 +1,2 @@
+create index card_created_at_id_idx
+    on card (created_at, id);
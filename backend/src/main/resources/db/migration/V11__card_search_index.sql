@@ -0,0 +1,18 @@
+create extension if not exists pg_trgm;
+
+-- Lets the default "contains" filter (lower(column) like '%q%') use an index instead of scanning every row.
+create index card_front_trgm_idx
+    on card using gin (lower(front) gin_trgm_ops);
+
+create index card_back_trgm_idx
+    on card using gin (lower(back) gin_trgm_ops);
+
+-- Kept up to date by PostgreSQL on every insert/update; 'simple' avoids language-specific stemming.
+alter table card
+    add column search_vector tsvector
+        generated always as (
+            setweight(to_tsvector('simple', front), 'A') || setweight(to_tsvector('simple', back), 'B')
+        ) stored;
+
+create index card_search_vector_idx
+    on card using gin (search_vector);
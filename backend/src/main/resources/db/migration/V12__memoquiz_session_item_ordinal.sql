@@ -0,0 +1,19 @@
+alter table memoquiz_session_item
+    add column ordinal integer;
+
+-- Existing sessions never stored their shuffled order, so card id order stands in for it.
+update memoquiz_session_item si
+set ordinal = ranked.ordinal
+from (
+    select session_id, card_id, row_number() over (partition by session_id order by card_id) - 1 as ordinal
+    from memoquiz_session_item
+) ranked
+where si.session_id = ranked.session_id
+  and si.card_id = ranked.card_id;
+
+alter table memoquiz_session_item
+    alter column ordinal set not null,
+    add constraint memoquiz_session_item_ordinal_non_negative check (ordinal >= 0);
+
+create unique index memoquiz_session_item_ordinal_idx
+    on memoquiz_session_item (session_id, ordinal);
@@ -0,0 +1,6 @@
+-- Sessions without a seed keep the shuffled order stored in memoquiz_session_item.ordinal;
+-- seeded sessions store card id rank there and derive the order from the seed.
+alter table memoquiz_session
+    add column shuffle_seed bigint,
+    add column item_count integer,
+    add constraint memoquiz_session_item_count_non_negative check (item_count is null or item_count >= 0);
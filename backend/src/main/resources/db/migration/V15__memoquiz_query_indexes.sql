@@ -0,0 +1,20 @@
+-- Latest-session lookups and the per-day "already started" range checks read newest first.
+create index memoquiz_session_started_at_idx
+    on memoquiz_session (started_at, id);
+
+-- Replaces the V4 lookup index: sessions only ever draw enabled memberships of a few boxes, and card_id
+-- in the key lets them be read without visiting the table.
+create index memoquiz_quiz_card_enabled_box_idx
+    on memoquiz_quiz_card (quiz_id, box, card_id)
+    where enabled = true;
+
+drop index memoquiz_quiz_card_lookup_idx;
+
+-- Card-level membership updates (activation, box stats adjustments) look memberships up by card alone.
+create index memoquiz_quiz_card_card_idx
+    on memoquiz_quiz_card (card_id);
+
+-- Lets session queries check that a card is active without visiting the card heap.
+create index card_active_id_idx
+    on card (id)
+    where status = 'ACTIVE';
@@ -0,0 +1,5 @@
+-- Hibernate now reserves ids 50 at a time from these sequences (pooled optimizer), so inserts of new cards,
+-- sessions and review logs can be batched. Plain SQL inserts keep drawing single values from the column defaults.
+alter sequence card_id_seq increment by 50;
+alter sequence memoquiz_session_id_seq increment by 50;
+alter sequence memoquiz_review_log_id_seq increment by 50;
@@ -0,0 +1,63 @@
+-- Review logs are range-partitioned by the UTC month of answered_at. ReviewLogPartitionMaintainer creates
+-- upcoming months and, once a month is past the retention window, folds it into memoquiz_review_log_daily
+-- and drops it. Rows outside every monthly partition land in the default one instead of failing the insert.
+alter table memoquiz_review_log rename to memoquiz_review_log_unpartitioned;
+alter table memoquiz_review_log_unpartitioned rename constraint memoquiz_review_log_pkey to memoquiz_review_log_unpartitioned_pkey;
+alter sequence memoquiz_review_log_id_seq owned by none;
+
+create table memoquiz_review_log (
+    id bigint not null default nextval('memoquiz_review_log_id_seq'),
+    session_id bigint not null references memoquiz_session (id) on delete cascade,
+    card_id bigint not null references card (id) on delete cascade,
+    answered_at timestamptz not null default now(),
+    answer_text varchar(10000) not null,
+    correct boolean not null,
+    previous_box integer not null,
+    next_box integer not null,
+    -- A partitioned table's primary key has to contain the partition key.
+    primary key (id, answered_at)
+) partition by range (answered_at);
+
+alter sequence memoquiz_review_log_id_seq owned by memoquiz_review_log.id;
+
+create table memoquiz_review_log_default partition of memoquiz_review_log default;
+
+do $$
+declare
+    partition_month timestamp := date_trunc('month', coalesce(
+        (select min(answered_at) from memoquiz_review_log_unpartitioned),
+        now()
+    ) at time zone 'UTC');
+    last_month timestamp := date_trunc('month', now() at time zone 'UTC') + interval '3 months';
+begin
+    while partition_month <= last_month loop
+        execute format(
+            'create table %I partition of memoquiz_review_log for values from (%L) to (%L)',
+            'memoquiz_review_log_' || to_char(partition_month, 'YYYY_MM'),
+            partition_month at time zone 'UTC',
+            (partition_month + interval '1 month') at time zone 'UTC'
+        );
+        partition_month := partition_month + interval '1 month';
+    end loop;
+end
+$$;
+
+-- Lets the remaining-cards anti-join probe answered cards, and carrying the correct flag turns both
+-- per-session review counts into index-only scans.
+create index memoquiz_review_log_session_card_correct_idx
+    on memoquiz_review_log (session_id, card_id) include (correct);
+
+insert into memoquiz_review_log (id, session_id, card_id, answered_at, answer_text, correct, previous_box, next_box)
+select id, session_id, card_id, answered_at, answer_text, correct, previous_box, next_box
+from memoquiz_review_log_unpartitioned;
+
+drop table memoquiz_review_log_unpartitioned;
+
+-- Per-card daily answer counts of the months whose logs were dropped, by UTC day.
+create table memoquiz_review_log_daily (
+    answered_on date not null,
+    card_id bigint not null references card (id) on delete cascade,
+    reviewed_count integer not null,
+    correct_count integer not null,
+    primary key (answered_on, card_id)
+);
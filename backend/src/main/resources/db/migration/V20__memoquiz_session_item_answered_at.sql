@@ -0,0 +1,13 @@
+-- Set in the transaction that grades the answer, so a session's remaining cards do not depend on the review
+-- log, which is written behind.
+alter table memoquiz_session_item add column answered_at timestamptz;
+
+update memoquiz_session_item si
+set answered_at = rl.answered_at
+from (
+    select session_id, card_id, max(answered_at) as answered_at
+    from memoquiz_review_log
+    group by session_id, card_id
+) rl
+where rl.session_id = si.session_id
+  and rl.card_id = si.card_id;
@@ -0,0 +1,8 @@
+-- Identifies each log by the answer transaction that recorded it and its position there, so replaying a
+-- journaled batch skips the logs already written. Logs from before this migration have no key.
+-- A unique index on a partitioned table has to contain the partition key.
+alter table memoquiz_review_log add column batch_id uuid;
+alter table memoquiz_review_log add column batch_ordinal integer;
+
+create unique index memoquiz_review_log_batch_key_idx
+    on memoquiz_review_log (batch_id, batch_ordinal, answered_at);
@@ -0,0 +1,16 @@
+create table memoquiz_quiz_box_stats (
+    quiz_id bigint not null,
+    box integer not null,
+    card_count bigint not null default 0,
+    primary key (quiz_id, box),
+    constraint memoquiz_quiz_box_stats_box_check check (box between 1 and 7),
+    constraint memoquiz_quiz_box_stats_quiz_fk foreign key (quiz_id) references memoquiz_quiz (id) on delete cascade
+);
+
+insert into memoquiz_quiz_box_stats (quiz_id, box, card_count)
+select qc.quiz_id, qc.box, count(*)
+from memoquiz_quiz_card qc
+join card c on c.id = qc.card_id
+where qc.enabled = true
+  and c.status = 'ACTIVE'
+group by qc.quiz_id, qc.box;
@@ -57,6 +57,12 @@ class MemoQuizSecurityAccessTest {
             .andExpect(status().isUnauthorized());
     }
 
+    @Test
+    void unauthenticatedRequestToPrometheusEndpointReturns401() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus"))
+            .andExpect(status().isUnauthorized());
+    }
+
     @Test
     void unauthenticatedRequestToHealthReturns200AndStatusOkPayload() throws Exception {
         mockMvc.perform(get("/api/health"))
@@ -4,15 +4,28 @@ import dev.sidequestlab.backend.memoquiz.api.dto.BulkCreateCardItem;
 import dev.sidequestlab.backend.memoquiz.api.dto.BulkCreateCardsRequest;
 import dev.sidequestlab.backend.memoquiz.api.dto.BulkCreateCardsResponse;
 import dev.sidequestlab.backend.memoquiz.api.dto.CardDto;
+import dev.sidequestlab.backend.memoquiz.api.dto.CardImportResponse;
+import dev.sidequestlab.backend.memoquiz.api.dto.CardSliceDto;
 import dev.sidequestlab.backend.memoquiz.api.dto.CreateCardRequest;
 import dev.sidequestlab.backend.memoquiz.api.dto.UpdateCardRequest;
+import dev.sidequestlab.backend.memoquiz.api.enums.CardFileFormat;
+import dev.sidequestlab.backend.memoquiz.api.enums.CardSearchMode;
 import dev.sidequestlab.backend.memoquiz.api.enums.CardStatus;
+import dev.sidequestlab.backend.memoquiz.service.CardExportService;
+import dev.sidequestlab.backend.memoquiz.service.CardImportService;
 import dev.sidequestlab.backend.memoquiz.service.CardService;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.List;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.server.ResponseStatusException;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -20,7 +33,9 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 class CardControllerTest {
 
     private final StubCardService cardService = new StubCardService();
-    private final CardController controller = new CardController(cardService);
+    private final StubCardImportService cardImportService = new StubCardImportService();
+    private final StubCardExportService cardExportService = new StubCardExportService();
+    private final CardController controller = new CardController(cardService, cardImportService, cardExportService);
 
     @Test
     void listCardsReturnsOkAndDelegatesToService() {
@@ -36,13 +51,59 @@ class CardControllerTest {
         );
         cardService.listCardsResult = expected;
 
-        ResponseEntity<List<CardDto>> response = controller.listCards(q, status, box, page, size, sort);
+        ResponseEntity<List<CardDto>> response = controller.listCards(q, CardSearchMode.CONTAINS, status, box, page, size, sort, null);
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody()).isSameAs(expected);
         assertThat(cardService.listCardsCall).isEqualTo(new ListCardsCall(q, status, box, page, size, sort));
     }
 
+    @Test
+    void listCardsWithCursorReturnsNextCursorHeader() {
+        List<CardDto> items = List.of(
+            new CardDto(3L, "front", "back", CardStatus.ACTIVE, 1, Instant.parse("2025-01-01T00:00:00Z"))
+        );
+        cardService.listCardsAfterResult = new CardSliceDto(items, "next-token");
+
+        ResponseEntity<List<CardDto>> response = controller.listCards(null, CardSearchMode.CONTAINS, null, null, 0, 1, "id,asc", "");
+
+        assertThat(response.getBody()).isSameAs(items);
+        assertThat(response.getHeaders().getFirst("X-Next-Cursor")).isEqualTo("next-token");
+        assertThat(cardService.listCardsAfterArg).isEmpty();
+        assertThat(cardService.listCardsCall).isNull();
+    }
+
+    @Test
+    void listCardsWithCursorOmitsHeaderOnLastPage() {
+        cardService.listCardsAfterResult = new CardSliceDto(List.of(), null);
+
+        ResponseEntity<List<CardDto>> response = controller.listCards(null, CardSearchMode.CONTAINS, null, null, 0, 20, null, "abc");
+
+        assertThat(response.getHeaders().containsKey("X-Next-Cursor")).isFalse();
+        assertThat(cardService.listCardsAfterArg).isEqualTo("abc");
+    }
+
+    @Test
+    void listCardsRoutesRankedSearchToSearchCards() {
+        List<CardDto> expected = List.of();
+        cardService.listCardsResult = expected;
+
+        ResponseEntity<List<CardDto>> response = controller.listCards("java", CardSearchMode.RANKED, null, null, 0, 20, null, null);
+
+        assertThat(response.getBody()).isSameAs(expected);
+        assertThat(cardService.searchModeArg).isEqualTo(CardSearchMode.RANKED);
+        assertThat(cardService.listCardsCall).isEqualTo(new ListCardsCall("java", null, null, 0, 20, null));
+    }
+
+    @Test
+    void listCardsRejectsCursorWithRankedSearch() {
+        assertThatThrownBy(() -> controller.listCards("java", CardSearchMode.RANKED, null, null, 0, 20, null, ""))
+            .isInstanceOf(ResponseStatusException.class)
+            .extracting("statusCode")
+            .isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(cardService.listCardsAfterArg).isNull();
+    }
+
     @Test
     void createCardReturnsOkAndDelegatesToService() {
         CreateCardRequest req = new CreateCardRequest("Question", "Answer", 3);
@@ -72,6 +133,58 @@ class CardControllerTest {
         assertThat(cardService.bulkCreateCardsRequestArg).isEqualTo(req);
     }
 
+    @Test
+    void importCardsDelegatesBodyWithFormatFromContentType() {
+        CardImportResponse expected = new CardImportResponse(1, 1, 0, List.of(), List.of(), false);
+        cardImportService.importCardsResult = expected;
+        InputStream ndjson = new ByteArrayInputStream(new byte[0]);
+        InputStream csv = new ByteArrayInputStream(new byte[0]);
+
+        ResponseEntity<CardImportResponse> ndjsonResponse = controller.importNdjsonCards(ndjson);
+        assertThat(cardImportService.bodyArg).isSameAs(ndjson);
+        assertThat(cardImportService.formatArg).isEqualTo(CardFileFormat.NDJSON);
+
+        ResponseEntity<CardImportResponse> csvResponse = controller.importCsvCards(csv);
+        assertThat(cardImportService.bodyArg).isSameAs(csv);
+        assertThat(cardImportService.formatArg).isEqualTo(CardFileFormat.CSV);
+
+        assertThat(ndjsonResponse.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(csvResponse.getBody()).isEqualTo(expected);
+    }
+
+    @Test
+    void exportCardsWritesCsvWithAttachmentHeaders() throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        controller.exportCards(" CSV ", response);
+
+        assertThat(cardExportService.formatArg).isEqualTo(CardFileFormat.CSV);
+        assertThat(response.getContentType()).startsWith("text/csv");
+        assertThat(response.getHeader("Content-Disposition")).isEqualTo("attachment; filename=\"cards.csv\"");
+        assertThat(response.getContentAsString()).isEqualTo("exported");
+    }
+
+    @Test
+    void exportCardsDefaultsToNdjson() throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        controller.exportCards("ndjson", response);
+
+        assertThat(cardExportService.formatArg).isEqualTo(CardFileFormat.NDJSON);
+        assertThat(response.getContentType()).startsWith("application/x-ndjson");
+    }
+
+    @Test
+    void exportCardsRejectsUnknownFormat() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThatThrownBy(() -> controller.exportCards("xml", response))
+            .isInstanceOf(ResponseStatusException.class)
+            .extracting("statusCode")
+            .isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(cardExportService.formatArg).isNull();
+    }
+
     @Test
     void updateCardReturnsOkAndDelegatesToService() {
         long id = 8L;
@@ -115,6 +228,8 @@ class CardControllerTest {
     private static final class StubCardService extends CardService {
         private ListCardsCall listCardsCall;
         private List<CardDto> listCardsResult;
+        private String listCardsAfterArg;
+        private CardSliceDto listCardsAfterResult;
 
         private CreateCardRequest createCardRequestArg;
         private CardDto createCardResult;
@@ -126,12 +241,29 @@ class CardControllerTest {
         private UpdateCardRequest updateCardRequestArg;
         private CardDto updateCardResult;
 
+        private CardSearchMode searchModeArg;
+
         private Long activateCardIdArg;
         private CardDto activateCardResult;
         private RuntimeException activateCardException;
 
         private StubCardService() {
-            super(null);
+            super(null, null, null, null);
+        }
+
+        @Override
+        public List<CardDto> searchCards(
+            String q,
+            CardSearchMode mode,
+            CardStatus status,
+            Integer box,
+            int page,
+            int size,
+            String sort
+        ) {
+            this.searchModeArg = mode;
+            this.listCardsCall = new ListCardsCall(q, status, box, page, size, sort);
+            return listCardsResult;
         }
 
         @Override
@@ -140,6 +272,12 @@ class CardControllerTest {
             return listCardsResult;
         }
 
+        @Override
+        public CardSliceDto listCardsAfter(String q, CardStatus status, Integer box, int size, String sort, String after) {
+            this.listCardsAfterArg = after;
+            return listCardsAfterResult;
+        }
+
         @Override
         public CardDto createCard(CreateCardRequest req) {
             this.createCardRequestArg = req;
@@ -168,4 +306,35 @@ class CardControllerTest {
             return activateCardResult;
         }
     }
+
+    private static final class StubCardImportService extends CardImportService {
+        private InputStream bodyArg;
+        private CardFileFormat formatArg;
+        private CardImportResponse importCardsResult;
+
+        private StubCardImportService() {
+            super(null, null, null, null, 1);
+        }
+
+        @Override
+        public CardImportResponse importCards(InputStream body, CardFileFormat format) {
+            this.bodyArg = body;
+            this.formatArg = format;
+            return importCardsResult;
+        }
+    }
+
+    private static final class StubCardExportService extends CardExportService {
+        private CardFileFormat formatArg;
+
+        private StubCardExportService() {
+            super(null, null, 1);
+        }
+
+        @Override
+        public void exportCards(OutputStream out, CardFileFormat format) throws IOException {
+            this.formatArg = format;
+            out.write("exported".getBytes(StandardCharsets.UTF_8));
+        }
+    }
 }
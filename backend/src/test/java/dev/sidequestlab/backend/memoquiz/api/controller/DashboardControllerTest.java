@@ -1,5 +1,6 @@
 package dev.sidequestlab.backend.memoquiz.api.controller;
 
+import dev.sidequestlab.backend.memoquiz.api.dto.ReviewHistoryDayDto;
 import dev.sidequestlab.backend.memoquiz.api.dto.TodayDashboardDto;
 import dev.sidequestlab.backend.memoquiz.service.DashboardService;
 import java.time.Instant;
@@ -33,12 +34,14 @@ class DashboardControllerTest {
                 80.0,
                 Instant.parse("2026-04-20T08:30:00Z"),
                 480,
-                2
+                2,
+                31L
             ),
             List.of(
-                new TodayDashboardDto.BoxesOverviewItem(1, 10, true),
-                new TodayDashboardDto.BoxesOverviewItem(2, 15, false)
-            )
+                new TodayDashboardDto.BoxesOverviewItem(1, 10, true, 0),
+                new TodayDashboardDto.BoxesOverviewItem(2, 15, false, 1)
+            ),
+            List.of(12, 25, 10, 25, 10, 25, 10)
         );
         dashboardService.todayResult = expected;
 
@@ -58,13 +61,30 @@ class DashboardControllerTest {
         assertThat(dashboardService.todayCallCount).isEqualTo(1);
     }
 
+    @Test
+    void historyReturnsOkAndPassesTheDayCount() {
+        List<ReviewHistoryDayDto> expected = List.of(
+            new ReviewHistoryDayDto(LocalDate.of(2026, 4, 20), 20, 16),
+            new ReviewHistoryDayDto(LocalDate.of(2026, 4, 21), 0, 0)
+        );
+        dashboardService.historyResult = expected;
+
+        ResponseEntity<List<ReviewHistoryDayDto>> response = controller.history(2);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isSameAs(expected);
+        assertThat(dashboardService.historyDays).isEqualTo(2);
+    }
+
     private static final class StubDashboardService extends DashboardService {
         private int todayCallCount;
         private TodayDashboardDto todayResult;
         private RuntimeException todayException;
+        private List<ReviewHistoryDayDto> historyResult;
+        private Integer historyDays;
 
         private StubDashboardService() {
-            super(null, null, null, null, null, null);
+            super(null, null);
         }
 
         @Override
@@ -75,5 +95,11 @@ class DashboardControllerTest {
             }
             return todayResult;
         }
+
+        @Override
+        public List<ReviewHistoryDayDto> history(int days) {
+            historyDays = days;
+            return historyResult;
+        }
     }
 }
@@ -1,12 +1,16 @@
 package dev.sidequestlab.backend.memoquiz.api.controller;
 
+import dev.sidequestlab.backend.memoquiz.api.dto.QuizCardItemDto;
+import dev.sidequestlab.backend.memoquiz.api.dto.QuizCardPageDto;
 import dev.sidequestlab.backend.memoquiz.api.dto.QuizDto;
 import dev.sidequestlab.backend.memoquiz.api.dto.QuizOverviewDto;
-import dev.sidequestlab.backend.memoquiz.api.dto.SessionCardDto;
+import dev.sidequestlab.backend.memoquiz.service.QuizCardListingService;
 import dev.sidequestlab.backend.memoquiz.service.QuizService;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -15,7 +19,8 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 class QuizControllerTest {
 
     private final StubQuizService quizService = new StubQuizService();
-    private final QuizController controller = new QuizController(quizService);
+    private final StubQuizCardListingService listingService = new StubQuizCardListingService();
+    private final QuizController controller = new QuizController(quizService, listingService);
 
     @Test
     void listQuizzesReturnsOkAndDelegatesToService() {
@@ -45,18 +50,28 @@ class QuizControllerTest {
     }
 
     @Test
-    void listDefaultQuizCardsReturnsOkAndDelegatesToService() {
-        List<SessionCardDto> expected = List.of(
-            new SessionCardDto(11L, "Front A", "Back A", 1),
-            new SessionCardDto(12L, "Front B", "Back B", 3)
-        );
-        quizService.listDefaultQuizCardsResult = expected;
+    void listDefaultQuizCardsReturnsSerializedPayload() {
+        byte[] body = "[{\"cardId\":11}]".getBytes(StandardCharsets.UTF_8);
+        quizService.defaultQuizCardsPayloadResult = body;
+
+        ResponseEntity<byte[]> response = controller.listDefaultQuizCards();
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isSameAs(body);
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(quizService.defaultQuizCardsPayloadCallCount).isEqualTo(1);
+    }
+
+    @Test
+    void pageDefaultQuizCardsDelegatesToListingService() {
+        QuizCardPageDto expected = new QuizCardPageDto(List.of(new QuizCardItemDto(7L, "Front", null, 2)), 7L);
+        listingService.pageResult = expected;
 
-        ResponseEntity<List<SessionCardDto>> response = controller.listDefaultQuizCards();
+        ResponseEntity<QuizCardPageDto> response = controller.pageDefaultQuizCards(3L, 1, "front,box");
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody()).isSameAs(expected);
-        assertThat(quizService.listDefaultQuizCardsCallCount).isEqualTo(1);
+        assertThat(listingService.pageArgs).containsExactly(3L, 1, "front,box");
     }
 
     @Test
@@ -91,6 +106,21 @@ class QuizControllerTest {
         assertThat(quizService.addCardToDefaultQuizArg).isEqualTo(cardId);
     }
 
+    private static final class StubQuizCardListingService extends QuizCardListingService {
+        private List<Object> pageArgs;
+        private QuizCardPageDto pageResult;
+
+        private StubQuizCardListingService() {
+            super(null, null, null, 1);
+        }
+
+        @Override
+        public QuizCardPageDto defaultQuizCardsPage(Long after, int limit, String fields) {
+            pageArgs = List.of(after, limit, fields);
+            return pageResult;
+        }
+    }
+
     private static final class StubQuizService extends QuizService {
         private int listQuizzesCallCount;
         private List<QuizDto> listQuizzesResult;
@@ -98,8 +128,8 @@ class QuizControllerTest {
         private int overviewCallCount;
         private QuizOverviewDto overviewResult;
 
-        private int listDefaultQuizCardsCallCount;
-        private List<SessionCardDto> listDefaultQuizCardsResult;
+        private int defaultQuizCardsPayloadCallCount;
+        private byte[] defaultQuizCardsPayloadResult;
 
         private Long addCardToDefaultQuizArg;
         private RuntimeException addCardToDefaultQuizException;
@@ -107,7 +137,7 @@ class QuizControllerTest {
         private Long removeCardFromDefaultQuizArg;
 
         private StubQuizService() {
-            super(null, null, null);
+            super(null, null, null, null, null, null, null, null);
         }
 
         @Override
@@ -123,9 +153,9 @@ class QuizControllerTest {
         }
 
         @Override
-        public List<SessionCardDto> listDefaultQuizCards() {
-            listDefaultQuizCardsCallCount++;
-            return listDefaultQuizCardsResult;
+        public byte[] defaultQuizCardsPayload() {
+            defaultQuizCardsPayloadCallCount++;
+            return defaultQuizCardsPayloadResult;
         }
 
         @Override
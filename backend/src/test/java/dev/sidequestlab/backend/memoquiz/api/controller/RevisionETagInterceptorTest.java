@@ -0,0 +1,81 @@
+package dev.sidequestlab.backend.memoquiz.api.controller;
+
+import dev.sidequestlab.backend.memoquiz.service.MemoQuizDataChangedEvent;
+import dev.sidequestlab.backend.memoquiz.service.MemoQuizRevisionTracker;
+import java.time.LocalDate;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RevisionETagInterceptorTest {
+
+    private final MemoQuizRevisionTracker tracker = new MemoQuizRevisionTracker();
+    private final RevisionETagInterceptor interceptor = new RevisionETagInterceptor(tracker);
+
+    @Test
+    void answersNotModifiedUntilRevisionChanges() throws Exception {
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        assertThat(interceptor.preHandle(get(null), first, handler("revisioned"))).isTrue();
+        String etag = first.getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isEqualTo(tracker.etag());
+        assertThat(first.getHeader(HttpHeaders.CACHE_CONTROL)).isEqualTo("no-cache");
+
+        MockHttpServletResponse revalidated = new MockHttpServletResponse();
+        assertThat(interceptor.preHandle(get(etag), revalidated, handler("revisioned"))).isFalse();
+        assertThat(revalidated.getStatus()).isEqualTo(304);
+
+        tracker.onDataChanged(new MemoQuizDataChangedEvent());
+
+        MockHttpServletResponse changed = new MockHttpServletResponse();
+        assertThat(interceptor.preHandle(get(etag), changed, handler("revisioned"))).isTrue();
+        assertThat(changed.getHeader(HttpHeaders.ETAG)).isNotEqualTo(etag);
+    }
+
+    @Test
+    void dailyEndpointsIncludeCurrentDayInEtag() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        interceptor.preHandle(get(null), response, handler("daily"));
+
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo(tracker.etag(LocalDate.now()));
+    }
+
+    @Test
+    void ignoresEndpointsWithoutAnnotation() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThat(interceptor.preHandle(get(tracker.etag()), response, handler("plain"))).isTrue();
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isNull();
+        assertThat(response.getStatus()).isEqualTo(200);
+    }
+
+    private static MockHttpServletRequest get(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/memoquiz/quiz");
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return request;
+    }
+
+    private static HandlerMethod handler(String name) throws NoSuchMethodException {
+        return new HandlerMethod(new Endpoints(), Endpoints.class.getDeclaredMethod(name));
+    }
+
+    static class Endpoints {
+
+        @RevisionETag
+        void revisioned() {
+        }
+
+        @RevisionETag(daily = true)
+        void daily() {
+        }
+
+        void plain() {
+        }
+    }
+}
@@ -2,6 +2,10 @@ package dev.sidequestlab.backend.memoquiz.api.controller;
 
 import dev.sidequestlab.backend.memoquiz.api.dto.AnswerRequest;
 import dev.sidequestlab.backend.memoquiz.api.dto.AnswerResponse;
+import dev.sidequestlab.backend.memoquiz.api.dto.BatchAnswerItem;
+import dev.sidequestlab.backend.memoquiz.api.dto.BatchAnswerRequest;
+import dev.sidequestlab.backend.memoquiz.api.dto.BatchAnswerResponse;
+import dev.sidequestlab.backend.memoquiz.api.dto.BatchAnswerResult;
 import dev.sidequestlab.backend.memoquiz.api.dto.CompleteSessionRequest;
 import dev.sidequestlab.backend.memoquiz.api.dto.CompleteSessionResponse;
 import dev.sidequestlab.backend.memoquiz.api.dto.SessionCardDto;
@@ -19,7 +23,7 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 class SessionControllerTest {
 
     private final StubSessionService sessionService = new StubSessionService();
-    private final SessionController controller = new SessionController(sessionService);
+    private final SessionController controller = new SessionController(sessionService, null);
 
     @Test
     void todaySessionReturnsOkAndDelegatesToService() {
@@ -40,6 +44,18 @@ class SessionControllerTest {
         assertThat(sessionService.todayCallCount).isEqualTo(1);
     }
 
+    @Test
+    void sessionCardsReturnsRequestedWindow() {
+        List<SessionCardDto> expected = List.of(new SessionCardDto(101L, "Front A", "Back A", 1));
+        sessionService.sessionCardsResult = expected;
+
+        ResponseEntity<List<SessionCardDto>> response = controller.sessionCards(12L, 40, 20);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isSameAs(expected);
+        assertThat(sessionService.sessionCardsArgs).containsExactly(12L, 40, 20);
+    }
+
     @Test
     void answerReturnsOkAndDelegatesToService() {
         AnswerRequest req = new AnswerRequest(7L, 44L, "candidate answer");
@@ -53,6 +69,25 @@ class SessionControllerTest {
         assertThat(sessionService.answerRequestArg).isEqualTo(req);
     }
 
+    @Test
+    void answerBatchReturnsOkAndDelegatesToService() {
+        BatchAnswerRequest req = new BatchAnswerRequest(7L, List.of(
+            new BatchAnswerItem(44L, "first"),
+            new BatchAnswerItem(45L, "second")
+        ));
+        BatchAnswerResponse expected = new BatchAnswerResponse(7L, List.of(
+            new BatchAnswerResult(44L, true, Instant.parse("2026-04-22T10:00:00Z")),
+            new BatchAnswerResult(45L, false, Instant.parse("2026-04-22T10:00:00Z"))
+        ));
+        sessionService.answerBatchResult = expected;
+
+        ResponseEntity<BatchAnswerResponse> response = controller.answerBatch(req);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isSameAs(expected);
+        assertThat(sessionService.answerBatchRequestArg).isEqualTo(req);
+    }
+
     @Test
     void completeSessionReturnsOkAndDelegatesToService() {
         CompleteSessionRequest req = new CompleteSessionRequest(7L);
@@ -104,16 +139,22 @@ class SessionControllerTest {
         private SessionDto todayResult;
         private RuntimeException todayException;
 
+        private List<Object> sessionCardsArgs;
+        private List<SessionCardDto> sessionCardsResult;
+
         private AnswerRequest answerRequestArg;
         private AnswerResponse answerResult;
         private RuntimeException answerException;
 
+        private BatchAnswerRequest answerBatchRequestArg;
+        private BatchAnswerResponse answerBatchResult;
+
         private CompleteSessionRequest completeRequestArg;
         private CompleteSessionResponse completeResult;
         private RuntimeException completeException;
 
         private StubSessionService() {
-            super(null, null, null, null, null, null, null);
+            super(null, null, null, null, null, null, null, null, null, null, null);
         }
 
         @Override
@@ -125,6 +166,12 @@ class SessionControllerTest {
             return todayResult;
         }
 
+        @Override
+        public List<SessionCardDto> sessionCards(Long sessionId, int from, int limit) {
+            sessionCardsArgs = List.of(sessionId, from, limit);
+            return sessionCardsResult;
+        }
+
         @Override
         public AnswerResponse answer(AnswerRequest req) {
             answerRequestArg = req;
@@ -134,6 +181,12 @@ class SessionControllerTest {
             return answerResult;
         }
 
+        @Override
+        public BatchAnswerResponse answerBatch(BatchAnswerRequest req) {
+            answerBatchRequestArg = req;
+            return answerBatchResult;
+        }
+
         @Override
         public CompleteSessionResponse completeSession(CompleteSessionRequest req) {
             completeRequestArg = req;
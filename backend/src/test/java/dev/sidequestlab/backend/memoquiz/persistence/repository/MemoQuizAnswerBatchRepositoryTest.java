@@ -0,0 +1,103 @@
+package dev.sidequestlab.backend.memoquiz.persistence.repository;
+
+import dev.sidequestlab.backend.memoquiz.api.enums.CardStatus;
+import dev.sidequestlab.backend.memoquiz.persistence.entity.MemoQuizReviewLogEntity;
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static dev.sidequestlab.backend.memoquiz.persistence.repository.MemoQuizTestDatabase.insertCard;
+import static dev.sidequestlab.backend.memoquiz.persistence.repository.MemoQuizTestDatabase.insertItem;
+import static dev.sidequestlab.backend.memoquiz.persistence.repository.MemoQuizTestDatabase.insertSession;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MemoQuizAnswerBatchRepositoryTest {
+
+    private static final Instant ANSWERED_AT = Instant.parse("2026-01-02T03:04:05Z");
+
+    private static MemoQuizTestDatabase database;
+
+    @BeforeAll
+    static void setUp() throws IOException {
+        database = MemoQuizTestDatabase.start();
+    }
+
+    @AfterAll
+    static void tearDown() throws IOException {
+        database.close();
+    }
+
+    @Test
+    void insertingTheSameBatchAgainWritesNothing() {
+        database.inRolledBackTransaction(jdbc -> {
+            Long sessionId = insertSession(jdbc, null, 2);
+            Long first = insertCard(jdbc, "paris", 1L, CardStatus.ACTIVE);
+            Long second = insertCard(jdbc, "rome", 2L, CardStatus.ACTIVE);
+            UUID batchId = UUID.randomUUID();
+            List<MemoQuizReviewLogEntity> batch = List.of(
+                log(sessionId, first, batchId, 0),
+                log(sessionId, second, batchId, 1),
+                log(sessionId, first, batchId, 2)
+            );
+            MemoQuizAnswerBatchRepository repository = new MemoQuizAnswerBatchRepository(jdbc);
+
+            assertThat(repository.insertReviewLogs(batch)).isEqualTo(3);
+            assertThat(repository.insertReviewLogs(batch)).isZero();
+            assertThat(repository.insertReviewLogs(List.of(log(sessionId, second, UUID.randomUUID(), 0)))).isEqualTo(1);
+
+            assertThat(reviewLogCount(jdbc, sessionId)).isEqualTo(4);
+            assertThat(jdbc.queryForObject(
+                "select answer_text from memoquiz_review_log where batch_id = ? and batch_ordinal = 1",
+                String.class,
+                batchId
+            )).isEqualTo("answer " + second);
+        });
+    }
+
+    @Test
+    void markAnsweredCountsOnlyItemsOfTheSession() {
+        database.inRolledBackTransaction(jdbc -> {
+            Long sessionId = insertSession(jdbc, null, 2);
+            Long otherSessionId = insertSession(jdbc, null, 1);
+            Long first = insertCard(jdbc, "paris", 1L, CardStatus.ACTIVE);
+            Long second = insertCard(jdbc, "rome", 2L, CardStatus.ACTIVE);
+            Long elsewhere = insertCard(jdbc, "oslo", 3L, CardStatus.ACTIVE);
+            insertItem(jdbc, sessionId, first, 1, 0);
+            insertItem(jdbc, sessionId, second, 1, 1);
+            insertItem(jdbc, otherSessionId, elsewhere, 1, 0);
+            MemoQuizAnswerBatchRepository repository = new MemoQuizAnswerBatchRepository(jdbc);
+
+            assertThat(repository.markAnswered(sessionId, List.of(first, elsewhere), ANSWERED_AT)).isEqualTo(1);
+
+            assertThat(jdbc.queryForList(
+                "select card_id from memoquiz_session_item where answered_at = ? order by card_id",
+                Long.class,
+                Timestamp.from(ANSWERED_AT)
+            )).containsExactly(first);
+        });
+    }
+
+    private static long reviewLogCount(JdbcTemplate jdbc, Long sessionId) {
+        return jdbc.queryForObject("select count(*) from memoquiz_review_log where session_id = ?", Long.class, sessionId);
+    }
+
+    private static MemoQuizReviewLogEntity log(Long sessionId, Long cardId, UUID batchId, int batchOrdinal) {
+        MemoQuizReviewLogEntity log = new MemoQuizReviewLogEntity();
+        log.setSessionId(sessionId);
+        log.setCardId(cardId);
+        log.setAnsweredAt(ANSWERED_AT);
+        log.setAnswerText("answer " + cardId);
+        log.setCorrect(true);
+        log.setPreviousBox(1);
+        log.setNextBox(2);
+        log.setBatchId(batchId);
+        log.setBatchOrdinal(batchOrdinal);
+        return log;
+    }
+}
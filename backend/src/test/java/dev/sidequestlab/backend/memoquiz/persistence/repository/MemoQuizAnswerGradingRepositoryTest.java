@@ -0,0 +1,201 @@
+package dev.sidequestlab.backend.memoquiz.persistence.repository;
+
+import dev.sidequestlab.backend.memoquiz.api.enums.CardStatus;
+import dev.sidequestlab.backend.memoquiz.persistence.projection.AnswerGradeProjection;
+import dev.sidequestlab.backend.memoquiz.service.AnswerMatcher;
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static dev.sidequestlab.backend.memoquiz.persistence.repository.MemoQuizTestDatabase.defaultQuizId;
+import static dev.sidequestlab.backend.memoquiz.persistence.repository.MemoQuizTestDatabase.insertCard;
+import static dev.sidequestlab.backend.memoquiz.persistence.repository.MemoQuizTestDatabase.insertItem;
+import static dev.sidequestlab.backend.memoquiz.persistence.repository.MemoQuizTestDatabase.insertMembership;
+import static dev.sidequestlab.backend.memoquiz.persistence.repository.MemoQuizTestDatabase.insertSession;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MemoQuizAnswerGradingRepositoryTest {
+
+    private static final Instant ANSWERED_AT = Instant.parse("2026-01-02T03:04:05Z");
+    private static final String KEY = AnswerMatcher.answerKey("Paris");
+    private static final long HASH = AnswerMatcher.answerHash(KEY);
+
+    private static MemoQuizTestDatabase database;
+
+    @BeforeAll
+    static void setUp() throws IOException {
+        database = MemoQuizTestDatabase.start();
+    }
+
+    @AfterAll
+    static void tearDown() throws IOException {
+        database.close();
+    }
+
+    @Test
+    void correctAnswerMovesUpOneBoxAndMovesOneCardInTheStats() {
+        database.inRolledBackTransaction(jdbc -> {
+            Deck deck = deck(jdbc, 3, true, CardStatus.ACTIVE);
+            Map<Integer, Long> statsBefore = boxStats(jdbc, deck.quizId());
+
+            Optional<AnswerGradeProjection> grade = grade(jdbc, deck, KEY, HASH, null);
+
+            assertThat(grade).contains(new AnswerGradeProjection(true, 3, 4));
+            assertThat(box(jdbc, deck)).isEqualTo(4);
+            assertThat(statsDelta(statsBefore, boxStats(jdbc, deck.quizId()))).containsOnly(Map.entry(3, -1L), Map.entry(4, 1L));
+            assertThat(answeredAt(jdbc, deck)).isEqualTo(ANSWERED_AT);
+        });
+    }
+
+    @Test
+    void answerKeepsBoxSevenWhenCorrect() {
+        database.inRolledBackTransaction(jdbc -> {
+            Deck deck = deck(jdbc, 7, true, CardStatus.ACTIVE);
+            Map<Integer, Long> statsBefore = boxStats(jdbc, deck.quizId());
+
+            Optional<AnswerGradeProjection> grade = grade(jdbc, deck, KEY, HASH, null);
+
+            assertThat(grade).contains(new AnswerGradeProjection(true, 7, 7));
+            assertThat(box(jdbc, deck)).isEqualTo(7);
+            assertThat(boxStats(jdbc, deck.quizId())).isEqualTo(statsBefore);
+        });
+    }
+
+    @Test
+    void answerResetsBoxFromSevenWhenIncorrect() {
+        database.inRolledBackTransaction(jdbc -> {
+            Deck deck = deck(jdbc, 7, true, CardStatus.ACTIVE);
+            Map<Integer, Long> statsBefore = boxStats(jdbc, deck.quizId());
+
+            String wrong = AnswerMatcher.answerKey("Rome");
+            Optional<AnswerGradeProjection> grade = grade(jdbc, deck, wrong, AnswerMatcher.answerHash(wrong), null);
+
+            assertThat(grade).contains(new AnswerGradeProjection(false, 7, 1));
+            assertThat(box(jdbc, deck)).isEqualTo(1);
+            assertThat(statsDelta(statsBefore, boxStats(jdbc, deck.quizId()))).containsOnly(Map.entry(7, -1L), Map.entry(1, 1L));
+        });
+    }
+
+    @Test
+    void verdictPassedByTheCallerOverridesTheKeyComparison() {
+        database.inRolledBackTransaction(jdbc -> {
+            Deck deck = deck(jdbc, 2, true, CardStatus.ACTIVE);
+
+            Optional<AnswerGradeProjection> grade = grade(jdbc, deck, "pariss", AnswerMatcher.answerHash("pariss"), true);
+
+            assertThat(grade).contains(new AnswerGradeProjection(true, 2, 3));
+        });
+    }
+
+    @Test
+    void inactiveCardMovesBoxWithoutTouchingTheStats() {
+        database.inRolledBackTransaction(jdbc -> {
+            Deck deck = deck(jdbc, 4, true, CardStatus.INACTIVE);
+            Map<Integer, Long> statsBefore = boxStats(jdbc, deck.quizId());
+
+            assertThat(grade(jdbc, deck, KEY, HASH, null)).contains(new AnswerGradeProjection(true, 4, 5));
+            assertThat(boxStats(jdbc, deck.quizId())).isEqualTo(statsBefore);
+        });
+    }
+
+    @Test
+    void disabledMembershipIsNotGraded() {
+        database.inRolledBackTransaction(jdbc -> {
+            Deck deck = deck(jdbc, 3, false, CardStatus.ACTIVE);
+            Map<Integer, Long> statsBefore = boxStats(jdbc, deck.quizId());
+
+            assertThat(grade(jdbc, deck, KEY, HASH, null)).isEmpty();
+            assertThat(box(jdbc, deck)).isEqualTo(3);
+            assertThat(boxStats(jdbc, deck.quizId())).isEqualTo(statsBefore);
+            assertThat(answeredAt(jdbc, deck)).isNull();
+        });
+    }
+
+    @Test
+    void cardWithoutMembershipOrOutsideTheSessionIsNotGraded() {
+        database.inRolledBackTransaction(jdbc -> {
+            Long quizId = defaultQuizId(jdbc);
+            Long sessionId = insertSession(jdbc, null, 1);
+            Long withoutMembership = insertCard(jdbc, KEY, HASH, CardStatus.ACTIVE);
+            insertItem(jdbc, sessionId, withoutMembership, 1, 0);
+            Long outsideSession = insertCard(jdbc, KEY, HASH, CardStatus.ACTIVE);
+            insertMembership(jdbc, quizId, outsideSession, 1, true);
+            MemoQuizAnswerGradingRepository repository = new MemoQuizAnswerGradingRepository(jdbc);
+
+            assertThat(repository.grade(sessionId, withoutMembership, quizId, KEY, HASH, null, ANSWERED_AT)).isEmpty();
+            assertThat(repository.grade(sessionId, outsideSession, quizId, KEY, HASH, null, ANSWERED_AT)).isEmpty();
+            assertThat(repository.grade(sessionId + 1, outsideSession, quizId, KEY, HASH, null, ANSWERED_AT)).isEmpty();
+            assertThat(jdbc.queryForObject("select box from memoquiz_quiz_card where card_id = ?", Integer.class, outsideSession))
+                .isEqualTo(1);
+        });
+    }
+
+    private record Deck(Long quizId, Long sessionId, Long cardId) {
+    }
+
+    // One card with the given membership, drawn into a new session; the box stats are rebuilt to match.
+    private static Deck deck(JdbcTemplate jdbc, int box, boolean enabled, CardStatus status) {
+        Long quizId = defaultQuizId(jdbc);
+        Long cardId = insertCard(jdbc, KEY, HASH, status);
+        insertMembership(jdbc, quizId, cardId, box, enabled);
+        Long sessionId = insertSession(jdbc, null, 1);
+        insertItem(jdbc, sessionId, cardId, box, 0);
+        new MemoQuizQuizBoxStatsRepository(jdbc).rebuild();
+        return new Deck(quizId, sessionId, cardId);
+    }
+
+    private static Optional<AnswerGradeProjection> grade(JdbcTemplate jdbc, Deck deck, String key, long hash, Boolean verdict) {
+        return new MemoQuizAnswerGradingRepository(jdbc)
+            .grade(deck.sessionId(), deck.cardId(), deck.quizId(), key, hash, verdict, ANSWERED_AT);
+    }
+
+    private static int box(JdbcTemplate jdbc, Deck deck) {
+        return jdbc.queryForObject(
+            "select box from memoquiz_quiz_card where quiz_id = ? and card_id = ?",
+            Integer.class,
+            deck.quizId(),
+            deck.cardId()
+        );
+    }
+
+    private static Instant answeredAt(JdbcTemplate jdbc, Deck deck) {
+        Timestamp answeredAt = jdbc.queryForObject(
+            "select answered_at from memoquiz_session_item where session_id = ? and card_id = ?",
+            Timestamp.class,
+            deck.sessionId(),
+            deck.cardId()
+        );
+        return answeredAt == null ? null : answeredAt.toInstant();
+    }
+
+    private static Map<Integer, Long> boxStats(JdbcTemplate jdbc, Long quizId) {
+        Map<Integer, Long> stats = new HashMap<>();
+        jdbc.query(
+            "select box, card_count from memoquiz_quiz_box_stats where quiz_id = ?",
+            rs -> {
+                stats.put(rs.getInt("box"), rs.getLong("card_count"));
+            },
+            quizId
+        );
+        return stats;
+    }
+
+    // Boxes whose count changed, with the change.
+    private static Map<Integer, Long> statsDelta(Map<Integer, Long> before, Map<Integer, Long> after) {
+        Map<Integer, Long> delta = new HashMap<>();
+        for (int box = 1; box <= 7; box++) {
+            long change = after.getOrDefault(box, 0L) - before.getOrDefault(box, 0L);
+            if (change != 0) {
+                delta.put(box, change);
+            }
+        }
+        return delta;
+    }
+}
@@ -0,0 +1,90 @@
+package dev.sidequestlab.backend.memoquiz.persistence.repository;
+
+import dev.sidequestlab.backend.memoquiz.api.enums.CardStatus;
+import dev.sidequestlab.backend.memoquiz.persistence.projection.ReviewDayProjection;
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static dev.sidequestlab.backend.memoquiz.persistence.repository.MemoQuizTestDatabase.insertCard;
+import static dev.sidequestlab.backend.memoquiz.persistence.repository.MemoQuizTestDatabase.insertSession;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MemoQuizDashboardQueryRepositoryTest {
+
+    private static MemoQuizTestDatabase database;
+
+    @BeforeAll
+    static void setUp() throws IOException {
+        database = MemoQuizTestDatabase.start();
+    }
+
+    @AfterAll
+    static void tearDown() throws IOException {
+        database.close();
+    }
+
+    @Test
+    void reviewHistoryAddsRolledUpDaysToLiveLogs() {
+        database.inRolledBackTransaction(jdbc -> {
+            Long first = insertCard(jdbc, "paris", 1L, CardStatus.ACTIVE);
+            Long second = insertCard(jdbc, "rome", 2L, CardStatus.ACTIVE);
+            Long sessionId = insertSession(jdbc, null, 2);
+            insertDaily(jdbc, "2025-12-31", first, 5, 5);
+            insertDaily(jdbc, "2026-01-01", first, 3, 2);
+            insertDaily(jdbc, "2026-01-02", first, 1, 1);
+            insertDaily(jdbc, "2026-01-02", second, 2, 0);
+            // Late logs of a day that was already rolled up are added to it.
+            insertReviewLog(jdbc, sessionId, first, "2026-01-02T23:30:00Z", true);
+            insertReviewLog(jdbc, sessionId, second, "2026-01-03T00:30:00Z", false);
+            insertReviewLog(jdbc, sessionId, second, "2026-01-03T12:00:00Z", true);
+            insertReviewLog(jdbc, sessionId, first, "2026-01-04T00:00:00Z", true);
+
+            assertThat(new MemoQuizDashboardQueryRepository(jdbc).findReviewHistory(
+                LocalDate.parse("2026-01-01"),
+                LocalDate.parse("2026-01-04")
+            )).containsExactly(
+                new ReviewDayProjection(LocalDate.parse("2026-01-01"), 3, 2),
+                new ReviewDayProjection(LocalDate.parse("2026-01-02"), 4, 2),
+                new ReviewDayProjection(LocalDate.parse("2026-01-03"), 2, 1)
+            );
+        });
+    }
+
+    @Test
+    void reviewHistoryIsEmptyWithoutAnswers() {
+        database.inRolledBackTransaction(jdbc ->
+            assertThat(new MemoQuizDashboardQueryRepository(jdbc).findReviewHistory(
+                LocalDate.parse("2026-01-01"),
+                LocalDate.parse("2026-02-01")
+            )).isEmpty());
+    }
+
+    private static void insertDaily(JdbcTemplate jdbc, String answeredOn, Long cardId, int reviewed, int correct) {
+        jdbc.update(
+            "insert into memoquiz_review_log_daily (answered_on, card_id, reviewed_count, correct_count) values (?, ?, ?, ?)",
+            LocalDate.parse(answeredOn),
+            cardId,
+            reviewed,
+            correct
+        );
+    }
+
+    private static void insertReviewLog(JdbcTemplate jdbc, Long sessionId, Long cardId, String answeredAt, boolean correct) {
+        jdbc.update(
+            """
+            insert into memoquiz_review_log (session_id, card_id, answered_at, answer_text, correct, previous_box, next_box)
+            values (?, ?, ?, 'answer', ?, 1, 1)
+            """,
+            sessionId,
+            cardId,
+            Timestamp.from(Instant.parse(answeredAt)),
+            correct
+        );
+    }
+}
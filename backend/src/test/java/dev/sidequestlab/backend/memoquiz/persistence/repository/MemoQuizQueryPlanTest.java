@@ -0,0 +1,403 @@
+package dev.sidequestlab.backend.memoquiz.persistence.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.sidequestlab.backend.memoquiz.api.enums.CardStatus;
+import dev.sidequestlab.backend.memoquiz.api.enums.QuizCardField;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import javax.sql.DataSource;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+// Runs EXPLAIN on the memoquiz read queries against an embedded PostgreSQL seeded with a synthetic deck and
+// history, and fails when a plan falls back to a sequential scan of a large table or reads review log months
+// from before the session it is about.
+// Runs with the regular tests; skip it locally with -DexcludedGroups=query-plan.
+@Tag("query-plan")
+class MemoQuizQueryPlanTest {
+
+    private static final long SEQ_SCAN_ROW_LIMIT = 1_000;
+    private static final int DECK_SIZE = 50_000;
+    private static final int SESSION_COUNT = 3_000;
+    private static final int ITEMS_PER_SESSION = 40;
+
+    // Card texts are sized like real ones so the planner weighs heap pages realistically.
+    private static final String SEED_CARDS = """
+        insert into card (front, back, answer_key, answer_hash, status, created_at, updated_at)
+        select
+            'Question ' || g || ' ' || repeat(md5(g::text), 2),
+            'Answer ' || g || ' ' || repeat(md5((g * 7)::text), 8),
+            'answer ' || g || ' ' || repeat(md5((g * 7)::text), 8),
+            g,
+            case when g % 10 = 0 then 'INACTIVE' else 'ACTIVE' end,
+            now() - g * interval '1 second',
+            now()
+        from generate_series(1, ?) as g
+        """;
+
+    // Leitner decks drift upwards, so the boxes a session draws from hold a minority of the cards.
+    private static final String SEED_MEMBERSHIPS = """
+        insert into memoquiz_quiz_card (quiz_id, card_id, enabled, box)
+        select q.id, c.id, c.id % 20 <> 0,
+            case
+                when c.id % 100 < 2 then 1
+                when c.id % 100 < 5 then 2
+                when c.id % 100 < 10 then 3
+                when c.id % 100 < 20 then 4
+                when c.id % 100 < 35 then 5
+                when c.id % 100 < 60 then 6
+                else 7
+            end
+        from card c
+        cross join memoquiz_quiz q
+        where q.code = 'default'
+        """;
+
+    private static final String SEED_SESSIONS = """
+        insert into memoquiz_session (started_at, day_index, duration_seconds, shuffle_seed, item_count)
+        select now() - g * interval '1 day', 1 + g % 64, 300, g, ?
+        from generate_series(1, ?) as g
+        """;
+
+    private static final String SEED_SESSION_ITEMS = """
+        insert into memoquiz_session_item (session_id, card_id, box, ordinal, answered_at)
+        select s.id, c.id, 1, i, case when i % 4 <> 0 then s.started_at end
+        from memoquiz_session s
+        cross join generate_series(0, ? - 1) as i
+        join (select id, row_number() over (order by id) - 1 as rank from card) c
+            on c.rank = (s.id * 7919 + i) % ?
+        """;
+
+    private static final String SEED_REVIEW_LOGS = """
+        insert into memoquiz_review_log (session_id, card_id, answered_at, answer_text, correct, previous_box, next_box)
+        select si.session_id, si.card_id, s.started_at, 'answer', si.ordinal % 3 <> 0, 1, 2
+        from memoquiz_session_item si
+        join memoquiz_session s on s.id = si.session_id
+        where si.ordinal % 4 <> 0
+        """;
+
+    private static EmbeddedPostgres postgres;
+    private static SingleConnectionDataSource dataSource;
+    private static JdbcTemplate jdbcTemplate;
+    private static Map<String, Double> tableRows;
+    private static Long quizId;
+    private static Long sessionId;
+    private static Instant sessionStartedAt;
+
+    private static final List<QueryInfo> captured = new ArrayList<>();
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeAll
+    static void setUp() throws IOException, SQLException {
+        postgres = EmbeddedPostgres.builder().start();
+        DataSource postgresDatabase = postgres.getPostgresDatabase();
+        Flyway.configure().dataSource(postgresDatabase).locations("classpath:db/migration").load().migrate();
+        dataSource = new SingleConnectionDataSource(postgresDatabase.getConnection(), true);
+
+        JdbcTemplate seed = new JdbcTemplate(dataSource);
+        seed.update(SEED_CARDS, DECK_SIZE);
+        seed.update(SEED_MEMBERSHIPS);
+        seed.update(SEED_SESSIONS, ITEMS_PER_SESSION, SESSION_COUNT);
+        seed.update(SEED_SESSION_ITEMS, ITEMS_PER_SESSION, DECK_SIZE);
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        // The migration only creates the current month onwards; the seeded history needs the months before it.
+        MemoQuizReviewLogPartitionRepository partitions = new MemoQuizReviewLogPartitionRepository(seed);
+        YearMonth firstCreated = partitions.findPartitionMonths().getFirst();
+        YearMonth firstSeeded = YearMonth.from(LocalDate.now(ZoneOffset.UTC).minusDays(SESSION_COUNT + 1));
+        for (YearMonth month = firstSeeded; month.isBefore(firstCreated); month = month.plusMonths(1)) {
+            YearMonth created = month;
+            transaction.executeWithoutResult(status -> partitions.createPartition(created));
+        }
+        seed.update(SEED_REVIEW_LOGS);
+        transaction.executeWithoutResult(status -> new MemoQuizQuizBoxStatsRepository(seed).rebuild());
+        seed.execute("vacuum analyze");
+
+        quizId = seed.queryForObject("select id from memoquiz_quiz where code = 'default'", Long.class);
+        sessionId = seed.queryForObject("select max(id) from memoquiz_session", Long.class);
+        sessionStartedAt = seed.queryForObject("select started_at from memoquiz_session where id = ?", Timestamp.class, sessionId)
+            .toInstant();
+        tableRows = new HashMap<>();
+        seed.query(
+            "select relname, reltuples from pg_class where relkind in ('r', 'p') and relnamespace = 'public'::regnamespace",
+            rs -> {
+                tableRows.put(rs.getString("relname"), rs.getDouble("reltuples"));
+            }
+        );
+        // Each seeded month of the review log is small, so a partition holding rows counts as large as its whole
+        // table and scanning every month in turn is still caught. Empty months are rightly scanned.
+        seed.query(
+            """
+            select c.relname, sum(greatest(c.reltuples, 0)) over (partition by i.inhparent) as table_rows
+            from pg_inherits i
+            join pg_class c on c.oid = i.inhrelid
+            where c.relkind = 'r'
+            """,
+            rs -> {
+                if (tableRows.getOrDefault(rs.getString("relname"), 0.0) > 0) {
+                    tableRows.put(rs.getString("relname"), rs.getDouble("table_rows"));
+                }
+            }
+        );
+
+        // Every statement the checks run is recorded with its bound parameters, then explained as-is.
+        jdbcTemplate = new JdbcTemplate(ProxyDataSourceBuilder.create(dataSource)
+            .afterQuery((execInfo, queryInfoList) -> captured.addAll(queryInfoList))
+            .build());
+    }
+
+    @AfterAll
+    static void tearDown() throws IOException {
+        dataSource.destroy();
+        postgres.close();
+    }
+
+    @TestFactory
+    Stream<DynamicTest> queryPlansAvoidLargeSequentialScans() {
+        return checks().entrySet().stream()
+            .map(check -> DynamicTest.dynamicTest(check.getKey(), () -> assertIndexedPlans(check.getKey(), check.getValue())));
+    }
+
+    // Runs the session-scoped review log reads for the newest seeded session and checks, from the executed
+    // plans, that no month before its start was read.
+    @Test
+    void sessionReviewLogReadsSkipEarlierMonths() throws Exception {
+        Long recentSessionId = new JdbcTemplate(dataSource).queryForObject(
+            "select id from memoquiz_session order by started_at desc, id desc limit 1", Long.class);
+        Instant recentStartedAt = new JdbcTemplate(dataSource).queryForObject(
+            "select started_at from memoquiz_session where id = ?", Timestamp.class, recentSessionId).toInstant();
+
+        captured.clear();
+        new MemoQuizDashboardQueryRepository(jdbcTemplate).findSnapshot("default");
+
+        assertReadPartitionsFrom(YearMonth.from(recentStartedAt.atZone(ZoneOffset.UTC)));
+    }
+
+    // The seeded review log spans years; a month of history must only read the live partitions it overlaps.
+    @Test
+    void reviewHistoryReadsOnlyTheMonthsInRange() throws Exception {
+        LocalDate to = LocalDate.now(ZoneOffset.UTC).plusDays(1);
+        LocalDate from = to.minusDays(30);
+
+        captured.clear();
+        new MemoQuizDashboardQueryRepository(jdbcTemplate).findReviewHistory(from, to);
+
+        assertReadPartitionsFrom(YearMonth.from(from));
+    }
+
+    private static void assertReadPartitionsFrom(YearMonth earliestMonth) throws Exception {
+        String earliestPartition = "memoquiz_review_log_" + earliestMonth.format(DateTimeFormatter.ofPattern("yyyy_MM"));
+        for (QueryInfo query : List.copyOf(captured)) {
+            List<String> partitions = new ArrayList<>();
+            collectReadPartitions(explain(query, "analyze, format json").get(0).get("Plan"), partitions);
+            assertThat(partitions)
+                .as("review log partitions read by%n%s", query.getQuery())
+                .isNotEmpty()
+                .allMatch(name -> name.equals("memoquiz_review_log_default") || name.compareTo(earliestPartition) >= 0);
+        }
+    }
+
+    // fullScans names the tables a query is expected to read in full, where a sequential scan is the right plan.
+    private record Check(Consumer<JdbcTemplate> statements, Set<String> fullScans) {
+
+        Check(Consumer<JdbcTemplate> statements, String... fullScans) {
+            this(statements, Set.of(fullScans));
+        }
+    }
+
+    // JPA-derived queries are listed as their native equivalents; the JDBC repositories run their own SQL.
+    private static Map<String, Check> checks() {
+        Instant dayStart = Instant.now().minus(3, ChronoUnit.DAYS).truncatedTo(ChronoUnit.DAYS);
+        Timestamp from = Timestamp.from(dayStart);
+        Timestamp to = Timestamp.from(dayStart.plus(1, ChronoUnit.DAYS));
+
+        Map<String, Check> checks = new LinkedHashMap<>();
+        checks.put("session.existsByStartedAtRange", new Check(jdbc -> jdbc.queryForList("""
+            select s.id from memoquiz_session s
+            where s.started_at >= ? and s.started_at < ?
+            limit 1
+            """, from, to)));
+        checks.put("session.findTopByStartedAtRangeOrderByStartedAtDescIdDesc", new Check(jdbc -> jdbc.queryForList("""
+            select s.* from memoquiz_session s
+            where s.started_at >= ? and s.started_at < ?
+            order by s.started_at desc, s.id desc
+            limit 1
+            """, from, to)));
+        checks.put("session.findTopByOrderByStartedAtDescIdDesc", new Check(jdbc -> jdbc.queryForList("""
+            select s.* from memoquiz_session s
+            order by s.started_at desc, s.id desc
+            limit 1
+            """)));
+        checks.put("reviewLog.countBySessionIdAndAnsweredAtGreaterThanEqual", new Check(jdbc -> jdbc.queryForObject(
+            "select count(*) from memoquiz_review_log l where l.session_id = ? and l.answered_at >= ?",
+            Long.class, sessionId, Timestamp.from(sessionStartedAt))));
+        checks.put("reviewLog.countBySessionIdAndCorrectTrueAndAnsweredAtGreaterThanEqual", new Check(jdbc -> jdbc.queryForObject(
+            "select count(*) from memoquiz_review_log l where l.session_id = ? and l.correct = true and l.answered_at >= ?",
+            Long.class, sessionId, Timestamp.from(sessionStartedAt))));
+        checks.put("sessionItem.countBySessionId", new Check(jdbc -> jdbc.queryForObject(
+            "select count(*) from memoquiz_session_item i where i.session_id = ?", Long.class, sessionId)));
+        // Counts nearly every membership, so reading the table beats walking the index.
+        checks.put("quizCard.countByQuizIdAndEnabledTrue", new Check(jdbc -> jdbc.queryForObject(
+            "select count(*) from memoquiz_quiz_card qc where qc.quiz_id = ? and qc.enabled = true", Long.class, quizId), "memoquiz_quiz_card"));
+        // The eager session start needs the text of every due card; hashing the card table is the cheapest way to
+        // get it. The lazy start below only needs references and must stay on indexes.
+        checks.put("sessionDeck.insertEligibleItemsReturningCards", new Check(jdbc ->
+            new MemoQuizSessionDeckRepository(jdbc)
+                .insertEligibleItemsReturningCards(newSession(), quizId, List.of(1, 2), CardStatus.ACTIVE), "card"));
+        checks.put("sessionDeck.insertEligibleItems", new Check(jdbc ->
+            new MemoQuizSessionDeckRepository(jdbc).insertEligibleItems(newSession(), quizId, List.of(1, 2), CardStatus.ACTIVE)));
+        checks.put("card.findAnswersByIdIn", new Check(jdbc -> jdbc.queryForList(
+            "select c.id, c.answer_key, c.answer_hash, c.status from card c where c.id in (?, ?, ?)", 1L, 2L, 3L)));
+        // CardCursor's keyset condition for createdAt,desc, with the range bound that lets it seek the index.
+        Timestamp cursorCreatedAt = Timestamp.from(Instant.now().minusSeconds(DECK_SIZE / 2));
+        checks.put("card.findAfterCreatedAtCursor", new Check(jdbc -> jdbc.queryForList("""
+            select c.* from card c
+            where c.created_at <= ? and (c.created_at < ? or (c.created_at = ? and c.id < ?))
+            order by c.created_at desc, c.id desc
+            limit 21
+            """, cursorCreatedAt, cursorCreatedAt, cursorCreatedAt, (long) DECK_SIZE / 2)));
+        checks.put("answerGrading.grade", new Check(jdbc ->
+            new MemoQuizAnswerGradingRepository(jdbc).grade(sessionId, firstSessionCard(), quizId, "answer", 42L, null, Instant.now())));
+        checks.put("answerBatch.markAnswered", new Check(jdbc ->
+            new MemoQuizAnswerBatchRepository(jdbc).markAnswered(sessionId, List.of(1L, 2L, 3L), Instant.now())));
+        checks.put("answerBatch.lockEnabledBoxes", new Check(jdbc ->
+            new MemoQuizAnswerBatchRepository(jdbc).lockEnabledBoxes(quizId, List.of(1L, 2L, 3L))));
+        checks.put("boxStats.adjustEnabledMemberships", new Check(jdbc ->
+            new MemoQuizQuizBoxStatsRepository(jdbc).adjustEnabledMemberships(42L, 0)));
+        checks.put("dashboard.findSnapshot", new Check(jdbc ->
+            new MemoQuizDashboardQueryRepository(jdbc).findSnapshot("default")));
+        // The live side reads whole recent months, which is what the history asks for.
+        LocalDate historyTo = LocalDate.now(ZoneOffset.UTC).plusDays(1);
+        checks.put("dashboard.findReviewHistory", new Check(jdbc ->
+            new MemoQuizDashboardQueryRepository(jdbc).findReviewHistory(historyTo.minusDays(30), historyTo),
+            recentReviewLogPartitions(historyTo.minusDays(30), historyTo)));
+        checks.put("sessionDeck.findWindow", new Check(jdbc ->
+            new MemoQuizSessionDeckRepository(jdbc).findWindow(sessionId, 10, 20)));
+        checks.put("sessionDeck.findByOrdinals", new Check(jdbc ->
+            new MemoQuizSessionDeckRepository(jdbc).findByOrdinals(sessionId, new int[] {3, 1, 4, 15, 9})));
+        checks.put("sessionDeck.findRemainingByOrdinals", new Check(jdbc ->
+            new MemoQuizSessionDeckRepository(jdbc).findRemainingByOrdinals(sessionId, new int[] {3, 1, 4, 15, 9})));
+        checks.put("sessionDeck.streamRemaining", new Check(jdbc ->
+            new MemoQuizSessionDeckRepository(jdbc).streamRemaining(sessionId, 100, card -> { })));
+        checks.put("quizCardListing.findPage", new Check(jdbc ->
+            new QuizCardListingRepository(jdbc).findPage(quizId, EnumSet.allOf(QuizCardField.class), 25_000L, 100)));
+        checks.put("quizCardListing.findPageIdsOnly", new Check(jdbc ->
+            new QuizCardListingRepository(jdbc).findPage(quizId, EnumSet.of(QuizCardField.ID), 25_000L, 100)));
+        return checks;
+    }
+
+    private static String[] recentReviewLogPartitions(LocalDate from, LocalDate to) {
+        List<String> partitions = new ArrayList<>();
+        for (YearMonth month = YearMonth.from(from); !month.isAfter(YearMonth.from(to)); month = month.plusMonths(1)) {
+            partitions.add("memoquiz_review_log_" + month.format(DateTimeFormatter.ofPattern("yyyy_MM")));
+        }
+        partitions.add("memoquiz_review_log_default");
+        return partitions.toArray(String[]::new);
+    }
+
+    // Created outside the captured statements, so only the session start's own SQL is explained.
+    private static Long newSession() {
+        return new JdbcTemplate(dataSource).queryForObject(
+            "insert into memoquiz_session (day_index, shuffle_seed, item_count) values (1, 1, 0) returning id",
+            Long.class
+        );
+    }
+
+    private static Long firstSessionCard() {
+        return new JdbcTemplate(dataSource).queryForObject(
+            "select card_id from memoquiz_session_item where session_id = ? order by ordinal limit 1",
+            Long.class,
+            sessionId
+        );
+    }
+
+    private static void assertIndexedPlans(String name, Check check) throws Exception {
+        captured.clear();
+        check.statements().accept(jdbcTemplate);
+        assertThat(captured).as("statements run by %s", name).isNotEmpty();
+
+        for (QueryInfo query : List.copyOf(captured)) {
+            JsonNode plan = explain(query, "format json");
+            List<String> scanned = new ArrayList<>();
+            collectLargeSeqScans(plan.get(0).get("Plan"), scanned);
+            scanned.removeAll(check.fullScans());
+            if (!scanned.isEmpty()) {
+                fail("%s sequentially scans %s%n%s%n%s", name, scanned, query.getQuery(), plan.toPrettyString());
+            }
+        }
+    }
+
+    private static JsonNode explain(QueryInfo query, String options) throws Exception {
+        Connection connection = dataSource.getConnection();
+        try (PreparedStatement ps = connection.prepareStatement("explain (" + options + ") " + query.getQuery())) {
+            List<List<ParameterSetOperation>> parameters = query.getParametersList();
+            if (!parameters.isEmpty()) {
+                for (ParameterSetOperation operation : parameters.getFirst()) {
+                    operation.getMethod().invoke(ps, operation.getArgs());
+                }
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                return objectMapper.readTree(rs.getString(1));
+            }
+        }
+    }
+
+    // Partitions left out at planning time do not appear, and those pruned while running were never looped over.
+    private static void collectReadPartitions(JsonNode node, List<String> partitions) {
+        String relation = node.path("Relation Name").asText();
+        if (relation.startsWith("memoquiz_review_log_") && node.path("Actual Loops").asLong() > 0) {
+            partitions.add(relation);
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collectReadPartitions(child, partitions);
+        }
+    }
+
+    private static void collectLargeSeqScans(JsonNode node, List<String> scanned) {
+        if ("Seq Scan".equals(node.path("Node Type").asText())) {
+            String relation = node.path("Relation Name").asText();
+            if (tableRows.getOrDefault(relation, 0.0) > SEQ_SCAN_ROW_LIMIT) {
+                scanned.add(relation);
+            }
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collectLargeSeqScans(child, scanned);
+        }
+    }
+}
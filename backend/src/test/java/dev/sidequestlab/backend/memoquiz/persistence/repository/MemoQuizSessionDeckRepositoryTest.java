@@ -0,0 +1,115 @@
+package dev.sidequestlab.backend.memoquiz.persistence.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.sidequestlab.backend.memoquiz.api.dto.SessionCardDto;
+import dev.sidequestlab.backend.memoquiz.api.enums.CardStatus;
+import dev.sidequestlab.backend.memoquiz.persistence.entity.MemoQuizSessionEntity;
+import dev.sidequestlab.backend.memoquiz.service.SessionResumeService;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static dev.sidequestlab.backend.memoquiz.persistence.repository.MemoQuizTestDatabase.defaultQuizId;
+import static dev.sidequestlab.backend.memoquiz.persistence.repository.MemoQuizTestDatabase.insertCard;
+import static dev.sidequestlab.backend.memoquiz.persistence.repository.MemoQuizTestDatabase.insertItem;
+import static dev.sidequestlab.backend.memoquiz.persistence.repository.MemoQuizTestDatabase.insertMembership;
+import static dev.sidequestlab.backend.memoquiz.persistence.repository.MemoQuizTestDatabase.insertSession;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Resumes sessions through SessionResumeService against real data: cards answered through either answer path
+// must not come back, whichever way the session stores its order.
+class MemoQuizSessionDeckRepositoryTest {
+
+    private static final int DECK_SIZE = 7;
+    private static final int CHUNK_SIZE = 3;
+    private static final Instant ANSWERED_AT = Instant.parse("2026-01-02T03:04:05Z");
+
+    private static MemoQuizTestDatabase database;
+
+    @BeforeAll
+    static void setUp() throws IOException {
+        database = MemoQuizTestDatabase.start();
+    }
+
+    @AfterAll
+    static void tearDown() throws IOException {
+        database.close();
+    }
+
+    @Test
+    void unseededSessionResumesWithoutAnsweredCards() {
+        database.inRolledBackTransaction(jdbc -> assertAnsweredCardsAreNotResumed(jdbc, null));
+    }
+
+    @Test
+    void seededSessionResumesWithoutAnsweredCards() {
+        database.inRolledBackTransaction(jdbc -> assertAnsweredCardsAreNotResumed(jdbc, 42L));
+    }
+
+    private static void assertAnsweredCardsAreNotResumed(JdbcTemplate jdbc, Long shuffleSeed) {
+        Long quizId = defaultQuizId(jdbc);
+        Long sessionId = insertSession(jdbc, shuffleSeed, DECK_SIZE);
+        for (int ordinal = 0; ordinal < DECK_SIZE; ordinal++) {
+            Long cardId = insertCard(jdbc, "answer", 1L, CardStatus.ACTIVE);
+            insertMembership(jdbc, quizId, cardId, 1, true);
+            insertItem(jdbc, sessionId, cardId, 1, ordinal);
+        }
+        MemoQuizSessionEntity session = session(sessionId, shuffleSeed);
+        List<Long> before = remainingCardIds(jdbc, session);
+        assertThat(before).hasSize(DECK_SIZE);
+
+        Long gradedAlone = before.get(1);
+        Set<Long> answeredInBatch = Set.of(before.get(3), before.get(4));
+        new MemoQuizAnswerGradingRepository(jdbc).grade(sessionId, gradedAlone, quizId, "answer", 1L, null, ANSWERED_AT);
+        new MemoQuizAnswerBatchRepository(jdbc).markAnswered(sessionId, answeredInBatch, ANSWERED_AT);
+
+        List<Long> expected = new ArrayList<>(before);
+        expected.remove(gradedAlone);
+        expected.removeAll(answeredInBatch);
+        assertThat(remainingCardIds(jdbc, session)).containsExactlyElementsOf(expected);
+    }
+
+    private static MemoQuizSessionEntity session(Long sessionId, Long shuffleSeed) {
+        MemoQuizSessionEntity session = new MemoQuizSessionEntity();
+        session.setId(sessionId);
+        session.setShuffleSeed(shuffleSeed);
+        session.setItemCount(DECK_SIZE);
+        return session;
+    }
+
+    // Streams the session as the /remaining endpoint does and returns the card ids in response order.
+    private static List<Long> remainingCardIds(JdbcTemplate jdbc, MemoQuizSessionEntity session) {
+        MemoQuizSessionRepository sessionRepository = mock(MemoQuizSessionRepository.class);
+        when(sessionRepository.findById(session.getId())).thenReturn(Optional.of(session));
+        ObjectMapper objectMapper = new ObjectMapper();
+        SessionResumeService service = new SessionResumeService(
+            sessionRepository,
+            new MemoQuizSessionDeckRepository(jdbc),
+            objectMapper,
+            CHUNK_SIZE
+        );
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            service.streamRemainingCards(session.getId(), out);
+            List<Long> cardIds = new ArrayList<>();
+            for (String line : out.toString(StandardCharsets.UTF_8).lines().toList()) {
+                cardIds.add(objectMapper.readValue(line, SessionCardDto.class).cardId());
+            }
+            return cardIds;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package dev.sidequestlab.backend.memoquiz.persistence.repository;
+
+import dev.sidequestlab.backend.memoquiz.api.enums.CardStatus;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import java.io.IOException;
+import java.util.function.Consumer;
+import javax.sql.DataSource;
+import org.flywaydb.core.Flyway;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// An embedded PostgreSQL migrated with the application's scripts, for repository tests that need the real SQL
+// to run. Each test works inside a transaction that is rolled back, so tests sharing a database stay apart.
+final class MemoQuizTestDatabase implements AutoCloseable {
+
+    private final EmbeddedPostgres postgres;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private MemoQuizTestDatabase(EmbeddedPostgres postgres) {
+        this.postgres = postgres;
+        DataSource dataSource = postgres.getPostgresDatabase();
+        Flyway.configure().dataSource(dataSource).locations("classpath:db/migration").load().migrate();
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    static MemoQuizTestDatabase start() throws IOException {
+        return new MemoQuizTestDatabase(EmbeddedPostgres.builder().start());
+    }
+
+    void inRolledBackTransaction(Consumer<JdbcTemplate> statements) {
+        transactionTemplate.executeWithoutResult(status -> {
+            status.setRollbackOnly();
+            statements.accept(jdbcTemplate);
+        });
+    }
+
+    static Long defaultQuizId(JdbcTemplate jdbc) {
+        return jdbc.queryForObject("select id from memoquiz_quiz where code = 'default'", Long.class);
+    }
+
+    static Long insertCard(JdbcTemplate jdbc, String answerKey, long answerHash, CardStatus status) {
+        return jdbc.queryForObject(
+            """
+            insert into card (front, back, answer_key, answer_hash, status)
+            values ('Question', ?, ?, ?, ?)
+            returning id
+            """,
+            Long.class,
+            answerKey,
+            answerKey,
+            answerHash,
+            status.name()
+        );
+    }
+
+    static void insertMembership(JdbcTemplate jdbc, Long quizId, Long cardId, int box, boolean enabled) {
+        jdbc.update(
+            "insert into memoquiz_quiz_card (quiz_id, card_id, enabled, box) values (?, ?, ?, ?)",
+            quizId,
+            cardId,
+            enabled,
+            box
+        );
+    }
+
+    static Long insertSession(JdbcTemplate jdbc, Long shuffleSeed, int itemCount) {
+        return jdbc.queryForObject(
+            "insert into memoquiz_session (day_index, shuffle_seed, item_count) values (1, ?, ?) returning id",
+            Long.class,
+            shuffleSeed,
+            itemCount
+        );
+    }
+
+    static void insertItem(JdbcTemplate jdbc, Long sessionId, Long cardId, int box, int ordinal) {
+        jdbc.update(
+            "insert into memoquiz_session_item (session_id, card_id, box, ordinal) values (?, ?, ?, ?)",
+            sessionId,
+            cardId,
+            box,
+            ordinal
+        );
+    }
+
+    @Override
+    public void close() throws IOException {
+        postgres.close();
+    }
+}
@@ -0,0 +1,98 @@
+package dev.sidequestlab.backend.memoquiz.service;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AnswerMatcherTest {
+
+    @Test
+    void answerKeyFoldsCaseAccentsCompatibilityFormsAndWhitespace() {
+        assertThat(AnswerMatcher.answerKey("  Le   Petit\tPrince \n")).isEqualTo("le petit prince");
+        assertThat(AnswerMatcher.answerKey("École Normale")).isEqualTo("ecole normale");
+        assertThat(AnswerMatcher.answerKey("Ｐａｒｉｓ ﬁn")).isEqualTo("paris fin");
+        assertThat(AnswerMatcher.answerKey("İstanbul")).isEqualTo("istanbul");
+        assertThat(AnswerMatcher.answerKey("C'est l'été !")).isEqualTo("c'est l'ete !");
+        assertThat(AnswerMatcher.answerKey(null)).isEmpty();
+        assertThat(AnswerMatcher.answerKey(" \t ")).isEmpty();
+    }
+
+    @Test
+    void answerHashIsStableAndDistinguishesKeys() {
+        // Stored in card.answer_hash, so the values must never change.
+        assertThat(AnswerMatcher.answerHash("")).isEqualTo(0xcbf29ce484222325L);
+        assertThat(AnswerMatcher.answerHash("paris")).isEqualTo(AnswerMatcher.answerHash("paris"));
+        assertThat(AnswerMatcher.answerHash("paris")).isNotEqualTo(AnswerMatcher.answerHash("pari"));
+        assertThat(AnswerMatcher.answerHash("ab")).isNotEqualTo(AnswerMatcher.answerHash("ba"));
+    }
+
+    @Test
+    void exactMatcherRequiresEqualKeys() {
+        AnswerMatcher matcher = new AnswerMatcher(0);
+        String key = AnswerMatcher.answerKey("Le Petit Prince");
+
+        assertThat(matcher.isTolerant()).isFalse();
+        assertThat(matcher.matches(AnswerMatcher.answerKey(" le petit PRINCE "), key, AnswerMatcher.answerHash(key))).isTrue();
+        assertThat(matcher.matches(AnswerMatcher.answerKey("le petit prnce"), key, AnswerMatcher.answerHash(key))).isFalse();
+    }
+
+    @Test
+    void tolerantMatcherAcceptsTyposScaledToAnswerLength() {
+        AnswerMatcher matcher = new AnswerMatcher(2);
+        String longKey = AnswerMatcher.answerKey("Le Petit Prince");
+        String shortKey = "chat";
+
+        assertThat(matcher.isTolerant()).isTrue();
+        assertThat(matcher.matches("le ptit prnce", longKey, AnswerMatcher.answerHash(longKey))).isTrue();
+        assertThat(matcher.matches("le pti prnce", longKey, AnswerMatcher.answerHash(longKey))).isFalse();
+        assertThat(matcher.matches("chut", shortKey, AnswerMatcher.answerHash(shortKey))).isTrue();
+        assertThat(matcher.matches("chute", shortKey, AnswerMatcher.answerHash(shortKey))).isFalse();
+        assertThat(matcher.matches("cha", "cat", AnswerMatcher.answerHash("cat"))).isFalse();
+    }
+
+    @Test
+    void bandedDistanceAgreesWithFullLevenshtein() {
+        Random random = new Random(7);
+        for (int run = 0; run < 2_000; run++) {
+            String source = randomWord(random);
+            String target = randomWord(random);
+            int distance = levenshtein(source, target);
+            for (int max = 0; max <= 4; max++) {
+                assertThat(AnswerMatcher.withinEditDistance(source, target, max))
+                    .as("%s -> %s within %d", source, target, max)
+                    .isEqualTo(distance <= max);
+            }
+        }
+    }
+
+    @Test
+    void rejectsNegativeEditDistance() {
+        assertThatThrownBy(() -> new AnswerMatcher(-1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static String randomWord(Random random) {
+        StringBuilder word = new StringBuilder();
+        int length = random.nextInt(9);
+        for (int i = 0; i < length; i++) {
+            word.append((char) ('a' + random.nextInt(3)));
+        }
+        return word.toString();
+    }
+
+    private static int levenshtein(String source, String target) {
+        int[][] distances = new int[source.length() + 1][target.length() + 1];
+        for (int i = 0; i <= source.length(); i++) {
+            for (int j = 0; j <= target.length(); j++) {
+                if (i == 0 || j == 0) {
+                    distances[i][j] = i + j;
+                } else {
+                    int substitution = distances[i - 1][j - 1] + (source.charAt(i - 1) == target.charAt(j - 1) ? 0 : 1);
+                    distances[i][j] = Math.min(substitution, Math.min(distances[i - 1][j], distances[i][j - 1]) + 1);
+                }
+            }
+        }
+        return distances[source.length()][target.length()];
+    }
+}
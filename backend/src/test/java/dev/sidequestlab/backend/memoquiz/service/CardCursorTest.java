@@ -0,0 +1,39 @@
+package dev.sidequestlab.backend.memoquiz.service;
+
+import dev.sidequestlab.backend.memoquiz.persistence.entity.CardEntity;
+import java.time.Instant;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CardCursorTest {
+
+    @Test
+    void roundTripsCreatedAtCursor() {
+        CardEntity last = new CardEntity();
+        last.setId(42L);
+        last.setCreatedAt(Instant.parse("2026-03-04T05:06:07.123456Z"));
+
+        String token = CardCursor.after(CardCursor.Order.CREATED_AT_DESC, last).encode();
+
+        assertThat(token).doesNotContain("=", "+", "/");
+        assertThat(CardCursor.decode(token, CardCursor.Order.CREATED_AT_DESC).encode()).isEqualTo(token);
+    }
+
+    @Test
+    void rejectsCursorFromAnotherSort() {
+        CardEntity last = new CardEntity();
+        last.setId(42L);
+        String token = CardCursor.after(CardCursor.Order.ID_ASC, last).encode();
+
+        assertThatThrownBy(() -> CardCursor.decode(token, CardCursor.Order.ID_DESC))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void unknownSortFallsBackToIdAscending() {
+        assertThat(CardCursor.Order.parse("unsupported")).isEqualTo(CardCursor.Order.ID_ASC);
+        assertThat(CardCursor.Order.parse(" createdAt,desc ")).isEqualTo(CardCursor.Order.CREATED_AT_DESC);
+    }
+}
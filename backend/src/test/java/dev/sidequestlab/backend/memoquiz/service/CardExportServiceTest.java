@@ -0,0 +1,110 @@
+package dev.sidequestlab.backend.memoquiz.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import dev.sidequestlab.backend.memoquiz.api.dto.CardExportItem;
+import dev.sidequestlab.backend.memoquiz.api.dto.CardExportMembership;
+import dev.sidequestlab.backend.memoquiz.api.enums.CardFileFormat;
+import dev.sidequestlab.backend.memoquiz.api.enums.CardStatus;
+import dev.sidequestlab.backend.memoquiz.persistence.repository.CardExportRepository;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CardExportServiceTest {
+
+    private static final Instant CREATED = Instant.parse("2026-01-02T03:04:05Z");
+    private static final Instant UPDATED = Instant.parse("2026-01-03T03:04:05Z");
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+        .registerModule(new JavaTimeModule())
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Test
+    void writesOneJsonObjectPerLine() throws IOException {
+        StubExportRepository repository = new StubExportRepository(List.of(
+            new CardExportItem(1L, "F1", "B1", CardStatus.ACTIVE, 3, CREATED, UPDATED,
+                List.of(new CardExportMembership("default", true, 2))),
+            new CardExportItem(2L, "F2", "B2", CardStatus.INACTIVE, 1, CREATED, UPDATED, List.of())
+        ));
+        CardExportService service = new CardExportService(repository, objectMapper, 250);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        service.exportCards(out, CardFileFormat.NDJSON);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readTree(lines[0]).get("memberships").get(0).get("box").asInt()).isEqualTo(2);
+        assertThat(objectMapper.readTree(lines[0]).get("createdAt").asText()).isEqualTo("2026-01-02T03:04:05Z");
+        assertThat(objectMapper.readTree(lines[1]).get("status").asText()).isEqualTo("INACTIVE");
+        assertThat(repository.fetchSizeArg).isEqualTo(250);
+    }
+
+    @Test
+    void writesCsvWithHeaderEscapingAndMemberships() throws IOException {
+        StubExportRepository repository = new StubExportRepository(List.of(
+            new CardExportItem(7L, "Say \"hi\", now", "line\nbreak", CardStatus.ARCHIVED, 4, CREATED, UPDATED, List.of(
+                new CardExportMembership("default", true, 4),
+                new CardExportMembership("spanish", false, 1)
+            ))
+        ));
+        CardExportService service = new CardExportService(repository, objectMapper, 100);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        service.exportCards(out, CardFileFormat.CSV);
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(
+            CardExportService.CSV_HEADER + "\r\n"
+                + "7,\"Say \"\"hi\"\", now\",\"line\nbreak\",ARCHIVED,4,2026-01-02T03:04:05Z,2026-01-03T03:04:05Z,"
+                + "default:4;spanish:1:disabled\r\n"
+        );
+    }
+
+    @Test
+    void propagatesWriteFailures() {
+        StubExportRepository repository = new StubExportRepository(List.of(
+            new CardExportItem(1L, "F", "B", CardStatus.ACTIVE, 1, CREATED, UPDATED, List.of())
+        ));
+        CardExportService service = new CardExportService(repository, objectMapper, 1);
+        OutputStream failing = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("client went away");
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                throw new IOException("client went away");
+            }
+        };
+
+        assertThatThrownBy(() -> service.exportCards(failing, CardFileFormat.CSV))
+            .isInstanceOf(IOException.class)
+            .hasMessage("client went away");
+    }
+
+    private static final class StubExportRepository extends CardExportRepository {
+        private final List<CardExportItem> items;
+        private int fetchSizeArg;
+
+        private StubExportRepository(List<CardExportItem> items) {
+            super(null);
+            this.items = items;
+        }
+
+        @Override
+        public void streamCards(int fetchSize, Consumer<CardExportItem> consumer) {
+            this.fetchSizeArg = fetchSize;
+            items.forEach(consumer);
+        }
+    }
+}
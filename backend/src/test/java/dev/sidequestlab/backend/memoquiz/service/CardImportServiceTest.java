@@ -0,0 +1,169 @@
+package dev.sidequestlab.backend.memoquiz.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.sidequestlab.backend.memoquiz.api.dto.CardImportChunkResult;
+import dev.sidequestlab.backend.memoquiz.api.dto.CardImportResponse;
+import dev.sidequestlab.backend.memoquiz.api.dto.CardImportRowError;
+import dev.sidequestlab.backend.memoquiz.api.enums.CardFileFormat;
+import dev.sidequestlab.backend.memoquiz.persistence.repository.CardImportRepository;
+import dev.sidequestlab.backend.memoquiz.persistence.repository.CardImportRepository.NewCard;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionOperations;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CardImportServiceTest {
+
+    private final RecordingImportRepository repository = new RecordingImportRepository();
+    private final List<Object> events = new ArrayList<>();
+
+    @Test
+    void ndjsonImportInsertsInFixedSizeChunks() {
+        CardImportService service = service(2);
+
+        CardImportResponse response = service.importCards(body("""
+            {"front":"F1","back":"B1"}
+            {"front":"F2","back":"B2"}
+
+            {"front":"F3","back":"B3"}
+            """), CardFileFormat.NDJSON);
+
+        assertThat(response.detectedCount()).isEqualTo(3);
+        assertThat(response.importedCount()).isEqualTo(3);
+        assertThat(response.rejectedCount()).isZero();
+        assertThat(response.chunks()).containsExactly(
+            new CardImportChunkResult(1, 1, 2, 2),
+            new CardImportChunkResult(2, 4, 4, 1)
+        );
+        assertThat(repository.chunks).hasSize(2);
+        assertThat(repository.chunks.get(0)).extracting(NewCard::front).containsExactly("F1", "F2");
+        assertThat(repository.chunks.get(1)).extracting(NewCard::front).containsExactly("F3");
+        assertThat(events).containsExactly(new MemoQuizDataChangedEvent(), new MemoQuizDataChangedEvent());
+    }
+
+    @Test
+    void ndjsonImportReportsRowErrorsAndKeepsValidRows() {
+        CardImportService service = service(10);
+
+        CardImportResponse response = service.importCards(body("""
+            {"front":"F1","back":"B1"}
+            not json
+            ["F2","B2"]
+            {"front":"","back":"B3"}
+            {"front":"F4"}
+            {"front":"F5","back":"B5"}
+            """), CardFileFormat.NDJSON);
+
+        assertThat(response.detectedCount()).isEqualTo(6);
+        assertThat(response.importedCount()).isEqualTo(2);
+        assertThat(response.rejectedCount()).isEqualTo(4);
+        assertThat(response.errors()).containsExactly(
+            new CardImportRowError(2, "Invalid JSON"),
+            new CardImportRowError(3, "Expected a JSON object"),
+            new CardImportRowError(4, "Invalid card front"),
+            new CardImportRowError(5, "Invalid card back")
+        );
+        assertThat(response.chunks()).containsExactly(new CardImportChunkResult(1, 1, 6, 2));
+    }
+
+    @Test
+    void csvImportSkipsHeaderAndHandlesQuotedFields() {
+        CardImportService service = service(10);
+
+        CardImportResponse response = service.importCards(body(
+            "front,back\r\n"
+                + "Capital of France,Paris\r\n"
+                + "\"Say \"\"hi\"\", then wait\",\"line one\nline two\"\r\n"
+                + "only one column\r\n"
+        ), CardFileFormat.CSV);
+
+        assertThat(response.detectedCount()).isEqualTo(3);
+        assertThat(response.importedCount()).isEqualTo(2);
+        assertThat(response.errors()).containsExactly(new CardImportRowError(4, "Expected 2 columns but found 1"));
+        assertThat(repository.chunks.getFirst()).containsExactly(
+            new NewCard("Capital of France", "Paris", "paris", AnswerMatcher.answerHash("paris")),
+            new NewCard("Say \"hi\", then wait", "line one\nline two", "line one line two", AnswerMatcher.answerHash("line one line two"))
+        );
+    }
+
+    @Test
+    void csvImportWithoutHeaderTreatsFirstRowAsData() {
+        CardImportService service = service(10);
+
+        CardImportResponse response = service.importCards(body("Q1,A1\nQ2,\"A2\""), CardFileFormat.CSV);
+
+        assertThat(response.importedCount()).isEqualTo(2);
+        assertThat(repository.chunks.getFirst()).extracting(NewCard::back).containsExactly("A1", "A2");
+    }
+
+    @Test
+    void csvImportRejectsUnterminatedQuote() {
+        CardImportService service = service(10);
+
+        CardImportResponse response = service.importCards(body("Q1,A1\nQ2,\"never closed\n"), CardFileFormat.CSV);
+
+        assertThat(response.importedCount()).isEqualTo(1);
+        assertThat(response.errors()).containsExactly(new CardImportRowError(2, "Unterminated quoted field"));
+    }
+
+    @Test
+    void oversizedValuesAreRejectedWithoutBufferingThemWhole() {
+        CardImportService service = service(10);
+        String longBack = "x".repeat(50_000);
+
+        CardImportResponse response = service.importCards(body("Q1," + longBack + "\n"), CardFileFormat.CSV);
+
+        assertThat(response.importedCount()).isZero();
+        assertThat(response.errors()).containsExactly(new CardImportRowError(1, "Invalid card back"));
+        assertThat(repository.chunks).isEmpty();
+    }
+
+    @Test
+    void reportedErrorsAreCapped() {
+        CardImportService service = service(10);
+        StringBuilder csv = new StringBuilder();
+        for (int i = 0; i < CardImportService.MAX_REPORTED_ERRORS + 5; i++) {
+            csv.append("missing back\n");
+        }
+
+        CardImportResponse response = service.importCards(body(csv.toString()), CardFileFormat.CSV);
+
+        assertThat(response.rejectedCount()).isEqualTo(CardImportService.MAX_REPORTED_ERRORS + 5);
+        assertThat(response.errors()).hasSize(CardImportService.MAX_REPORTED_ERRORS);
+        assertThat(response.errorsTruncated()).isTrue();
+    }
+
+    private CardImportService service(int chunkSize) {
+        return new CardImportService(
+            repository,
+            TransactionOperations.withoutTransaction(),
+            new ObjectMapper(),
+            events::add,
+            chunkSize
+        );
+    }
+
+    private static InputStream body(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static final class RecordingImportRepository extends CardImportRepository {
+        private final List<List<NewCard>> chunks = new ArrayList<>();
+
+        private RecordingImportRepository() {
+            super(null);
+        }
+
+        @Override
+        public int insertCards(List<NewCard> cards, Instant now) {
+            chunks.add(List.copyOf(cards));
+            return cards.size();
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package dev.sidequestlab.backend.memoquiz.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CardSearchTermsTest {
+
+    @Test
+    void prefixQueryKeepsOnlyLettersAndDigits() {
+        assertThat(CardSearchTerms.prefixQuery("  Café & o'Reilly | 2x:* ")).isEqualTo("café:* & o:* & reilly:* & 2x:*");
+    }
+
+    @Test
+    void prefixQueryReturnsNullWithoutTerms() {
+        assertThat(CardSearchTerms.prefixQuery(null)).isNull();
+        assertThat(CardSearchTerms.prefixQuery(" !? ")).isNull();
+    }
+
+    @Test
+    void prefixQueryCapsTermCount() {
+        assertThat(CardSearchTerms.prefixQuery("a b c d e f g h i j").split(" & ")).hasSize(CardSearchTerms.MAX_TERMS);
+    }
+}
@@ -2,16 +2,22 @@ package dev.sidequestlab.backend.memoquiz.service;
 
 import dev.sidequestlab.backend.memoquiz.api.dto.BulkCreateCardItem;
 import dev.sidequestlab.backend.memoquiz.api.dto.BulkCreateCardsRequest;
+import dev.sidequestlab.backend.memoquiz.api.dto.CardDto;
+import dev.sidequestlab.backend.memoquiz.api.dto.CardSliceDto;
 import dev.sidequestlab.backend.memoquiz.api.dto.CreateCardRequest;
 import dev.sidequestlab.backend.memoquiz.api.dto.UpdateCardRequest;
+import dev.sidequestlab.backend.memoquiz.api.enums.CardSearchMode;
 import dev.sidequestlab.backend.memoquiz.api.enums.CardStatus;
 import dev.sidequestlab.backend.memoquiz.persistence.entity.CardEntity;
 import dev.sidequestlab.backend.memoquiz.persistence.entity.CardProgressEntity;
 import dev.sidequestlab.backend.memoquiz.persistence.repository.CardRepository;
+import dev.sidequestlab.backend.memoquiz.persistence.repository.CardSearchRepository;
+import dev.sidequestlab.backend.memoquiz.persistence.repository.MemoQuizQuizBoxStatsRepository;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Stream;
@@ -24,6 +30,7 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
 
@@ -31,10 +38,12 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 class CardServiceTest {
 
+    private final List<Object> events = new ArrayList<>();
+
     @Test
     void createDefaultsStatusAndBox() {
         RepositoryStub repository = new RepositoryStub();
-        CardService cardService = new CardService(repository.repository());
+        CardService cardService = new CardService(repository.repository(), new BoxStatsStub(), new SearchStub(), events::add);
         CreateCardRequest req = new CreateCardRequest("Front", "Back", null);
 
         repository.onSave(entity -> {
@@ -45,6 +54,7 @@ class CardServiceTest {
         var dto = cardService.createCard(req);
         CardEntity entity = repository.lastSavedEntity;
         assertThat(entity.getStatus()).isEqualTo(CardStatus.INACTIVE);
+        assertThat(entity.getAnswerKey()).isEqualTo("back");
         assertThat(entity.getProgress()).isNotNull();
         assertThat(entity.getProgress().getBox()).isEqualTo(1);
         assertThat(entity.getCreatedAt()).isNotNull();
@@ -55,7 +65,7 @@ class CardServiceTest {
     @Test
     void createUsesProvidedBoxWhenPresent() {
         RepositoryStub repository = new RepositoryStub();
-        CardService cardService = new CardService(repository.repository());
+        CardService cardService = new CardService(repository.repository(), new BoxStatsStub(), new SearchStub(), events::add);
         CreateCardRequest req = new CreateCardRequest("Front", "Back", 4);
 
         repository.onSave(entity -> {
@@ -74,7 +84,7 @@ class CardServiceTest {
     @Test
     void bulkCreateCardsCreatesInactiveCardsWithDefaultBox() {
         RepositoryStub repository = new RepositoryStub();
-        CardService cardService = new CardService(repository.repository());
+        CardService cardService = new CardService(repository.repository(), new BoxStatsStub(), new SearchStub(), events::add);
         BulkCreateCardsRequest req = new BulkCreateCardsRequest(List.of(
             new BulkCreateCardItem("Front 1", "Back 1"),
             new BulkCreateCardItem("Front 2", "Back 2")
@@ -106,7 +116,7 @@ class CardServiceTest {
     @Test
     void bulkCreateCardsRejectsEmptyList() {
         RepositoryStub repository = new RepositoryStub();
-        CardService cardService = new CardService(repository.repository());
+        CardService cardService = new CardService(repository.repository(), new BoxStatsStub(), new SearchStub(), events::add);
 
         assertThatThrownBy(() -> cardService.bulkCreateCards(new BulkCreateCardsRequest(List.of())))
             .isInstanceOf(ResponseStatusException.class)
@@ -119,7 +129,7 @@ class CardServiceTest {
     @Test
     void bulkCreateCardsRejectsMoreThanOneHundredCards() {
         RepositoryStub repository = new RepositoryStub();
-        CardService cardService = new CardService(repository.repository());
+        CardService cardService = new CardService(repository.repository(), new BoxStatsStub(), new SearchStub(), events::add);
         List<BulkCreateCardItem> cards = Stream.generate(() -> new BulkCreateCardItem("Front", "Back"))
             .limit(101)
             .toList();
@@ -136,7 +146,7 @@ class CardServiceTest {
     @MethodSource("invalidBulkCardCases")
     void bulkCreateCardsRejectsBlankFrontOrBack(BulkCreateCardItem invalidCard) {
         RepositoryStub repository = new RepositoryStub();
-        CardService cardService = new CardService(repository.repository());
+        CardService cardService = new CardService(repository.repository(), new BoxStatsStub(), new SearchStub(), events::add);
 
         assertThatThrownBy(() -> cardService.bulkCreateCards(new BulkCreateCardsRequest(List.of(invalidCard))))
             .isInstanceOf(ResponseStatusException.class)
@@ -149,7 +159,7 @@ class CardServiceTest {
     @Test
     void bulkCreateCardsCreatesNothingWhenAnyItemIsInvalid() {
         RepositoryStub repository = new RepositoryStub();
-        CardService cardService = new CardService(repository.repository());
+        CardService cardService = new CardService(repository.repository(), new BoxStatsStub(), new SearchStub(), events::add);
         BulkCreateCardsRequest req = new BulkCreateCardsRequest(List.of(
             new BulkCreateCardItem("Front", "Back"),
             new BulkCreateCardItem(" ", "Back 2")
@@ -167,7 +177,7 @@ class CardServiceTest {
     @Test
     void listCardsMapsEntityWithNullProgressToDefaultBox() {
         RepositoryStub repository = new RepositoryStub();
-        CardService cardService = new CardService(repository.repository());
+        CardService cardService = new CardService(repository.repository(), new BoxStatsStub(), new SearchStub(), events::add);
         CardEntity entity = new CardEntity();
         entity.setId(30L);
         entity.setFront("Front");
@@ -193,7 +203,7 @@ class CardServiceTest {
     @MethodSource("sortCases")
     void listCardsUsesExpectedSort(String sort, Sort.Direction expectedDirection, String expectedProperty) {
         RepositoryStub repository = new RepositoryStub();
-        CardService cardService = new CardService(repository.repository());
+        CardService cardService = new CardService(repository.repository(), new BoxStatsStub(), new SearchStub(), events::add);
         CardEntity entity = new CardEntity();
         entity.setId(40L);
         entity.setFront("Front");
@@ -222,7 +232,7 @@ class CardServiceTest {
     @Test
     void updateDoesNotReplaceNullFields() {
         RepositoryStub repository = new RepositoryStub();
-        CardService cardService = new CardService(repository.repository());
+        CardService cardService = new CardService(repository.repository(), new BoxStatsStub(), new SearchStub(), events::add);
         CardEntity existing = new CardEntity();
         existing.setId(1L);
         existing.setFront("Old front");
@@ -245,16 +255,19 @@ class CardServiceTest {
 
         assertThat(existing.getFront()).isEqualTo("Old front");
         assertThat(existing.getBack()).isEqualTo("New back");
+        assertThat(existing.getAnswerKey()).isEqualTo("new back");
+        assertThat(existing.getAnswerHash()).isEqualTo(AnswerMatcher.answerHash("new back"));
         assertThat(existing.getStatus()).isEqualTo(CardStatus.INACTIVE);
         assertThat(existing.getProgress().getBox()).isEqualTo(3);
         assertThat(dto.front()).isEqualTo("Old front");
         assertThat(dto.back()).isEqualTo("New back");
+        assertThat(events).containsExactly(QuizCardsChangedEvent.forCard(1L), new MemoQuizDataChangedEvent());
     }
 
     @Test
     void updateCreatesProgressWhenMissingAndBoxProvided() {
         RepositoryStub repository = new RepositoryStub();
-        CardService cardService = new CardService(repository.repository());
+        CardService cardService = new CardService(repository.repository(), new BoxStatsStub(), new SearchStub(), events::add);
         CardEntity existing = new CardEntity();
         existing.setId(3L);
         existing.setFront("Old front");
@@ -283,7 +296,7 @@ class CardServiceTest {
     @Test
     void updateReusesExistingProgressWhenBoxProvided() {
         RepositoryStub repository = new RepositoryStub();
-        CardService cardService = new CardService(repository.repository());
+        CardService cardService = new CardService(repository.repository(), new BoxStatsStub(), new SearchStub(), events::add);
         CardEntity existing = new CardEntity();
         existing.setId(4L);
         existing.setFront("Front");
@@ -301,6 +314,7 @@ class CardServiceTest {
         repository.onSave(entity -> entity);
 
         cardService.updateCard(4L, new UpdateCardRequest(null, null, null, 6));
+        assertThat(events).containsExactly(new MemoQuizDataChangedEvent());
 
         assertThat(existing.getProgress()).isSameAs(progress);
         assertThat(existing.getProgress().getBox()).isEqualTo(6);
@@ -309,7 +323,8 @@ class CardServiceTest {
     @Test
     void activateSetsStatusActive() {
         RepositoryStub repository = new RepositoryStub();
-        CardService cardService = new CardService(repository.repository());
+        BoxStatsStub boxStats = new BoxStatsStub();
+        CardService cardService = new CardService(repository.repository(), boxStats, new SearchStub(), events::add);
         CardEntity existing = new CardEntity();
         existing.setId(2L);
         existing.setFront("Front");
@@ -331,12 +346,43 @@ class CardServiceTest {
         assertThat(existing.getStatus()).isEqualTo(CardStatus.ACTIVE);
         assertThat(dto.status()).isEqualTo(CardStatus.ACTIVE);
         assertThat(dto.box()).isEqualTo(2);
+        assertThat(boxStats.adjustments).containsExactly("2:1");
+    }
+
+    @Test
+    void activateAlreadyActiveLeavesBoxStatsUntouched() {
+        RepositoryStub repository = new RepositoryStub();
+        BoxStatsStub boxStats = new BoxStatsStub();
+        CardService cardService = new CardService(repository.repository(), boxStats, new SearchStub(), events::add);
+        CardEntity existing = new CardEntity();
+        existing.setId(3L);
+        existing.setStatus(CardStatus.ACTIVE);
+        repository.onFindById(id -> Optional.of(existing));
+
+        cardService.activateCard(3L);
+
+        assertThat(boxStats.adjustments).isEmpty();
+    }
+
+    @Test
+    void updateStatusAwayFromActiveDecrementsBoxStats() {
+        RepositoryStub repository = new RepositoryStub();
+        BoxStatsStub boxStats = new BoxStatsStub();
+        CardService cardService = new CardService(repository.repository(), boxStats, new SearchStub(), events::add);
+        CardEntity existing = new CardEntity();
+        existing.setId(5L);
+        existing.setStatus(CardStatus.ACTIVE);
+        repository.onFindById(id -> Optional.of(existing));
+
+        cardService.updateCard(5L, new UpdateCardRequest(null, null, CardStatus.ARCHIVED, null));
+
+        assertThat(boxStats.adjustments).containsExactly("5:-1");
     }
 
     @Test
     void updateNotFoundThrows() {
         RepositoryStub repository = new RepositoryStub();
-        CardService cardService = new CardService(repository.repository());
+        CardService cardService = new CardService(repository.repository(), new BoxStatsStub(), new SearchStub(), events::add);
         repository.onFindById(id -> Optional.empty());
 
         UpdateCardRequest req = new UpdateCardRequest("Front", null, null, null);
@@ -352,7 +398,7 @@ class CardServiceTest {
     @Test
     void activateNotFoundThrows() {
         RepositoryStub repository = new RepositoryStub();
-        CardService cardService = new CardService(repository.repository());
+        CardService cardService = new CardService(repository.repository(), new BoxStatsStub(), new SearchStub(), events::add);
         repository.onFindById(id -> Optional.empty());
 
         assertThatThrownBy(() -> cardService.activateCard(100L))
@@ -363,6 +409,118 @@ class CardServiceTest {
         assertThat(repository.saveCalls).isZero();
     }
 
+    @Test
+    void listCardsAfterFetchesOneExtraRowAndReturnsNextCursor() {
+        RepositoryStub repository = new RepositoryStub();
+        CardService cardService = new CardService(repository.repository(), new BoxStatsStub(), new SearchStub(), events::add);
+        repository.onFindBy(List.of(card(1L), card(2L), card(3L)));
+
+        CardSliceDto slice = cardService.listCardsAfter(null, null, null, 2, "createdAt,desc", "");
+
+        assertThat(slice.items()).extracting(CardDto::id).containsExactly(1L, 2L);
+        assertThat(slice.nextCursor()).isNotBlank();
+        assertThat(repository.lastFluentLimit).isEqualTo(3);
+        assertThat(repository.lastFluentProjection).containsExactly("progress");
+        assertThat(repository.lastFluentSort).containsExactly(
+            Sort.Order.desc("createdAt"),
+            Sort.Order.desc("id")
+        );
+        assertThat(repository.findAllCalls).isZero();
+    }
+
+    @Test
+    void listCardsAfterOmitsCursorOnLastPage() {
+        RepositoryStub repository = new RepositoryStub();
+        CardService cardService = new CardService(repository.repository(), new BoxStatsStub(), new SearchStub(), events::add);
+        repository.onFindBy(List.of(card(5L)));
+        String cursor = cardService.listCardsAfter(null, null, null, 1, null, null).nextCursor();
+
+        assertThat(cursor).isNull();
+    }
+
+    @Test
+    void listCardsAfterClampsOversizedPage() {
+        RepositoryStub repository = new RepositoryStub();
+        CardService cardService = new CardService(repository.repository(), new BoxStatsStub(), new SearchStub(), events::add);
+        repository.onFindBy(List.of(card(1L)));
+
+        cardService.listCardsAfter(null, null, null, Integer.MAX_VALUE, null, null);
+
+        assertThat(repository.lastFluentLimit).isEqualTo(1001);
+    }
+
+    @Test
+    void listCardsAfterRejectsMalformedOrMismatchedCursor() {
+        RepositoryStub repository = new RepositoryStub();
+        CardService cardService = new CardService(repository.repository(), new BoxStatsStub(), new SearchStub(), events::add);
+        repository.onFindBy(List.of(card(1L), card(2L)));
+        String idCursor = cardService.listCardsAfter(null, null, null, 1, "id,asc", "").nextCursor();
+
+        assertThatThrownBy(() -> cardService.listCardsAfter(null, null, null, 1, "id,asc", "%%%"))
+            .isInstanceOf(ResponseStatusException.class)
+            .extracting("statusCode")
+            .isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThatThrownBy(() -> cardService.listCardsAfter(null, null, null, 1, "createdAt,asc", idCursor))
+            .isInstanceOf(ResponseStatusException.class)
+            .extracting("statusCode")
+            .isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void searchCardsPrefixModeBuildsSanitizedQueryAndKeepsMatchOrder() {
+        RepositoryStub repository = new RepositoryStub();
+        SearchStub search = new SearchStub();
+        search.ids.addAll(List.of(3L, 1L));
+        CardService cardService = new CardService(repository.repository(), new BoxStatsStub(), search, events::add);
+        repository.onFindWithProgress(List.of(card(1L), card(3L)));
+
+        List<CardDto> result = cardService.searchCards("Java: str", CardSearchMode.PREFIX, null, null, 2, 10, "createdAt,desc");
+
+        assertThat(result).extracting(CardDto::id).containsExactly(3L, 1L);
+        assertThat(search.modeArg).isEqualTo(CardSearchMode.PREFIX);
+        assertThat(search.termsArg).isEqualTo("java:* & str:*");
+        assertThat(search.sortArg).isEqualTo(Sort.by(Sort.Direction.DESC, "createdAt"));
+        assertThat(search.offsetArg).isEqualTo(20L);
+        assertThat(search.limitArg).isEqualTo(10);
+    }
+
+    @Test
+    void searchCardsRankedModePassesRawTextAndSkipsLoadingWhenNothingMatches() {
+        RepositoryStub repository = new RepositoryStub();
+        SearchStub search = new SearchStub();
+        CardService cardService = new CardService(repository.repository(), new BoxStatsStub(), search, events::add);
+
+        List<CardDto> result = cardService.searchCards("  \"hash map\" -tree ", CardSearchMode.RANKED, null, null, 0, 20, null);
+
+        assertThat(result).isEmpty();
+        assertThat(search.termsArg).isEqualTo("\"hash map\" -tree");
+        assertThat(repository.findWithProgressCalls).isZero();
+    }
+
+    @Test
+    void searchCardsWithoutSearchableTermsReturnsEmptyOrFallsBack() {
+        RepositoryStub repository = new RepositoryStub();
+        SearchStub search = new SearchStub();
+        CardService cardService = new CardService(repository.repository(), new BoxStatsStub(), search, events::add);
+        repository.onFindAll((spec, pageable) -> new PageImpl<>(List.of(card(9L)), pageable, 1));
+
+        assertThat(cardService.searchCards("?!", CardSearchMode.PREFIX, null, null, 0, 20, null)).isEmpty();
+        assertThat(cardService.searchCards("  ", CardSearchMode.PREFIX, null, null, 0, 20, null))
+            .extracting(CardDto::id)
+            .containsExactly(9L);
+        assertThat(search.modeArg).isNull();
+    }
+
+    private static CardEntity card(Long id) {
+        CardEntity entity = new CardEntity();
+        entity.setId(id);
+        entity.setFront("Front " + id);
+        entity.setBack("Back " + id);
+        entity.setStatus(CardStatus.ACTIVE);
+        entity.setCreatedAt(Instant.parse("2026-01-01T10:00:00Z").plusSeconds(id));
+        return entity;
+    }
+
     private static Stream<Arguments> sortCases() {
         return Stream.of(
             Arguments.of(null, Sort.Direction.ASC, "id"),
@@ -384,6 +542,50 @@ class CardServiceTest {
         );
     }
 
+    private static final class SearchStub extends CardSearchRepository {
+        private final List<Long> ids = new ArrayList<>();
+        private CardSearchMode modeArg;
+        private String termsArg;
+        private Sort sortArg;
+        private long offsetArg;
+        private int limitArg;
+
+        private SearchStub() {
+            super(null);
+        }
+
+        @Override
+        public List<Long> findMatchingIds(
+            CardSearchMode mode,
+            String terms,
+            CardStatus status,
+            Integer box,
+            Sort sort,
+            long offset,
+            int limit
+        ) {
+            this.modeArg = mode;
+            this.termsArg = terms;
+            this.sortArg = sort;
+            this.offsetArg = offset;
+            this.limitArg = limit;
+            return ids;
+        }
+    }
+
+    private static final class BoxStatsStub extends MemoQuizQuizBoxStatsRepository {
+        private final List<String> adjustments = new ArrayList<>();
+
+        private BoxStatsStub() {
+            super(null);
+        }
+
+        @Override
+        public void adjustEnabledMemberships(Long cardId, long delta) {
+            adjustments.add(cardId + ":" + delta);
+        }
+    }
+
     private static final class RepositoryStub implements InvocationHandler {
         private java.util.function.Function<CardEntity, CardEntity> saveBehavior = entity -> entity;
         private java.util.function.Function<List<CardEntity>, List<CardEntity>> saveAllBehavior = entities -> entities;
@@ -398,6 +600,12 @@ class CardServiceTest {
         private int findAllCalls;
         private Specification<CardEntity> lastSpecification;
         private Pageable lastPageable;
+        private List<CardEntity> findByRows = List.of();
+        private Sort lastFluentSort;
+        private int lastFluentLimit = Integer.MAX_VALUE;
+        private List<String> lastFluentProjection = List.of();
+        private List<CardEntity> findWithProgressRows = List.of();
+        private int findWithProgressCalls;
 
         private CardRepository repository() {
             return (CardRepository) Proxy.newProxyInstance(
@@ -423,6 +631,37 @@ class CardServiceTest {
             this.findAllBehavior = behavior;
         }
 
+        private void onFindWithProgress(List<CardEntity> rows) {
+            this.findWithProgressRows = rows;
+        }
+
+        private void onFindBy(List<CardEntity> rows) {
+            this.findByRows = rows;
+        }
+
+        private Object fluentQuery() {
+            return Proxy.newProxyInstance(
+                JpaSpecificationExecutor.class.getClassLoader(),
+                new Class<?>[] {JpaSpecificationExecutor.SpecificationFluentQuery.class},
+                (fluentProxy, method, args) -> switch (method.getName()) {
+                    case "sortBy" -> {
+                        lastFluentSort = (Sort) args[0];
+                        yield fluentProxy;
+                    }
+                    case "project" -> {
+                        lastFluentProjection = List.of((String[]) args[0]);
+                        yield fluentProxy;
+                    }
+                    case "limit" -> {
+                        lastFluentLimit = (Integer) args[0];
+                        yield fluentProxy;
+                    }
+                    case "all" -> findByRows.subList(0, Math.min(lastFluentLimit, findByRows.size()));
+                    default -> throw new UnsupportedOperationException("Unsupported fluent query method: " + method.getName());
+                }
+            );
+        }
+
         @Override
         public Object invoke(Object proxy, Method method, Object[] args) {
             String name = method.getName();
@@ -449,6 +688,11 @@ class CardServiceTest {
                 return findByIdBehavior.apply(id);
             }
 
+            if ("findWithProgressByIdIn".equals(name) && args != null && args.length == 1) {
+                findWithProgressCalls++;
+                return findWithProgressRows;
+            }
+
             if ("findAll".equals(name) && args != null && args.length == 2 && args[1] instanceof Pageable pageable) {
                 if (!(args[0] instanceof Specification<?> specification)) {
                     throw new UnsupportedOperationException("Unsupported findAll signature");
@@ -461,6 +705,15 @@ class CardServiceTest {
                 return findAllBehavior.apply(typedSpecification, pageable);
             }
 
+            if ("findBy".equals(name) && args != null && args.length == 2 && args[0] instanceof Specification<?> specification) {
+                @SuppressWarnings("unchecked")
+                Specification<CardEntity> typedSpecification = (Specification<CardEntity>) specification;
+                lastSpecification = typedSpecification;
+                @SuppressWarnings("unchecked")
+                java.util.function.Function<Object, Object> queryFunction = (java.util.function.Function<Object, Object>) args[1];
+                return queryFunction.apply(fluentQuery());
+            }
+
             if ("toString".equals(name)) {
                 return "RepositoryStub";
             }
@@ -0,0 +1,116 @@
+package dev.sidequestlab.backend.memoquiz.service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CompiledScheduleTest {
+
+    private final CompiledSchedule schedule = CompiledSchedule.compile(Map.of(
+        1, List.of(2, 1),
+        2, List.of(3, 1),
+        3, List.of(2, 1),
+        4, List.of(1)
+    ));
+
+    @Test
+    void maskForDaySetsOneBitPerConfiguredBox() {
+        assertThat(schedule.maskForDay(1)).isEqualTo(0b011);
+        assertThat(schedule.maskForDay(2)).isEqualTo(0b101);
+        assertThat(schedule.maskForDay(4)).isEqualTo(0b001);
+        assertThat(CompiledSchedule.containsBox(schedule.maskForDay(1), 2)).isTrue();
+        assertThat(CompiledSchedule.containsBox(schedule.maskForDay(1), 3)).isFalse();
+        assertThat(CompiledSchedule.containsBox(schedule.maskForDay(4), 9)).isFalse();
+    }
+
+    @Test
+    void isDueReadsDayMask() {
+        assertThat(schedule.isDue(1, 2)).isTrue();
+        assertThat(schedule.isDue(1, 3)).isFalse();
+        assertThat(schedule.isDue(4, 1)).isTrue();
+        assertThat(schedule.isDue(4, 9)).isFalse();
+    }
+
+    @Test
+    void nextDueDayAndDaysUntilDueWrapAroundSchedule() {
+        assertThat(schedule.nextDueDay(1, 2)).isEqualTo(3);
+        assertThat(schedule.daysUntilDue(1, 2)).isEqualTo(2);
+
+        assertThat(schedule.nextDueDay(3, 2)).isEqualTo(1);
+        assertThat(schedule.daysUntilDue(3, 2)).isEqualTo(2);
+
+        assertThat(schedule.nextDueDay(2, 3)).isEqualTo(2);
+        assertThat(schedule.daysUntilDue(2, 3)).isEqualTo(4);
+
+        assertThat(schedule.nextDueDay(4, 1)).isEqualTo(1);
+        assertThat(schedule.daysUntilDue(4, 1)).isEqualTo(1);
+    }
+
+    @Test
+    void boxesNeverScheduledReportZero() {
+        assertThat(schedule.nextDueDay(1, 7)).isZero();
+        assertThat(schedule.daysUntilDue(1, 7)).isZero();
+    }
+
+    @Test
+    void forecastReturnsMasksStartingAtGivenDayAndWraps() {
+        assertThat(schedule.forecast(3, 4)).containsExactly(0b011, 0b001, 0b011, 0b101);
+        assertThat(schedule.forecast(1, 0)).isEmpty();
+    }
+
+    @Test
+    void nextDayIndexWraps() {
+        assertThat(schedule.nextDayIndex(3)).isEqualTo(4);
+        assertThat(schedule.nextDayIndex(4)).isEqualTo(1);
+    }
+
+    @Test
+    void lookupsRejectOutOfRangeArguments() {
+        assertThatThrownBy(() -> schedule.maskForDay(5))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("dayIndex must be between 1 and 4");
+        assertThatThrownBy(() -> schedule.boxesForDay(0))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> schedule.daysUntilDue(1, 0))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("box must be between 1 and 7");
+        assertThatThrownBy(() -> schedule.forecast(1, -1))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void boxesForDayKeepsConfiguredOrderWithoutCopying() {
+        assertThat(schedule.boxesForDay(2)).containsExactly(3, 1);
+        assertThat(schedule.boxesForDay(2)).isSameAs(schedule.boxesForDay(2));
+    }
+
+    @Test
+    void compileRejectsDaysOutsideTheSchedule() {
+        assertThatThrownBy(() -> CompiledSchedule.compile(Map.of(1, List.of(1), 3, List.of(2))))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("No boxes configured for day 2");
+        assertThatThrownBy(() -> CompiledSchedule.compile(Map.of(0, List.of(1))))
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void compileRejectsDaysWithoutBoxList() {
+        Map<Integer, List<Integer>> missing = new HashMap<>();
+        missing.put(1, null);
+
+        assertThatThrownBy(() -> CompiledSchedule.compile(missing))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("No boxes configured for day 1");
+    }
+
+    @Test
+    void compileRejectsUnknownBoxes() {
+        assertThatThrownBy(() -> CompiledSchedule.compile(Map.of(1, List.of(8))))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("Invalid box 8 configured for day 1");
+    }
+}
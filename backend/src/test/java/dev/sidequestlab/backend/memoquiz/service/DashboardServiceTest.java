@@ -1,25 +1,28 @@
 package dev.sidequestlab.backend.memoquiz.service;
 
-import dev.sidequestlab.backend.memoquiz.api.enums.CardStatus;
-import dev.sidequestlab.backend.memoquiz.persistence.entity.MemoQuizSessionEntity;
 import dev.sidequestlab.backend.memoquiz.persistence.projection.BoxOverviewProjection;
-import dev.sidequestlab.backend.memoquiz.persistence.repository.MemoQuizQuizCardRepository;
-import dev.sidequestlab.backend.memoquiz.persistence.repository.MemoQuizReviewLogRepository;
-import dev.sidequestlab.backend.memoquiz.persistence.repository.MemoQuizSessionItemRepository;
-import dev.sidequestlab.backend.memoquiz.persistence.repository.MemoQuizSessionRepository;
+import dev.sidequestlab.backend.memoquiz.api.dto.ReviewHistoryDayDto;
+import dev.sidequestlab.backend.memoquiz.persistence.projection.DashboardSnapshotProjection;
+import dev.sidequestlab.backend.memoquiz.persistence.projection.ReviewDayProjection;
+import dev.sidequestlab.backend.memoquiz.persistence.repository.MemoQuizDashboardQueryRepository;
 import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyCollection;
-import static org.mockito.ArgumentMatchers.eq;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -27,50 +30,33 @@ import static org.mockito.Mockito.when;
 class DashboardServiceTest {
 
     @Mock
-    private MemoQuizSessionRepository sessionRepository;
-
-    @Mock
-    private MemoQuizSessionItemRepository sessionItemRepository;
-
-    @Mock
-    private MemoQuizReviewLogRepository reviewLogRepository;
-
-    @Mock
-    private MemoQuizQuizCardRepository quizCardRepository;
+    private MemoQuizDashboardQueryRepository dashboardQueryRepository;
 
     @Mock
     private ScheduleProvider scheduleProvider;
 
-    @Mock
-    private QuizService quizService;
-
     @InjectMocks
     private DashboardService dashboardService;
 
     @Test
     void usesTodaySessionDayIndexAndDisablesStart() {
-        MemoQuizSessionEntity todaySession = new MemoQuizSessionEntity();
-        todaySession.setId(12L);
-        todaySession.setStartedAt(Instant.parse("2026-02-12T09:00:00Z"));
-        todaySession.setDayIndex(7);
-
-        when(sessionRepository.findTopByStartedAtGreaterThanEqualAndStartedAtLessThanOrderByStartedAtDescIdDesc(any(), any()))
-            .thenReturn(Optional.of(todaySession));
-        when(sessionRepository.findTopByOrderByStartedAtDescIdDesc()).thenReturn(Optional.of(todaySession));
-        when(scheduleProvider.scheduleLength()).thenReturn(64);
+        DashboardSnapshotProjection.LastSession todaySession = new DashboardSnapshotProjection.LastSession(
+            12L, todayAt(9), 300, 7, 4L, 3L, 4L
+        );
+        when(dashboardQueryRepository.findSnapshot(QuizService.DEFAULT_QUIZ_CODE))
+            .thenReturn(Optional.of(new DashboardSnapshotProjection(
+                List.of(
+                    new BoxOverviewProjection(1, 11L),
+                    new BoxOverviewProjection(2, 5L),
+                    new BoxOverviewProjection(4, 1L)
+                ),
+                17L,
+                todaySession
+            )));
+        when(scheduleProvider.compiledSchedule()).thenReturn(schedule(64, Map.of(7, List.of(1, 4), 8, List.of(2))));
         when(scheduleProvider.boxesForDay(7)).thenReturn(List.of(1, 4));
+        when(scheduleProvider.boxMaskForDay(7)).thenReturn(0b1001);
         when(scheduleProvider.boxesForDay(8)).thenReturn(List.of(2));
-        when(quizService.getDefaultQuizId()).thenReturn(1L);
-        when(quizCardRepository.countEligibleForSession(eq(1L), anyCollection(), eq(CardStatus.ACTIVE))).thenReturn(5L);
-        when(quizCardRepository.countEnabledByQuizIdAndCardStatus(1L, CardStatus.ACTIVE)).thenReturn(17L);
-        when(reviewLogRepository.countBySessionId(12L)).thenReturn(4L);
-        when(reviewLogRepository.countBySessionIdAndCorrectTrue(12L)).thenReturn(3L);
-        when(quizCardRepository.findEnabledActiveBoxOverview(1L, CardStatus.ACTIVE))
-            .thenReturn(List.of(
-                new BoxOverviewProjection(1, 11L),
-                new BoxOverviewProjection(2, 5L),
-                new BoxOverviewProjection(4, 1L)
-            ));
 
         var dashboard = dashboardService.today();
 
@@ -78,12 +64,14 @@ class DashboardServiceTest {
         assertThat(dashboard.canStartSession()).isFalse();
         assertThat(dashboard.boxesToday()).containsExactly(1, 4);
         assertThat(dashboard.boxesTomorrow()).containsExactly(2);
-        assertThat(dashboard.dueToday()).isEqualTo(5);
+        assertThat(dashboard.dueToday()).isEqualTo(12);
         assertThat(dashboard.totalCards()).isEqualTo(17);
         assertThat(dashboard.lastSessionSummary()).isNotNull();
         assertThat(dashboard.lastSessionSummary().reviewedCards()).isEqualTo(4);
         assertThat(dashboard.lastSessionSummary().goodAnswers()).isEqualTo(3);
         assertThat(dashboard.lastSessionSummary().successRate()).isEqualTo(75.0);
+        assertThat(dashboard.lastSessionSummary().durationSeconds()).isEqualTo(300);
+        assertThat(dashboard.lastSessionSummary().sessionId()).isEqualTo(todaySession.id());
         assertThat(dashboard.boxesOverview())
             .extracting(box -> box.boxNumber(), box -> box.isToday())
             .containsExactly(
@@ -91,29 +79,28 @@ class DashboardServiceTest {
                 org.assertj.core.groups.Tuple.tuple(2, false),
                 org.assertj.core.groups.Tuple.tuple(4, true)
             );
-        verify(scheduleProvider).scheduleLength();
+        assertThat(dashboard.boxesOverview())
+            .extracting(box -> box.nextDueInDays())
+            .containsExactly(0, 1, 0);
+        assertThat(dashboard.dueForecast()).containsExactly(12, 5, 11, 11, 11, 11, 11);
+        verify(scheduleProvider).compiledSchedule();
     }
 
     @Test
     void computesNextDayIndexWhenNoSessionToday() {
-        MemoQuizSessionEntity lastSession = new MemoQuizSessionEntity();
-        lastSession.setId(20L);
-        lastSession.setStartedAt(Instant.parse("2026-02-11T09:00:00Z"));
-        lastSession.setDayIndex(12);
-
-        when(sessionRepository.findTopByStartedAtGreaterThanEqualAndStartedAtLessThanOrderByStartedAtDescIdDesc(any(), any()))
-            .thenReturn(Optional.empty());
-        when(sessionRepository.findTopByOrderByStartedAtDescIdDesc()).thenReturn(Optional.of(lastSession));
-        when(scheduleProvider.scheduleLength()).thenReturn(64);
+        DashboardSnapshotProjection.LastSession lastSession = new DashboardSnapshotProjection.LastSession(
+            20L, todayAt(9).minusSeconds(86_400), null, 12, 0L, 0L, 0L
+        );
+        when(dashboardQueryRepository.findSnapshot(QuizService.DEFAULT_QUIZ_CODE))
+            .thenReturn(Optional.of(new DashboardSnapshotProjection(
+                List.of(new BoxOverviewProjection(1, 4L), new BoxOverviewProjection(2, 5L), new BoxOverviewProjection(3, 22L)),
+                31L,
+                lastSession
+            )));
+        when(scheduleProvider.compiledSchedule()).thenReturn(schedule(64, Map.of(13, List.of(2, 1), 14, List.of(3))));
         when(scheduleProvider.boxesForDay(13)).thenReturn(List.of(2, 1));
+        when(scheduleProvider.boxMaskForDay(13)).thenReturn(0b0011);
         when(scheduleProvider.boxesForDay(14)).thenReturn(List.of(3));
-        when(quizService.getDefaultQuizId()).thenReturn(1L);
-        when(quizCardRepository.countEligibleForSession(eq(1L), anyCollection(), eq(CardStatus.ACTIVE))).thenReturn(9L);
-        when(quizCardRepository.countEnabledByQuizIdAndCardStatus(1L, CardStatus.ACTIVE)).thenReturn(31L);
-        when(reviewLogRepository.countBySessionId(20L)).thenReturn(0L);
-        when(reviewLogRepository.countBySessionIdAndCorrectTrue(20L)).thenReturn(0L);
-        when(sessionItemRepository.countBySessionId(20L)).thenReturn(0L);
-        when(quizCardRepository.findEnabledActiveBoxOverview(1L, CardStatus.ACTIVE)).thenReturn(List.of());
 
         var dashboard = dashboardService.today();
 
@@ -122,30 +109,31 @@ class DashboardServiceTest {
         assertThat(dashboard.boxesToday()).containsExactly(2, 1);
         assertThat(dashboard.boxesTomorrow()).containsExactly(3);
         assertThat(dashboard.dueToday()).isEqualTo(9);
-        verify(scheduleProvider).scheduleLength();
+        assertThat(dashboard.dueForecast()).containsExactly(9, 22, 4, 4, 4, 4, 4);
+        assertThat(dashboard.boxesOverview())
+            .extracting(box -> box.nextDueInDays())
+            .containsExactly(0, 0, 1);
+        assertThat(dashboard.totalCards()).isEqualTo(31);
+        assertThat(dashboard.lastSessionSummary().reviewedCards()).isZero();
+        assertThat(dashboard.lastSessionSummary().successRate()).isEqualTo(0.0);
+        verify(scheduleProvider).compiledSchedule();
     }
 
     @Test
     void wrapsDayIndexUsingScheduleLengthFromProvider() {
-        MemoQuizSessionEntity lastSession = new MemoQuizSessionEntity();
-        lastSession.setId(33L);
-        lastSession.setStartedAt(Instant.parse("2026-02-11T10:00:00Z"));
-        lastSession.setDayIndex(3);
-
-        when(sessionRepository.findTopByStartedAtGreaterThanEqualAndStartedAtLessThanOrderByStartedAtDescIdDesc(any(), any()))
-            .thenReturn(Optional.empty());
-        when(sessionRepository.findTopByOrderByStartedAtDescIdDesc()).thenReturn(Optional.of(lastSession));
-        when(scheduleProvider.scheduleLength()).thenReturn(3);
+        DashboardSnapshotProjection.LastSession lastSession = new DashboardSnapshotProjection.LastSession(
+            33L, todayAt(10).minusSeconds(86_400), 120, 3, 0L, 0L, 7L
+        );
+        when(dashboardQueryRepository.findSnapshot(QuizService.DEFAULT_QUIZ_CODE))
+            .thenReturn(Optional.of(new DashboardSnapshotProjection(
+                List.of(new BoxOverviewProjection(1, 25L), new BoxOverviewProjection(2, 15L)),
+                40L,
+                lastSession
+            )));
+        when(scheduleProvider.compiledSchedule()).thenReturn(schedule(3, Map.of(2, List.of(2))));
         when(scheduleProvider.boxesForDay(1)).thenReturn(List.of(1));
+        when(scheduleProvider.boxMaskForDay(1)).thenReturn(0b0001);
         when(scheduleProvider.boxesForDay(2)).thenReturn(List.of(2));
-        when(quizService.getDefaultQuizId()).thenReturn(1L);
-        when(quizCardRepository.countEligibleForSession(eq(1L), anyCollection(), eq(CardStatus.ACTIVE))).thenReturn(25L);
-        when(quizCardRepository.countEnabledByQuizIdAndCardStatus(1L, CardStatus.ACTIVE)).thenReturn(40L);
-        when(reviewLogRepository.countBySessionId(33L)).thenReturn(0L);
-        when(reviewLogRepository.countBySessionIdAndCorrectTrue(33L)).thenReturn(0L);
-        when(sessionItemRepository.countBySessionId(33L)).thenReturn(7L);
-        when(quizCardRepository.findEnabledActiveBoxOverview(1L, CardStatus.ACTIVE))
-            .thenReturn(List.of(new BoxOverviewProjection(1, 2L)));
 
         var dashboard = dashboardService.today();
 
@@ -158,4 +146,85 @@ class DashboardServiceTest {
         assertThat(dashboard.lastSessionSummary().goodAnswers()).isEqualTo(0);
         verify(scheduleProvider).boxesForDay(1);
     }
+
+    @Test
+    void startsAtFirstDayWithoutAnySession() {
+        when(dashboardQueryRepository.findSnapshot(QuizService.DEFAULT_QUIZ_CODE))
+            .thenReturn(Optional.of(new DashboardSnapshotProjection(List.of(), 0L, null)));
+        when(scheduleProvider.compiledSchedule()).thenReturn(schedule(64, Map.of(2, List.of(2, 1))));
+        when(scheduleProvider.boxesForDay(1)).thenReturn(List.of(1));
+        when(scheduleProvider.boxMaskForDay(1)).thenReturn(0b0001);
+        when(scheduleProvider.boxesForDay(2)).thenReturn(List.of(2, 1));
+
+        var dashboard = dashboardService.today();
+
+        assertThat(dashboard.dayIndex()).isEqualTo(1);
+        assertThat(dashboard.canStartSession()).isTrue();
+        assertThat(dashboard.dueToday()).isZero();
+        assertThat(dashboard.totalCards()).isZero();
+        assertThat(dashboard.lastSessionSummary()).isNull();
+        assertThat(dashboard.boxesOverview()).isEmpty();
+        assertThat(dashboard.dueForecast()).containsOnly(0).hasSize(DashboardService.FORECAST_DAYS);
+    }
+
+    @Test
+    void failsWhenDefaultQuizIsMissing() {
+        when(dashboardQueryRepository.findSnapshot(QuizService.DEFAULT_QUIZ_CODE))
+            .thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> dashboardService.today())
+            .isInstanceOf(ResponseStatusException.class)
+            .extracting(ex -> ((ResponseStatusException) ex).getStatusCode())
+            .isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    void reportsBoxesMissingFromTheScheduleAsNeverDue() {
+        when(dashboardQueryRepository.findSnapshot(QuizService.DEFAULT_QUIZ_CODE))
+            .thenReturn(Optional.of(new DashboardSnapshotProjection(
+                List.of(new BoxOverviewProjection(1, 3L), new BoxOverviewProjection(7, 2L)),
+                5L,
+                null
+            )));
+        when(scheduleProvider.compiledSchedule()).thenReturn(schedule(3, Map.of()));
+        when(scheduleProvider.boxesForDay(1)).thenReturn(List.of(1));
+        when(scheduleProvider.boxMaskForDay(1)).thenReturn(0b0001);
+        when(scheduleProvider.boxesForDay(2)).thenReturn(List.of(1));
+
+        var dashboard = dashboardService.today();
+
+        assertThat(dashboard.boxesOverview())
+            .extracting(box -> box.nextDueInDays())
+            .containsExactly(0, null);
+        assertThat(dashboard.dueForecast()).containsOnly(3);
+    }
+
+    @Test
+    void historyListsEveryDayUpToTodayWithZeroForDaysWithoutAnswers() {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        when(dashboardQueryRepository.findReviewHistory(today.minusDays(2), today.plusDays(1)))
+            .thenReturn(List.of(
+                new ReviewDayProjection(today.minusDays(2), 12L, 9L),
+                new ReviewDayProjection(today, 4L, 4L)
+            ));
+
+        assertThat(dashboardService.history(3)).containsExactly(
+            new ReviewHistoryDayDto(today.minusDays(2), 12, 9),
+            new ReviewHistoryDayDto(today.minusDays(1), 0, 0),
+            new ReviewHistoryDayDto(today, 4, 4)
+        );
+    }
+
+    // Every day not listed in days reviews box 1 only.
+    private static CompiledSchedule schedule(int length, Map<Integer, List<Integer>> days) {
+        Map<Integer, List<Integer>> schedule = new HashMap<>();
+        for (int day = 1; day <= length; day++) {
+            schedule.put(day, days.getOrDefault(day, List.of(1)));
+        }
+        return CompiledSchedule.compile(schedule);
+    }
+
+    private static Instant todayAt(int hour) {
+        return LocalDate.now().atTime(hour, 0).atZone(ZoneId.systemDefault()).toInstant();
+    }
 }
@@ -0,0 +1,132 @@
+package dev.sidequestlab.backend.memoquiz.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.sidequestlab.backend.memoquiz.api.dto.QuizCardItemDto;
+import dev.sidequestlab.backend.memoquiz.api.dto.QuizCardPageDto;
+import dev.sidequestlab.backend.memoquiz.api.enums.QuizCardField;
+import dev.sidequestlab.backend.memoquiz.persistence.repository.QuizCardListingRepository;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class QuizCardListingServiceTest {
+
+    private final StubListingRepository repository = new StubListingRepository();
+    private final QuizCardListingService service = new QuizCardListingService(
+        new DefaultQuizStub(),
+        repository,
+        new ObjectMapper(),
+        100
+    );
+
+    @Test
+    void parseFieldsDefaultsToEveryFieldAndAlwaysKeepsId() {
+        assertThat(QuizCardListingService.parseFields(null)).isEqualTo(EnumSet.allOf(QuizCardField.class));
+        assertThat(QuizCardListingService.parseFields(" front , BOX,"))
+            .containsExactlyInAnyOrder(QuizCardField.ID, QuizCardField.FRONT, QuizCardField.BOX);
+    }
+
+    @Test
+    void parseFieldsRejectsUnknownField() {
+        assertThatThrownBy(() -> QuizCardListingService.parseFields("id,answer"))
+            .isInstanceOfSatisfying(ResponseStatusException.class, e -> {
+                assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+                assertThat(e.getReason()).isEqualTo("Unsupported field: answer");
+            });
+    }
+
+    @Test
+    void pageFetchesOneExtraRowToExposeNextCursor() {
+        repository.rows = List.of(item(5L), item(8L), item(9L));
+
+        QuizCardPageDto page = service.defaultQuizCardsPage(3L, 2, "id,box");
+
+        assertThat(page.items()).extracting(QuizCardItemDto::cardId).containsExactly(5L, 8L);
+        assertThat(page.nextAfter()).isEqualTo(8L);
+        assertThat(repository.quizId).isEqualTo(4L);
+        assertThat(repository.after).isEqualTo(3L);
+        assertThat(repository.limit).isEqualTo(3);
+        assertThat(repository.fields).containsExactlyInAnyOrder(QuizCardField.ID, QuizCardField.BOX);
+    }
+
+    @Test
+    void lastPageHasNoNextCursor() {
+        repository.rows = List.of(item(5L));
+
+        QuizCardPageDto page = service.defaultQuizCardsPage(null, 2, null);
+
+        assertThat(page.items()).hasSize(1);
+        assertThat(page.nextAfter()).isNull();
+        assertThat(repository.after).isZero();
+    }
+
+    @Test
+    void streamWritesOneJsonObjectPerLineWithoutUnselectedFields() throws Exception {
+        repository.rows = List.of(new QuizCardItemDto(5L, "F5", null, 2), new QuizCardItemDto(8L, "F8", null, 1));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        service.streamDefaultQuizCards(out, "front,box");
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("""
+            {"cardId":5,"front":"F5","box":2}
+            {"cardId":8,"front":"F8","box":1}
+            """);
+        assertThat(repository.fetchSize).isEqualTo(100);
+    }
+
+    private static QuizCardItemDto item(long cardId) {
+        return new QuizCardItemDto(cardId, null, null, 1);
+    }
+
+    private static final class DefaultQuizStub extends QuizService {
+
+        private DefaultQuizStub() {
+            super(null, null, null, null, null, null, null, null);
+        }
+
+        @Override
+        public Long getDefaultQuizId() {
+            return 4L;
+        }
+    }
+
+    private static final class StubListingRepository extends QuizCardListingRepository {
+        private List<QuizCardItemDto> rows = new ArrayList<>();
+        private Long quizId;
+        private Set<QuizCardField> fields;
+        private long after;
+        private int limit;
+        private int fetchSize;
+
+        private StubListingRepository() {
+            super(null);
+        }
+
+        @Override
+        public List<QuizCardItemDto> findPage(Long quizId, Set<QuizCardField> fields, long afterCardId, int limit) {
+            this.quizId = quizId;
+            this.fields = fields;
+            this.after = afterCardId;
+            this.limit = limit;
+            return rows;
+        }
+
+        @Override
+        public void stream(Long quizId, Set<QuizCardField> fields, int fetchSize, Consumer<QuizCardItemDto> consumer) {
+            this.quizId = quizId;
+            this.fields = fields;
+            this.fetchSize = fetchSize;
+            rows.forEach(consumer);
+        }
+    }
+}
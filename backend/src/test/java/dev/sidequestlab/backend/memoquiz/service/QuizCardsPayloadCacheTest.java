@@ -0,0 +1,83 @@
+package dev.sidequestlab.backend.memoquiz.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.sidequestlab.backend.memoquiz.api.dto.SessionCardDto;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QuizCardsPayloadCacheTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void servesSerializedPayloadFromCacheUntilInvalidated() {
+        QuizCardsPayloadCache cache = new QuizCardsPayloadCache(new ObjectMapper(), 1024 * 1024);
+
+        byte[] first = cache.get(1L, () -> load(card(10L, "Front")));
+        byte[] second = cache.get(1L, () -> load(card(10L, "Changed")));
+
+        assertThat(second).isSameAs(first);
+        assertThat(loads).hasValue(1);
+        assertThat(new String(first, StandardCharsets.UTF_8))
+            .isEqualTo("[{\"cardId\":10,\"front\":\"Front\",\"back\":\"Back\",\"box\":1}]");
+
+        cache.onQuizCardsChanged(QuizCardsChangedEvent.forQuiz(1L));
+        byte[] reloaded = cache.get(1L, () -> load(card(10L, "Changed")));
+
+        assertThat(loads).hasValue(2);
+        assertThat(new String(reloaded, StandardCharsets.UTF_8)).contains("\"front\":\"Changed\"");
+    }
+
+    @Test
+    void cardChangeInvalidatesOnlyQuizzesHoldingTheCard() {
+        QuizCardsPayloadCache cache = new QuizCardsPayloadCache(new ObjectMapper(), 1024 * 1024);
+        cache.get(1L, () -> load(card(10L, "A"), card(11L, "B")));
+        cache.get(2L, () -> load(card(12L, "C")));
+
+        cache.onQuizCardsChanged(QuizCardsChangedEvent.forCard(11L));
+
+        assertThat(cache.size()).isEqualTo(1);
+        cache.get(2L, () -> load(card(12L, "C")));
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedPayloadsOverByteBudget() {
+        int payloadSize = new QuizCardsPayloadCache(new ObjectMapper(), 1024).get(0L, () -> load(card(1L, "A"))).length;
+        QuizCardsPayloadCache cache = new QuizCardsPayloadCache(new ObjectMapper(), payloadSize * 2L);
+
+        cache.get(1L, () -> load(card(1L, "A")));
+        cache.get(2L, () -> load(card(2L, "B")));
+        cache.get(1L, () -> load(card(1L, "A")));
+        cache.get(3L, () -> load(card(3L, "C")));
+
+        assertThat(cache.size()).isEqualTo(2);
+        cache.get(1L, () -> load(card(1L, "A")));
+        assertThat(loads).hasValue(4);
+    }
+
+    @Test
+    void doesNotStorePayloadLoadedConcurrentlyWithInvalidation() {
+        QuizCardsPayloadCache cache = new QuizCardsPayloadCache(new ObjectMapper(), 1024 * 1024);
+
+        cache.get(1L, () -> {
+            cache.invalidate(1L);
+            return load(card(10L, "Stale"));
+        });
+
+        assertThat(cache.size()).isZero();
+    }
+
+    private List<SessionCardDto> load(SessionCardDto... cards) {
+        loads.incrementAndGet();
+        return List.of(cards);
+    }
+
+    private static SessionCardDto card(Long id, String front) {
+        return new SessionCardDto(id, front, "Back", 1);
+    }
+}
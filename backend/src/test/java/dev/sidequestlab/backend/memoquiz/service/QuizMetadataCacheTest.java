@@ -0,0 +1,71 @@
+package dev.sidequestlab.backend.memoquiz.service;
+
+import dev.sidequestlab.backend.memoquiz.persistence.entity.MemoQuizQuizEntity;
+import dev.sidequestlab.backend.memoquiz.persistence.repository.MemoQuizQuizRepository;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class QuizMetadataCacheTest {
+
+    private final MemoQuizQuizRepository quizRepository = mock(MemoQuizQuizRepository.class);
+
+    @Test
+    void loadsOnceAndServesFromCache() {
+        when(quizRepository.findByCode("default")).thenReturn(Optional.of(quiz(1L, "default")));
+        QuizMetadataCache cache = new QuizMetadataCache(quizRepository, 4);
+
+        assertThat(cache.find("default")).contains(new QuizMetadata(1L, "default", "Quiz default"));
+        assertThat(cache.find("default")).contains(new QuizMetadata(1L, "default", "Quiz default"));
+
+        verify(quizRepository, times(1)).findByCode("default");
+    }
+
+    @Test
+    void doesNotCacheMisses() {
+        when(quizRepository.findByCode("later")).thenReturn(Optional.empty(), Optional.of(quiz(2L, "later")));
+        QuizMetadataCache cache = new QuizMetadataCache(quizRepository, 4);
+
+        assertThat(cache.find("later")).isEmpty();
+        assertThat(cache.find("later")).map(QuizMetadata::id).contains(2L);
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedEntryWhenFull() {
+        when(quizRepository.findByCode("a")).thenReturn(Optional.of(quiz(1L, "a")));
+        when(quizRepository.findByCode("b")).thenReturn(Optional.of(quiz(2L, "b")));
+        when(quizRepository.findByCode("c")).thenReturn(Optional.of(quiz(3L, "c")));
+        QuizMetadataCache cache = new QuizMetadataCache(quizRepository, 2);
+
+        cache.find("a");
+        cache.find("b");
+        cache.find("a");
+        cache.find("c");
+        cache.find("a");
+        cache.find("b");
+
+        assertThat(cache.size()).isEqualTo(2);
+        verify(quizRepository, times(1)).findByCode("a");
+        verify(quizRepository, times(2)).findByCode("b");
+    }
+
+    @Test
+    void rejectsNonPositiveSize() {
+        assertThatThrownBy(() -> new QuizMetadataCache(quizRepository, 0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static MemoQuizQuizEntity quiz(Long id, String code) {
+        MemoQuizQuizEntity quiz = new MemoQuizQuizEntity();
+        quiz.setId(id);
+        quiz.setCode(code);
+        quiz.setTitle("Quiz " + code);
+        return quiz;
+    }
+}
@@ -1,25 +1,33 @@
 package dev.sidequestlab.backend.memoquiz.service;
 
+import dev.sidequestlab.backend.memoquiz.api.dto.SessionCardDto;
 import dev.sidequestlab.backend.memoquiz.api.enums.CardStatus;
 import dev.sidequestlab.backend.memoquiz.persistence.entity.CardEntity;
 import dev.sidequestlab.backend.memoquiz.persistence.entity.MemoQuizQuizCardEntity;
 import dev.sidequestlab.backend.memoquiz.persistence.entity.MemoQuizQuizEntity;
 import dev.sidequestlab.backend.memoquiz.persistence.repository.CardRepository;
+import dev.sidequestlab.backend.memoquiz.persistence.repository.MemoQuizAdvisoryLockRepository;
+import dev.sidequestlab.backend.memoquiz.persistence.repository.MemoQuizQuizBoxStatsRepository;
 import dev.sidequestlab.backend.memoquiz.persistence.repository.MemoQuizQuizCardRepository;
 import dev.sidequestlab.backend.memoquiz.persistence.repository.MemoQuizQuizRepository;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -36,6 +44,21 @@ class QuizServiceTest {
     @Mock
     private CardRepository cardRepository;
 
+    @Mock
+    private MemoQuizQuizBoxStatsRepository boxStatsRepository;
+
+    @Mock
+    private QuizMetadataCache quizMetadataCache;
+
+    @Mock
+    private MemoQuizAdvisoryLockRepository advisoryLockRepository;
+
+    @Mock
+    private QuizCardsPayloadCache quizCardsPayloadCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private QuizService quizService;
 
@@ -50,7 +73,7 @@ class QuizServiceTest {
         card.setId(5L);
         card.setStatus(CardStatus.INACTIVE);
 
-        when(quizRepository.findByCode("default")).thenReturn(Optional.of(quiz));
+        when(quizMetadataCache.find("default")).thenReturn(Optional.of(QuizMetadata.from(quiz)));
         when(cardRepository.findById(5L)).thenReturn(Optional.of(card));
         when(quizCardRepository.findByQuizIdAndCardId(1L, 5L)).thenReturn(Optional.empty());
         when(quizCardRepository.save(any(MemoQuizQuizCardEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
@@ -69,6 +92,9 @@ class QuizServiceTest {
         ArgumentCaptor<CardEntity> cardCaptor = ArgumentCaptor.forClass(CardEntity.class);
         verify(cardRepository).save(cardCaptor.capture());
         assertThat(cardCaptor.getValue().getStatus()).isEqualTo(CardStatus.ACTIVE);
+        verify(boxStatsRepository).adjustEnabledMemberships(5L, 1);
+        verify(boxStatsRepository).applyDeltas(1L, Map.of(1, 1L));
+        verify(eventPublisher).publishEvent(QuizCardsChangedEvent.forQuiz(1L));
     }
 
     @Test
@@ -86,7 +112,7 @@ class QuizServiceTest {
         membership.setEnabled(false);
         membership.setBox(5);
 
-        when(quizRepository.findByCode("default")).thenReturn(Optional.of(quiz));
+        when(quizMetadataCache.find("default")).thenReturn(Optional.of(QuizMetadata.from(quiz)));
         when(cardRepository.findById(6L)).thenReturn(Optional.of(card));
         when(quizCardRepository.findByQuizIdAndCardId(1L, 6L)).thenReturn(Optional.of(membership));
         when(quizCardRepository.save(any(MemoQuizQuizCardEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
@@ -109,7 +135,7 @@ class QuizServiceTest {
         card.setId(12L);
         card.setStatus(CardStatus.ARCHIVED);
 
-        when(quizRepository.findByCode("default")).thenReturn(Optional.of(quiz));
+        when(quizMetadataCache.find("default")).thenReturn(Optional.of(QuizMetadata.from(quiz)));
         when(cardRepository.findById(12L)).thenReturn(Optional.of(card));
         when(quizCardRepository.findByQuizIdAndCardId(1L, 12L)).thenReturn(Optional.empty());
         when(quizCardRepository.save(any(MemoQuizQuizCardEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
@@ -132,7 +158,7 @@ class QuizServiceTest {
         MemoQuizQuizEntity quiz = new MemoQuizQuizEntity();
         quiz.setId(1L);
 
-        when(quizRepository.findByCode("default")).thenReturn(Optional.of(quiz));
+        when(quizMetadataCache.find("default")).thenReturn(Optional.of(QuizMetadata.from(quiz)));
         when(cardRepository.findById(7L)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> quizService.addCardToDefaultQuiz(7L))
@@ -152,9 +178,14 @@ class QuizServiceTest {
         membership.setEnabled(true);
         membership.setBox(2);
 
-        when(quizRepository.findByCode("default")).thenReturn(Optional.of(quiz));
+        when(quizMetadataCache.find("default")).thenReturn(Optional.of(QuizMetadata.from(quiz)));
+        CardEntity card = new CardEntity();
+        card.setId(8L);
+        card.setStatus(CardStatus.ACTIVE);
+
         when(quizCardRepository.findByQuizIdAndCardId(1L, 8L)).thenReturn(Optional.of(membership));
         when(quizCardRepository.save(any(MemoQuizQuizCardEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(cardRepository.findById(8L)).thenReturn(Optional.of(card));
 
         quizService.removeCardFromDefaultQuiz(8L);
 
@@ -163,6 +194,50 @@ class QuizServiceTest {
         MemoQuizQuizCardEntity saved = membershipCaptor.getValue();
         assertThat(saved.isEnabled()).isFalse();
         assertThat(saved.getBox()).isEqualTo(2);
+        verify(boxStatsRepository).applyDeltas(1L, Map.of(2, -1L));
+        verify(eventPublisher).publishEvent(QuizCardsChangedEvent.forQuiz(1L));
+    }
+
+    @Test
+    void addCardToDefaultQuizAlreadyEnabledDoesNotInvalidateCards() {
+        MemoQuizQuizEntity quiz = new MemoQuizQuizEntity();
+        quiz.setId(1L);
+
+        CardEntity card = new CardEntity();
+        card.setId(6L);
+        card.setStatus(CardStatus.ACTIVE);
+
+        MemoQuizQuizCardEntity membership = new MemoQuizQuizCardEntity();
+        membership.setQuizId(1L);
+        membership.setCardId(6L);
+        membership.setEnabled(true);
+        membership.setBox(2);
+
+        when(quizMetadataCache.find("default")).thenReturn(Optional.of(QuizMetadata.from(quiz)));
+        when(cardRepository.findById(6L)).thenReturn(Optional.of(card));
+        when(quizCardRepository.findByQuizIdAndCardId(1L, 6L)).thenReturn(Optional.of(membership));
+
+        quizService.addCardToDefaultQuiz(6L);
+
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void defaultQuizCardsPayloadLoadsThroughCacheForDefaultQuiz() {
+        MemoQuizQuizEntity quiz = new MemoQuizQuizEntity();
+        quiz.setId(4L);
+        byte[] payload = new byte[] {'[', ']'};
+        List<SessionCardDto> cards = List.of(new SessionCardDto(1L, "Front", "Back", 1));
+
+        when(quizMetadataCache.find("default")).thenReturn(Optional.of(QuizMetadata.from(quiz)));
+        when(quizCardRepository.findEnabledSessionCardsByQuizId(4L)).thenReturn(cards);
+        when(quizCardsPayloadCache.get(eq(4L), any())).thenAnswer(invocation -> {
+            Supplier<List<SessionCardDto>> loader = invocation.getArgument(1);
+            assertThat(loader.get()).isSameAs(cards);
+            return payload;
+        });
+
+        assertThat(quizService.defaultQuizCardsPayload()).isSameAs(payload);
     }
 
     @Test
@@ -170,7 +245,7 @@ class QuizServiceTest {
         MemoQuizQuizEntity quiz = new MemoQuizQuizEntity();
         quiz.setId(1L);
 
-        when(quizRepository.findByCode("default")).thenReturn(Optional.of(quiz));
+        when(quizMetadataCache.find("default")).thenReturn(Optional.of(QuizMetadata.from(quiz)));
         when(quizCardRepository.findByQuizIdAndCardId(1L, 9L)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> quizService.removeCardFromDefaultQuiz(9L))
@@ -178,4 +253,25 @@ class QuizServiceTest {
             .extracting("statusCode")
             .isEqualTo(HttpStatus.NOT_FOUND);
     }
+
+    @Test
+    void lockDefaultQuizForSessionCreationTakesAdvisoryLockOnCachedQuizId() {
+        when(quizMetadataCache.find("default")).thenReturn(Optional.of(new QuizMetadata(3L, "default", "Default Quiz")));
+
+        Long quizId = quizService.lockDefaultQuizForSessionCreation();
+
+        assertThat(quizId).isEqualTo(3L);
+        verify(advisoryLockRepository).lockSessionCreation(3L);
+        verify(quizRepository, never()).findByCode(any());
+    }
+
+    @Test
+    void getDefaultQuizIdMissingQuizThrows() {
+        when(quizMetadataCache.find("default")).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> quizService.getDefaultQuizId())
+            .isInstanceOf(ResponseStatusException.class)
+            .extracting("statusCode")
+            .isEqualTo(HttpStatus.NOT_FOUND);
+    }
 }
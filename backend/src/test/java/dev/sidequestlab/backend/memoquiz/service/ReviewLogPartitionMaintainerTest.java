@@ -0,0 +1,108 @@
+package dev.sidequestlab.backend.memoquiz.service;
+
+import dev.sidequestlab.backend.memoquiz.persistence.repository.MemoQuizReviewLogPartitionRepository;
+import java.time.YearMonth;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.transaction.support.TransactionOperations;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReviewLogPartitionMaintainerTest {
+
+    private static final YearMonth CURRENT = YearMonth.of(2026, 10);
+
+    @Mock
+    private MemoQuizReviewLogPartitionRepository partitionRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Test
+    void createsMissingMonthsAheadAndRollsUpExpiredOnes() {
+        when(partitionRepository.findPartitionMonths()).thenReturn(List.of(
+            YearMonth.of(2025, 8), YearMonth.of(2025, 9), YearMonth.of(2025, 10), CURRENT, YearMonth.of(2026, 11)
+        ));
+
+        maintainer(true).maintain(CURRENT);
+
+        verify(partitionRepository).createPartition(YearMonth.of(2026, 12));
+        verify(partitionRepository).createPartition(YearMonth.of(2027, 1));
+        verify(partitionRepository, never()).createPartition(CURRENT);
+        InOrder rollUp = inOrder(partitionRepository);
+        rollUp.verify(partitionRepository).rollUpPartition(YearMonth.of(2025, 8));
+        rollUp.verify(partitionRepository).dropPartition(YearMonth.of(2025, 8));
+        rollUp.verify(partitionRepository).rollUpPartition(YearMonth.of(2025, 9));
+        rollUp.verify(partitionRepository).dropPartition(YearMonth.of(2025, 9));
+        rollUp.verify(partitionRepository).rollUpDefaultBefore(YearMonth.of(2025, 10));
+        verify(partitionRepository, never()).rollUpPartition(YearMonth.of(2025, 10));
+        verify(eventPublisher).publishEvent(new MemoQuizDataChangedEvent());
+    }
+
+    @Test
+    void detachesInsteadOfDroppingWhenConfigured() {
+        when(partitionRepository.findPartitionMonths()).thenReturn(List.of(YearMonth.of(2025, 1)));
+
+        maintainer(false).maintain(CURRENT);
+
+        verify(partitionRepository).rollUpPartition(YearMonth.of(2025, 1));
+        verify(partitionRepository).detachPartition(YearMonth.of(2025, 1));
+        verify(partitionRepository, never()).dropPartition(any());
+    }
+
+    @Test
+    void failedMonthDoesNotStopTheOthers() {
+        when(partitionRepository.findPartitionMonths()).thenReturn(List.of(YearMonth.of(2025, 1), YearMonth.of(2025, 2)));
+        doThrow(new CannotAcquireLockException("lock timeout")).when(partitionRepository).dropPartition(YearMonth.of(2025, 1));
+
+        maintainer(true).maintain(CURRENT);
+
+        verify(partitionRepository).dropPartition(YearMonth.of(2025, 2));
+        verify(partitionRepository).createPartition(CURRENT);
+        verify(eventPublisher).publishEvent(new MemoQuizDataChangedEvent());
+    }
+
+    @Test
+    void nothingExpiredPublishesNothing() {
+        when(partitionRepository.findPartitionMonths()).thenReturn(List.of(
+            CURRENT, CURRENT.plusMonths(1), CURRENT.plusMonths(2), CURRENT.plusMonths(3)
+        ));
+
+        maintainer(true).maintain(CURRENT);
+
+        verify(partitionRepository, never()).createPartition(any());
+        verify(partitionRepository, never()).rollUpPartition(any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void rejectsEmptyRetention() {
+        assertThatThrownBy(() -> new ReviewLogPartitionMaintainer(
+            partitionRepository, TransactionOperations.withoutTransaction(), eventPublisher, 3, 0, true
+        )).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private ReviewLogPartitionMaintainer maintainer(boolean dropExpired) {
+        return new ReviewLogPartitionMaintainer(
+            partitionRepository,
+            TransactionOperations.withoutTransaction(),
+            eventPublisher,
+            3,
+            12,
+            dropExpired
+        );
+    }
+}
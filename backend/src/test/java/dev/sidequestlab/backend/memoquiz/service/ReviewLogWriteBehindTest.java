@@ -0,0 +1,342 @@
+package dev.sidequestlab.backend.memoquiz.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.sidequestlab.backend.memoquiz.persistence.entity.MemoQuizReviewLogEntity;
+import dev.sidequestlab.backend.memoquiz.persistence.repository.MemoQuizAnswerBatchRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ReviewLogWriteBehindTest {
+
+    @TempDir
+    Path journalDirectory;
+
+    private final RecordingBatchRepository repository = new RecordingBatchRepository();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<Object> events = new ArrayList<>();
+
+    @Test
+    void flushInsertsQueuedLogsInBatchesAndDeletesTheirJournal() throws IOException {
+        ReviewLogWriteBehind writeBehind = writeBehind(10, 2);
+        writeBehind.open();
+
+        writeBehind.onReviewLogsRecorded(new ReviewLogsRecordedEvent(List.of(log(1L), log(2L), log(3L))));
+        assertThat(journalLines()).hasSize(3);
+
+        assertThat(writeBehind.flush()).isTrue();
+
+        assertThat(repository.batches).extracting(List::size).containsExactly(2, 1);
+        assertThat(repository.inserted()).extracting(MemoQuizReviewLogEntity::getCardId).containsExactly(1L, 2L, 3L);
+        assertThat(journalLines()).isEmpty();
+        assertThat(events).containsExactly(new MemoQuizDataChangedEvent());
+        assertThat(meterRegistry.counter("memoquiz.review.log.flushed").count()).isEqualTo(3);
+    }
+
+    @Test
+    void overflowingTheQueueSpillsToTheJournalAndReplaysEverything() {
+        ReviewLogWriteBehind writeBehind = writeBehind(2, 2);
+        writeBehind.open();
+
+        writeBehind.onReviewLogsRecorded(new ReviewLogsRecordedEvent(List.of(log(1L), log(2L), log(3L))));
+        assertThat(meterRegistry.counter("memoquiz.review.log.spilled").count()).isEqualTo(1);
+        assertThat(meterRegistry.get("memoquiz.review.log.queue.depth").gauge().value()).isEqualTo(2);
+
+        assertThat(writeBehind.flush()).isTrue();
+
+        assertThat(repository.batches).extracting(List::size).containsExactly(2, 1);
+        assertThat(repository.inserted()).extracting(MemoQuizReviewLogEntity::getCardId).containsExactly(1L, 2L, 3L);
+        assertThat(meterRegistry.get("memoquiz.review.log.queue.depth").gauge().value()).isZero();
+    }
+
+    @Test
+    void logsAreJournaledBeforeCommitButQueuedOnlyOnceCommitted() throws IOException {
+        ReviewLogWriteBehind writeBehind = writeBehind(10, 10);
+        writeBehind.open();
+
+        List<TransactionSynchronization> transaction = journalInTransaction(writeBehind, log(1L));
+        assertThat(journalLines()).hasSize(1);
+        assertThat(writeBehind.flush()).isTrue();
+        assertThat(repository.batches).isEmpty();
+
+        transaction.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        assertThat(writeBehind.flush()).isTrue();
+
+        assertThat(repository.inserted()).extracting(MemoQuizReviewLogEntity::getCardId).containsExactly(1L);
+    }
+
+    @Test
+    void rolledBackLogsAreNotReplayed() {
+        ReviewLogWriteBehind crashed = writeBehind(10, 10);
+        crashed.open();
+        journalInTransaction(crashed, log(1L))
+            .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        crashed.onReviewLogsRecorded(new ReviewLogsRecordedEvent(List.of(log(2L))));
+
+        ReviewLogWriteBehind restarted = writeBehind(10, 10);
+        restarted.open();
+        assertThat(restarted.flush()).isTrue();
+
+        assertThat(repository.inserted()).extracting(MemoQuizReviewLogEntity::getCardId).containsExactly(2L);
+    }
+
+    @Test
+    void logsStillInFlightAtAFlushKeepTheirSegment() {
+        ReviewLogWriteBehind crashed = writeBehind(10, 10);
+        crashed.open();
+        List<TransactionSynchronization> transaction = journalInTransaction(crashed, log(1L));
+        crashed.onReviewLogsRecorded(new ReviewLogsRecordedEvent(List.of(log(2L))));
+        assertThat(crashed.flush()).isTrue();
+        transaction.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        ReviewLogWriteBehind restarted = writeBehind(10, 10);
+        restarted.open();
+        assertThat(restarted.flush()).isTrue();
+
+        assertThat(repository.inserted()).extracting(MemoQuizReviewLogEntity::getCardId).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void rollbackRecordedAfterItsSegmentWasSealedIsStillHonoured() {
+        ReviewLogWriteBehind crashed = writeBehind(10, 10);
+        crashed.open();
+        List<TransactionSynchronization> transaction = journalInTransaction(crashed, log(1L));
+        crashed.onReviewLogsRecorded(new ReviewLogsRecordedEvent(List.of(log(2L))));
+        assertThat(crashed.flush()).isTrue();
+        transaction.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        ReviewLogWriteBehind restarted = writeBehind(10, 10);
+        restarted.open();
+        assertThat(restarted.flush()).isTrue();
+
+        assertThat(repository.inserted()).extracting(MemoQuizReviewLogEntity::getCardId).containsExactly(2L);
+    }
+
+    @Test
+    void segmentKeptForAnOpenTransactionIsDeletedOnceItCommitsAndIsWritten() throws IOException {
+        ReviewLogWriteBehind writeBehind = writeBehind(10, 10);
+        writeBehind.open();
+        List<TransactionSynchronization> transaction = journalInTransaction(writeBehind, log(1L));
+        assertThat(writeBehind.flush()).isTrue();
+        assertThat(journalLines()).hasSize(1);
+
+        transaction.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        assertThat(writeBehind.flush()).isTrue();
+
+        assertThat(repository.inserted()).extracting(MemoQuizReviewLogEntity::getCardId).containsExactly(1L);
+        assertThat(journalLines()).isEmpty();
+    }
+
+    // The process dies after the answer committed and before any flush: the journal alone carries the logs.
+    @Test
+    void logsCommittedJustBeforeACrashAreWrittenOnceAfterRestart() {
+        ReviewLogWriteBehind crashed = writeBehind(10, 10);
+        crashed.open();
+        journalInTransaction(crashed, log(1L), log(2L))
+            .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        ReviewLogWriteBehind restarted = writeBehind(10, 10);
+        restarted.open();
+        assertThat(restarted.flush()).isTrue();
+        assertThat(restarted.flush()).isTrue();
+
+        assertThat(repository.inserted()).extracting(MemoQuizReviewLogEntity::getCardId).containsExactly(1L, 2L);
+        assertThat(repository.inserted()).extracting(MemoQuizReviewLogEntity::getBatchOrdinal).containsExactly(0, 1);
+    }
+
+    // The insert committed but its outcome never reached the flusher, so the segment was kept and is replayed.
+    @Test
+    void replayingLogsAlreadyWrittenDoesNotDuplicateThem() {
+        ReviewLogWriteBehind crashed = writeBehind(10, 10);
+        crashed.open();
+        crashed.onReviewLogsRecorded(new ReviewLogsRecordedEvent(List.of(log(1L), log(2L))));
+        repository.failingAfterInsert = true;
+        assertThat(crashed.flush()).isFalse();
+        repository.failingAfterInsert = false;
+
+        ReviewLogWriteBehind restarted = writeBehind(10, 10);
+        restarted.open();
+        assertThat(restarted.flush()).isTrue();
+
+        assertThat(repository.inserted()).extracting(MemoQuizReviewLogEntity::getCardId).containsExactly(1L, 2L);
+        assertThat(meterRegistry.counter("memoquiz.review.log.flushed").count()).isZero();
+    }
+
+    @Test
+    void failedFlushKeepsTheJournalAndTheNextFlushRetries() throws IOException {
+        ReviewLogWriteBehind writeBehind = writeBehind(10, 10);
+        writeBehind.open();
+        writeBehind.onReviewLogsRecorded(new ReviewLogsRecordedEvent(List.of(log(1L), log(2L))));
+
+        repository.failing = true;
+        assertThat(writeBehind.flush()).isFalse();
+        assertThat(journalLines()).hasSize(2);
+        assertThat(meterRegistry.counter("memoquiz.review.log.flush.failures").count()).isEqualTo(1);
+
+        writeBehind.onReviewLogsRecorded(new ReviewLogsRecordedEvent(List.of(log(3L))));
+        repository.failing = false;
+        assertThat(writeBehind.flush()).isTrue();
+
+        assertThat(repository.inserted()).extracting(MemoQuizReviewLogEntity::getCardId).containsExactly(1L, 2L, 3L);
+        assertThat(journalLines()).isEmpty();
+    }
+
+    @Test
+    void journalLeftByAPreviousRunIsReplayedAfterRestart() {
+        ReviewLogWriteBehind crashed = writeBehind(10, 10);
+        crashed.open();
+        crashed.onReviewLogsRecorded(new ReviewLogsRecordedEvent(List.of(log(1L), log(2L))));
+
+        ReviewLogWriteBehind restarted = writeBehind(10, 10);
+        restarted.open();
+        restarted.onReviewLogsRecorded(new ReviewLogsRecordedEvent(List.of(log(3L))));
+        assertThat(restarted.flush()).isTrue();
+
+        assertThat(repository.inserted()).extracting(MemoQuizReviewLogEntity::getCardId).containsExactly(1L, 2L, 3L);
+        assertThat(repository.inserted().getFirst().getAnsweredAt()).isEqualTo(Instant.parse("2026-01-02T03:04:05Z"));
+    }
+
+    @Test
+    void stopFlushesPendingLogsAndLeavesNoJournal() throws IOException {
+        ReviewLogWriteBehind writeBehind = writeBehind(10, 10);
+        writeBehind.open();
+        writeBehind.onReviewLogsRecorded(new ReviewLogsRecordedEvent(List.of(log(1L))));
+
+        writeBehind.stop();
+
+        assertThat(repository.inserted()).extracting(MemoQuizReviewLogEntity::getCardId).containsExactly(1L);
+        try (Stream<Path> files = Files.list(journalDirectory)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    void flushWithNothingPendingDoesNothing() {
+        ReviewLogWriteBehind writeBehind = writeBehind(10, 10);
+        writeBehind.open();
+
+        assertThat(writeBehind.flush()).isTrue();
+
+        assertThat(repository.batches).isEmpty();
+        assertThat(events).isEmpty();
+    }
+
+    @Test
+    void rejectsQueueSmallerThanABatch() {
+        assertThatThrownBy(() -> writeBehind(1, 2)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsRelativeJournalDirectory() {
+        assertThatThrownBy(() -> new ReviewLogWriteBehind(
+            repository,
+            new ObjectMapper(),
+            events::add,
+            meterRegistry,
+            Path.of("data/review-log"),
+            10,
+            10,
+            Duration.ofHours(1)
+        )).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private ReviewLogWriteBehind writeBehind(int queueCapacity, int batchSize) {
+        return new ReviewLogWriteBehind(
+            repository,
+            new ObjectMapper().findAndRegisterModules(),
+            events::add,
+            meterRegistry,
+            journalDirectory,
+            queueCapacity,
+            batchSize,
+            Duration.ofHours(1)
+        );
+    }
+
+    // Journals the logs as the before-commit listener of a transaction and returns the synchronizations
+    // it registered, for the test to complete the transaction later.
+    private static List<TransactionSynchronization> journalInTransaction(
+        ReviewLogWriteBehind writeBehind,
+        MemoQuizReviewLogEntity... logs
+    ) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            writeBehind.onReviewLogsRecorded(new ReviewLogsRecordedEvent(List.of(logs)));
+            return TransactionSynchronizationManager.getSynchronizations();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private List<String> journalLines() throws IOException {
+        List<String> lines = new ArrayList<>();
+        try (Stream<Path> files = Files.list(journalDirectory)) {
+            for (Path file : files.toList()) {
+                lines.addAll(Files.readAllLines(file, StandardCharsets.UTF_8));
+            }
+        }
+        return lines;
+    }
+
+    private static MemoQuizReviewLogEntity log(Long cardId) {
+        MemoQuizReviewLogEntity log = new MemoQuizReviewLogEntity();
+        log.setSessionId(7L);
+        log.setCardId(cardId);
+        log.setAnsweredAt(Instant.parse("2026-01-02T03:04:05Z"));
+        log.setAnswerText("answer " + cardId);
+        log.setCorrect(true);
+        log.setPreviousBox(1);
+        log.setNextBox(2);
+        return log;
+    }
+
+    // Skips logs whose batch key was already inserted, like the unique index behind the real insert.
+    private static final class RecordingBatchRepository extends MemoQuizAnswerBatchRepository {
+        private final List<List<MemoQuizReviewLogEntity>> batches = new ArrayList<>();
+        private final Set<String> keys = new HashSet<>();
+        private boolean failing;
+        private boolean failingAfterInsert;
+
+        private RecordingBatchRepository() {
+            super(null);
+        }
+
+        @Override
+        public int insertReviewLogs(List<MemoQuizReviewLogEntity> logs) {
+            if (failing) {
+                throw new DataAccessResourceFailureException("database unavailable");
+            }
+            List<MemoQuizReviewLogEntity> inserted = logs.stream()
+                .filter(log -> keys.add(log.getBatchId() + "/" + log.getBatchOrdinal()))
+                .toList();
+            if (!inserted.isEmpty()) {
+                batches.add(inserted);
+            }
+            if (failingAfterInsert) {
+                throw new DataAccessResourceFailureException("connection lost");
+            }
+            return inserted.size();
+        }
+
+        private List<MemoQuizReviewLogEntity> inserted() {
+            return batches.stream().flatMap(List::stream).toList();
+        }
+    }
+}
@@ -92,12 +92,11 @@ class ScheduleProviderTest {
     }
 
     @Test
-    void boxesForDayWhenDayHasNoConfiguredEntryThrows() throws IOException {
+    void loadScheduleRejectsDayBeyondScheduleLength() throws IOException {
         Map<Integer, List<Integer>> loaded = Map.of(2, List.of(4));
         when(objectMapper.readValue(any(InputStream.class), anyScheduleTypeReference())).thenReturn(loaded);
-        scheduleProvider.loadSchedule();
 
-        assertThatThrownBy(() -> scheduleProvider.boxesForDay(1))
+        assertThatThrownBy(() -> scheduleProvider.loadSchedule())
             .isInstanceOf(IllegalStateException.class)
             .hasMessage("No boxes configured for day 1");
     }
@@ -141,6 +140,47 @@ class ScheduleProviderTest {
         assertThat(scheduleProvider.scheduleLength()).isEqualTo(3);
     }
 
+    @Test
+    void boxMaskForDayEncodesConfiguredBoxesAsBits() throws IOException {
+        Map<Integer, List<Integer>> loaded = Map.of(
+            1, List.of(2, 1),
+            2, List.of(7)
+        );
+        when(objectMapper.readValue(any(InputStream.class), anyScheduleTypeReference())).thenReturn(loaded);
+        scheduleProvider.loadSchedule();
+
+        assertThat(scheduleProvider.boxMaskForDay(1)).isEqualTo(0b0000011);
+        assertThat(scheduleProvider.boxMaskForDay(2)).isEqualTo(0b1000000);
+        assertThat(scheduleProvider.boxesForDay(1)).containsExactly(2, 1);
+    }
+
+    @Test
+    void loadScheduleRejectsScheduleWithoutFirstDay() throws IOException {
+        Map<Integer, List<Integer>> loaded = Map.of(2, List.of(4), 3, List.of(1));
+        when(objectMapper.readValue(any(InputStream.class), anyScheduleTypeReference())).thenReturn(loaded);
+
+        assertThatThrownBy(() -> scheduleProvider.loadSchedule())
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("No boxes configured for day 1");
+    }
+
+    @Test
+    void loadScheduleRejectsBoxOutsideRange() throws IOException {
+        Map<Integer, List<Integer>> loaded = Map.of(1, List.of(1, 8));
+        when(objectMapper.readValue(any(InputStream.class), anyScheduleTypeReference())).thenReturn(loaded);
+
+        assertThatThrownBy(() -> scheduleProvider.loadSchedule())
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("Invalid box 8 configured for day 1");
+    }
+
+    @Test
+    void compiledScheduleWhenScheduleNotLoadedThrows() {
+        assertThatThrownBy(scheduleProvider::compiledSchedule)
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("Memoquiz schedule not loaded");
+    }
+
     @SuppressWarnings("unchecked")
     private TypeReference<Map<Integer, List<Integer>>> anyScheduleTypeReference() {
         return (TypeReference<Map<Integer, List<Integer>>>) any(TypeReference.class);
@@ -0,0 +1,54 @@
+package dev.sidequestlab.backend.memoquiz.service;
+
+import java.util.BitSet;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SessionPermutationTest {
+
+    @Test
+    void mapsEveryPositionToADistinctRank() {
+        for (int size : new int[] {1, 2, 3, 4, 5, 17, 64, 1000, 4099}) {
+            SessionPermutation permutation = SessionPermutation.of(size, 123456789L);
+            BitSet seen = new BitSet(size);
+            for (int position = 0; position < size; position++) {
+                int rank = permutation.rankAt(position);
+                assertThat(rank).isBetween(0, size - 1);
+                assertThat(seen.get(rank)).as("rank %d repeated for size %d", rank, size).isFalse();
+                seen.set(rank);
+            }
+        }
+    }
+
+    @Test
+    void sameSeedReproducesOrderAndOtherSeedsDiffer() {
+        int[] first = order(SessionPermutation.of(500, 42L));
+        int[] replay = order(SessionPermutation.of(500, 42L));
+        int[] other = order(SessionPermutation.of(500, 43L));
+
+        assertThat(replay).isEqualTo(first);
+        assertThat(other).isNotEqualTo(first);
+        assertThat(first).isNotEqualTo(IntStream.range(0, 500).toArray());
+    }
+
+    @Test
+    void unseededSessionsKeepStoredOrder() {
+        SessionPermutation permutation = SessionPermutation.of(10, null);
+
+        assertThat(order(permutation)).isEqualTo(IntStream.range(0, 10).toArray());
+    }
+
+    @Test
+    void rejectsPositionsOutsideTheSession() {
+        SessionPermutation permutation = SessionPermutation.of(3, 1L);
+
+        assertThatThrownBy(() -> permutation.rankAt(3)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    private static int[] order(SessionPermutation permutation) {
+        return IntStream.range(0, permutation.size()).map(permutation::rankAt).toArray();
+    }
+}
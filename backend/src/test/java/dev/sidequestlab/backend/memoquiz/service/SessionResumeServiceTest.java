@@ -0,0 +1,127 @@
+package dev.sidequestlab.backend.memoquiz.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.sidequestlab.backend.memoquiz.api.dto.SessionCardDto;
+import dev.sidequestlab.backend.memoquiz.persistence.entity.MemoQuizSessionEntity;
+import dev.sidequestlab.backend.memoquiz.persistence.repository.MemoQuizSessionDeckRepository;
+import dev.sidequestlab.backend.memoquiz.persistence.repository.MemoQuizSessionRepository;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SessionResumeServiceTest {
+
+
+    @Mock
+    private MemoQuizSessionRepository sessionRepository;
+
+    @Mock
+    private MemoQuizSessionDeckRepository sessionDeckRepository;
+
+    @Test
+    void seededSessionStreamsUnansweredCardsInSessionOrderChunkByChunk() {
+        SessionResumeService service = service(2);
+        MemoQuizSessionEntity session = seededSession(5, 99L);
+        SessionPermutation permutation = SessionPermutation.of(5, 99L);
+        int answeredRank = permutation.rankAt(1);
+        when(sessionDeckRepository.findRemainingByOrdinals(eq(7L), any())).thenAnswer(invocation -> {
+            Map<Integer, SessionCardDto> remaining = new HashMap<>();
+            for (int rank : (int[]) invocation.getArgument(1)) {
+                if (rank != answeredRank) {
+                    remaining.put(rank, card(rank));
+                }
+            }
+            return remaining;
+        });
+
+        List<SessionCardDto> streamed = new ArrayList<>();
+        service.forEachRemainingCard(session, streamed::add);
+
+        assertThat(streamed).extracting(SessionCardDto::cardId).containsExactly(
+            cardId(permutation.rankAt(0)),
+            cardId(permutation.rankAt(2)),
+            cardId(permutation.rankAt(3)),
+            cardId(permutation.rankAt(4))
+        );
+        verify(sessionDeckRepository, times(3)).findRemainingByOrdinals(eq(7L), any());
+        verify(sessionDeckRepository, never()).streamRemaining(any(), any(Integer.class), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void unseededSessionStreamsStoredOrderAsNdjson() throws Exception {
+        SessionResumeService service = service(500);
+        MemoQuizSessionEntity session = new MemoQuizSessionEntity();
+        session.setId(7L);
+        when(sessionRepository.findById(7L)).thenReturn(Optional.of(session));
+        doAnswer(invocation -> {
+            Consumer<SessionCardDto> consumer = invocation.getArgument(2);
+            consumer.accept(new SessionCardDto(3L, "F3", "B3", 2));
+            consumer.accept(new SessionCardDto(1L, "F1", "B1", 1));
+            return null;
+        }).when(sessionDeckRepository).streamRemaining(eq(7L), eq(500), any());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        service.streamRemainingCards(7L, out);
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("""
+            {"cardId":3,"front":"F3","back":"B3","box":2}
+            {"cardId":1,"front":"F1","back":"B1","box":1}
+            """);
+    }
+
+    @Test
+    void unknownSessionReturnsNotFoundBeforeWriting() {
+        SessionResumeService service = service(500);
+        when(sessionRepository.findById(7L)).thenReturn(Optional.empty());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertThatThrownBy(() -> service.streamRemainingCards(7L, out))
+            .isInstanceOf(ResponseStatusException.class)
+            .extracting("statusCode")
+            .isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(out.size()).isZero();
+    }
+
+    private SessionResumeService service(int chunkSize) {
+        return new SessionResumeService(sessionRepository, sessionDeckRepository, new ObjectMapper(), chunkSize);
+    }
+
+    private static MemoQuizSessionEntity seededSession(int itemCount, long seed) {
+        MemoQuizSessionEntity session = new MemoQuizSessionEntity();
+        session.setId(7L);
+        session.setShuffleSeed(seed);
+        session.setItemCount(itemCount);
+        return session;
+    }
+
+    private static long cardId(int rank) {
+        return 100L + rank;
+    }
+
+    private static SessionCardDto card(int rank) {
+        return new SessionCardDto(cardId(rank), "F", "B", 1);
+    }
+}
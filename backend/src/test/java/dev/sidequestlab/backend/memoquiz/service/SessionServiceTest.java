@@ -1,28 +1,37 @@
 package dev.sidequestlab.backend.memoquiz.service;
 
 import dev.sidequestlab.backend.memoquiz.api.dto.AnswerRequest;
+import dev.sidequestlab.backend.memoquiz.api.dto.BatchAnswerItem;
+import dev.sidequestlab.backend.memoquiz.api.dto.BatchAnswerRequest;
 import dev.sidequestlab.backend.memoquiz.api.dto.CompleteSessionRequest;
+import dev.sidequestlab.backend.memoquiz.api.dto.LazySessionDto;
+import dev.sidequestlab.backend.memoquiz.api.dto.SessionCardDto;
 import dev.sidequestlab.backend.memoquiz.api.enums.CardStatus;
-import dev.sidequestlab.backend.memoquiz.persistence.entity.CardEntity;
-import dev.sidequestlab.backend.memoquiz.persistence.entity.MemoQuizQuizCardEntity;
-import dev.sidequestlab.backend.memoquiz.persistence.projection.SessionCardProjection;
+import dev.sidequestlab.backend.memoquiz.persistence.projection.AnswerGradeProjection;
+import dev.sidequestlab.backend.memoquiz.persistence.projection.CardAnswerProjection;
 import dev.sidequestlab.backend.memoquiz.persistence.entity.MemoQuizReviewLogEntity;
 import dev.sidequestlab.backend.memoquiz.persistence.entity.MemoQuizSessionEntity;
 import dev.sidequestlab.backend.memoquiz.persistence.entity.MemoQuizSessionItemEntity;
 import dev.sidequestlab.backend.memoquiz.persistence.repository.CardRepository;
-import dev.sidequestlab.backend.memoquiz.persistence.repository.MemoQuizQuizCardRepository;
-import dev.sidequestlab.backend.memoquiz.persistence.repository.MemoQuizReviewLogRepository;
+import dev.sidequestlab.backend.memoquiz.persistence.repository.MemoQuizAnswerBatchRepository;
+import dev.sidequestlab.backend.memoquiz.persistence.repository.MemoQuizAnswerGradingRepository;
+import dev.sidequestlab.backend.memoquiz.persistence.repository.MemoQuizQuizBoxStatsRepository;
+import dev.sidequestlab.backend.memoquiz.persistence.repository.MemoQuizSessionDeckRepository;
 import dev.sidequestlab.backend.memoquiz.persistence.repository.MemoQuizSessionItemRepository;
 import dev.sidequestlab.backend.memoquiz.persistence.repository.MemoQuizSessionRepository;
 import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
 
@@ -30,9 +39,9 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyCollection;
-import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
@@ -52,16 +61,28 @@ class SessionServiceTest {
     private MemoQuizSessionItemRepository sessionItemRepository;
 
     @Mock
-    private MemoQuizReviewLogRepository reviewLogRepository;
+    private QuizService quizService;
 
     @Mock
-    private MemoQuizQuizCardRepository quizCardRepository;
+    private ScheduleProvider scheduleProvider;
 
     @Mock
-    private QuizService quizService;
+    private MemoQuizAnswerBatchRepository answerBatchRepository;
 
     @Mock
-    private ScheduleProvider scheduleProvider;
+    private MemoQuizQuizBoxStatsRepository boxStatsRepository;
+
+    @Mock
+    private MemoQuizSessionDeckRepository sessionDeckRepository;
+
+    @Mock
+    private MemoQuizAnswerGradingRepository answerGradingRepository;
+
+    @Spy
+    private AnswerMatcher answerMatcher = new AnswerMatcher(0);
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private SessionService sessionService;
@@ -76,33 +97,18 @@ class SessionServiceTest {
     @Test
     @SuppressWarnings("unchecked")
     void firstEverCallCreatesSessionWithDayIndexOne() {
-        CardEntity card = new CardEntity();
-        card.setId(5L);
-        card.setFront("Front");
-        card.setBack("Back");
-        card.setStatus(CardStatus.ACTIVE);
-
-        MemoQuizQuizCardEntity membership = new MemoQuizQuizCardEntity();
-        membership.setQuizId(1L);
-        membership.setCard(card);
-        membership.setEnabled(true);
-        membership.setBox(4);
-
-        SessionCardProjection projection = new SessionCardProjection(card.getId(), card.getFront(), card.getBack(), 4);
-
-        when(quizService.getDefaultQuizIdForUpdate()).thenReturn(1L);
+        when(quizService.lockDefaultQuizForSessionCreation()).thenReturn(1L);
         when(sessionRepository.existsByStartedAtGreaterThanEqualAndStartedAtLessThan(any(), any())).thenReturn(false);
         when(sessionRepository.findTopByOrderByStartedAtDescIdDesc()).thenReturn(Optional.empty());
         when(scheduleProvider.scheduleLength()).thenReturn(8);
         when(scheduleProvider.boxesForDay(1)).thenReturn(List.of(4));
-        when(quizCardRepository.findEnabledForSession(eq(1L), anyCollection(), eq(CardStatus.ACTIVE)))
-            .thenReturn(List.of(projection));
-        when(sessionRepository.save(any(MemoQuizSessionEntity.class))).thenAnswer(invocation -> {
+        when(sessionRepository.saveAndFlush(any(MemoQuizSessionEntity.class))).thenAnswer(invocation -> {
             MemoQuizSessionEntity saved = invocation.getArgument(0);
             saved.setId(99L);
             return saved;
         });
-        when(sessionItemRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(sessionDeckRepository.insertEligibleItemsReturningCards(99L, 1L, List.of(4), CardStatus.ACTIVE))
+            .thenReturn(List.of(new SessionCardDto(5L, "Front", "Back", 4)));
 
         var session = sessionService.getTodaySession();
 
@@ -110,72 +116,138 @@ class SessionServiceTest {
         assertThat(session.cards().get(0).box()).isEqualTo(4);
 
         ArgumentCaptor<MemoQuizSessionEntity> sessionCaptor = ArgumentCaptor.forClass(MemoQuizSessionEntity.class);
-        verify(sessionRepository).save(sessionCaptor.capture());
+        verify(sessionRepository).saveAndFlush(sessionCaptor.capture());
         assertThat(sessionCaptor.getValue().getDayIndex()).isEqualTo(1);
-
-        ArgumentCaptor<List<MemoQuizSessionItemEntity>> itemsCaptor = ArgumentCaptor.forClass(List.class);
-        verify(sessionItemRepository).saveAll(itemsCaptor.capture());
-        assertThat(itemsCaptor.getValue()).hasSize(1);
-        assertThat(itemsCaptor.getValue().get(0).getBox()).isEqualTo(4);
+        assertThat(sessionCaptor.getValue().getItemCount()).isEqualTo(1);
     }
 
     @Test
-    @SuppressWarnings("unchecked")
-    void createdSessionShufflesCardsWithoutChangingReturnedCardSet() {
+    void createdSessionOrdersCardsBySeededPermutation() {
         SessionService spySessionService = spy(new SessionService(
             cardRepository,
             sessionRepository,
             sessionItemRepository,
-            reviewLogRepository,
             scheduleProvider,
-            quizCardRepository,
-            quizService
+            quizService,
+            answerBatchRepository,
+            boxStatsRepository,
+            sessionDeckRepository,
+            answerGradingRepository,
+            answerMatcher,
+            eventPublisher
         ));
 
-        SessionCardProjection first = new SessionCardProjection(10L, "F1", "B1", 1);
-        SessionCardProjection second = new SessionCardProjection(20L, "F2", "B2", 2);
-        SessionCardProjection third = new SessionCardProjection(30L, "F3", "B3", 1);
+        SessionCardDto first = new SessionCardDto(10L, "F1", "B1", 1);
+        SessionCardDto second = new SessionCardDto(20L, "F2", "B2", 2);
+        SessionCardDto third = new SessionCardDto(30L, "F3", "B3", 1);
 
-        when(quizService.getDefaultQuizIdForUpdate()).thenReturn(1L);
+        when(quizService.lockDefaultQuizForSessionCreation()).thenReturn(1L);
         when(sessionRepository.existsByStartedAtGreaterThanEqualAndStartedAtLessThan(any(), any())).thenReturn(false);
         when(sessionRepository.findTopByOrderByStartedAtDescIdDesc()).thenReturn(Optional.empty());
         when(scheduleProvider.scheduleLength()).thenReturn(64);
         when(scheduleProvider.boxesForDay(1)).thenReturn(List.of(1, 2));
-        when(quizCardRepository.findEnabledForSession(eq(1L), anyCollection(), eq(CardStatus.ACTIVE)))
-            .thenReturn(List.of(first, second, third));
-        when(sessionRepository.save(any(MemoQuizSessionEntity.class))).thenAnswer(invocation -> {
+        when(sessionRepository.saveAndFlush(any(MemoQuizSessionEntity.class))).thenAnswer(invocation -> {
             MemoQuizSessionEntity saved = invocation.getArgument(0);
             saved.setId(99L);
             return saved;
         });
-        when(sessionItemRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        // Cards come back in card id order, which is the rank stored as each item's ordinal.
+        when(sessionDeckRepository.insertEligibleItemsReturningCards(99L, 1L, List.of(1, 2), CardStatus.ACTIVE))
+            .thenReturn(List.of(first, second, third));
 
-        doAnswer(invocation -> {
-            List<SessionCardProjection> shuffled = invocation.getArgument(0);
-            shuffled.sort((a, b) -> Long.compare(b.cardId(), a.cardId()));
-            return null;
-        }).when(spySessionService).shuffleMemberships(anyList());
+        doReturn(42L).when(spySessionService).newShuffleSeed();
 
         var session = spySessionService.getTodaySession();
 
+        List<Long> sortedIds = List.of(10L, 20L, 30L);
+        SessionPermutation permutation = SessionPermutation.of(3, 42L);
         assertThat(session.cards())
             .extracting(card -> card.cardId())
-            .containsExactly(30L, 20L, 10L);
+            .containsExactly(
+                sortedIds.get(permutation.rankAt(0)),
+                sortedIds.get(permutation.rankAt(1)),
+                sortedIds.get(permutation.rankAt(2))
+            );
         assertThat(session.cards())
             .extracting(card -> card.cardId())
             .containsExactlyInAnyOrder(10L, 20L, 30L);
-        verify(spySessionService).shuffleMemberships(anyList());
 
-        ArgumentCaptor<List<MemoQuizSessionItemEntity>> itemsCaptor = ArgumentCaptor.forClass(List.class);
-        verify(sessionItemRepository).saveAll(itemsCaptor.capture());
-        assertThat(itemsCaptor.getValue())
-            .extracting(MemoQuizSessionItemEntity::getCardId)
-            .containsExactly(30L, 20L, 10L);
+        ArgumentCaptor<MemoQuizSessionEntity> sessionCaptor = ArgumentCaptor.forClass(MemoQuizSessionEntity.class);
+        verify(sessionRepository).saveAndFlush(sessionCaptor.capture());
+        assertThat(sessionCaptor.getValue().getShuffleSeed()).isEqualTo(42L);
+        assertThat(sessionCaptor.getValue().getItemCount()).isEqualTo(3);
+    }
+
+    @Test
+    void lazySessionInsertsItemsInDatabaseWithoutLoadingCards() {
+        when(quizService.lockDefaultQuizForSessionCreation()).thenReturn(1L);
+        when(sessionRepository.existsByStartedAtGreaterThanEqualAndStartedAtLessThan(any(), any())).thenReturn(false);
+        when(sessionRepository.findTopByOrderByStartedAtDescIdDesc()).thenReturn(Optional.empty());
+        when(scheduleProvider.scheduleLength()).thenReturn(64);
+        when(scheduleProvider.boxesForDay(1)).thenReturn(List.of(1, 2));
+        when(sessionRepository.saveAndFlush(any(MemoQuizSessionEntity.class))).thenAnswer(invocation -> {
+            MemoQuizSessionEntity saved = invocation.getArgument(0);
+            saved.setId(99L);
+            return saved;
+        });
+        when(sessionDeckRepository.insertEligibleItems(99L, 1L, List.of(1, 2), CardStatus.ACTIVE)).thenReturn(2);
+
+        LazySessionDto session = sessionService.startTodaySessionLazily();
+
+        assertThat(session.id()).isEqualTo(99L);
+        assertThat(session.cardCount()).isEqualTo(2);
+        ArgumentCaptor<MemoQuizSessionEntity> sessionCaptor = ArgumentCaptor.forClass(MemoQuizSessionEntity.class);
+        verify(sessionRepository).saveAndFlush(sessionCaptor.capture());
+        assertThat(sessionCaptor.getValue().getShuffleSeed()).isNotNull();
+        assertThat(sessionCaptor.getValue().getItemCount()).isEqualTo(2);
+        verify(sessionDeckRepository, never()).insertEligibleItemsReturningCards(any(), any(), any(), any());
+    }
+
+    @Test
+    void sessionCardsResolvesWindowThroughSeededPermutation() {
+        MemoQuizSessionEntity session = new MemoQuizSessionEntity();
+        session.setId(42L);
+        session.setShuffleSeed(7L);
+        session.setItemCount(5);
+        SessionPermutation permutation = SessionPermutation.of(5, 7L);
+        int[] ranks = {permutation.rankAt(3), permutation.rankAt(4)};
+
+        when(sessionRepository.findById(42L)).thenReturn(Optional.of(session));
+        when(sessionDeckRepository.findByOrdinals(42L, ranks)).thenReturn(Map.of(
+            ranks[0], new SessionCardDto(100L + ranks[0], "F", "B", 1),
+            ranks[1], new SessionCardDto(100L + ranks[1], "F", "B", 1)
+        ));
+
+        List<SessionCardDto> window = sessionService.sessionCards(42L, 3, 10);
+
+        assertThat(window).extracting(SessionCardDto::cardId).containsExactly(100L + ranks[0], 100L + ranks[1]);
+    }
+
+    @Test
+    void sessionCardsKeepsStoredOrderForUnseededSession() {
+        MemoQuizSessionEntity session = new MemoQuizSessionEntity();
+        session.setId(42L);
+        List<SessionCardDto> stored = List.of(new SessionCardDto(5L, "F", "B", 1));
+
+        when(sessionRepository.findById(42L)).thenReturn(Optional.of(session));
+        when(sessionDeckRepository.findWindow(42L, 0, 20)).thenReturn(stored);
+
+        assertThat(sessionService.sessionCards(42L, 0, 20)).isSameAs(stored);
+    }
+
+    @Test
+    void sessionCardsReturnsNotFoundForUnknownSession() {
+        when(sessionRepository.findById(42L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> sessionService.sessionCards(42L, 0, 20))
+            .isInstanceOf(ResponseStatusException.class)
+            .extracting("statusCode")
+            .isEqualTo(HttpStatus.NOT_FOUND);
     }
 
     @Test
     void secondCallSameDayReturnsConflictAndDoesNotCreateRow() {
-        when(quizService.getDefaultQuizIdForUpdate()).thenReturn(1L);
+        when(quizService.lockDefaultQuizForSessionCreation()).thenReturn(1L);
         when(sessionRepository.existsByStartedAtGreaterThanEqualAndStartedAtLessThan(any(), any())).thenReturn(true);
 
         assertThatThrownBy(() -> sessionService.getTodaySession())
@@ -183,8 +255,8 @@ class SessionServiceTest {
             .extracting("statusCode")
             .isEqualTo(HttpStatus.CONFLICT);
 
-        verify(sessionRepository, never()).save(any(MemoQuizSessionEntity.class));
-        verify(sessionItemRepository, never()).saveAll(any());
+        verify(sessionRepository, never()).saveAndFlush(any(MemoQuizSessionEntity.class));
+        verify(sessionDeckRepository, never()).insertEligibleItemsReturningCards(any(), any(), any(), any());
     }
 
     @Test
@@ -192,19 +264,17 @@ class SessionServiceTest {
         MemoQuizSessionEntity lastSession = new MemoQuizSessionEntity();
         lastSession.setDayIndex(12);
 
-        when(quizService.getDefaultQuizIdForUpdate()).thenReturn(1L);
+        when(quizService.lockDefaultQuizForSessionCreation()).thenReturn(1L);
         when(sessionRepository.existsByStartedAtGreaterThanEqualAndStartedAtLessThan(any(), any())).thenReturn(false);
         when(sessionRepository.findTopByOrderByStartedAtDescIdDesc()).thenReturn(Optional.of(lastSession));
         when(scheduleProvider.scheduleLength()).thenReturn(64);
         when(scheduleProvider.boxesForDay(13)).thenReturn(List.of(1));
-        when(quizCardRepository.findEnabledForSession(eq(1L), anyCollection(), eq(CardStatus.ACTIVE)))
-            .thenReturn(List.of());
-        when(sessionRepository.save(any(MemoQuizSessionEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(sessionRepository.saveAndFlush(any(MemoQuizSessionEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         sessionService.getTodaySession();
 
         ArgumentCaptor<MemoQuizSessionEntity> sessionCaptor = ArgumentCaptor.forClass(MemoQuizSessionEntity.class);
-        verify(sessionRepository).save(sessionCaptor.capture());
+        verify(sessionRepository).saveAndFlush(sessionCaptor.capture());
         assertThat(sessionCaptor.getValue().getDayIndex()).isEqualTo(13);
     }
 
@@ -213,19 +283,17 @@ class SessionServiceTest {
         MemoQuizSessionEntity lastSession = new MemoQuizSessionEntity();
         lastSession.setDayIndex(3);
 
-        when(quizService.getDefaultQuizIdForUpdate()).thenReturn(1L);
+        when(quizService.lockDefaultQuizForSessionCreation()).thenReturn(1L);
         when(sessionRepository.existsByStartedAtGreaterThanEqualAndStartedAtLessThan(any(), any())).thenReturn(false);
         when(sessionRepository.findTopByOrderByStartedAtDescIdDesc()).thenReturn(Optional.of(lastSession));
         when(scheduleProvider.scheduleLength()).thenReturn(3);
         when(scheduleProvider.boxesForDay(1)).thenReturn(List.of(1));
-        when(quizCardRepository.findEnabledForSession(eq(1L), anyCollection(), eq(CardStatus.ACTIVE)))
-            .thenReturn(List.of());
-        when(sessionRepository.save(any(MemoQuizSessionEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(sessionRepository.saveAndFlush(any(MemoQuizSessionEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         sessionService.getTodaySession();
 
         ArgumentCaptor<MemoQuizSessionEntity> sessionCaptor = ArgumentCaptor.forClass(MemoQuizSessionEntity.class);
-        verify(sessionRepository).save(sessionCaptor.capture());
+        verify(sessionRepository).saveAndFlush(sessionCaptor.capture());
         assertThat(sessionCaptor.getValue().getDayIndex()).isEqualTo(1);
     }
 
@@ -234,269 +302,276 @@ class SessionServiceTest {
         MemoQuizSessionEntity lastSession = new MemoQuizSessionEntity();
         lastSession.setDayIndex(5);
 
-        when(quizService.getDefaultQuizIdForUpdate()).thenReturn(1L);
+        when(quizService.lockDefaultQuizForSessionCreation()).thenReturn(1L);
         when(sessionRepository.existsByStartedAtGreaterThanEqualAndStartedAtLessThan(any(), any())).thenReturn(false);
         when(sessionRepository.findTopByOrderByStartedAtDescIdDesc()).thenReturn(Optional.of(lastSession));
         when(scheduleProvider.scheduleLength()).thenReturn(2);
         when(scheduleProvider.boxesForDay(2)).thenReturn(List.of(1));
-        when(quizCardRepository.findEnabledForSession(eq(1L), anyCollection(), eq(CardStatus.ACTIVE)))
-            .thenReturn(List.of());
-        when(sessionRepository.save(any(MemoQuizSessionEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(sessionRepository.saveAndFlush(any(MemoQuizSessionEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         sessionService.getTodaySession();
 
         ArgumentCaptor<MemoQuizSessionEntity> sessionCaptor = ArgumentCaptor.forClass(MemoQuizSessionEntity.class);
-        verify(sessionRepository).save(sessionCaptor.capture());
+        verify(sessionRepository).saveAndFlush(sessionCaptor.capture());
         assertThat(sessionCaptor.getValue().getDayIndex()).isEqualTo(2);
     }
 
     @Test
     void answerCorrectAdvancesBox() {
-        MemoQuizSessionEntity session = new MemoQuizSessionEntity();
-        session.setId(10L);
-
-        MemoQuizSessionItemEntity item = new MemoQuizSessionItemEntity();
-        item.setSessionId(10L);
-        item.setCardId(5L);
-        item.setBox(3);
-
-        CardEntity card = new CardEntity();
-        card.setId(5L);
-        card.setFront("Front");
-        card.setBack("Paris");
-
-        MemoQuizQuizCardEntity membership = new MemoQuizQuizCardEntity();
-        membership.setQuizId(1L);
-        membership.setCard(card);
-        membership.setEnabled(true);
-        membership.setBox(3);
-
-        when(sessionRepository.findById(10L)).thenReturn(Optional.of(session));
-        when(sessionItemRepository.findBySessionIdAndCardId(10L, 5L)).thenReturn(Optional.of(item));
-        when(cardRepository.findById(5L)).thenReturn(Optional.of(card));
         when(quizService.getDefaultQuizId()).thenReturn(1L);
-        when(quizCardRepository.findByQuizIdAndCardId(1L, 5L)).thenReturn(Optional.of(membership));
-        when(quizCardRepository.save(any(MemoQuizQuizCardEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
-        when(reviewLogRepository.save(any(MemoQuizReviewLogEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
-
-        AnswerRequest req = new AnswerRequest(10L, 5L, " paris ");
-        var resp = sessionService.answer(req);
-
-        ArgumentCaptor<MemoQuizQuizCardEntity> membershipCaptor = ArgumentCaptor.forClass(MemoQuizQuizCardEntity.class);
-        verify(quizCardRepository).save(membershipCaptor.capture());
-        assertThat(membershipCaptor.getValue().getBox()).isEqualTo(4);
+        when(answerGradingRepository.grade(eq(10L), eq(5L), eq(1L), eq("paris"), eq(AnswerMatcher.answerHash("paris")), eq(null), any(Instant.class)))
+            .thenReturn(Optional.of(new AnswerGradeProjection(true, 3, 4)));
 
-        ArgumentCaptor<MemoQuizReviewLogEntity> logCaptor = ArgumentCaptor.forClass(MemoQuizReviewLogEntity.class);
-        verify(reviewLogRepository).save(logCaptor.capture());
-        assertThat(logCaptor.getValue().getPreviousBox()).isEqualTo(3);
-        assertThat(logCaptor.getValue().getNextBox()).isEqualTo(4);
-        assertThat(logCaptor.getValue().isCorrect()).isTrue();
+        var resp = sessionService.answer(new AnswerRequest(10L, 5L, " Paris "));
 
         assertThat(resp.correct()).isTrue();
         assertThat(resp.nextReview()).isNotNull();
+        verify(eventPublisher).publishEvent(QuizCardsChangedEvent.forQuiz(1L));
+        verify(eventPublisher).publishEvent(new MemoQuizDataChangedEvent());
+        assertThat(recordedReviewLogs())
+            .extracting(
+                MemoQuizReviewLogEntity::getSessionId,
+                MemoQuizReviewLogEntity::getCardId,
+                MemoQuizReviewLogEntity::getAnswerText,
+                MemoQuizReviewLogEntity::isCorrect,
+                MemoQuizReviewLogEntity::getPreviousBox,
+                MemoQuizReviewLogEntity::getNextBox
+            )
+            .containsExactly(org.assertj.core.groups.Tuple.tuple(10L, 5L, " Paris ", true, 3, 4));
+        verify(sessionRepository, never()).existsById(any(Long.class));
+        verify(cardRepository, never()).findById(any(Long.class));
     }
 
     @Test
     void answerIncorrectResetsBox() {
-        MemoQuizSessionEntity session = new MemoQuizSessionEntity();
-        session.setId(11L);
+        when(quizService.getDefaultQuizId()).thenReturn(1L);
+        when(answerGradingRepository.grade(eq(11L), eq(6L), eq(1L), eq("wrong"), eq(AnswerMatcher.answerHash("wrong")), eq(null), any(Instant.class)))
+            .thenReturn(Optional.of(new AnswerGradeProjection(false, 4, 1)));
 
-        MemoQuizSessionItemEntity item = new MemoQuizSessionItemEntity();
-        item.setSessionId(11L);
-        item.setCardId(6L);
-        item.setBox(4);
-
-        CardEntity card = new CardEntity();
-        card.setId(6L);
-        card.setFront("Front");
-        card.setBack("Paris");
-
-        MemoQuizQuizCardEntity membership = new MemoQuizQuizCardEntity();
-        membership.setQuizId(1L);
-        membership.setCard(card);
-        membership.setEnabled(true);
-        membership.setBox(4);
-
-        when(sessionRepository.findById(11L)).thenReturn(Optional.of(session));
-        when(sessionItemRepository.findBySessionIdAndCardId(11L, 6L)).thenReturn(Optional.of(item));
-        when(cardRepository.findById(6L)).thenReturn(Optional.of(card));
+        var resp = sessionService.answer(new AnswerRequest(11L, 6L, "wrong"));
+
+        assertThat(resp.correct()).isFalse();
+        assertThat(resp.nextReview()).isNotNull();
+        verify(eventPublisher).publishEvent(QuizCardsChangedEvent.forQuiz(1L));
+    }
+
+    // The box moves themselves are graded in SQL and covered by MemoQuizAnswerGradingRepositoryTest.
+    @Test
+    void answerThatLeavesTheBoxUnchangedPublishesNoCardsChangedEvent() {
         when(quizService.getDefaultQuizId()).thenReturn(1L);
-        when(quizCardRepository.findByQuizIdAndCardId(1L, 6L)).thenReturn(Optional.of(membership));
-        when(quizCardRepository.save(any(MemoQuizQuizCardEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
-        when(reviewLogRepository.save(any(MemoQuizReviewLogEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(answerGradingRepository.grade(eq(30L), eq(40L), eq(1L), eq("paris"), eq(AnswerMatcher.answerHash("paris")), eq(null), any(Instant.class)))
+            .thenReturn(Optional.of(new AnswerGradeProjection(true, 7, 7)));
+
+        var resp = sessionService.answer(new AnswerRequest(30L, 40L, " paris "));
 
-        AnswerRequest req = new AnswerRequest(11L, 6L, "wrong");
-        var resp = sessionService.answer(req);
+        assertThat(resp.correct()).isTrue();
+        verify(eventPublisher, never()).publishEvent(any(QuizCardsChangedEvent.class));
+        verify(eventPublisher).publishEvent(new MemoQuizDataChangedEvent());
+    }
 
-        ArgumentCaptor<MemoQuizQuizCardEntity> membershipCaptor = ArgumentCaptor.forClass(MemoQuizQuizCardEntity.class);
-        verify(quizCardRepository).save(membershipCaptor.capture());
-        assertThat(membershipCaptor.getValue().getBox()).isEqualTo(1);
+    @Test
+    void answerWithTypoToleranceGradesWithPrecomputedVerdict() {
+        SessionService tolerantService = new SessionService(
+            cardRepository,
+            sessionRepository,
+            sessionItemRepository,
+            scheduleProvider,
+            quizService,
+            answerBatchRepository,
+            boxStatsRepository,
+            sessionDeckRepository,
+            answerGradingRepository,
+            new AnswerMatcher(1),
+            eventPublisher
+        );
+        String expectedKey = AnswerMatcher.answerKey("Le Petit Prince");
+        when(quizService.getDefaultQuizId()).thenReturn(1L);
+        when(cardRepository.findAnswersByIdIn(List.of(5L)))
+            .thenReturn(List.of(new CardAnswerProjection(5L, expectedKey, AnswerMatcher.answerHash(expectedKey), CardStatus.ACTIVE)));
+        when(answerGradingRepository.grade(eq(10L), eq(5L), eq(1L), eq("le petit prnce"), anyLong(), eq(true), any(Instant.class)))
+            .thenReturn(Optional.of(new AnswerGradeProjection(true, 2, 3)));
 
-        ArgumentCaptor<MemoQuizReviewLogEntity> logCaptor = ArgumentCaptor.forClass(MemoQuizReviewLogEntity.class);
-        verify(reviewLogRepository).save(logCaptor.capture());
-        assertThat(logCaptor.getValue().getPreviousBox()).isEqualTo(4);
-        assertThat(logCaptor.getValue().getNextBox()).isEqualTo(1);
-        assertThat(logCaptor.getValue().isCorrect()).isFalse();
+        var resp = tolerantService.answer(new AnswerRequest(10L, 5L, "Le petit prnce"));
 
-        assertThat(resp.correct()).isFalse();
-        assertThat(resp.nextReview()).isNotNull();
+        assertThat(resp.correct()).isTrue();
     }
 
     @Test
     void answerMissingSessionThrows() {
-        when(sessionRepository.findById(20L)).thenReturn(Optional.empty());
+        when(quizService.getDefaultQuizId()).thenReturn(1L);
+        when(answerGradingRepository.grade(eq(20L), eq(30L), eq(1L), any(), anyLong(), any(), any())).thenReturn(Optional.empty());
+        when(sessionRepository.existsById(20L)).thenReturn(false);
 
         AnswerRequest req = new AnswerRequest(20L, 30L, "answer");
 
         assertThatThrownBy(() -> sessionService.answer(req))
             .isInstanceOf(ResponseStatusException.class)
+            .hasMessageContaining("Session not found")
             .extracting("statusCode")
             .isEqualTo(HttpStatus.NOT_FOUND);
 
         verify(sessionItemRepository, never()).findBySessionIdAndCardId(any(Long.class), any(Long.class));
-        verify(cardRepository, never()).findById(any(Long.class));
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
-    void answerMissingCardThrows() {
-        MemoQuizSessionEntity session = new MemoQuizSessionEntity();
-        session.setId(21L);
-
-        MemoQuizSessionItemEntity item = new MemoQuizSessionItemEntity();
-        item.setSessionId(21L);
-        item.setCardId(31L);
-
-        when(sessionRepository.findById(21L)).thenReturn(Optional.of(session));
-        when(sessionItemRepository.findBySessionIdAndCardId(21L, 31L)).thenReturn(Optional.of(item));
-        when(cardRepository.findById(31L)).thenReturn(Optional.empty());
+    void answerMissingSessionItemThrows() {
+        when(quizService.getDefaultQuizId()).thenReturn(1L);
+        when(answerGradingRepository.grade(eq(21L), eq(31L), eq(1L), any(), anyLong(), any(), any())).thenReturn(Optional.empty());
+        when(sessionRepository.existsById(21L)).thenReturn(true);
+        when(sessionItemRepository.findBySessionIdAndCardId(21L, 31L)).thenReturn(Optional.empty());
 
         AnswerRequest req = new AnswerRequest(21L, 31L, "answer");
 
         assertThatThrownBy(() -> sessionService.answer(req))
             .isInstanceOf(ResponseStatusException.class)
-            .extracting("statusCode")
-            .isEqualTo(HttpStatus.NOT_FOUND);
-
-        verify(reviewLogRepository, never()).save(any(MemoQuizReviewLogEntity.class));
+            .hasMessageContaining("Session item not found");
     }
 
     @Test
-    void answerMissingMembershipThrows() {
-        MemoQuizSessionEntity session = new MemoQuizSessionEntity();
-        session.setId(22L);
+    void answerMissingCardThrows() {
+        when(quizService.getDefaultQuizId()).thenReturn(1L);
+        when(answerGradingRepository.grade(eq(21L), eq(31L), eq(1L), any(), anyLong(), any(), any())).thenReturn(Optional.empty());
+        when(sessionRepository.existsById(21L)).thenReturn(true);
+        when(sessionItemRepository.findBySessionIdAndCardId(21L, 31L)).thenReturn(Optional.of(sessionItem(21L, 31L)));
+        when(cardRepository.existsById(31L)).thenReturn(false);
 
-        MemoQuizSessionItemEntity item = new MemoQuizSessionItemEntity();
-        item.setSessionId(22L);
-        item.setCardId(32L);
+        AnswerRequest req = new AnswerRequest(21L, 31L, "answer");
 
-        CardEntity card = new CardEntity();
-        card.setId(32L);
-        card.setBack("Paris");
+        assertThatThrownBy(() -> sessionService.answer(req))
+            .isInstanceOf(ResponseStatusException.class)
+            .hasMessageContaining("Card not found");
+    }
 
-        when(sessionRepository.findById(22L)).thenReturn(Optional.of(session));
-        when(sessionItemRepository.findBySessionIdAndCardId(22L, 32L)).thenReturn(Optional.of(item));
-        when(cardRepository.findById(32L)).thenReturn(Optional.of(card));
+    @Test
+    void answerMissingMembershipThrows() {
         when(quizService.getDefaultQuizId()).thenReturn(1L);
-        when(quizCardRepository.findByQuizIdAndCardId(1L, 32L)).thenReturn(Optional.empty());
+        when(answerGradingRepository.grade(eq(22L), eq(32L), eq(1L), any(), anyLong(), any(), any())).thenReturn(Optional.empty());
+        when(sessionRepository.existsById(22L)).thenReturn(true);
+        when(sessionItemRepository.findBySessionIdAndCardId(22L, 32L)).thenReturn(Optional.of(sessionItem(22L, 32L)));
+        when(cardRepository.existsById(32L)).thenReturn(true);
 
         AnswerRequest req = new AnswerRequest(22L, 32L, "answer");
 
         assertThatThrownBy(() -> sessionService.answer(req))
             .isInstanceOf(ResponseStatusException.class)
+            .hasMessageContaining("Quiz membership not found")
             .extracting("statusCode")
             .isEqualTo(HttpStatus.NOT_FOUND);
     }
 
     @Test
-    void answerKeepsBoxSevenWhenCorrect() {
+    @SuppressWarnings("unchecked")
+    void answerBatchGradesInRequestOrderAndWritesOnce() {
         MemoQuizSessionEntity session = new MemoQuizSessionEntity();
-        session.setId(30L);
+        session.setId(60L);
 
-        MemoQuizSessionItemEntity item = new MemoQuizSessionItemEntity();
-        item.setSessionId(30L);
-        item.setCardId(40L);
-        item.setBox(7);
-
-        CardEntity card = new CardEntity();
-        card.setId(40L);
-        card.setFront("Front");
-        card.setBack("Paris");
-
-        MemoQuizQuizCardEntity membership = new MemoQuizQuizCardEntity();
-        membership.setQuizId(1L);
-        membership.setCard(card);
-        membership.setEnabled(true);
-        membership.setBox(7);
-
-        when(sessionRepository.findById(30L)).thenReturn(Optional.of(session));
-        when(sessionItemRepository.findBySessionIdAndCardId(30L, 40L)).thenReturn(Optional.of(item));
-        when(cardRepository.findById(40L)).thenReturn(Optional.of(card));
+        when(sessionRepository.findById(60L)).thenReturn(Optional.of(session));
+        when(answerBatchRepository.markAnswered(eq(60L), anyCollection(), any(Instant.class))).thenReturn(2);
+        when(cardRepository.findAnswersByIdIn(anyCollection()))
+            .thenReturn(List.of(new CardAnswerProjection(5L, "paris", AnswerMatcher.answerHash("paris"), CardStatus.ACTIVE), new CardAnswerProjection(6L, "rome", AnswerMatcher.answerHash("rome"), CardStatus.ACTIVE)));
         when(quizService.getDefaultQuizId()).thenReturn(1L);
-        when(quizCardRepository.findByQuizIdAndCardId(1L, 40L)).thenReturn(Optional.of(membership));
-        when(quizCardRepository.save(any(MemoQuizQuizCardEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
-        when(reviewLogRepository.save(any(MemoQuizReviewLogEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(answerBatchRepository.lockEnabledBoxes(eq(1L), anyCollection())).thenReturn(Map.of(5L, 3, 6L, 4));
+
+        var response = sessionService.answerBatch(new BatchAnswerRequest(60L, List.of(
+            new BatchAnswerItem(6L, "wrong"),
+            new BatchAnswerItem(5L, " paris ")
+        )));
+
+        assertThat(response.sessionId()).isEqualTo(60L);
+        assertThat(response.results())
+            .extracting(result -> result.cardId(), result -> result.correct())
+            .containsExactly(
+                org.assertj.core.groups.Tuple.tuple(6L, false),
+                org.assertj.core.groups.Tuple.tuple(5L, true)
+            );
+
+        ArgumentCaptor<Map<Long, Integer>> boxesCaptor = ArgumentCaptor.forClass(Map.class);
+        verify(answerBatchRepository).updateBoxes(eq(1L), boxesCaptor.capture(), any(Instant.class));
+        assertThat(boxesCaptor.getValue()).containsExactlyInAnyOrderEntriesOf(Map.of(5L, 4, 6L, 1));
+        verify(answerBatchRepository).markAnswered(eq(60L), eq(Set.of(6L, 5L)), any(Instant.class));
+
+        assertThat(recordedReviewLogs())
+            .extracting(MemoQuizReviewLogEntity::getCardId, MemoQuizReviewLogEntity::getPreviousBox, MemoQuizReviewLogEntity::getNextBox)
+            .containsExactly(
+                org.assertj.core.groups.Tuple.tuple(6L, 4, 1),
+                org.assertj.core.groups.Tuple.tuple(5L, 3, 4)
+            );
+        ArgumentCaptor<Map<Integer, Long>> deltasCaptor = ArgumentCaptor.forClass(Map.class);
+        verify(boxStatsRepository).applyDeltas(eq(1L), deltasCaptor.capture());
+        assertThat(deltasCaptor.getValue()).containsEntry(3, -1L).containsEntry(1, 1L).containsEntry(4, 0L);
+        verify(eventPublisher).publishEvent(QuizCardsChangedEvent.forQuiz(1L));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void answerBatchChainsBoxesWhenSameCardIsAnsweredTwice() {
+        MemoQuizSessionEntity session = new MemoQuizSessionEntity();
+        session.setId(61L);
 
-        AnswerRequest req = new AnswerRequest(30L, 40L, " paris ");
-        var resp = sessionService.answer(req);
+        when(sessionRepository.findById(61L)).thenReturn(Optional.of(session));
+        when(answerBatchRepository.markAnswered(eq(61L), anyCollection(), any(Instant.class))).thenReturn(1);
+        when(cardRepository.findAnswersByIdIn(anyCollection()))
+            .thenReturn(List.of(new CardAnswerProjection(5L, "paris", AnswerMatcher.answerHash("paris"), CardStatus.ACTIVE)));
+        when(quizService.getDefaultQuizId()).thenReturn(1L);
+        when(answerBatchRepository.lockEnabledBoxes(eq(1L), anyCollection())).thenReturn(Map.of(5L, 2));
+
+        sessionService.answerBatch(new BatchAnswerRequest(61L, List.of(
+            new BatchAnswerItem(5L, "paris"),
+            new BatchAnswerItem(5L, "paris")
+        )));
+
+        ArgumentCaptor<Map<Long, Integer>> boxesCaptor = ArgumentCaptor.forClass(Map.class);
+        verify(answerBatchRepository).updateBoxes(eq(1L), boxesCaptor.capture(), any(Instant.class));
+        assertThat(boxesCaptor.getValue()).containsExactlyEntriesOf(Map.of(5L, 4));
+
+        assertThat(recordedReviewLogs())
+            .extracting(MemoQuizReviewLogEntity::getPreviousBox, MemoQuizReviewLogEntity::getNextBox)
+            .containsExactly(
+                org.assertj.core.groups.Tuple.tuple(2, 3),
+                org.assertj.core.groups.Tuple.tuple(3, 4)
+            );
+    }
 
-        ArgumentCaptor<MemoQuizQuizCardEntity> membershipCaptor = ArgumentCaptor.forClass(MemoQuizQuizCardEntity.class);
-        verify(quizCardRepository).save(membershipCaptor.capture());
-        assertThat(membershipCaptor.getValue().getBox()).isEqualTo(7);
+    @Test
+    void answerBatchMissingSessionItemThrowsAndWritesNothing() {
+        MemoQuizSessionEntity session = new MemoQuizSessionEntity();
+        session.setId(62L);
 
-        ArgumentCaptor<MemoQuizReviewLogEntity> logCaptor = ArgumentCaptor.forClass(MemoQuizReviewLogEntity.class);
-        verify(reviewLogRepository).save(logCaptor.capture());
-        assertThat(logCaptor.getValue().getPreviousBox()).isEqualTo(7);
-        assertThat(logCaptor.getValue().getNextBox()).isEqualTo(7);
-        assertThat(logCaptor.getValue().isCorrect()).isTrue();
+        when(sessionRepository.findById(62L)).thenReturn(Optional.of(session));
+        when(answerBatchRepository.markAnswered(eq(62L), anyCollection(), any(Instant.class))).thenReturn(1);
 
-        assertThat(resp.correct()).isTrue();
-        assertThat(resp.nextReview()).isNotNull();
+        BatchAnswerRequest req = new BatchAnswerRequest(62L, List.of(
+            new BatchAnswerItem(5L, "paris"),
+            new BatchAnswerItem(9L, "rome")
+        ));
+
+        assertThatThrownBy(() -> sessionService.answerBatch(req))
+            .isInstanceOf(ResponseStatusException.class)
+            .extracting("statusCode")
+            .isEqualTo(HttpStatus.NOT_FOUND);
+
+        verify(answerBatchRepository, never()).updateBoxes(any(), any(), any());
+        verify(eventPublisher, never()).publishEvent(any(ReviewLogsRecordedEvent.class));
     }
 
     @Test
-    void answerResetsBoxFromSevenWhenIncorrect() {
+    void answerBatchDisabledMembershipThrows() {
         MemoQuizSessionEntity session = new MemoQuizSessionEntity();
-        session.setId(31L);
+        session.setId(63L);
 
-        MemoQuizSessionItemEntity item = new MemoQuizSessionItemEntity();
-        item.setSessionId(31L);
-        item.setCardId(41L);
-        item.setBox(7);
-
-        CardEntity card = new CardEntity();
-        card.setId(41L);
-        card.setFront("Front");
-        card.setBack("Paris");
-
-        MemoQuizQuizCardEntity membership = new MemoQuizQuizCardEntity();
-        membership.setQuizId(1L);
-        membership.setCard(card);
-        membership.setEnabled(true);
-        membership.setBox(7);
-
-        when(sessionRepository.findById(31L)).thenReturn(Optional.of(session));
-        when(sessionItemRepository.findBySessionIdAndCardId(31L, 41L)).thenReturn(Optional.of(item));
-        when(cardRepository.findById(41L)).thenReturn(Optional.of(card));
+        when(sessionRepository.findById(63L)).thenReturn(Optional.of(session));
+        when(answerBatchRepository.markAnswered(eq(63L), anyCollection(), any(Instant.class))).thenReturn(1);
+        when(cardRepository.findAnswersByIdIn(anyCollection()))
+            .thenReturn(List.of(new CardAnswerProjection(5L, "paris", AnswerMatcher.answerHash("paris"), CardStatus.ACTIVE)));
         when(quizService.getDefaultQuizId()).thenReturn(1L);
-        when(quizCardRepository.findByQuizIdAndCardId(1L, 41L)).thenReturn(Optional.of(membership));
-        when(quizCardRepository.save(any(MemoQuizQuizCardEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
-        when(reviewLogRepository.save(any(MemoQuizReviewLogEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
-
-        AnswerRequest req = new AnswerRequest(31L, 41L, "wrong answer");
-        var resp = sessionService.answer(req);
-
-        ArgumentCaptor<MemoQuizQuizCardEntity> membershipCaptor = ArgumentCaptor.forClass(MemoQuizQuizCardEntity.class);
-        verify(quizCardRepository).save(membershipCaptor.capture());
-        assertThat(membershipCaptor.getValue().getBox()).isEqualTo(1);
+        when(answerBatchRepository.lockEnabledBoxes(eq(1L), anyCollection())).thenReturn(Map.of());
 
-        ArgumentCaptor<MemoQuizReviewLogEntity> logCaptor = ArgumentCaptor.forClass(MemoQuizReviewLogEntity.class);
-        verify(reviewLogRepository).save(logCaptor.capture());
-        assertThat(logCaptor.getValue().getPreviousBox()).isEqualTo(7);
-        assertThat(logCaptor.getValue().getNextBox()).isEqualTo(1);
-        assertThat(logCaptor.getValue().isCorrect()).isFalse();
+        BatchAnswerRequest req = new BatchAnswerRequest(63L, List.of(new BatchAnswerItem(5L, "paris")));
 
-        assertThat(resp.correct()).isFalse();
-        assertThat(resp.nextReview()).isNotNull();
+        assertThatThrownBy(() -> sessionService.answerBatch(req))
+            .isInstanceOf(ResponseStatusException.class)
+            .hasMessageContaining("Quiz membership not found");
     }
 
     @Test
@@ -551,4 +626,21 @@ class SessionServiceTest {
             .extracting("statusCode")
             .isEqualTo(HttpStatus.NOT_FOUND);
     }
+
+    private List<MemoQuizReviewLogEntity> recordedReviewLogs() {
+        ArgumentCaptor<Object> events = ArgumentCaptor.forClass(Object.class);
+        verify(eventPublisher, atLeastOnce()).publishEvent(events.capture());
+        return events.getAllValues().stream()
+            .filter(ReviewLogsRecordedEvent.class::isInstance)
+            .map(ReviewLogsRecordedEvent.class::cast)
+            .flatMap(event -> event.logs().stream())
+            .toList();
+    }
+
+    private static MemoQuizSessionItemEntity sessionItem(Long sessionId, Long cardId) {
+        MemoQuizSessionItemEntity item = new MemoQuizSessionItemEntity();
+        item.setSessionId(sessionId);
+        item.setCardId(cardId);
+        return item;
+    }
 }
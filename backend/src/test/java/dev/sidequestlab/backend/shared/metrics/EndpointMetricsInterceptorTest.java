@@ -0,0 +1,67 @@
+package dev.sidequestlab.backend.shared.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EndpointMetricsInterceptorTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final SqlStatementTracker tracker = new SqlStatementTracker();
+    private final EndpointMetricsInterceptor interceptor = new EndpointMetricsInterceptor(
+        registry,
+        tracker,
+        EndpointMetricsInterceptorTest.class.getPackageName()
+    );
+
+    @Test
+    void recordsDurationAndStatementCountPerEndpoint() throws Exception {
+        HandlerMethod handler = new HandlerMethod(new SampleController(), SampleController.class.getMethod("list"));
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        interceptor.preHandle(request, response, handler);
+        for (int i = 0; i < 3; i++) {
+            tracker.beforeQuery(null, List.of());
+            tracker.afterQuery(null, List.of());
+        }
+        interceptor.afterCompletion(request, response, handler, null);
+
+        DistributionSummary statements = registry.get(EndpointMetricsInterceptor.SQL_STATEMENTS_METRIC)
+            .tag("endpoint", "SampleController.list")
+            .tag("status", "200")
+            .summary();
+        assertThat(statements.count()).isEqualTo(1);
+        assertThat(statements.totalAmount()).isEqualTo(3.0);
+        Timer duration = registry.get(EndpointMetricsInterceptor.DURATION_METRIC)
+            .tag("endpoint", "SampleController.list")
+            .timer();
+        assertThat(duration.count()).isEqualTo(1);
+        assertThat(registry.get(EndpointMetricsInterceptor.SQL_DURATION_METRIC).timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void ignoresHandlersOutsideTheTrackedPackage() throws Exception {
+        HandlerMethod handler = new HandlerMethod("other", String.class.getMethod("length"));
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        interceptor.preHandle(request, response, handler);
+        interceptor.afterCompletion(request, response, handler, null);
+
+        assertThat(registry.getMeters()).isEmpty();
+    }
+
+    public static class SampleController {
+        public String list() {
+            return "ok";
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package dev.sidequestlab.backend.shared.metrics;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SqlStatementTrackerTest {
+
+    private final SqlStatementTracker tracker = new SqlStatementTracker();
+
+    @Test
+    void countsStatementsExecutedBetweenBeginAndEnd() {
+        tracker.begin();
+        execute();
+        execute();
+
+        SqlStatementTracker.Sample sample = tracker.end();
+
+        assertThat(sample.statements()).isEqualTo(2);
+        assertThat(sample.nanos()).isNotNegative();
+    }
+
+    @Test
+    void ignoresStatementsOutsideTrackedRequest() {
+        execute();
+
+        assertThat(tracker.end()).isEqualTo(new SqlStatementTracker.Sample(0, 0));
+    }
+
+    @Test
+    void endResetsTheCurrentThread() {
+        tracker.begin();
+        execute();
+        tracker.end();
+        execute();
+
+        assertThat(tracker.end().statements()).isZero();
+    }
+
+    private void execute() {
+        tracker.beforeQuery(null, List.of());
+        tracker.afterQuery(null, List.of());
+    }
+}